@@ -73,3 +73,113 @@ CREATE INDEX idx_problems_created_at_desc ON problems(created_at DESC);
 -- 새로 생성된 인덱스의 통계 정보를 업데이트하여 옵티마이저가 올바른 실행 계획을 세우도록 함
 ANALYZE TABLE submissions;
 ANALYZE TABLE problems;
+
+/*
+ * v0.5.0 grading dead letter table
+ * - 변경 사유: 최대 재시도 횟수를 넘겨 채점에 실패한 제출이 대기열 맨 앞을 계속 차지하지 않도록 별도로 보관하고,
+ *   관리자가 조회/재처리/삭제할 수 있도록 grading_dead_letters 테이블 추가
+ */
+CREATE TABLE grading_dead_letters
+(
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    submission_id BIGINT   NOT NULL,
+    problem_id    BIGINT   NOT NULL,
+    attempts      INT      NOT NULL,
+    last_error    TEXT     NULL,
+    created_at    DATETIME(6) NOT NULL,
+    updated_at    DATETIME(6) NOT NULL,
+    CONSTRAINT uk_grading_dead_letters_submission UNIQUE (submission_id)
+);
+
+/*
+ * v0.5.1 ungraded submission rehydration index
+ * - 변경 사유: 서버 시작 시 채점되지 않은 주관식 제출을 키셋 페이지네이션으로 조회하여 채점 대기열을 복구하기 위한 인덱스 추가
+ */
+-- 쿼리: SELECT ... FROM submissions WHERE id > ? AND is_correct IS NULL ORDER BY id LIMIT ?
+CREATE INDEX idx_submissions_correct_id ON submissions(is_correct, id);
+
+/*
+ * v0.5.2 grading outbox table
+ * - 변경 사유: 주관식 제출을 트랜잭션 안에서 바로 채점 대기열에 추가하면 롤백된 제출이 채점되거나,
+ *   커밋 직후 서버가 종료되면 채점 요청이 유실되므로, 제출과 같은 트랜잭션에서 저장하는 grading_outbox 테이블 추가
+ */
+CREATE TABLE grading_outbox
+(
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    submission_id BIGINT      NOT NULL,
+    created_at    DATETIME(6) NOT NULL,
+    updated_at    DATETIME(6) NOT NULL
+);
+
+-- 쿼리: SELECT 1 FROM grading_outbox WHERE submission_id = ? (대기열 복구 시 제외)
+CREATE INDEX idx_grading_outbox_submission ON grading_outbox(submission_id);
+
+/*
+ * v0.5.3 grading jobs table
+ * - 변경 사유: 서버마다 메모리 큐를 사용하면 답안을 받은 서버에서만 채점할 수 있어 서버 간 부하가 고르지 않으므로,
+ *   여러 서버가 임대(lease) 방식으로 채점 요청을 나누어 가져가는 grading_jobs 테이블 추가 (grading.queue.type=jdbc)
+ */
+CREATE TABLE grading_jobs
+(
+    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+    submission_id    BIGINT       NOT NULL,
+    problem_id       BIGINT       NOT NULL,
+    user_id          BIGINT       NOT NULL,
+    submitted_answer TEXT         NULL,
+    priority         INT          NOT NULL,
+    lease_owner      VARCHAR(100) NULL,
+    lease_expires_at DATETIME(6)  NULL,
+    created_at       DATETIME(6)  NOT NULL,
+    CONSTRAINT uk_grading_jobs_submission UNIQUE (submission_id)
+);
+
+-- 쿼리: SELECT ... FROM grading_jobs WHERE lease_owner IS NULL OR lease_expires_at < ? ORDER BY priority, id LIMIT ? FOR UPDATE SKIP LOCKED
+CREATE INDEX idx_grading_jobs_priority_id ON grading_jobs(priority, id);
+
+-- 쿼리: UPDATE grading_jobs SET lease_expires_at = ? WHERE lease_owner = ? (하트비트)
+CREATE INDEX idx_grading_jobs_lease_owner ON grading_jobs(lease_owner);
+
+/*
+ * v0.5.4 solved count journal table
+ * - 변경 사유: 정답 제출마다 problems 행의 solved_count를 갱신하면 같은 문제를 동시에 맞출 때 행 잠금을 기다리게 되므로,
+ *   제출과 같은 트랜잭션에서는 풀이 수 변경을 solved_count_journal 테이블에 추가만 하고 주기적으로 모아서 반영
+ */
+CREATE TABLE solved_count_journal
+(
+    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    problem_id BIGINT      NOT NULL,
+    delta      INT         NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+
+/*
+ * v0.5.5 solved problems table
+ * - 변경 사유: 정답 제출마다 이전에 맞춘 제출이 있는지 확인하여 처음 맞춘 경우에만 풀이 수를 늘리면,
+ *   같은 사용자가 같은 문제를 맞춘 제출이 동시에 저장되거나 같은 채점 결과가 다시 저장될 때 풀이 수가 두 번 늘어나므로,
+ *   (사용자, 문제)마다 한 행만 추가할 수 있는 solved_problems 테이블에 기록하여 처음 맞춘 경우를 판단
+ */
+CREATE TABLE solved_problems
+(
+    user_id    BIGINT      NOT NULL,
+    problem_id BIGINT      NOT NULL,
+    solved_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id, problem_id)
+);
+
+-- 기존 정답 제출로 해결한 문제 기록
+INSERT INTO solved_problems (user_id, problem_id, solved_at)
+SELECT user_id, problem_id, MIN(submitted_at)
+FROM submissions
+WHERE is_correct = TRUE
+GROUP BY user_id, problem_id;
+
+/*
+ * v0.5.6 grading event index
+ * - 변경 사유: 채점 완료 이벤트를 채점한 서버에 연결된 사용자에게만 전달하던 것을,
+ *   각 서버가 최근에 채점된 제출을 조회하여 자신에게 연결된 사용자에게 전달하고 재연결 시 놓친 이벤트를 DB에서 이어받도록 하기 위한 인덱스 추가
+ */
+-- 쿼리: SELECT ... FROM submissions WHERE feedback_provided_at >= ? AND (feedback_provided_at > ? OR id > ?) ORDER BY feedback_provided_at, id LIMIT ?
+CREATE INDEX idx_submissions_feedback_provided_at ON submissions(feedback_provided_at, id);
+
+-- 쿼리: SELECT ... FROM submissions WHERE user_id = ? AND feedback_provided_at >= ? AND (feedback_provided_at > ? OR id > ?) ORDER BY feedback_provided_at, id LIMIT ?
+CREATE INDEX idx_submissions_user_feedback_provided_at ON submissions(user_id, feedback_provided_at, id);
@@ -0,0 +1,157 @@
+package site.haruhana.www.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.Control;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
+import site.haruhana.www.queue.impl.LockFreeSubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 기반 채점 대기 큐 구현의 처리량과 지연 시간을 비교하는 벤치마크
+ * <p>
+ * 같은 그룹의 생산자 스레드는 채점 요청을 추가하고(10건 중 1건은 높은 우선순위), 소비자 스레드는
+ * 대기 시간을 지정한 dequeue로 요청을 꺼낸다. 그룹 이름은 생산자와 소비자 스레드 수를 나타낸다. (예: p4c4)
+ * <p>
+ * 실행: ./gradlew jmh
+ * <br>
+ * 특정 그룹만 실행하거나 스레드 수를 바꾸려면 JMH 옵션을 사용한다.
+ * (예: java -jar build/libs/*-jmh.jar SubmissionMessageQueueBenchmark.p4c4 -tg 8,2)
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SubmissionMessageQueueBenchmark {
+
+    // 생산자가 소비자보다 빨라 큐가 무한히 커지지 않도록 하는 최대 대기 요청 수
+    private static final long MAX_BACKLOG = 65_536;
+
+    private static final long POLL_TIMEOUT_MILLIS = 10;
+
+    @Param({"memory", "lock-free"})
+    private String queueType;
+
+    private SubmissionMessageQueue messageQueue;
+
+    // 운영 환경과 같이 대기 시간 기록 비용을 포함하여 측정
+    private final GradingMetrics gradingMetrics = new GradingMetrics(new SimpleMeterRegistry());
+
+    private GradingData[] gradingData;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void createGradingData() {
+        // 측정 중 객체 생성 비용이 섞이지 않도록 채점 데이터를 미리 만들어 재사용
+        gradingData = new GradingData[1024];
+        for (int i = 0; i < gradingData.length; i++) {
+            gradingData[i] = GradingData.builder()
+                    .submissionId((long) i)
+                    .problemId((long) (i % 16))
+                    .userId((long) (i % 64))
+                    .submittedAnswer("Test Answer " + i)
+                    .build();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createQueue() {
+        messageQueue = switch (queueType) {
+            case "memory" -> new InMemorySubmissionMessageQueue(gradingMetrics);
+            case "lock-free" -> new LockFreeSubmissionMessageQueue(gradingMetrics);
+            default -> throw new IllegalArgumentException("알 수 없는 큐 유형입니다: " + queueType);
+        };
+        backlog.set(0);
+    }
+
+    private void produce(Control control) {
+        // 반복이 끝날 때 소비자 스레드가 먼저 멈추면 대기 요청이 줄지 않으므로, 측정이 끝나면 기다리지 않고 반환
+        while (backlog.get() >= MAX_BACKLOG) {
+            if (control.stopMeasurement) {
+                return;
+            }
+            Thread.yield();
+        }
+
+        long seq = sequence.getAndIncrement();
+        GradingData data = gradingData[(int) (seq & (gradingData.length - 1))];
+
+        if (seq % 10 == 0) {
+            messageQueue.prioritize(data);
+        } else {
+            messageQueue.enqueue(data);
+        }
+        backlog.incrementAndGet();
+    }
+
+    private void consume(Blackhole blackhole) throws InterruptedException {
+        GradingData data = messageQueue.dequeue(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (data != null) {
+            backlog.decrementAndGet();
+        }
+        blackhole.consume(data);
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public void enqueueP1C1(Control control) {
+        produce(control);
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public void dequeueP1C1(Blackhole blackhole) throws InterruptedException {
+        consume(blackhole);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public void enqueueP4C4(Control control) {
+        produce(control);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public void dequeueP4C4(Blackhole blackhole) throws InterruptedException {
+        consume(blackhole);
+    }
+
+    @Benchmark
+    @Group("p16c16")
+    @GroupThreads(16)
+    public void enqueueP16C16(Control control) {
+        produce(control);
+    }
+
+    @Benchmark
+    @Group("p16c16")
+    @GroupThreads(16)
+    public void dequeueP16C16(Blackhole blackhole) throws InterruptedException {
+        consume(blackhole);
+    }
+
+    @Benchmark
+    @Group("p64c64")
+    @GroupThreads(64)
+    public void enqueueP64C64(Control control) {
+        produce(control);
+    }
+
+    @Benchmark
+    @Group("p64c64")
+    @GroupThreads(64)
+    public void dequeueP64C64(Blackhole blackhole) throws InterruptedException {
+        consume(blackhole);
+    }
+}
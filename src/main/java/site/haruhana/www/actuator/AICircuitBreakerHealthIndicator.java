@@ -0,0 +1,45 @@
+package site.haruhana.www.actuator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.ratelimit.AICircuitBreaker;
+
+/**
+ * AI 서킷 브레이커의 상태를 Actuator 상태 확인에 포함하기 위한 HealthIndicator
+ * <p>
+ * 회로가 닫혀 있으면 UP, 열려 있거나 반열림 상태이면 DEGRADED로 표시한다.
+ * AI 서비스 장애 중에도 나머지 기능은 정상 동작하므로 DOWN으로 표시하지 않는다.
+ * <p>
+ * GET /actuator/health/aiCircuitBreaker : 회로 상태 조회 (show-details 설정 시 최근 실패율 포함)
+ */
+@Component
+@RequiredArgsConstructor
+public class AICircuitBreakerHealthIndicator implements HealthIndicator {
+
+    /**
+     * AI 서비스 장애로 주관식 채점과 문제 생성이 일시 중단된 상태
+     */
+    public static final Status DEGRADED = new Status("DEGRADED", "AI 서비스 장애로 채점과 문제 생성이 일시 중단됨");
+
+    private final AICircuitBreaker circuitBreaker;
+
+    @Override
+    public Health health() {
+        AICircuitBreaker.Snapshot snapshot = circuitBreaker.getSnapshot();
+
+        Health.Builder builder = snapshot.state() == AICircuitBreaker.State.CLOSED
+                ? Health.up()
+                : Health.status(DEGRADED);
+
+        return builder
+                .withDetail("state", snapshot.state())
+                .withDetail("bufferedCalls", snapshot.bufferedCalls())
+                .withDetail("failureRate", snapshot.failureRate())
+                .withDetail("slowCallRate", snapshot.slowCallRate())
+                .withDetail("remainingOpenMillis", snapshot.remainingOpenMillis())
+                .build();
+    }
+}
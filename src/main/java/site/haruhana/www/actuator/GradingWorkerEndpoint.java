@@ -0,0 +1,40 @@
+package site.haruhana.www.actuator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.scheduler.SubmissionScheduler;
+import site.haruhana.www.scheduler.SubmissionScheduler.WorkerPoolStatus;
+
+/**
+ * 주관식 채점 작업자 풀을 조회하고 크기를 조정하기 위한 Actuator 엔드포인트
+ * <p>
+ * GET /actuator/gradingworkers : 작업자 풀 상태 조회
+ * <br>
+ * POST /actuator/gradingworkers {"poolSize": 8} : 작업자 수 변경 (1 미만이면 400 Bad Request)
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "gradingworkers")
+public class GradingWorkerEndpoint {
+
+    private final SubmissionScheduler submissionScheduler;
+
+    @ReadOperation
+    public WorkerPoolStatus status() {
+        return submissionScheduler.getStatus();
+    }
+
+    @WriteOperation
+    public WorkerPoolStatus resize(int poolSize) {
+        if (poolSize < 1) {
+            throw new InvalidEndpointRequestException("작업자 수는 1 이상이어야 합니다.", "poolSize must be positive");
+        }
+
+        submissionScheduler.resize(poolSize);
+        return submissionScheduler.getStatus();
+    }
+}
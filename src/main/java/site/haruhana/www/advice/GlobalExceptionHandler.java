@@ -12,7 +12,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import site.haruhana.www.dto.BaseResponse;
+import site.haruhana.www.exception.GradingDeadLetterNotFoundException;
 import site.haruhana.www.exception.InvalidAnswerFormatException;
+import site.haruhana.www.exception.InvalidCursorException;
 import site.haruhana.www.exception.ProblemNotFoundException;
 
 import java.util.stream.Collectors;
@@ -61,6 +63,13 @@ public class GlobalExceptionHandler {
                 .body(BaseResponse.onNotFound(e.getMessage()));
     }
 
+    @ExceptionHandler(GradingDeadLetterNotFoundException.class)
+    public ResponseEntity<BaseResponse<Void>> handleGradingDeadLetterNotFoundException(GradingDeadLetterNotFoundException e) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(BaseResponse.onNotFound(e.getMessage()));
+    }
+
     @ExceptionHandler(InvalidAnswerFormatException.class)
     public ResponseEntity<BaseResponse<Void>> handleInvalidAnswerFormatException(InvalidAnswerFormatException e) {
         return ResponseEntity
@@ -68,6 +77,13 @@ public class GlobalExceptionHandler {
                 .body(BaseResponse.onBadRequest(e.getMessage()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<BaseResponse<Void>> handleInvalidCursorException(InvalidCursorException e) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(BaseResponse.onBadRequest(e.getMessage()));
+    }
+
     @ExceptionHandler(ExpiredJwtException.class)
     public ResponseEntity<BaseResponse<Void>> handleExpiredJwtException(ExpiredJwtException e) {
         return ResponseEntity
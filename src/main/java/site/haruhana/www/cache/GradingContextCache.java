@@ -0,0 +1,118 @@
+package site.haruhana.www.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.haruhana.www.exception.ProblemNotFoundException;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.repository.ProblemRepository;
+
+import java.time.Duration;
+
+/**
+ * 문제별 채점 정보({@link GradingContext}) 캐시
+ * <p>
+ * 채점 대기열의 요청은 문제 ID와 답안만 가지고 있고, 문제 제목, 내용, 채점 기준, 예시 답안은
+ * 채점 시점에 이 캐시에서 조회한 하나의 공유 인스턴스를 사용한다.
+ * 캐시는 문제 정보의 추정 크기(바이트) 합계로 제한되며, 문제가 수정되더라도 만료 시간이 지나면 다시 조회된다.
+ * <p>
+ * 적중률 등의 지표는 grading.context 이름의 캐시 메트릭으로 제공되며, 다음 지표를 추가로 제공한다.
+ * <ul>
+ *   <li>grading.context.cached.bytes: 캐시된 문제 정보의 추정 크기 합계</li>
+ *   <li>grading.context.saved.bytes: 대기 중인 요청마다 문제 정보를 복사했을 때와 비교하여 절약된 추정 메모리</li>
+ * </ul>
+ */
+@Component
+public class GradingContextCache {
+
+    private final ProblemRepository problemRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final LoadingCache<Long, GradingContext> cache;
+
+    public GradingContextCache(
+            ProblemRepository problemRepository,
+            SubmissionMessageQueue messageQueue,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${grading.context.maximum-bytes:67108864}") long maximumBytes,
+            @Value("${grading.context.ttl-minutes:60}") long ttlMinutes
+    ) {
+        this.problemRepository = problemRepository;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long problemId, GradingContext context) -> context.getEstimatedBytes())
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "grading.context");
+
+        Gauge.builder("grading.context.cached.bytes", this, GradingContextCache::cachedBytes)
+                .description("캐시된 문제별 채점 정보의 추정 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("grading.context.saved.bytes", this, c -> c.savedBytes(messageQueue.size()))
+                .description("채점 요청마다 문제 정보를 복사하지 않아 절약된 추정 메모리")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 문제의 채점 정보를 조회하는 메서드
+     *
+     * @param problemId 문제 ID
+     * @return 같은 문제의 모든 채점 요청이 공유하는 채점 정보
+     * @throws ProblemNotFoundException 문제가 존재하지 않는 경우
+     */
+    public GradingContext get(Long problemId) {
+        return cache.get(problemId);
+    }
+
+    /**
+     * 캐시된 문제 정보의 추정 크기 합계를 계산하는 메서드
+     */
+    long cachedBytes() {
+        cache.cleanUp(); // 비동기로 반영되는 크기 정보를 최신 상태로 갱신
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    /**
+     * 대기 중인 요청마다 문제 정보를 복사했을 때와 비교하여 절약된 추정 메모리를 계산하는 메서드
+     * <p>
+     * 대기 중인 요청이 캐시된 문제 정보의 평균 크기만큼을 각각 가지고 있었다고 보고, 캐시가 차지하는 크기를 뺀다.
+     *
+     * @param pendingRequests 채점 대기 중인 요청 수
+     * @return 절약된 추정 메모리 (바이트)
+     */
+    long savedBytes(long pendingRequests) {
+        long cachedContexts = cache.estimatedSize();
+        if (cachedContexts == 0) {
+            return 0;
+        }
+
+        long cachedBytes = cachedBytes();
+        return Math.max(0, pendingRequests * (cachedBytes / cachedContexts) - cachedBytes);
+    }
+
+    private GradingContext load(Long problemId) {
+        // 채점 기준을 지연 로딩하므로 트랜잭션 안에서 변환
+        return transactionTemplate.execute(status -> problemRepository.findById(problemId)
+                .map(GradingContext::from)
+                .orElseThrow(ProblemNotFoundException::new));
+    }
+}
@@ -0,0 +1,121 @@
+package site.haruhana.www.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.service.AIService.GradingResult;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 주관식 채점 결과 캐시
+ * <p>
+ * 같은 문제, 같은 채점 기준에 대해 정규화한 답안이 같다면 이전 채점 결과를 재사용하여
+ * AI 요청 없이 즉시, 그리고 일관되게 채점한다.
+ * <p>
+ * 캐시 키는 (문제 ID, 채점 기준 지문, 정규화된 답안 지문)으로 구성되며,
+ * 채점 기준이나 예시 답안이 바뀌면 지문이 달라지므로 이전 결과는 자연스럽게 사용되지 않는다.
+ * 적중률 등의 지표는 grading.result 이름의 캐시 메트릭으로 제공된다.
+ */
+@Component
+public class GradingResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Cache<Key, GradingResult> cache;
+
+    public GradingResultCache(
+            MeterRegistry meterRegistry,
+            @Value("${grading.cache.maximum-size:10000}") long maximumSize,
+            @Value("${grading.cache.ttl-minutes:1440}") long ttlMinutes
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "grading.result");
+    }
+
+    /**
+     * 채점 데이터의 캐시 키를 생성하는 메서드
+     *
+     * @param context 채점할 문제 정보
+     * @param data    채점 데이터
+     * @return 캐시 키
+     */
+    public Key keyOf(GradingContext context, GradingData data) {
+        return new Key(context.getProblemId(), context.getFingerprint(), fingerprint(normalizeAnswer(data.getSubmittedAnswer())));
+    }
+
+    /**
+     * 캐시된 채점 결과를 조회하는 메서드
+     *
+     * @param key 캐시 키
+     * @return 캐시된 채점 결과 (없으면 null)
+     */
+    public GradingResult get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * 채점 결과를 캐시에 저장하는 메서드
+     *
+     * @param key    캐시 키
+     * @param result 채점 결과
+     */
+    public void put(Key key, GradingResult result) {
+        cache.put(key, result);
+    }
+
+    /**
+     * 답안을 비교하기 위해 정규화하는 메서드
+     * <p>
+     * 유니코드 호환 정규화(NFKC) 후 연속된 공백을 하나로 합치고, 앞뒤 공백을 제거한 뒤 소문자로 변환한다.
+     *
+     * @param answer 제출된 답안
+     * @return 정규화된 답안
+     */
+    static String normalizeAnswer(String answer) {
+        if (answer == null) {
+            return "";
+        }
+
+        String normalized = Normalizer.normalize(answer, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String fingerprint(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 채점 결과 캐시 키
+     *
+     * @param problemId           문제 ID
+     * @param criteriaFingerprint 채점 기준, 예시 답안, 문제 내용의 지문
+     * @param answerFingerprint   정규화된 답안의 지문
+     */
+    public record Key(Long problemId, String criteriaFingerprint, String answerFingerprint) {
+    }
+}
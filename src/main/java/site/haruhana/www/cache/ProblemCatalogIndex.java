@@ -0,0 +1,905 @@
+package site.haruhana.www.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.dto.KeysetCursor;
+import site.haruhana.www.dto.problem.ProblemSortType;
+import site.haruhana.www.dto.problem.ProblemSummaryDto;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 문제 목록 조회를 SQL 없이 처리하는 메모리 내 문제 목록 인덱스
+ * <p>
+ * 문제 목록은 읽기가 대부분이고, 새 문제가 생성되거나 문제 풀이 수가 바뀔 때만 변경된다.
+ * 서버 시작 시 problems 테이블에서 목록 조회에 필요한 열만 읽어 열(column) 단위 배열로 보관하며,
+ * 이후에는 문제 생성과 풀이 수 변경을 반영하여 갱신한다.
+ * <p>
+ * 이 서버에서 생성된 문제와 이 서버가 DB에 반영한 풀이 수만 바로 반영되므로, 여러 서버가 실행되는 경우
+ * refresh-interval-ms마다 DB와 맞춘다({@link #refresh()}). 인덱스에 없는 문제를 추가하고, DB의 풀이 수가 더 크면 DB의 값으로 바꾼다.
+ * 풀이 수는 증가량이 아니라 DB에 커밋된 값으로만 반영하므로({@link #applySolvedCounts}), 인덱스의 풀이 수는 DB보다 커지지 않는다.
+ * 따라서 다른 서버에서 생성된 문제와 풀이 수는 최대 refresh-interval-ms(+ 풀이 수 반영 주기)만큼 늦게 보인다.
+ * <ul>
+ *   <li>열: 문제 ID, 풀이 수, 생성 시각을 기본형 배열로, 제목과 카테고리/난이도/유형을 배열로 보관한다.</li>
+ *   <li>필터: 카테고리, 난이도, 유형 값마다 해당하는 문제의 비트셋을 두고, 필터 조건은 비트셋의 AND로 계산한다.</li>
+ *   <li>정렬: (생성 시각, ID) 순서와 (풀이 수, ID) 순서의 순열(permutation)을 미리 정렬해 두고,
+ *       {@link ProblemSortType}의 방향에 따라 앞 또는 뒤에서부터 읽는다.</li>
+ * </ul>
+ * 필터가 없으면 페이지 위치를 바로 계산하고, 필터가 있으면 정렬 순열을 따라가며 조건에 맞는 문제만 센다.
+ * 커서로 조회하는 경우({@link #findProblemsByCursor}) 이진 탐색으로 커서 위치를 찾아 그 다음부터 읽으므로, 앞의 문제를 세지 않는다.
+ * <p>
+ * 전체 개수는 필터 조합(카테고리 × 난이도 × 유형, 각각 '전체' 포함)별 문제 수를 문제가 추가될 때마다 갱신해 두고 그대로 사용하므로
+ * 별도의 COUNT 쿼리가 필요 없다. 사용자마다 다른 미해결 문제 필터만 해결한 문제를 확인하여 정확한 수를 계산하며,
+ * 전체 개수가 필요 없다면 {@link #findProblemSlice}로 다음 페이지 존재 여부만 확인할 수 있다.
+ * <p>
+ * 문제 목록은 문제 상태와 관계없이 모든 문제를 보여주므로, 필터 조합별 문제 수는 문제가 추가될 때만 바뀐다.
+ * <p>
+ * 인덱스가 준비되기 전이거나 비활성화된 경우 {@link #isReady()}가 false를 반환하며, 호출하는 쪽은 DB에서 조회해야 한다.
+ * <p>
+ * 문제 목록 버전({@link #versionTag()})은 문제 목록 응답의 ETag에 사용하며, 서버의 상태가 아니라 문제 목록의 내용으로 정한다.
+ * 문제는 추가되기만 하고 풀이 수는 늘어나기만 하므로, (문제 수, ID 합계, 풀이 수 합계)가 같으면 같은 문제 목록이다.
+ * 따라서 같은 DB 상태를 반영한 서버는 어느 서버든 같은 버전을 반환하며, 인덱스가 준비되지 않은 경우 같은 값을 DB에서 계산한다.
+ */
+@Slf4j
+@Component
+public class ProblemCatalogIndex implements SmartLifecycle {
+
+    private static final String SELECT_PROBLEMS_SQL = """
+            SELECT id, title, category, difficulty, type, solved_count, created_at FROM problems
+            """;
+
+    private static final String SELECT_PROBLEMS_BY_IDS_SQL = SELECT_PROBLEMS_SQL + "WHERE id IN (:ids)";
+
+    // solved_count 인덱스만 읽음 (InnoDB의 보조 인덱스는 기본 키를 포함)
+    private static final String SELECT_SOLVED_COUNTS_SQL = "SELECT id, solved_count FROM problems";
+
+    private static final String SELECT_VERSION_SQL = """
+            SELECT COUNT(*) AS problem_count, COALESCE(SUM(id), 0) AS id_sum, COALESCE(SUM(solved_count), 0) AS solved_sum FROM problems
+            """;
+
+    private static final ProblemCategory[] CATEGORIES = ProblemCategory.values();
+
+    private static final ProblemDifficulty[] DIFFICULTIES = ProblemDifficulty.values();
+
+    private static final ProblemType[] TYPES = ProblemType.values();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final boolean enabled;
+
+    private final Timer rebuildTimer;
+
+    private final Timer refreshTimer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 읽기/쓰기 잠금으로 보호
+    private Columns columns = new Columns(0);
+
+    private volatile boolean ready;
+
+    private volatile boolean running;
+
+    public ProblemCatalogIndex(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${problem.catalog.enabled:true}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.enabled = enabled;
+
+        this.rebuildTimer = Timer.builder("problem.catalog.rebuild")
+                .description("DB에서 문제 목록 인덱스를 다시 만드는 데 걸린 시간")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("problem.catalog.refresh")
+                .description("문제 목록 인덱스를 DB와 맞추는 데 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("problem.catalog.size", this, ProblemCatalogIndex::size)
+                .description("문제 목록 인덱스에 있는 문제 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+
+        if (enabled) {
+            try {
+                rebuildTimer.record(this::rebuild);
+            } catch (Exception e) { // 인덱스를 만들지 못하더라도 서버는 시작되어야 함 (DB에서 조회)
+                log.error("문제 목록 인덱스 생성 중 오류 발생: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버와 채점 작업자보다 먼저 시작되도록 하여, 인덱스를 만드는 동안 바뀐 문제 풀이 수가 유실되지 않도록 한다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * 인덱스가 준비되어 문제 목록 조회에 사용할 수 있는지 확인하는 메서드
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 문제 목록 버전을 반환하는 메서드 (문제 목록의 내용으로 정해지며, 문제 목록이 바뀔 때마다 달라지는 값)
+     * <p>
+     * 인덱스가 준비되지 않은 경우 DB에서 같은 값을 계산한다.
+     */
+    public String versionTag() {
+        if (ready) {
+            lock.readLock().lock();
+            try {
+                return versionTag(columns.size, columns.idSum, columns.solvedSum);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        return jdbcTemplate.queryForObject(SELECT_VERSION_SQL, (rs, rowNum) ->
+                versionTag(rs.getLong("problem_count"), rs.getLong("id_sum"), rs.getLong("solved_sum")));
+    }
+
+    private static String versionTag(long problemCount, long idSum, long solvedSum) {
+        return Long.toString(problemCount, 36) + "-" + Long.toString(idSum, 36) + "-" + Long.toString(solvedSum, 36);
+    }
+
+    /**
+     * 인덱스에 있는 문제 수를 반환하는 메서드
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 문제 풀이 수를 조회하는 메서드
+     *
+     * @param problemId 문제 ID
+     * @return 문제 풀이 수 (인덱스가 준비되지 않았거나 인덱스에 없는 문제인 경우 빈 값)
+     */
+    public OptionalLong findSolvedCount(long problemId) {
+        if (!ready) {
+            return OptionalLong.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return columns.solvedCount(problemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * DB의 모든 문제로 인덱스를 다시 만드는 메서드
+     */
+    public void rebuild() {
+        List<Row> rows = new ArrayList<>();
+        jdbcTemplate.query(SELECT_PROBLEMS_SQL, rs -> {
+            rows.add(toRow(rs));
+        });
+
+        Columns rebuilt = Columns.of(rows);
+
+        lock.writeLock().lock();
+        try {
+            columns = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("문제 목록 인덱스 생성 완료: {}개", rows.size());
+    }
+
+    /**
+     * 다른 서버에서 바뀐 내용을 반영하도록 인덱스를 DB와 맞추는 메서드 (refresh-interval-ms마다 실행)
+     * <p>
+     * 모든 문제의 (ID, 풀이 수)만 읽어, 인덱스에 없는 문제는 추가하고 DB의 풀이 수가 더 큰 문제는 한 번에 갱신한다.
+     * 새 문제를 ID 범위(id > 마지막 ID)로 찾지 않으므로, 늦게 커밋되어 더 작은 ID를 가진 문제도 빠지지 않는다.
+     * 서버 시작 시 인덱스를 만들지 못했다면 다시 만든다.
+     */
+    @Scheduled(fixedDelayString = "${problem.catalog.refresh-interval-ms:10000}", initialDelayString = "${problem.catalog.refresh-interval-ms:10000}")
+    public void refresh() {
+        if (!enabled || !running) {
+            return;
+        }
+
+        try {
+            if (!ready) {
+                rebuildTimer.record(this::rebuild);
+            } else {
+                refreshTimer.record(this::reconcile);
+            }
+        } catch (Exception e) { // 다음 주기에 다시 맞춤
+            log.error("문제 목록 인덱스를 DB와 맞추는 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 인덱스에 없는 문제를 추가하고, DB의 풀이 수가 더 큰 문제를 갱신하는 메서드
+     */
+    private void reconcile() {
+        Map<Long, Long> dbSolvedCounts = new HashMap<>();
+        jdbcTemplate.query(SELECT_SOLVED_COUNTS_SQL, rs -> {
+            dbSolvedCounts.put(rs.getLong("id"), rs.getLong("solved_count"));
+        });
+
+        // 인덱스에 없는 문제와, 인덱스보다 DB의 풀이 수가 큰 문제를 찾음
+        List<Long> missingIds = new ArrayList<>();
+        Map<Long, Long> solvedCounts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            dbSolvedCounts.forEach((problemId, dbSolvedCount) -> {
+                OptionalLong indexed = columns.solvedCount(problemId);
+                if (indexed.isEmpty()) {
+                    missingIds.add(problemId);
+                } else if (dbSolvedCount > indexed.getAsLong()) {
+                    solvedCounts.put(problemId, dbSolvedCount);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Row> missing = new ArrayList<>();
+        if (!missingIds.isEmpty()) {
+            namedJdbcTemplate.query(SELECT_PROBLEMS_BY_IDS_SQL, new MapSqlParameterSource("ids", missingIds), rs -> {
+                missing.add(toRow(rs));
+            });
+        }
+
+        if (missing.isEmpty() && solvedCounts.isEmpty()) {
+            return;
+        }
+
+        int raised;
+        lock.writeLock().lock();
+        try {
+            missing.forEach(columns::add);
+
+            // 읽은 뒤 이 서버에서 더 늘어났을 수 있으므로 다시 비교
+            raised = raiseSolvedCounts(solvedCounts);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.debug("문제 목록 인덱스를 DB와 맞췄습니다. (추가된 문제 {}개, 풀이 수가 바뀐 문제 {}개)", missing.size(), raised);
+    }
+
+    private static Row toRow(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new Row(
+                rs.getLong("id"),
+                rs.getString("title"),
+                ProblemCategory.valueOf(rs.getString("category")),
+                ProblemDifficulty.valueOf(rs.getString("difficulty")),
+                ProblemType.valueOf(rs.getString("type")),
+                rs.getLong("solved_count"),
+                createdAt == null ? 0 : KeysetCursor.toKey(createdAt.toLocalDateTime())
+        );
+    }
+
+    /**
+     * 새로 저장된 문제를 인덱스에 추가하는 메서드
+     * <p>
+     * 이미 있는 문제라면 무시한다.
+     *
+     * @param problem 저장된 문제 (ID가 부여된 상태)
+     */
+    public void add(Problem problem) {
+        if (problem.getId() == null) {
+            return;
+        }
+
+        Row row = new Row(
+                problem.getId(),
+                problem.getTitle(),
+                problem.getCategory(),
+                problem.getDifficulty(),
+                problem.getType(),
+                problem.getSolvedCount(),
+                KeysetCursor.toKey(problem.getCreatedAt() == null ? LocalDateTime.now() : problem.getCreatedAt())
+        );
+
+        lock.writeLock().lock();
+        try {
+            columns.add(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * DB에 커밋된 문제 풀이 수를 반영하는 메서드 (커밋된 후 호출)
+     * <p>
+     * 풀이 수는 늘어나기만 하므로 인덱스의 풀이 수보다 큰 경우에만 반영한다. 증가량이 아니라 커밋된 값을 반영하므로,
+     * 같은 변경이 저널 반영과 DB와 맞추기({@link #refresh()})로 두 번 전달되거나 순서가 바뀌어도 DB보다 커지지 않는다.
+     * 풀이 수 순열은 변경을 모두 반영한 뒤 한 번만 다시 맞추므로, 여러 문제를 반영하는 경우 문제마다 호출하지 않고 한 번에 넘겨야 한다.
+     *
+     * @param solvedCounts 문제별 DB의 풀이 수
+     */
+    public void applySolvedCounts(Map<Long, Long> solvedCounts) {
+        if (solvedCounts.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            raiseSolvedCounts(solvedCounts);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 인덱스의 풀이 수보다 큰 풀이 수만 반영하는 메서드 (쓰기 잠금 안에서 호출)
+     *
+     * @return 반영한 문제 수
+     */
+    private int raiseSolvedCounts(Map<Long, Long> solvedCounts) {
+        Map<Long, Long> raised = new HashMap<>();
+        solvedCounts.forEach((problemId, solvedCount) -> columns.solvedCount(problemId).ifPresent(indexed -> {
+            if (solvedCount > indexed) {
+                raised.put(problemId, solvedCount);
+            }
+        }));
+        columns.updateSolvedCounts(raised);
+
+        return raised.size();
+    }
+
+    /**
+     * 필터 조건에 맞는 문제를 정렬하여 페이징 조회하는 메서드
+     * <p>
+     * {@link site.haruhana.www.repository.ProblemRepository#findProblemsWithFilters}와 같은 결과를 반환한다.
+     *
+     * @param pageable          페이징 정보 (정렬 정보는 sortType을 사용)
+     * @param sortType          정렬 기준
+     * @param category          문제 카테고리 (null인 경우 모든 카테고리)
+     * @param difficulty        문제 난이도 (null인 경우 모든 난이도)
+     * @param type              문제 유형 (null인 경우 모든 유형)
+     * @param excludedProblems  제외할 문제 집합 (미해결 문제만 조회하는 경우 사용자가 해결한 문제)
+     * @return 페이징된 문제 목록 (전체 개수 포함)
+     */
+    public Page<ProblemSummaryDto> findProblems(Pageable pageable, ProblemSortType sortType, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, SolvedProblems excludedProblems) {
+        lock.readLock().lock();
+        try {
+            return (Page<ProblemSummaryDto>) columns.find(pageable, sortType, new Filter(category, difficulty, type, excludedProblems), true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 개수 없이 필터 조건에 맞는 문제를 정렬하여 조회하는 메서드 (다음 페이지 존재 여부만 확인)
+     *
+     * @see #findProblems
+     */
+    public Slice<ProblemSummaryDto> findProblemSlice(Pageable pageable, ProblemSortType sortType, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, SolvedProblems excludedProblems) {
+        lock.readLock().lock();
+        try {
+            return columns.find(pageable, sortType, new Filter(category, difficulty, type, excludedProblems), false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 커서 다음(또는 이전)의 필터 조건에 맞는 문제를 정렬하여 조회하는 메서드 (키셋 페이지네이션)
+     * <p>
+     * 정렬 순열에서 커서의 (정렬 키, ID) 위치를 이진 탐색으로 찾아 그 다음부터 읽는다.
+     * 반환하는 목록은 항상 정렬 순서이며, {@link Slice#hasNext()}는 조회한 방향(이전 페이지 커서라면 앞쪽)에 문제가 더 있는지를 나타낸다.
+     *
+     * @param cursor           조회를 시작할 커서 (정렬 키는 sortType에 맞게 만들어진 값)
+     * @param size             조회할 문제 수
+     * @param sortType         정렬 기준
+     * @param category         문제 카테고리 (null인 경우 모든 카테고리)
+     * @param difficulty       문제 난이도 (null인 경우 모든 난이도)
+     * @param type             문제 유형 (null인 경우 모든 유형)
+     * @param excludedProblems 제외할 문제 집합
+     * @return 커서 다음(또는 이전)의 문제 목록
+     */
+    public Slice<ProblemSummaryDto> findProblemsByCursor(KeysetCursor cursor, int size, ProblemSortType sortType, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, SolvedProblems excludedProblems) {
+        lock.readLock().lock();
+        try {
+            return columns.seek(cursor, size, sortType, new Filter(category, difficulty, type, excludedProblems));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 필터 조건에 맞는 문제 수를 반환하는 메서드
+     * <p>
+     * 필터 조합별 문제 수는 문제가 추가될 때 함께 갱신되므로 바로 반환하며,
+     * 제외할 문제가 있는 경우(미해결 문제만 조회)에만 제외할 문제를 확인하여 정확한 수를 계산한다.
+     *
+     * @param category         문제 카테고리 (null인 경우 모든 카테고리)
+     * @param difficulty       문제 난이도 (null인 경우 모든 난이도)
+     * @param type             문제 유형 (null인 경우 모든 유형)
+     * @param excludedProblems 제외할 문제 집합
+     * @return 조건에 맞는 문제 수
+     */
+    public long countProblems(ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, SolvedProblems excludedProblems) {
+        lock.readLock().lock();
+        try {
+            return columns.count(new Filter(category, difficulty, type, excludedProblems));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 문제 목록 조회 조건
+     */
+    private record Filter(ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, SolvedProblems excludedProblems) {
+
+        boolean isFiltering() {
+            return category != null || difficulty != null || type != null;
+        }
+
+        boolean isExcluding() {
+            return excludedProblems != null && !excludedProblems.isEmpty();
+        }
+    }
+
+    /**
+     * 인덱스에 추가할 문제
+     */
+    private record Row(long id, String title, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, long solvedCount, long createdAt) {
+    }
+
+    /**
+     * 열 단위로 저장된 문제 목록 (슬롯 번호로 접근)
+     * <p>
+     * 정렬 순열은 슬롯 번호를 (정렬 키, ID) 오름차순으로 담고 있으며, 내림차순 정렬은 뒤에서부터 읽는다.
+     * 정렬 키가 같으면 ID로 순서를 정하므로, 커서의 (정렬 키, ID)로 위치를 찾을 수 있다. (DB 조회와 동일)
+     */
+    private static final class Columns {
+
+        private int size;
+
+        // 문제 목록 버전 계산용 (ID 합계, 풀이 수 합계)
+        private long idSum;
+
+        private long solvedSum;
+
+        private long[] ids;
+
+        private long[] solvedCounts;
+
+        private long[] createdAts;
+
+        private String[] titles;
+
+        private byte[] categories;
+
+        private byte[] difficulties;
+
+        private byte[] types;
+
+        private final BitSet[] categoryBits = newBitSets(CATEGORIES.length);
+
+        private final BitSet[] difficultyBits = newBitSets(DIFFICULTIES.length);
+
+        private final BitSet[] typeBits = newBitSets(TYPES.length);
+
+        // (생성 시각, ID) 오름차순 순열
+        private int[] createdOrder;
+
+        // (풀이 수, ID) 오름차순 순열과 그 역순열 (슬롯 → 순열 내 위치)
+        private int[] solvedOrder;
+
+        private int[] solvedPositions;
+
+        private final Map<Long, Integer> slotsById = new HashMap<>();
+
+        // 필터 조합별 문제 수 (카테고리 × 난이도 × 유형, 각각 '전체' 포함)
+        private final long[] filterCounts = new long[(CATEGORIES.length + 1) * (DIFFICULTIES.length + 1) * (TYPES.length + 1)];
+
+        Columns(int capacity) {
+            int initial = Math.max(16, capacity);
+            ids = new long[initial];
+            solvedCounts = new long[initial];
+            createdAts = new long[initial];
+            titles = new String[initial];
+            categories = new byte[initial];
+            difficulties = new byte[initial];
+            types = new byte[initial];
+            createdOrder = new int[initial];
+            solvedOrder = new int[initial];
+            solvedPositions = new int[initial];
+        }
+
+        static Columns of(List<Row> rows) {
+            Columns columns = new Columns(rows.size());
+            rows.forEach(columns::append);
+
+            int[] created = IntStream.range(0, columns.size).boxed()
+                    .sorted(Comparator.<Integer>comparingLong(slot -> columns.createdAts[slot]).thenComparingLong(slot -> columns.ids[slot]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int[] solved = IntStream.range(0, columns.size).boxed()
+                    .sorted(Comparator.<Integer>comparingLong(slot -> columns.solvedCounts[slot]).thenComparingLong(slot -> columns.ids[slot]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            System.arraycopy(created, 0, columns.createdOrder, 0, created.length);
+            System.arraycopy(solved, 0, columns.solvedOrder, 0, solved.length);
+            for (int position = 0; position < solved.length; position++) {
+                columns.solvedPositions[solved[position]] = position;
+            }
+
+            return columns;
+        }
+
+        private static BitSet[] newBitSets(int length) {
+            BitSet[] bitSets = new BitSet[length];
+            for (int i = 0; i < length; i++) {
+                bitSets[i] = new BitSet();
+            }
+            return bitSets;
+        }
+
+        /**
+         * 열에 문제를 추가하고 슬롯 번호를 반환하는 메서드 (정렬 순열은 갱신하지 않음)
+         */
+        private int append(Row row) {
+            if (size == ids.length) {
+                grow();
+            }
+
+            int slot = size++;
+            ids[slot] = row.id();
+            solvedCounts[slot] = row.solvedCount();
+            idSum += row.id();
+            solvedSum += row.solvedCount();
+            createdAts[slot] = row.createdAt();
+            titles[slot] = row.title();
+            categories[slot] = (byte) row.category().ordinal();
+            difficulties[slot] = (byte) row.difficulty().ordinal();
+            types[slot] = (byte) row.type().ordinal();
+
+            categoryBits[row.category().ordinal()].set(slot);
+            difficultyBits[row.difficulty().ordinal()].set(slot);
+            typeBits[row.type().ordinal()].set(slot);
+            slotsById.put(row.id(), slot);
+            countFilterCombinations(row);
+
+            return slot;
+        }
+
+        private void grow() {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            solvedCounts = Arrays.copyOf(solvedCounts, capacity);
+            createdAts = Arrays.copyOf(createdAts, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            difficulties = Arrays.copyOf(difficulties, capacity);
+            types = Arrays.copyOf(types, capacity);
+            createdOrder = Arrays.copyOf(createdOrder, capacity);
+            solvedOrder = Arrays.copyOf(solvedOrder, capacity);
+            solvedPositions = Arrays.copyOf(solvedPositions, capacity);
+        }
+
+        /**
+         * 새 문제를 추가하고 정렬 순열의 알맞은 위치에 끼워 넣는 메서드
+         */
+        void add(Row row) {
+            if (slotsById.containsKey(row.id())) {
+                return;
+            }
+
+            int slot = append(row);
+            int count = size - 1; // 추가하기 전의 순열 길이
+
+            // 생성 시각 순열: 새 문제는 대부분 가장 최근이므로 끝에서부터 위치를 찾음
+            int createdPosition = count;
+            while (createdPosition > 0 && compareCreated(createdOrder[createdPosition - 1], slot) > 0) {
+                createdPosition--;
+            }
+            System.arraycopy(createdOrder, createdPosition, createdOrder, createdPosition + 1, count - createdPosition);
+            createdOrder[createdPosition] = slot;
+
+            // 풀이 수 순열: (풀이 수, ID)가 더 큰 첫 문제의 앞에 끼워 넣음
+            int solvedPosition = firstSolvedAfter(slot, 0, count);
+            System.arraycopy(solvedOrder, solvedPosition, solvedOrder, solvedPosition + 1, count - solvedPosition);
+            solvedOrder[solvedPosition] = slot;
+            for (int position = solvedPosition; position <= count; position++) {
+                solvedPositions[solvedOrder[position]] = position;
+            }
+        }
+
+        private int compareCreated(int left, int right) {
+            int compared = Long.compare(createdAts[left], createdAts[right]);
+            return compared != 0 ? compared : Long.compare(ids[left], ids[right]);
+        }
+
+        private int compareSolved(int left, int right) {
+            int compared = Long.compare(solvedCounts[left], solvedCounts[right]);
+            return compared != 0 ? compared : Long.compare(ids[left], ids[right]);
+        }
+
+        OptionalLong solvedCount(long problemId) {
+            Integer slot = slotsById.get(problemId);
+            return slot == null ? OptionalLong.empty() : OptionalLong.of(solvedCounts[slot]);
+        }
+
+        /**
+         * 여러 문제의 풀이 수를 바꾸고 풀이 수 순열을 한 번에 다시 맞추는 메서드
+         * <p>
+         * 바뀐 문제를 순열에서 빼면 나머지는 정렬된 상태 그대로이므로, 바뀐 문제만 정렬한 뒤 두 목록을 한 번에 병합한다.
+         * 바뀐 문제가 k개일 때 O(n + k log k)로, 문제마다 순열의 위치를 옮기는(문제당 O(n) 복사) 것보다 쓰기 잠금을 짧게 잡는다.
+         *
+         * @param solvedCountsById 문제별 새 풀이 수 (인덱스에 없는 문제는 무시)
+         * @return 풀이 수가 바뀐 문제가 있는 경우 true
+         */
+        boolean updateSolvedCounts(Map<Long, Long> solvedCountsById) {
+            BitSet changedSlots = new BitSet(size);
+            solvedCountsById.forEach((problemId, solvedCount) -> {
+                Integer slot = slotsById.get(problemId);
+                if (slot != null && solvedCounts[slot] != solvedCount) {
+                    solvedSum += solvedCount - solvedCounts[slot];
+                    solvedCounts[slot] = solvedCount;
+                    changedSlots.set(slot);
+                }
+            });
+            if (changedSlots.isEmpty()) {
+                return false;
+            }
+
+            int[] changed = changedSlots.stream().boxed()
+                    .sorted(this::compareSolved)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int[] unchanged = new int[size - changed.length];
+            int count = 0;
+            for (int position = 0; position < size; position++) {
+                if (!changedSlots.get(solvedOrder[position])) {
+                    unchanged[count++] = solvedOrder[position];
+                }
+            }
+
+            // 정렬된 두 목록을 병합
+            int left = 0;
+            int right = 0;
+            for (int position = 0; position < size; position++) {
+                int slot = right == changed.length || (left < unchanged.length && compareSolved(unchanged[left], changed[right]) <= 0)
+                        ? unchanged[left++]
+                        : changed[right++];
+                solvedOrder[position] = slot;
+                solvedPositions[slot] = position;
+            }
+
+            return true;
+        }
+
+        /**
+         * 풀이 수 순열의 [low, high) 구간에서 (풀이 수, ID)가 slot보다 큰 첫 위치를 찾는 메서드 (없으면 high)
+         */
+        private int firstSolvedAfter(int slot, int low, int high) {
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareSolved(solvedOrder[mid], slot) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * 필터 조건에 맞는 문제 수를 계산하는 메서드
+         * <p>
+         * 필터 조합별 문제 수에서, 제외할 문제 중 조건에 맞는 문제 수만큼 뺀다.
+         */
+        long count(Filter filter) {
+            long count = filterCounts[countIndex(filter.category(), filter.difficulty(), filter.type())];
+            if (!filter.isExcluding()) {
+                return count;
+            }
+
+            return count - filter.excludedProblems().count(problemId -> {
+                Integer slot = slotsById.get(problemId);
+                return slot != null && matchesAttributes(slot, filter);
+            });
+        }
+
+        Slice<ProblemSummaryDto> find(Pageable pageable, ProblemSortType sortType, Filter filter, boolean includeTotal) {
+            long total = includeTotal ? count(filter) : -1;
+
+            int[] order = switch (sortType) {
+                case LATEST, OLDEST -> createdOrder;
+                case MOST_SOLVED, LEAST_SOLVED -> solvedOrder;
+            };
+            boolean descending = sortType == ProblemSortType.LATEST || sortType == ProblemSortType.MOST_SOLVED;
+
+            long offset = pageable.getOffset();
+            int pageSize = pageable.getPageSize();
+            List<ProblemSummaryDto> content = new ArrayList<>(Math.min(pageSize, size));
+            boolean hasNext = false;
+
+            if (includeTotal && offset >= total) { // 요청한 페이지에 문제가 없음
+                return new PageImpl<>(content, pageable, total);
+            }
+
+            if (!filter.isFiltering() && !filter.isExcluding()) { // 필터가 없으면 페이지 위치를 바로 계산
+                long end = Math.min(size, offset + pageSize);
+                for (long index = offset; index < end; index++) {
+                    content.add(summary(order[descending ? size - 1 - (int) index : (int) index]));
+                }
+                hasNext = end < size;
+
+            } else { // 정렬 순서대로 조건에 맞는 문제만 세면서 페이지를 채우고, 다음 페이지가 있는지 하나 더 확인
+                long skipped = 0;
+                for (int index = 0; index < size; index++) {
+                    int slot = order[descending ? size - 1 - index : index];
+                    if (!matchesAttributes(slot, filter) || (filter.isExcluding() && filter.excludedProblems().contains(ids[slot]))) {
+                        continue;
+                    }
+
+                    if (skipped < offset) {
+                        skipped++;
+                    } else if (content.size() < pageSize) {
+                        content.add(summary(slot));
+                    } else {
+                        hasNext = true;
+                        break;
+                    }
+                }
+            }
+
+            return includeTotal ? new PageImpl<>(content, pageable, total) : new SliceImpl<>(content, pageable, hasNext);
+        }
+
+        /**
+         * 커서 위치부터 정렬 순열을 읽으며 조건에 맞는 문제를 limit개까지 조회하는 메서드
+         * <p>
+         * 다음 페이지는 정렬 방향으로, 이전 페이지는 그 반대 방향으로 읽는다. (정렬 순서로 되돌리는 것은 {@link KeysetCursor#toSlice})
+         * 오름차순 순열 기준으로는 '커서보다 큰 쪽을 앞으로' 또는 '커서보다 작은 쪽을 뒤로' 읽는 두 가지 경우뿐이다.
+         */
+        Slice<ProblemSummaryDto> seek(KeysetCursor cursor, int limit, ProblemSortType sortType, Filter filter) {
+            boolean byCreatedAt = sortType == ProblemSortType.LATEST || sortType == ProblemSortType.OLDEST;
+            int[] order = byCreatedAt ? createdOrder : solvedOrder;
+            long[] keys = byCreatedAt ? createdAts : solvedCounts;
+            boolean descending = sortType.getDirection().isDescending();
+
+            // 오름차순 순열에서 (정렬 키, ID)가 커서보다 큰 첫 위치
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int slot = order[mid];
+                int compared = Long.compare(keys[slot], cursor.key());
+                if (compared < 0 || (compared == 0 && ids[slot] <= cursor.id())) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            boolean forward = descending == cursor.backward(); // 오름차순 순열을 앞으로 읽는지 여부
+            int start = forward ? low : low - 1;
+            if (!forward && low > 0 && ids[order[low - 1]] == cursor.id() && keys[order[low - 1]] == cursor.key()) {
+                start--; // 커서 위치의 문제는 제외
+            }
+
+            // 한 페이지를 넘는지 확인하기 위해 하나 더 조회
+            List<ProblemSummaryDto> rows = new ArrayList<>(Math.min(limit + 1, size));
+            for (int position = start; position >= 0 && position < size && rows.size() <= limit; position += forward ? 1 : -1) {
+                int slot = order[position];
+                if (matchesAttributes(slot, filter) && !(filter.isExcluding() && filter.excludedProblems().contains(ids[slot]))) {
+                    rows.add(summary(slot));
+                }
+            }
+
+            return cursor.toSlice(rows, limit);
+        }
+
+        /**
+         * 슬롯의 문제가 카테고리, 난이도, 유형 조건에 맞는지 확인하는 메서드
+         */
+        private boolean matchesAttributes(int slot, Filter filter) {
+            return (filter.category() == null || categoryBits[filter.category().ordinal()].get(slot))
+                    && (filter.difficulty() == null || difficultyBits[filter.difficulty().ordinal()].get(slot))
+                    && (filter.type() == null || typeBits[filter.type().ordinal()].get(slot));
+        }
+
+        /**
+         * 문제가 속한 모든 필터 조합(각 조건이 해당 값이거나 '전체'인 8가지)의 문제 수를 늘리는 메서드
+         */
+        private void countFilterCombinations(Row row) {
+            for (ProblemCategory category : new ProblemCategory[]{null, row.category()}) {
+                for (ProblemDifficulty difficulty : new ProblemDifficulty[]{null, row.difficulty()}) {
+                    for (ProblemType type : new ProblemType[]{null, row.type()}) {
+                        filterCounts[countIndex(category, difficulty, type)]++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 필터 조합의 문제 수 배열 위치를 계산하는 메서드 (조건이 null이면 '전체')
+         */
+        private static int countIndex(ProblemCategory category, ProblemDifficulty difficulty, ProblemType type) {
+            int categoryKey = category == null ? 0 : category.ordinal() + 1;
+            int difficultyKey = difficulty == null ? 0 : difficulty.ordinal() + 1;
+            int typeKey = type == null ? 0 : type.ordinal() + 1;
+            return (categoryKey * (DIFFICULTIES.length + 1) + difficultyKey) * (TYPES.length + 1) + typeKey;
+        }
+
+        private ProblemSummaryDto summary(int slot) {
+            return new ProblemSummaryDto(
+                    ids[slot],
+                    titles[slot],
+                    CATEGORIES[categories[slot]],
+                    DIFFICULTIES[difficulties[slot]],
+                    TYPES[types[slot]],
+                    solvedCounts[slot],
+                    KeysetCursor.toDateTime(createdAts[slot])
+            );
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package site.haruhana.www.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.haruhana.www.dto.problem.ProblemDto;
+import site.haruhana.www.dto.problem.SerializedProblemDto;
+import site.haruhana.www.exception.ProblemNotFoundException;
+import site.haruhana.www.repository.ProblemRepository;
+
+import java.time.Duration;
+
+/**
+ * 문제 상세 정보 캐시 (직렬화된 JSON)
+ * <p>
+ * 문제 상세 조회마다 문제와 선택지(또는 채점 기준)를 조회하고 직렬화하지 않도록,
+ * 요청마다 달라지는 풀이 수와 해결 여부를 제외한 {@link ProblemDto}의 JSON을 캐시한다. ({@link SerializedProblemDto} 참고)
+ * 자주 조회되는 문제가 남도록 조회 빈도를 고려하여(W-TinyLFU) 제거하며, 캐시는 JSON의 추정 크기(바이트) 합계로 제한된다.
+ * <p>
+ * 문제 내용은 생성된 후 바뀌지 않지만, 내용이나 상태를 바꾸는 경우에는 {@link #invalidate}를 호출해야 하며
+ * 갱신이 누락되는 경우에 대비해 만료 시간이 지나면 다시 조회된다.
+ * 적중률 등의 지표는 problem.detail 이름의 캐시 메트릭으로 제공된다.
+ */
+@Component
+public class ProblemDetailCache {
+
+    private final ProblemRepository problemRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final LoadingCache<Long, String> cache;
+
+    public ProblemDetailCache(
+            ProblemRepository problemRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${problem.detail-cache.maximum-bytes:16777216}") long maximumBytes,
+            @Value("${problem.detail-cache.ttl-minutes:1440}") long ttlMinutes
+    ) {
+        this.problemRepository = problemRepository;
+        this.objectMapper = objectMapper;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long problemId, String content) -> estimatedBytes(content))
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "problem.detail");
+    }
+
+    /**
+     * 직렬화된 문제 상세 정보를 조회하는 메서드
+     *
+     * @param problemId 문제 ID
+     * @return 풀이 수와 해결 여부를 제외하고 직렬화한 문제 내용 ({@link SerializedProblemDto#serializeContent} 참고)
+     * @throws ProblemNotFoundException 문제가 존재하지 않는 경우
+     */
+    public String get(Long problemId) {
+        return cache.get(problemId);
+    }
+
+    /**
+     * 문제의 캐시된 상세 정보를 제거하는 메서드 (문제 내용이나 상태가 바뀐 후 호출)
+     *
+     * @param problemId 문제 ID
+     */
+    public void invalidate(Long problemId) {
+        cache.invalidate(problemId);
+    }
+
+    /**
+     * JSON 문자열의 추정 크기 (한글이 포함된 문자열은 문자당 2바이트로 저장됨)
+     */
+    static int estimatedBytes(String content) {
+        return 2 * content.length();
+    }
+
+    private String load(Long problemId) {
+        // 선택지와 채점 기준을 지연 로딩하므로 트랜잭션 안에서 변환
+        return transactionTemplate.execute(status -> problemRepository.findById(problemId)
+                .map(problem -> SerializedProblemDto.serializeContent(objectMapper, ProblemDto.from(problem)))
+                .orElseThrow(ProblemNotFoundException::new));
+    }
+}
@@ -0,0 +1,111 @@
+package site.haruhana.www.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.repository.SubmissionRepository;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 해결한 문제 집합({@link SolvedProblems}) 캐시
+ * <p>
+ * 문제 목록을 조회할 때마다 사용자가 해결한 모든 문제 ID를 조회하지 않도록, 처음 조회한 집합을 압축 비트맵으로 캐시한다.
+ * 이후 제출이 정답으로 채점되면 캐시된 집합에 문제를 추가하며, 캐시에 없는 사용자는 다음 조회 시 DB에서 불러온다.
+ * 캐시는 집합의 추정 크기(바이트) 합계로 제한되며, 갱신이 누락되는 경우에 대비해 만료 시간이 지나면 다시 조회된다.
+ * <p>
+ * 정답 채점은 채점한 서버의 캐시만 갱신하므로, 여러 서버가 실행되는 경우 다른 서버에서 해결한 문제는 이 서버의 캐시에 바로 반영되지 않는다.
+ * 따라서 캐시된 집합은 refresh-seconds가 지나면 다음 조회 시(백그라운드에서) DB의 해결한 문제 수와 비교하고,
+ * 다르다면 다시 불러온다. (해결한 문제는 취소되지 않으므로 문제 수가 같으면 같은 집합)
+ * 다른 서버에서 해결한 문제가 해결 여부, 미해결 필터, 문제 목록 ETag에 반영되기까지 최대 refresh-seconds가 걸리며,
+ * 비교하는 쿼리는 (user_id, is_correct, problem_id) 인덱스만 읽는다.
+ * <p>
+ * 적중률 등의 지표는 problem.solved 이름의 캐시 메트릭으로 제공된다.
+ */
+@Component
+public class SolvedProblemCache {
+
+    private final SubmissionRepository submissionRepository;
+
+    private final LoadingCache<Long, SolvedProblems> cache;
+
+    public SolvedProblemCache(
+            SubmissionRepository submissionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${problem.solved-cache.maximum-bytes:33554432}") long maximumBytes,
+            @Value("${problem.solved-cache.ttl-minutes:30}") long ttlMinutes,
+            @Value("${problem.solved-cache.refresh-seconds:10}") long refreshSeconds
+    ) {
+        this.submissionRepository = submissionRepository;
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long userId, SolvedProblems solved) -> solved.estimatedBytes())
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public SolvedProblems load(Long userId) {
+                        return SolvedProblemCache.this.load(userId);
+                    }
+
+                    @Override
+                    public SolvedProblems reload(Long userId, SolvedProblems cached) {
+                        return reloadIfChanged(userId, cached);
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "problem.solved");
+    }
+
+    /**
+     * 사용자가 해결한 문제 집합을 조회하는 메서드
+     *
+     * @param userId 사용자 ID
+     * @return 사용자가 정답을 맞춘 문제 집합
+     */
+    public SolvedProblems get(Long userId) {
+        return cache.get(userId);
+    }
+
+    /**
+     * 사용자가 문제를 해결했음을 반영하는 메서드 (정답 채점 결과가 DB에 커밋된 후 호출)
+     * <p>
+     * 캐시에 없는 사용자는 다음 조회 시 DB에서 불러오므로 무시한다.
+     *
+     * @param userId    사용자 ID
+     * @param problemId 해결한 문제 ID
+     */
+    public void markSolved(Long userId, long problemId) {
+        cache.asMap().computeIfPresent(userId, (id, solved) -> solved.with(problemId));
+    }
+
+    /**
+     * 캐시된 집합이 최신인지 DB에서 바로 확인하는 메서드 (refresh-seconds를 기다리지 않음)
+     *
+     * @param userId 사용자 ID
+     */
+    void refresh(Long userId) {
+        cache.refresh(userId).join();
+    }
+
+    private SolvedProblems load(Long userId) {
+        return SolvedProblems.of(submissionRepository.findProblemIdsSolvedCorrectlyByUserId(userId));
+    }
+
+    /**
+     * DB의 해결한 문제 수가 캐시된 집합과 다를 때만 다시 불러오는 메서드
+     */
+    private SolvedProblems reloadIfChanged(Long userId, SolvedProblems cached) {
+        if (submissionRepository.countProblemsSolvedCorrectlyByUserId(userId) == cached.version()) {
+            return cached;
+        }
+
+        return load(userId);
+    }
+}
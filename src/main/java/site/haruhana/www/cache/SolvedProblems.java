@@ -0,0 +1,127 @@
+package site.haruhana.www.cache;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * 사용자가 해결한 문제 ID 집합 (압축 비트맵)
+ * <p>
+ * 문제 ID를 Roaring 비트맵으로 보관하여, 수천 개의 문제를 해결한 사용자도 ID마다 Long 객체를 만들지 않고 수 KB 안에 담는다.
+ * 여러 요청이 동시에 읽을 수 있도록 변경할 수 없으며, 문제를 추가하면 새 집합을 반환한다.
+ * <p>
+ * 문제 ID는 int 범위 안에 있다고 가정한다. (범위를 벗어난 ID는 포함되지 않은 것으로 취급)
+ */
+public final class SolvedProblems {
+
+    private static final SolvedProblems EMPTY = new SolvedProblems(new RoaringBitmap());
+
+    private final RoaringBitmap bitmap;
+
+    private SolvedProblems(RoaringBitmap bitmap) {
+        this.bitmap = bitmap;
+    }
+
+    public static SolvedProblems empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 문제 ID 목록으로 집합을 생성하는 메서드
+     */
+    public static SolvedProblems of(Collection<Long> problemIds) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (Long problemId : problemIds) {
+            if (isInRange(problemId)) {
+                bitmap.add(problemId.intValue());
+            }
+        }
+        bitmap.runOptimize(); // 연속된 ID 구간은 run 컨테이너로 압축
+
+        return new SolvedProblems(bitmap);
+    }
+
+    /**
+     * 문제를 추가한 새 집합을 반환하는 메서드 (이미 포함된 문제라면 자신을 반환)
+     */
+    public SolvedProblems with(long problemId) {
+        if (!isInRange(problemId) || contains(problemId)) {
+            return this;
+        }
+
+        RoaringBitmap copy = bitmap.clone();
+        copy.add((int) problemId);
+        return new SolvedProblems(copy);
+    }
+
+    public boolean contains(long problemId) {
+        return isInRange(problemId) && bitmap.contains((int) problemId);
+    }
+
+    public boolean isEmpty() {
+        return bitmap.isEmpty();
+    }
+
+    public int size() {
+        return bitmap.getCardinality();
+    }
+
+    /**
+     * 집합이 차지하는 메모리의 추정 크기 (바이트)
+     */
+    public int estimatedBytes() {
+        return bitmap.getSizeInBytes();
+    }
+
+    /**
+     * 집합의 버전 (응답의 ETag 계산용)
+     * <p>
+     * 해결한 문제는 취소되지 않아 사용자의 집합은 커지기만 하므로, 문제 수가 같으면 같은 집합이다.
+     * 내용의 해시와 달리 서로 다른 집합이 같은 값을 갖지 않으며, 어느 서버에서 불러와도 같은 값이다.
+     */
+    public long version() {
+        return bitmap.getLongCardinality();
+    }
+
+    /**
+     * 모든 문제 ID를 오름차순으로 순회하는 메서드
+     */
+    public void forEach(LongConsumer action) {
+        PeekableIntIterator iterator = bitmap.getIntIterator();
+        while (iterator.hasNext()) {
+            action.accept(iterator.next());
+        }
+    }
+
+    /**
+     * 조건에 맞는 문제 수를 세는 메서드
+     */
+    public int count(LongPredicate predicate) {
+        int count = 0;
+        PeekableIntIterator iterator = bitmap.getIntIterator();
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.next())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * DB 조회 조건(NOT IN)에 사용하기 위해 문제 ID 집합으로 변환하는 메서드
+     */
+    public Set<Long> toSet() {
+        Set<Long> problemIds = new HashSet<>(size() * 2);
+        forEach(problemIds::add);
+        return problemIds;
+    }
+
+    private static boolean isInRange(long problemId) {
+        return problemId >= 0 && problemId <= Integer.MAX_VALUE;
+    }
+}
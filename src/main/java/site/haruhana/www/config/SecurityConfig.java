@@ -1,5 +1,6 @@
 package site.haruhana.www.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,7 +37,9 @@ public class SecurityConfig {
         return http
                 .csrf(AbstractHttpConfigurer::disable) // Rest API 사용으로 CSRF 비활성화.
                 .authorizeHttpRequests(request -> request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE 등 비동기 응답의 후속 디스패치는 최초 요청에서 이미 인가됨
                         .requestMatchers("/actuator/health").permitAll() // 로드밸런서 대상그룹 Health Check를 위해 허용
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN") // 그 외의 운영용 엔드포인트는 관리자만 접근 가능
                         .requestMatchers("/api/auth/refresh").permitAll() // 토큰 갱신 API는 인증이 필요없음
                         .requestMatchers("/api/problems/**").permitAll() // 문제 관련 API는 인증이 필수가 아님
                         .requestMatchers(HttpMethod.POST, "/api/problems/*/submissions").authenticated() // 답안 제출 관련 API는 인증 필수
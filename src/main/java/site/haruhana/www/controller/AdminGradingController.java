@@ -0,0 +1,57 @@
+package site.haruhana.www.controller;
+
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import site.haruhana.www.dto.BaseResponse;
+import site.haruhana.www.dto.grading.GradingDeadLetterPage;
+import site.haruhana.www.service.GradingDeadLetterService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/grading")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class AdminGradingController {
+
+    private final GradingDeadLetterService deadLetterService;
+
+    /**
+     * 채점 실패 기록(데드 레터) 목록 조회 API
+     *
+     * @param page 페이지 번호 (기본값: 0)
+     * @param size 페이지 크기 (기본값: 20)
+     * @return 페이징 처리된 데드 레터 목록
+     */
+    @GetMapping("/dead-letters")
+    public ResponseEntity<BaseResponse<GradingDeadLetterPage>> getDeadLetters(
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) int size
+    ) {
+        GradingDeadLetterPage data = deadLetterService.getDeadLetters(page, size);
+        return ResponseEntity.ok(BaseResponse.onSuccess("채점 실패 기록이 성공적으로 조회되었습니다.", data));
+    }
+
+    /**
+     * 채점 실패 기록 재처리 API (해당 제출을 다시 채점 대기열에 추가)
+     *
+     * @param deadLetterId 데드 레터 ID (URL 경로 변수)
+     */
+    @PostMapping("/dead-letters/{deadLetterId}/replay")
+    public ResponseEntity<BaseResponse<Void>> replayDeadLetter(@PathVariable("deadLetterId") Long deadLetterId) {
+        deadLetterService.replay(deadLetterId);
+        return ResponseEntity.ok(BaseResponse.onSuccess("채점 요청이 다시 대기열에 추가되었습니다.", null));
+    }
+
+    /**
+     * 채점 실패 기록 삭제 API
+     *
+     * @param deadLetterId 데드 레터 ID (URL 경로 변수)
+     */
+    @DeleteMapping("/dead-letters/{deadLetterId}")
+    public ResponseEntity<BaseResponse<Void>> discardDeadLetter(@PathVariable("deadLetterId") Long deadLetterId) {
+        deadLetterService.discard(deadLetterId);
+        return ResponseEntity.ok(BaseResponse.onSuccess("채점 실패 기록이 삭제되었습니다.", null));
+    }
+}
@@ -2,14 +2,17 @@ package site.haruhana.www.controller;
 
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import site.haruhana.www.dto.BaseResponse;
-import site.haruhana.www.dto.problem.ProblemDto;
 import site.haruhana.www.dto.problem.ProblemPage;
 import site.haruhana.www.dto.problem.ProblemSortType;
 import site.haruhana.www.dto.problem.ProblemSummaryDto;
+import site.haruhana.www.dto.problem.SerializedProblemDto;
 import site.haruhana.www.entity.problem.ProblemCategory;
 import site.haruhana.www.entity.problem.ProblemDifficulty;
 import site.haruhana.www.entity.problem.ProblemType;
@@ -29,6 +32,8 @@ public class ProblemController {
      * 페이징, 카테고리, 난이도, 유형 및 정렬 조건에 따라 문제 목록을 조회합니다.
      * 로그인한 사용자가 요청한 경우 각 문제에 대한 사용자의 해결 여부도 함께 제공합니다.
      * 미해결 문제만 보기 옵션으로 사용자가 풀지 않은 문제만 필터링할 수 있습니다.
+     * <p>
+     * 응답에는 ETag가 포함되며, If-None-Match의 ETag가 같으면 문제 목록을 조회하지 않고 304 Not Modified로 응답합니다.
      *
      * @param page         페이지 번호 (기본값: 0)
      * @param size         페이지 크기 (기본값: 12)
@@ -37,8 +42,11 @@ public class ProblemController {
      * @param type         문제 유형 (선택 사항)
      * @param sortType     문제 정렬 기준 (기본값: 가장 많이 푼 문제)
      * @param onlyUnsolved 미해결 문제만 보기 (기본값: false)
+     * @param includeTotal 전체 페이지 수와 전체 문제 수 포함 여부 (기본값: true, false면 다음 페이지 존재 여부만 제공)
+     * @param cursor       이전 응답의 nextCursor 또는 prevCursor (선택 사항, 지정하면 page와 includeTotal은 무시)
      * @param user         현재 인증된 사용자 (인증되지 않은 경우 null)
-     * @return 문제 목록 응답
+     * @param webRequest   조건부 요청 헤더(If-None-Match) 확인용 요청
+     * @return 문제 목록 응답 (변경되지 않은 경우 본문 없는 304 응답)
      */
     @GetMapping
     public ResponseEntity<BaseResponse<ProblemPage<ProblemSummaryDto>>> getProblems(
@@ -49,10 +57,18 @@ public class ProblemController {
             @RequestParam(required = false) ProblemType type,
             @RequestParam(defaultValue = "MOST_SOLVED") ProblemSortType sortType,
             @RequestParam(defaultValue = "false") boolean onlyUnsolved,
-            @AuthenticationPrincipal User user
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest
     ) {
-        ProblemPage<ProblemSummaryDto> data = problemService.getProblems(page, size, category, difficulty, type, sortType, onlyUnsolved, user);
-        return ResponseEntity.ok(BaseResponse.onSuccess("문제 목록을 조회하는데 성공했습니다.", data));
+        String eTag = problemService.getProblemListETag(user);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        ProblemPage<ProblemSummaryDto> data = problemService.getProblems(page, size, category, difficulty, type, sortType, onlyUnsolved, includeTotal, cursor, user);
+        return conditionalResponse(eTag, user).body(BaseResponse.onSuccess("문제 목록을 조회하는데 성공했습니다.", data));
     }
 
     /**
@@ -60,17 +76,37 @@ public class ProblemController {
      * <p>
      * 특정 문제의 상세 정보를 조회합니다.
      * 로그인한 사용자가 요청한 경우 해당 문제에 대한 사용자의 해결 여부도 함께 제공합니다.
+     * 문제 목록과 같은 방식으로 ETag를 비교하여, 변경되지 않았다면 문제를 조회하지 않고 304 Not Modified로 응답합니다.
      *
-     * @param problemId 조회할 문제 ID
-     * @param user      현재 인증된 사용자 (인증되지 않은 경우 null)
-     * @return 문제 상세 정보 응답
+     * @param problemId  조회할 문제 ID
+     * @param user       현재 인증된 사용자 (인증되지 않은 경우 null)
+     * @param webRequest 조건부 요청 헤더(If-None-Match) 확인용 요청
+     * @return 문제 상세 정보 응답 (변경되지 않은 경우 본문 없는 304 응답)
      */
     @GetMapping("/{problemId}")
-    public ResponseEntity<BaseResponse<ProblemDto>> getProblem(
+    public ResponseEntity<BaseResponse<SerializedProblemDto>> getProblem(
             @PathVariable Long problemId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest
     ) {
-        ProblemDto data = problemService.getProblem(problemId, user);
-        return ResponseEntity.ok(BaseResponse.onSuccess("문제를 조회하는데 성공했습니다.", data));
+        String eTag = problemService.getProblemETag(problemId, user);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        SerializedProblemDto data = problemService.getProblem(problemId, user);
+        return conditionalResponse(eTag, user).body(BaseResponse.onSuccess("문제를 조회하는데 성공했습니다.", data));
+    }
+
+    /**
+     * ETag와 캐시 정책을 포함한 200 응답을 만드는 메서드
+     * <p>
+     * 클라이언트가 매번 ETag로 재검증하도록 no-cache를 지정하며, 사용자별 응답은 공유 캐시에 저장되지 않도록 private으로 지정한다.
+     * (Last-Modified는 초 단위라 1초 안에 바뀐 풀이 수를 구분하지 못하므로 사용하지 않는다)
+     */
+    private ResponseEntity.BodyBuilder conditionalResponse(String eTag, User user) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(user == null ? CacheControl.noCache() : CacheControl.noCache().cachePrivate());
     }
 }
@@ -4,10 +4,12 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import site.haruhana.www.dto.BaseResponse;
 import site.haruhana.www.dto.submission.SubmissionPage;
 import site.haruhana.www.dto.submission.request.SubmissionRequestDto;
@@ -17,6 +19,7 @@ import site.haruhana.www.entity.problem.ProblemCategory;
 import site.haruhana.www.entity.problem.ProblemDifficulty;
 import site.haruhana.www.entity.problem.ProblemType;
 import site.haruhana.www.entity.user.User;
+import site.haruhana.www.service.GradingEventService;
 import site.haruhana.www.service.SubmissionService;
 
 @RestController
@@ -26,6 +29,8 @@ public class SubmissionController {
 
     private final SubmissionService submissionService;
 
+    private final GradingEventService gradingEventService;
+
     /**
      * 문제 답안 제출 API
      *
@@ -54,6 +59,7 @@ public class SubmissionController {
      * @param difficulty 문제 난이도 필터 (선택 사항)
      * @param type       문제 유형 필터 (선택 사항)
      * @param isCorrect  정답 여부 필터 (선택 사항)
+     * @param cursor     이전 응답의 nextCursor 또는 prevCursor (선택 사항, 지정하면 page는 무시하고 전체 개수 없이 조회)
      * @return 필터링된 페이징 처리된 사용자의 문제 풀이 기록 목록
      */
     @GetMapping("/users/{userId}/submissions")
@@ -65,10 +71,30 @@ public class SubmissionController {
             @RequestParam(required = false) ProblemCategory category,
             @RequestParam(required = false) ProblemDifficulty difficulty,
             @RequestParam(required = false) ProblemType type,
-            @RequestParam(required = false) Boolean isCorrect
+            @RequestParam(required = false) Boolean isCorrect,
+            @RequestParam(required = false) String cursor
     ) {
-        SubmissionPage<SubmissionHistoryResponseDto> data = submissionService.getSubmissionHistoryByUser(userId, page, size, category, difficulty, type, isCorrect);
+        SubmissionPage<SubmissionHistoryResponseDto> data = submissionService.getSubmissionHistoryByUser(userId, page, size, category, difficulty, type, isCorrect, cursor);
         return ResponseEntity.ok(BaseResponse.onSuccess("문제 풀이 기록이 성공적으로 조회되었습니다.", data));
     }
 
+    /**
+     * 사용자의 주관식 채점 완료 이벤트 구독 API (SSE)
+     * <p>
+     * 채점이 완료될 때마다 graded 이벤트(제출 ID, 점수, 정답 여부)를 전송한다.
+     * 재연결 시 Last-Event-ID 헤더로 놓친 이벤트를 이어받으며, 이어받을 수 없으면 resync 이벤트를 전송한다.
+     *
+     * @param userId      구독할 사용자의 ID (URL 경로 변수)
+     * @param lastEventId 마지막으로 받은 이벤트 ID (선택 사항)
+     * @return 채점 완료 이벤트 스트림
+     */
+    @GetMapping(value = "/users/{userId}/grading-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated() and #userId == authentication.principal.id")
+    public SseEmitter subscribeGradingEvents(
+            @PathVariable("userId") Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return gradingEventService.subscribe(userId, lastEventId);
+    }
+
 }
@@ -0,0 +1,166 @@
+package site.haruhana.www.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import site.haruhana.www.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * 키셋(커서) 페이지네이션의 위치를 나타내는 커서
+ * <p>
+ * 정렬 키와 ID를 함께 담아, 페이지 번호(OFFSET) 대신 "(정렬 키, ID)가 커서보다 뒤(또는 앞)인 행"을 조회하는 데 사용한다.
+ * 시각 정렬 키는 UTC 기준 epoch 마이크로초로 변환하여 담는다. (DB의 DATETIME(6) 정밀도와 동일)
+ * <p>
+ * 클라이언트에는 Base64(URL-safe) 문자열로 전달되며, 다른 정렬 기준(scope)으로 만든 커서는 사용할 수 없다.
+ *
+ * @param scope    커서를 만든 정렬 기준 (예: LATEST, SUBMISSION_HISTORY)
+ * @param backward 이전 페이지 커서 여부 (true: 커서보다 앞의 행, false: 커서보다 뒤의 행)
+ * @param key      정렬 키 (풀이 수 또는 epoch 마이크로초)
+ * @param id       정렬 키가 같은 행을 구분하는 ID
+ */
+public record KeysetCursor(String scope, boolean backward, long key, long id) {
+
+    private static final String SEPARATOR = ":";
+
+    private static final String NEXT = "N";
+
+    private static final String PREV = "P";
+
+    /**
+     * 커서보다 뒤의 행을 조회하는 다음 페이지 커서를 생성하는 메서드
+     */
+    public static KeysetCursor next(String scope, long key, long id) {
+        return new KeysetCursor(scope, false, key, id);
+    }
+
+    /**
+     * 커서보다 앞의 행을 조회하는 이전 페이지 커서를 생성하는 메서드
+     */
+    public static KeysetCursor prev(String scope, long key, long id) {
+        return new KeysetCursor(scope, true, key, id);
+    }
+
+    /**
+     * 같은 위치에서 반대 방향을 조회하는 커서를 반환하는 메서드
+     */
+    public KeysetCursor reversed() {
+        return new KeysetCursor(scope, !backward, key, id);
+    }
+
+    /**
+     * 클라이언트에 전달할 문자열로 변환하는 메서드
+     */
+    public String encode() {
+        String raw = String.join(SEPARATOR, scope, backward ? PREV : NEXT, Long.toString(key), Long.toString(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 클라이언트가 전달한 커서 문자열을 해석하는 메서드
+     *
+     * @param value 커서 문자열
+     * @param scope 요청의 정렬 기준
+     * @return 해석된 커서
+     * @throws InvalidCursorException 커서 형식이 올바르지 않거나 다른 정렬 기준으로 만든 커서인 경우
+     */
+    public static KeysetCursor decode(String value, String scope) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 4 || !parts[0].equals(scope) || !(parts[1].equals(NEXT) || parts[1].equals(PREV))) {
+                throw new InvalidCursorException();
+            }
+
+            return new KeysetCursor(parts[0], parts[1].equals(PREV), Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) { // Base64 또는 숫자 형식 오류
+            throw new InvalidCursorException();
+        }
+    }
+
+    /**
+     * 커서 위치부터 한 개 더 조회한 행으로 페이지를 만드는 메서드
+     * <p>
+     * 한 페이지를 넘는 행이 있으면 조회한 방향에 행이 더 있는 것으로 보고 잘라내며,
+     * 이전 페이지 커서인 경우 커서에서 멀어지는 순서로 조회되었으므로 정렬 순서로 되돌린다.
+     *
+     * @param rows 커서에 가까운 순서로 조회한 행 (최대 size + 1개)
+     * @param size 페이지 크기
+     * @return 정렬 순서의 행 목록 ({@link Slice#hasNext()}는 조회한 방향에 행이 더 있는지 여부)
+     */
+    public <T> Slice<T> toSlice(List<T> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (backward) {
+            Collections.reverse(content);
+        }
+
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasMore);
+    }
+
+    /**
+     * 시각을 커서의 정렬 키(epoch 마이크로초)로 변환하는 메서드
+     */
+    public static long toKey(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, dateTime.toInstant(ZoneOffset.UTC));
+    }
+
+    /**
+     * 커서의 정렬 키(epoch 마이크로초)를 시각으로 변환하는 메서드
+     */
+    public static LocalDateTime toDateTime(long key) {
+        return LocalDateTime.ofInstant(Instant.EPOCH.plus(key, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    /**
+     * 조회 결과의 다음/이전 페이지 커서
+     *
+     * @param next 다음 페이지 커서 (다음 페이지가 없으면 null)
+     * @param prev 이전 페이지 커서 (이전 페이지가 없으면 null)
+     */
+    public record Links(String next, String prev) {
+
+        /**
+         * 조회 결과의 첫 행과 마지막 행으로 다음/이전 페이지 커서를 만드는 메서드
+         * <p>
+         * 페이지 번호로 조회한 경우에도 커서를 만들어, 클라이언트가 다음 페이지부터 커서로 이어서 조회할 수 있도록 한다.
+         *
+         * @param slice     조회 결과 (커서로 조회한 경우 {@link #toSlice}의 결과)
+         * @param requested 요청한 커서 (페이지 번호로 조회한 경우 null)
+         * @param scope     정렬 기준
+         * @param keyOf     행의 정렬 키
+         * @param idOf      행의 ID
+         */
+        public static <T> Links of(Slice<T> slice, KeysetCursor requested, String scope, ToLongFunction<T> keyOf, ToLongFunction<T> idOf) {
+            List<T> content = slice.getContent();
+            if (content.isEmpty()) { // 조회된 행이 없으면 요청한 커서 위치에서 반대 방향으로만 이동할 수 있음
+                if (requested == null) {
+                    return new Links(null, null);
+                }
+
+                String reversed = requested.reversed().encode();
+                return requested.backward() ? new Links(reversed, null) : new Links(null, reversed);
+            }
+
+            boolean hasNext = requested == null ? slice.hasNext() : requested.backward() || slice.hasNext();
+            boolean hasPrevious = requested == null ? slice.hasPrevious() : !requested.backward() || slice.hasNext();
+
+            T first = content.get(0);
+            T last = content.get(content.size() - 1);
+            return new Links(
+                    hasNext ? KeysetCursor.next(scope, keyOf.applyAsLong(last), idOf.applyAsLong(last)).encode() : null,
+                    hasPrevious ? KeysetCursor.prev(scope, keyOf.applyAsLong(first), idOf.applyAsLong(first)).encode() : null
+            );
+        }
+    }
+}
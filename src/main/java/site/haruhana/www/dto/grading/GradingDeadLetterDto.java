@@ -0,0 +1,64 @@
+package site.haruhana.www.dto.grading;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import site.haruhana.www.entity.grading.GradingDeadLetter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채점 실패 기록(데드 레터) 응답 DTO
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class GradingDeadLetterDto {
+
+    /**
+     * 데드 레터 ID
+     */
+    private Long id;
+
+    /**
+     * 채점에 실패한 제출 ID
+     */
+    private Long submissionId;
+
+    /**
+     * 채점에 실패한 문제 ID
+     */
+    private Long problemId;
+
+    /**
+     * 채점을 시도한 횟수
+     */
+    private int attempts;
+
+    /**
+     * 마지막으로 발생한 오류 메시지
+     */
+    private String lastError;
+
+    /**
+     * 처음 데드 레터로 이동한 시각
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 마지막으로 갱신된 시각
+     */
+    private LocalDateTime updatedAt;
+
+    public static GradingDeadLetterDto from(GradingDeadLetter deadLetter) {
+        return GradingDeadLetterDto.builder()
+                .id(deadLetter.getId())
+                .submissionId(deadLetter.getSubmissionId())
+                .problemId(deadLetter.getProblemId())
+                .attempts(deadLetter.getAttempts())
+                .lastError(deadLetter.getLastError())
+                .createdAt(deadLetter.getCreatedAt())
+                .updatedAt(deadLetter.getUpdatedAt())
+                .build();
+    }
+}
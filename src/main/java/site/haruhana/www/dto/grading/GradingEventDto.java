@@ -0,0 +1,52 @@
+package site.haruhana.www.dto.grading;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import site.haruhana.www.entity.submission.Submission;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주관식 채점 완료 이벤트 DTO (SSE로 전송)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class GradingEventDto {
+
+    /**
+     * 채점이 완료된 제출 ID
+     */
+    private Long submissionId;
+
+    /**
+     * 채점한 문제 ID
+     */
+    private Long problemId;
+
+    /**
+     * 채점 점수
+     */
+    private Double score;
+
+    /**
+     * 정답 여부
+     */
+    private Boolean isCorrect;
+
+    /**
+     * 채점이 완료된 시각
+     */
+    private LocalDateTime gradedAt;
+
+    public static GradingEventDto from(Submission submission) {
+        return GradingEventDto.builder()
+                .submissionId(submission.getId())
+                .problemId(submission.getProblem().getId())
+                .score(submission.getScore())
+                .isCorrect(submission.getIsCorrect())
+                .gradedAt(submission.getFeedbackProvidedAt())
+                .build();
+    }
+}
@@ -1,14 +1,16 @@
 package site.haruhana.www.dto.problem;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 @Getter
-@JsonPropertyOrder({"problems", "currentPage", "pageSize", "totalPages", "totalElements", "numberOfElements", "hasNext", "hasPrevious", "empty"})
+@JsonPropertyOrder({"problems", "currentPage", "pageSize", "totalPages", "totalElements", "numberOfElements", "hasNext", "hasPrevious", "empty", "nextCursor", "prevCursor"})
 public class ProblemPage<T> {
 
     @JsonProperty("problems")
@@ -17,8 +19,10 @@ public class ProblemPage<T> {
     // 페이지 정보
     private final int currentPage;             // 현재 페이지
     private final int pageSize;                // 페이지 크기
-    private final int totalPages;              // 전체 페이지 수
-    private final long totalElements;          // 전체 요소 수
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Integer totalPages;          // 전체 페이지 수 (전체 개수 없이 조회한 경우 null)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long totalElements;          // 전체 요소 수 (전체 개수 없이 조회한 경우 null)
     private final int numberOfElements;        // 현재 페이지의 요소 수
 
     // 페이지 상태 정보
@@ -26,15 +30,37 @@ public class ProblemPage<T> {
     private final boolean hasPrevious;         // 이전 페이지 존재 여부
     private final boolean empty;               // 현재 페이지가 비어있는지 여부
 
-    public ProblemPage(Page<T> page) {
-        this.problems = page.getContent();
-        this.currentPage = page.getNumber();
-        this.pageSize = page.getSize();
-        this.totalPages = page.getTotalPages();
-        this.totalElements = page.getTotalElements();
-        this.numberOfElements = page.getNumberOfElements();
-        this.hasNext = page.hasNext();
-        this.hasPrevious = page.hasPrevious();
-        this.empty = page.isEmpty();
+    // 커서 정보 (해당 방향에 페이지가 없으면 null)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String nextCursor;           // 다음 페이지 커서
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String prevCursor;           // 이전 페이지 커서
+
+    /**
+     * 페이지 정보로 응답을 생성하는 생성자
+     * <p>
+     * 전체 개수 없이 조회한 {@link Slice}인 경우 전체 페이지 수와 전체 요소 수는 응답에 포함되지 않는다.
+     */
+    public ProblemPage(Slice<T> slice) {
+        this(slice, null, null);
+    }
+
+    /**
+     * 페이지 정보와 다음/이전 페이지 커서로 응답을 생성하는 생성자
+     * <p>
+     * 커서로 조회한 경우 페이지 번호는 0이며, 다음/이전 페이지 존재 여부는 커서 유무로 판단한다.
+     */
+    public ProblemPage(Slice<T> slice, String nextCursor, String prevCursor) {
+        this.problems = slice.getContent();
+        this.currentPage = slice.getNumber();
+        this.pageSize = slice.getSize();
+        this.totalPages = slice instanceof Page<T> page ? page.getTotalPages() : null;
+        this.totalElements = slice instanceof Page<T> page ? page.getTotalElements() : null;
+        this.numberOfElements = slice.getNumberOfElements();
+        this.hasNext = slice.hasNext() || nextCursor != null;
+        this.hasPrevious = slice.hasPrevious() || prevCursor != null;
+        this.empty = slice.isEmpty();
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
     }
 }
@@ -3,6 +3,7 @@ package site.haruhana.www.dto.problem;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import site.haruhana.www.dto.KeysetCursor;
 
 @Getter
 @RequiredArgsConstructor
@@ -15,7 +16,20 @@ public enum ProblemSortType {
     private final String field;
     private final Sort.Direction direction;
 
+    /**
+     * 정렬 조건을 반환하는 메서드 (정렬 키가 같으면 ID를 같은 방향으로 정렬하여 순서를 고정)
+     */
     public Sort getSort() {
-        return Sort.by(direction, field);
+        return Sort.by(direction, field, "id");
+    }
+
+    /**
+     * 문제의 커서 정렬 키를 반환하는 메서드 (생성 시각은 epoch 마이크로초, 풀이 수는 그대로)
+     */
+    public long cursorKey(ProblemSummaryDto problem) {
+        return switch (this) {
+            case LATEST, OLDEST -> KeysetCursor.toKey(problem.getCreatedAt());
+            case MOST_SOLVED, LEAST_SOLVED -> problem.getSolvedCount();
+        };
     }
 }
@@ -1,5 +1,6 @@
 package site.haruhana.www.dto.problem;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,8 @@ import site.haruhana.www.entity.problem.ProblemCategory;
 import site.haruhana.www.entity.problem.ProblemDifficulty;
 import site.haruhana.www.entity.problem.ProblemType;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @Builder
@@ -22,6 +25,8 @@ public class ProblemSummaryDto {
     private ProblemType type;
     private long solvedCount;
     private Boolean isSolved; // 로그인한 사용자가 문제를 해결했는지 여부
+    @JsonIgnore
+    private LocalDateTime createdAt; // 커서 생성용 (응답에는 포함하지 않음)
 
     /**
      * 기본 필드만 포함하는 생성자 (JPQL 쿼리용)
@@ -34,6 +39,21 @@ public class ProblemSummaryDto {
      * @param solvedCount 문제 풀이 수
      */
     public ProblemSummaryDto(Long id, String title, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, long solvedCount) {
+        this(id, title, category, difficulty, type, solvedCount, null);
+    }
+
+    /**
+     * 생성 시각을 포함하는 생성자 (JPQL 쿼리용, 생성 시각은 커서를 만드는 데만 사용)
+     *
+     * @param id          문제 ID
+     * @param title       문제 제목
+     * @param category    문제 카테고리
+     * @param difficulty  문제 난이도
+     * @param type        문제 유형
+     * @param solvedCount 문제 풀이 수
+     * @param createdAt   문제 생성 시각
+     */
+    public ProblemSummaryDto(Long id, String title, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, long solvedCount, LocalDateTime createdAt) {
         this.id = id;
         this.title = title;
         this.category = category;
@@ -41,6 +61,7 @@ public class ProblemSummaryDto {
         this.type = type;
         this.solvedCount = solvedCount;
         this.isSolved = null;
+        this.createdAt = createdAt;
     }
 
 }
@@ -0,0 +1,80 @@
+package site.haruhana.www.dto.problem;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 미리 직렬화한 문제 상세 정보에 요청마다 달라지는 값(풀이 수, 해결 여부)을 덧붙여 응답하는 DTO
+ * <p>
+ * 문제 내용은 생성된 후 바뀌지 않으므로 {@link ProblemDto}를 한 번만 JSON으로 직렬화하여 캐시하고,
+ * 응답할 때는 직렬화된 내용을 그대로 쓴 뒤 풀이 수와 해결 여부만 이어서 쓴다.
+ * 필드 순서만 다를 뿐 {@link ProblemDto}를 직렬화한 것과 같은 JSON이 만들어진다.
+ */
+public final class SerializedProblemDto extends JsonSerializable.Base {
+
+    private static final List<String> PER_REQUEST_FIELDS = List.of("solvedCount", "isSolved");
+
+    private final String content;
+
+    private final long solvedCount;
+
+    private final Boolean isSolved;
+
+    /**
+     * @param content     {@link #serializeContent}로 직렬화한 문제 내용
+     * @param solvedCount 문제 풀이 수
+     * @param isSolved    로그인한 사용자가 문제를 해결했는지 여부 (인증되지 않은 사용자는 null)
+     */
+    public SerializedProblemDto(String content, long solvedCount, Boolean isSolved) {
+        this.content = content;
+        this.solvedCount = solvedCount;
+        this.isSolved = isSolved;
+    }
+
+    /**
+     * 요청마다 달라지는 필드를 제외하고 문제 내용을 직렬화하는 메서드
+     * <p>
+     * 필드를 이어서 쓸 수 있도록 JSON 객체의 닫는 괄호를 제외한 문자열을 반환한다.
+     *
+     * @param objectMapper 응답에 사용하는 ObjectMapper
+     * @param problem      문제 상세 정보
+     * @return 닫는 괄호를 제외한 JSON 객체 문자열 (항상 id 필드를 포함)
+     */
+    public static String serializeContent(ObjectMapper objectMapper, ProblemDto problem) {
+        try {
+            ObjectNode node = objectMapper.valueToTree(problem);
+            node.remove(PER_REQUEST_FIELDS);
+
+            String json = objectMapper.writeValueAsString(node);
+            return json.substring(0, json.length() - 1);
+
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("문제 정보를 직렬화할 수 없습니다", e);
+        }
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(content);
+        gen.writeRaw(",\"solvedCount\":");
+        gen.writeRaw(Long.toString(solvedCount));
+        if (isSolved != null) {
+            gen.writeRaw(",\"isSolved\":");
+            gen.writeRaw(isSolved.toString());
+        }
+        gen.writeRaw('}');
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+}
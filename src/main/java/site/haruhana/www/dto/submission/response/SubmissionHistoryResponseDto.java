@@ -1,5 +1,6 @@
 package site.haruhana.www.dto.submission.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -58,4 +59,10 @@ public class SubmissionHistoryResponseDto {
      */
     private Double score;
 
+    /**
+     * 제출 ID (커서 생성용, 응답에는 포함하지 않음)
+     */
+    @JsonIgnore
+    private Long submissionId;
+
 }
@@ -0,0 +1,70 @@
+package site.haruhana.www.entity.grading;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import site.haruhana.www.entity.BaseTimeEntity;
+
+/**
+ * 최대 재시도 횟수를 넘겨 채점에 실패한 제출을 보관하는 엔티티
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "grading_dead_letters", indexes = {
+        @Index(name = "uk_grading_dead_letters_submission", columnList = "submission_id", unique = true)
+})
+public class GradingDeadLetter extends BaseTimeEntity {
+
+    /**
+     * 데드 레터 ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 채점에 실패한 제출 ID
+     */
+    @Column(name = "submission_id", nullable = false)
+    private Long submissionId;
+
+    /**
+     * 채점에 실패한 문제 ID
+     */
+    @Column(name = "problem_id", nullable = false)
+    private Long problemId;
+
+    /**
+     * 채점을 시도한 횟수
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * 마지막으로 발생한 오류 메시지
+     */
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @Builder
+    public GradingDeadLetter(Long submissionId, Long problemId, int attempts, String lastError) {
+        this.submissionId = submissionId;
+        this.problemId = problemId;
+        this.attempts = attempts;
+        this.lastError = lastError;
+    }
+
+    /**
+     * 같은 제출이 다시 채점에 실패한 경우 시도 횟수와 오류 메시지를 갱신하는 메서드
+     *
+     * @param attempts  이번에 채점을 시도한 횟수
+     * @param lastError 마지막으로 발생한 오류 메시지
+     */
+    public void recordFailure(int attempts, String lastError) {
+        this.attempts += attempts;
+        this.lastError = lastError;
+    }
+}
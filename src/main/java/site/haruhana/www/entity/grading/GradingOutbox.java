@@ -0,0 +1,37 @@
+package site.haruhana.www.entity.grading;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import site.haruhana.www.entity.BaseTimeEntity;
+
+/**
+ * 채점 대기열에 추가해야 하는 주관식 제출을 보관하는 아웃박스 엔티티
+ * <p>
+ * 제출과 같은 트랜잭션에서 저장되므로, 제출이 롤백되면 함께 사라지고 커밋되면 서버가 바로 종료되더라도 남는다.
+ * {@link site.haruhana.www.scheduler.GradingOutboxRelay}가 배치 단위로 가져가 채점 대기열에 추가한 뒤 삭제한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "grading_outbox")
+public class GradingOutbox extends BaseTimeEntity {
+
+    /**
+     * 아웃박스 ID (저장 순서)
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 채점할 제출 ID
+     */
+    @Column(name = "submission_id", nullable = false)
+    private Long submissionId;
+
+    public GradingOutbox(Long submissionId) {
+        this.submissionId = submissionId;
+    }
+}
@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
         @Index(name = "idx_submissions_problem_user_correct", columnList = "problem_id, user_id, is_correct"),
         @Index(name = "idx_submissions_user_submitted_at", columnList = "user_id, submitted_at"),
         @Index(name = "idx_submissions_correct_submitted_at", columnList = "is_correct, submitted_at"),
-        @Index(name = "idx_submissions_problem_submitted_at", columnList = "problem_id, submitted_at")
+        @Index(name = "idx_submissions_problem_submitted_at", columnList = "problem_id, submitted_at"),
+        @Index(name = "idx_submissions_correct_id", columnList = "is_correct, id")
 })
 public class Submission {
 
@@ -0,0 +1,7 @@
+package site.haruhana.www.exception;
+
+public class AIServiceUnavailableException extends RuntimeException {
+    public AIServiceUnavailableException(long remainingMillis) {
+        super("AI 서비스 장애로 호출이 일시 중단되었습니다 (남은 시간: " + remainingMillis + "ms)");
+    }
+}
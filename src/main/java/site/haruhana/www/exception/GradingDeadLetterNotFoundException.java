@@ -0,0 +1,7 @@
+package site.haruhana.www.exception;
+
+public class GradingDeadLetterNotFoundException extends RuntimeException {
+    public GradingDeadLetterNotFoundException() {
+        super("존재하지 않는 채점 실패 기록입니다.");
+    }
+}
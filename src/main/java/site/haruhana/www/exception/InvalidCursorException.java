@@ -0,0 +1,7 @@
+package site.haruhana.www.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("올바르지 않은 커서입니다. 같은 정렬 기준으로 받은 커서를 사용해야 합니다.");
+    }
+}
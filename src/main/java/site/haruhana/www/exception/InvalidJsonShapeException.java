@@ -0,0 +1,7 @@
+package site.haruhana.www.exception;
+
+public class InvalidJsonShapeException extends RuntimeException {
+    public InvalidJsonShapeException(String detail) {
+        super("JSON 형식이 올바르지 않습니다: " + detail);
+    }
+}
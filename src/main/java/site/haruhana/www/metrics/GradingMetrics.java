@@ -0,0 +1,129 @@
+package site.haruhana.www.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.ratelimit.AICallLane;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주관식 채점 파이프라인의 단계별 메트릭
+ * <p>
+ * 제출이 대기열에 들어간 후 채점 결과가 저장되기까지의 각 단계를 측정한다.
+ * <ul>
+ *   <li>grading.queue.wait: 대기열에 추가된 후 작업자가 꺼내기까지 걸린 시간</li>
+ *   <li>ai.call.latency: AI API 호출 시간 (응답을 끝까지 받을 때까지, 레인별)</li>
+ *   <li>ai.response.parse: 응답을 결과 타입으로 변환하는 데 걸린 시간</li>
+ *   <li>grading.db.write: 채점 결과 배치를 저장하는 데 걸린 시간 (트랜잭션 한 번)</li>
+ *   <li>grading.time.to.grade: 답안을 제출한 후 채점 결과가 저장되기까지 걸린 시간</li>
+ * </ul>
+ * 모든 타이머는 백분위(p50, p95, p99)와 히스토그램 버킷을 함께 내보내며, /actuator/prometheus를 수집하면
+ * Prometheus에서 histogram_quantile로 여러 서버를 합친 지연 시간 SLO를 설정할 수 있다.
+ * 대기열의 우선순위별 크기와 가장 오래된 요청의 대기 시간은 {@link GradingQueueMeterBinder}가 내보낸다.
+ */
+@Component
+public class GradingMetrics {
+
+    private final Timer queueWaitTimer;
+
+    private final Map<AICallLane, Timer> aiCallTimers = new EnumMap<>(AICallLane.class);
+
+    private final Timer parseTimer;
+
+    private final Timer dbWriteTimer;
+
+    private final Timer timeToGradeTimer;
+
+    private final Counter retryCounter;
+
+    private final Counter parseFailureCounter;
+
+    private final Counter rateLimitedCounter;
+
+    public GradingMetrics(MeterRegistry meterRegistry) {
+        this.queueWaitTimer = timer("grading.queue.wait", "채점 요청이 대기열에 추가된 후 꺼내지기까지 걸린 시간")
+                .register(meterRegistry);
+
+        for (AICallLane lane : AICallLane.values()) {
+            aiCallTimers.put(lane, timer("ai.call.latency", "AI API 호출 시간 (응답을 끝까지 받을 때까지)")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+
+        this.parseTimer = timer("ai.response.parse", "AI 응답을 결과 타입으로 변환하는 데 걸린 시간")
+                .register(meterRegistry);
+        this.dbWriteTimer = timer("grading.db.write", "채점 결과 배치를 저장하는 데 걸린 시간")
+                .register(meterRegistry);
+        this.timeToGradeTimer = timer("grading.time.to.grade", "답안을 제출한 후 채점 결과가 저장되기까지 걸린 시간")
+                .register(meterRegistry);
+
+        this.retryCounter = Counter.builder("grading.retries")
+                .description("채점에 실패하여 예약된 재시도 수")
+                .register(meterRegistry);
+        this.parseFailureCounter = Counter.builder("ai.response.parse.failures")
+                .description("형식이 잘못된 AI 응답 수")
+                .register(meterRegistry);
+        this.rateLimitedCounter = Counter.builder("ai.rate.limited")
+                .description("AI API에서 받은 429 응답 수")
+                .register(meterRegistry);
+    }
+
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram();
+    }
+
+    /**
+     * 채점 요청이 대기열에서 기다린 시간을 기록하는 메서드
+     */
+    public void recordQueueWait(Duration wait) {
+        queueWaitTimer.record(wait.isNegative() ? Duration.ZERO : wait);
+    }
+
+    /**
+     * AI API 호출 시간을 기록하는 메서드
+     */
+    public void recordAICall(AICallLane lane, long nanos) {
+        aiCallTimers.get(lane).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * AI 응답을 변환하는 데 걸린 시간을 기록하는 메서드
+     */
+    public void recordParse(long nanos) {
+        parseTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 채점 결과 배치를 저장하는 데 걸린 시간을 기록하는 메서드
+     */
+    public void recordDbWrite(long nanos) {
+        dbWriteTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 답안을 제출한 후 채점 결과가 저장되기까지 걸린 시간을 기록하는 메서드
+     */
+    public void recordTimeToGrade(Duration duration) {
+        timeToGradeTimer.record(duration.isNegative() ? Duration.ZERO : duration);
+    }
+
+    public void incrementRetries() {
+        retryCounter.increment();
+    }
+
+    public void incrementParseFailures() {
+        parseFailureCounter.increment();
+    }
+
+    public void incrementRateLimited() {
+        rateLimitedCounter.increment();
+    }
+}
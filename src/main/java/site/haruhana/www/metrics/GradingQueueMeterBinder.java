@@ -0,0 +1,66 @@
+package site.haruhana.www.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.SubmissionMessageQueue.Snapshot;
+import site.haruhana.www.queue.message.GradingRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채점 대기열의 상태를 게이지로 내보내는 MeterBinder
+ * <p>
+ * grading.queue.depth{priority=high|normal}: 우선순위별 대기 중인 요청 수
+ * <br>
+ * grading.queue.oldest.age.ms: 가장 오래 기다린 요청의 대기 시간
+ * <p>
+ * 메트릭을 조회할 때마다 대기열을 확인하므로 채점 경로에는 영향을 주지 않는다.
+ * 한 번의 조회에서 여러 게이지가 각각 대기열을 훑거나 DB를 조회하지 않도록,
+ * 대기열 상태는 {@link #SNAPSHOT_TTL_MILLIS} 동안 재사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GradingQueueMeterBinder implements MeterBinder {
+
+    // 한 번의 메트릭 조회(스크레이프)에서 모든 게이지가 같은 상태를 읽도록 유지하는 시간
+    private static final long SNAPSHOT_TTL_MILLIS = 1000;
+
+    private final SubmissionMessageQueue messageQueue;
+
+    private Snapshot snapshot;
+
+    private long snapshotTakenAt;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        depthGauge(registry, "high", GradingRequest.HIGHEST_PRIORITY);
+        depthGauge(registry, "normal", GradingRequest.NORMAL_PRIORITY);
+
+        Gauge.builder("grading.queue.oldest.age.ms", this, binder -> binder.snapshot().oldestWaitMillis())
+                .description("채점 대기열에서 가장 오래 기다린 요청의 대기 시간")
+                .register(registry);
+    }
+
+    private void depthGauge(MeterRegistry registry, String tag, int priority) {
+        Gauge.builder("grading.queue.depth", this, binder -> binder.snapshot().sizeByPriority().getOrDefault(priority, 0))
+                .description("우선순위별 채점 대기 중인 요청 수")
+                .tag("priority", tag)
+                .register(registry);
+    }
+
+    /**
+     * 최근에 조회한 대기열 상태를 반환하고, 오래되었으면 다시 조회하는 메서드
+     */
+    private synchronized Snapshot snapshot() {
+        long now = System.nanoTime();
+        if (snapshot == null || now - snapshotTakenAt > TimeUnit.MILLISECONDS.toNanos(SNAPSHOT_TTL_MILLIS)) {
+            snapshot = messageQueue.snapshot();
+            snapshotTakenAt = now;
+        }
+        return snapshot;
+    }
+}
@@ -1,6 +1,10 @@
 package site.haruhana.www.queue;
 
 import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.queue.message.GradingRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 주관식 답안 채점을 위한 메시지 큐 인터페이스
@@ -34,6 +38,29 @@ public interface SubmissionMessageQueue {
      */
     GradingData dequeue() throws InterruptedException;
 
+    /**
+     * 채점 대기 큐에서 가장 우선순위가 높은 채점 요청을 꺼내는 메서드
+     * <p>
+     * 큐가 비어 있으면 새로운 요청이 추가되거나 대기 시간이 지날 때까지 기다린다.
+     *
+     * @param timeout 최대 대기 시간
+     * @param unit    대기 시간의 단위
+     * @return 채점할 데이터 (대기 시간 안에 요청이 추가되지 않으면 null)
+     * @throws InterruptedException 대기 중 스레드가 인터럽트되면 발생
+     */
+    GradingData dequeue(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * 채점이 끝난 요청을 큐에서 완전히 제거하는 메서드
+     * <p>
+     * dequeue로 꺼낸 요청의 채점 결과가 저장된 뒤 호출한다.
+     * 영속 큐는 확인(ack)되지 않은 요청을 재시작 시 다시 채점 대기 상태로 복구한다.
+     *
+     * @param data 채점이 완료된 데이터
+     */
+    default void acknowledge(GradingData data) {
+    }
+
     /**
      * 채점 대기 큐가 비어 있는지 확인하는 메서드
      *
@@ -48,4 +75,55 @@ public interface SubmissionMessageQueue {
      */
     int size();
 
+    /**
+     * 대기 중인 요청이 서버가 재시작되어도 유지되는지 여부를 반환하는 메서드
+     * <p>
+     * 유지되는 큐는 서버 시작 시 채점되지 않은 제출로 대기열을 복구할 필요가 없다.
+     *
+     * @return 요청이 DB나 파일에 저장되면 true
+     */
+    default boolean isDurable() {
+        return false;
+    }
+
+    /**
+     * 우선순위별로 채점을 대기 중인 답안의 개수를 반환하는 메서드 (메트릭 수집용)
+     * <p>
+     * 우선순위를 구분하지 않는 구현은 모든 답안을 일반 우선순위로 반환한다.
+     *
+     * @return 우선순위({@link GradingRequest#HIGHEST_PRIORITY}, {@link GradingRequest#NORMAL_PRIORITY})별 대기 중인 답안 수
+     */
+    default Map<Integer, Integer> sizeByPriority() {
+        return Map.of(GradingRequest.NORMAL_PRIORITY, size());
+    }
+
+    /**
+     * 가장 오래 기다린 채점 요청의 대기 시간을 반환하는 메서드 (메트릭 수집용)
+     *
+     * @return 대기 시간 (밀리초, 큐가 비어 있으면 0)
+     */
+    default long oldestWaitMillis() {
+        return 0;
+    }
+
+    /**
+     * 우선순위별 대기 중인 답안 수와 가장 오래 기다린 요청의 대기 시간을 한 번에 조회하는 메서드 (메트릭 수집용)
+     * <p>
+     * 대기열을 훑거나 DB를 조회해야 하는 구현은 두 값을 한 번의 순회(쿼리)로 계산하도록 재정의한다.
+     *
+     * @return 대기열 상태
+     */
+    default Snapshot snapshot() {
+        return new Snapshot(sizeByPriority(), oldestWaitMillis());
+    }
+
+    /**
+     * 메트릭 수집 시점의 대기열 상태
+     *
+     * @param sizeByPriority   우선순위별 대기 중인 답안 수
+     * @param oldestWaitMillis 가장 오래 기다린 요청의 대기 시간 (밀리초, 큐가 비어 있으면 0)
+     */
+    record Snapshot(Map<Integer, Integer> sizeByPriority, long oldestWaitMillis) {
+    }
+
 }
\ No newline at end of file
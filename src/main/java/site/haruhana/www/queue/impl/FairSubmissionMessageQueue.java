@@ -0,0 +1,296 @@
+package site.haruhana.www.queue.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.queue.message.GradingRequest;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별로 공정하게 채점 요청을 꺼내는 메모리 기반 메시지 큐
+ * <p>
+ * 한 사용자가 많은 답안을 한꺼번에 제출하더라도 다른 사용자의 답안이 그만큼 뒤로 밀리지 않도록,
+ * 같은 우선순위의 요청이 있는 사용자들 사이에서는 결손 라운드 로빈(Deficit Round Robin)으로 순서를 정한다.
+ * 사용자는 차례가 올 때마다 quantum만큼의 몫을 받고, 답안 길이만큼 몫을 사용하여 요청을 꺼낸다.
+ * quantum보다 짧은 답안도 quantum만큼의 몫을 사용하므로 차례마다 최소 하나의 요청이 처리되고,
+ * 긴 답안은 길이에 비례하여 여러 차례의 몫을 모아야 처리된다.
+ * <p>
+ * 오래 기다린 요청은 에이징(aging)으로 aging-interval-ms마다 우선순위가 한 단계씩 높아지므로,
+ * 높은 우선순위의 재시도 요청이 계속 들어오더라도 일반 우선순위의 요청이 무한히 밀리지 않는다.
+ * <p>
+ * 한 사용자의 요청은 같은 우선순위 안에서 항상 추가된 순서(FIFO)대로 꺼내진다.
+ */
+@Component
+@ConditionalOnProperty(name = "grading.queue.type", havingValue = "fair")
+public class FairSubmissionMessageQueue implements SubmissionMessageQueue {
+
+    private final long quantum;
+
+    private final long agingIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    // 사용자 ID별 대기열
+    private final Map<Long, UserQueue> userQueues = new HashMap<>();
+
+    // 대기 중인 요청이 있는 사용자의 라운드 로빈 순서
+    private final ArrayDeque<UserQueue> activeUsers = new ArrayDeque<>();
+
+    private int size;
+
+    private final GradingMetrics gradingMetrics;
+
+    public FairSubmissionMessageQueue(
+            GradingMetrics gradingMetrics,
+            @Value("${grading.queue.fair.quantum:2000}") long quantum,
+            @Value("${grading.queue.fair.aging-interval-ms:5000}") long agingIntervalMillis
+    ) {
+        if (quantum < 1 || agingIntervalMillis < 1) {
+            throw new IllegalArgumentException("quantum과 에이징 간격은 1 이상이어야 합니다.");
+        }
+
+        this.gradingMetrics = gradingMetrics;
+        this.quantum = quantum;
+        this.agingIntervalNanos = TimeUnit.MILLISECONDS.toNanos(agingIntervalMillis);
+    }
+
+    @Override
+    public void enqueue(GradingData data) {
+        add(GradingRequest.normal(data));
+    }
+
+    @Override
+    public void prioritize(GradingData data) {
+        add(GradingRequest.high(data));
+    }
+
+    @Override
+    public GradingData dequeue() throws InterruptedException {
+        lock.lock();
+        try {
+            return poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public GradingData dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+
+            return poll();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 에이징 전의 우선순위별로 대기 중인 요청 수를 반환한다.
+     */
+    @Override
+    public Map<Integer, Integer> sizeByPriority() {
+        lock.lock();
+        try {
+            Map<Integer, Integer> sizes = new HashMap<>();
+            for (UserQueue userQueue : activeUsers) {
+                userQueue.bands.forEach((priority, band) -> sizes.merge(priority, band.size(), Integer::sum));
+            }
+            return sizes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long oldestWaitMillis() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long oldest = 0;
+            for (UserQueue userQueue : activeUsers) {
+                for (ArrayDeque<GradingRequest> band : userQueue.bands.values()) { // 같은 우선순위 안에서는 추가된 순서대로 저장됨
+                    oldest = Math.max(oldest, now - band.peekFirst().getEnqueuedAt());
+                }
+            }
+            return TimeUnit.NANOSECONDS.toMillis(oldest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(GradingRequest request) {
+        lock.lock();
+        try {
+            Long userId = request.getGradingData().getUserId();
+            UserQueue userQueue = userQueues.computeIfAbsent(userId, UserQueue::new);
+
+            if (userQueue.isEmpty()) { // 새로 대기열에 들어온 사용자는 라운드 로빈의 마지막 차례가 된다
+                activeUsers.addLast(userQueue);
+            }
+
+            userQueue.add(request);
+            size++;
+            notEmpty.signal();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음 차례의 채점 요청을 꺼내는 메서드 (락을 잡은 상태에서 호출)
+     * <p>
+     * 에이징을 반영한 우선순위가 가장 높은 요청을 가진 사용자들 중에서,
+     * 라운드 로빈 순서대로 남은 몫이 요청의 비용 이상인 사용자의 요청을 꺼낸다.
+     */
+    private GradingData poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+
+        int bestPriority = Integer.MAX_VALUE;
+        for (UserQueue userQueue : activeUsers) {
+            bestPriority = Math.min(bestPriority, effectivePriority(userQueue.head(now), now));
+        }
+
+        while (true) {
+            UserQueue userQueue = activeUsers.pollFirst();
+            GradingRequest head = userQueue.head(now);
+
+            if (effectivePriority(head, now) > bestPriority) { // 이번에 꺼낼 우선순위의 요청이 없는 사용자
+                activeUsers.addLast(userQueue);
+                continue;
+            }
+
+            long cost = costOf(head);
+            if (userQueue.deficit < cost) { // 몫이 부족하면 이번 차례의 몫을 받고 다음 사용자에게 넘김
+                userQueue.deficit += quantum;
+                activeUsers.addLast(userQueue);
+                continue;
+            }
+
+            userQueue.deficit -= cost;
+            userQueue.remove(head);
+            size--;
+
+            if (userQueue.isEmpty()) { // 대기 중인 요청이 없는 사용자는 남은 몫을 잃는다
+                userQueue.deficit = 0;
+                userQueues.remove(userQueue.userId);
+            } else {
+                activeUsers.addFirst(userQueue); // 남은 몫이 있는 동안 같은 사용자의 차례를 유지
+            }
+
+            gradingMetrics.recordQueueWait(Duration.ofNanos(now - head.getEnqueuedAt()));
+            return head.getGradingData();
+        }
+    }
+
+    /**
+     * 기다린 시간을 반영한 요청의 우선순위를 계산하는 메서드
+     */
+    private int effectivePriority(GradingRequest request, long now) {
+        long promoted = (now - request.getEnqueuedAt()) / agingIntervalNanos;
+        return (int) Math.max(GradingRequest.HIGHEST_PRIORITY, request.getPriority() - promoted);
+    }
+
+    /**
+     * 요청을 채점하는 데 드는 비용 (답안 길이에 비례하되 최소 quantum)
+     */
+    private long costOf(GradingRequest request) {
+        String answer = request.getGradingData().getSubmittedAnswer();
+        return Math.max(quantum, answer == null ? 0 : answer.length());
+    }
+
+    /**
+     * 한 사용자의 대기열
+     * <p>
+     * 우선순위별 FIFO 대기열로 구성되며, 각 대기열의 맨 앞 요청 중 에이징을 반영한 우선순위가 가장 높은 요청을 먼저 꺼낸다.
+     */
+    private final class UserQueue {
+
+        private final Long userId;
+
+        private final TreeMap<Integer, ArrayDeque<GradingRequest>> bands = new TreeMap<>();
+
+        // 결손 라운드 로빈에서 사용자가 가진 몫
+        private long deficit;
+
+        private UserQueue(Long userId) {
+            this.userId = userId;
+        }
+
+        private void add(GradingRequest request) {
+            bands.computeIfAbsent(request.getPriority(), priority -> new ArrayDeque<>()).addLast(request);
+        }
+
+        private GradingRequest head(long now) {
+            GradingRequest best = null;
+            int bestPriority = Integer.MAX_VALUE;
+
+            for (ArrayDeque<GradingRequest> band : bands.values()) {
+                GradingRequest candidate = band.peekFirst();
+                int priority = effectivePriority(candidate, now);
+
+                if (priority < bestPriority || (priority == bestPriority && candidate.getEnqueuedAt() < best.getEnqueuedAt())) {
+                    best = candidate;
+                    bestPriority = priority;
+                }
+            }
+
+            return best;
+        }
+
+        private void remove(GradingRequest request) {
+            ArrayDeque<GradingRequest> band = bands.get(request.getPriority());
+            band.pollFirst();
+
+            if (band.isEmpty()) {
+                bands.remove(request.getPriority());
+            }
+        }
+
+        private boolean isEmpty() {
+            return bands.isEmpty();
+        }
+    }
+}
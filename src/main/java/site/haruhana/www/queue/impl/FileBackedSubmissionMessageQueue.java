@@ -0,0 +1,829 @@
+package site.haruhana.www.queue.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.queue.message.GradingRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑된 세그먼트 파일에 채점 요청을 기록하는 파일 기반 메시지 큐
+ * <p>
+ * 모든 채점 요청은 추가 전용(append-only) 세그먼트 로그에 기록되고, 채점이 끝난 요청은 확인(ack) 레코드로 표시된다.
+ * 애플리케이션이 재시작되면 로그를 다시 읽어 확인되지 않은 요청을 기존 우선순위와 FIFO 순서 그대로 복구한다.
+ * <ul>
+ *   <li>그룹 커밋: 여러 스레드의 기록을 한 번의 fsync로 묶어 디스크에 반영한다.</li>
+ *   <li>세그먼트 정리: 살아있는 요청이 없는 가장 오래된 세그먼트부터 삭제하고,
+ *       살아있는 요청이 얼마 남지 않은 세그먼트는 최신 세그먼트로 옮겨 적은 뒤 삭제한다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "grading.queue.type", havingValue = "file")
+public class FileBackedSubmissionMessageQueue implements SubmissionMessageQueue {
+
+    // 레코드 유형
+    private static final byte ACK_RECORD = 2;
+    private static final byte ENQUEUE_RECORD = 3;
+
+    // 레코드 헤더 크기 (본문 길이 4바이트 + CRC32 4바이트)
+    private static final int HEADER_SIZE = 8;
+
+    // 채점 요청 레코드의 고정 필드 크기 (유형 1바이트 + 시퀀스 8바이트 + 우선순위 4바이트 + 요청 시각 8바이트)
+    private static final int ENQUEUE_FIXED_SIZE = 21;
+
+    // 살아있는 요청의 비율이 이 값보다 낮은 세그먼트는 최신 세그먼트로 옮겨 정리한다
+    private static final double COMPACTION_LIVE_RATIO = 0.25;
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final long flushIntervalMillis;
+
+    private final boolean syncOnEnqueue;
+
+    private final GradingMetrics gradingMetrics;
+
+    // 로그 기록과 인덱스 갱신을 보호하는 락
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    // 채점 대기 중인 요청 (우선순위 그룹 내에서 시퀀스 순으로 정렬)
+    private final TreeSet<Entry> pending = new TreeSet<>(
+            Comparator.comparingInt((Entry entry) -> entry.priority).thenComparingLong(entry -> entry.seq)
+    );
+
+    // 확인되지 않은 모든 요청 (대기 중 + 채점 중), 제출 ID 기준
+    private final Map<Long, Entry> live = new HashMap<>();
+
+    // 디스크에 남아있는 세그먼트 목록 (세그먼트 ID 순)
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    // 현재 기록 중인 세그먼트
+    private Segment active;
+
+    // 다음 채점 요청에 부여할 시퀀스
+    private long nextSeq;
+
+    // 세그먼트 정리 중 여부 (정리 중 세그먼트가 다시 교체될 때 재귀 정리를 막기 위함)
+    private boolean compacting;
+
+    // 그룹 커밋을 위한 논리적 로그 위치 (기록된 위치 / 디스크에 반영된 위치)
+    private volatile long writtenLsn;
+    private volatile long flushedLsn;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+
+    private volatile boolean running = true;
+
+    private final Thread flusher;
+
+    public FileBackedSubmissionMessageQueue(
+            GradingMetrics gradingMetrics,
+            @Value("${grading.queue.file.directory:./data/grading-queue}") String directory,
+            @Value("${grading.queue.file.segment-size:67108864}") int segmentSize,
+            @Value("${grading.queue.file.flush-interval-ms:5}") long flushIntervalMillis,
+            @Value("${grading.queue.file.sync-on-enqueue:true}") boolean syncOnEnqueue
+    ) throws IOException {
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.syncOnEnqueue = syncOnEnqueue;
+        this.gradingMetrics = gradingMetrics;
+
+        Files.createDirectories(this.directory);
+        recover();
+
+        this.flusher = new Thread(this::runFlusher, "grading-queue-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public void enqueue(GradingData data) {
+        append(data, GradingRequest.NORMAL_PRIORITY);
+    }
+
+    @Override
+    public void prioritize(GradingData data) {
+        append(data, GradingRequest.HIGHEST_PRIORITY);
+    }
+
+    @Override
+    public GradingData dequeue() throws InterruptedException {
+        lock.lock();
+        try {
+            return unwrap(pending.pollFirst());
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public GradingData dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        lock.lockInterruptibly();
+        try {
+            while (pending.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+
+            return unwrap(pending.pollFirst());
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void acknowledge(GradingData data) {
+        lock.lock();
+        try {
+            Entry entry = live.remove(data.getSubmissionId());
+            if (entry == null) {
+                return;
+            }
+
+            pending.remove(entry);
+            release(entry);
+
+            writeRecord(encodeAck(entry));
+            removeObsoleteSegments();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return pending.isEmpty();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<Integer, Integer> sizeByPriority() {
+        return snapshot().sizeByPriority();
+    }
+
+    @Override
+    public long oldestWaitMillis() {
+        return snapshot().oldestWaitMillis();
+    }
+
+    /**
+     * 잠금을 한 번만 잡고 대기 중인 요청을 한 번 순회하여 두 값을 함께 계산한다.
+     * <p>
+     * 요청 시각은 로그에 함께 기록되므로, 재시작 전에 추가된 요청도 처음 추가된 시점부터 계산한다.
+     */
+    @Override
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            long oldest = now;
+            Map<Integer, Integer> sizes = new HashMap<>();
+            for (Entry entry : pending) {
+                sizes.merge(entry.priority, 1, Integer::sum);
+                oldest = Math.min(oldest, entry.enqueuedAt);
+            }
+            return new Snapshot(sizes, now - oldest);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 큐를 종료하는 메서드
+     * <p>
+     * 기록된 모든 레코드를 디스크에 반영한 뒤 파일을 닫는다.
+     */
+    @PreDestroy
+    public void close() {
+        running = false;
+        flusher.interrupt();
+
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            active.buffer.force();
+            active.close();
+
+        } finally {
+            lock.unlock();
+        }
+
+        markFlushed(writtenLsn);
+    }
+
+    /**
+     * 채점 요청을 로그에 기록하고 대기 목록에 추가하는 메서드
+     * <p>
+     * 같은 제출이 이미 같거나 더 높은 우선순위로 대기 중이라면 중복으로 기록하지 않는다.
+     *
+     * @param data     채점할 데이터
+     * @param priority 채점 요청의 우선순위
+     */
+    private void append(GradingData data, int priority) {
+        Long submissionId = Objects.requireNonNull(data.getSubmissionId(), "submissionId must not be null");
+
+        // 직렬화는 락 밖에서 수행
+        byte[] payload = encodeGradingData(data);
+
+        long lsn;
+        lock.lock();
+        try {
+            Entry previous = live.get(submissionId);
+            if (previous != null && previous.priority <= priority && pending.contains(previous)) {
+                return;
+            }
+
+            Entry entry = new Entry(nextSeq++, priority, System.currentTimeMillis(), data);
+            lsn = writeRecord(encodeEnqueue(entry, payload));
+            track(entry);
+
+            if (previous != null) {
+                pending.remove(previous);
+                release(previous);
+            }
+
+            live.put(submissionId, entry);
+            pending.add(entry);
+            notEmpty.signal();
+
+        } finally {
+            lock.unlock();
+        }
+
+        if (syncOnEnqueue) {
+            awaitDurable(lsn);
+        }
+    }
+
+    /**
+     * 현재 세그먼트에 레코드를 기록하는 메서드 (락을 획득한 상태에서 호출)
+     *
+     * @param body 레코드 본문
+     * @return 레코드 기록 후의 논리적 로그 위치
+     */
+    private long writeRecord(byte[] body) {
+        int recordSize = HEADER_SIZE + body.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("채점 요청의 크기가 세그먼트 크기를 초과합니다: " + recordSize + " bytes");
+        }
+
+        if (active.writePosition + recordSize > segmentSize) {
+            roll();
+        }
+
+        MappedByteBuffer buffer = active.buffer;
+        int position = active.writePosition;
+
+        buffer.put(position + HEADER_SIZE, body);
+        buffer.putInt(position + 4, checksum(body));
+        buffer.putInt(position, body.length); // 길이를 마지막에 기록하여 부분적으로 기록된 레코드가 읽히지 않도록 한다
+
+        active.writePosition += recordSize;
+        writtenLsn += recordSize;
+
+        return writtenLsn;
+    }
+
+    /**
+     * 현재 세그먼트를 봉인하고 새 세그먼트로 교체하는 메서드
+     */
+    private void roll() {
+        Segment sealed = active;
+        sealed.buffer.force();
+        sealed.close();
+
+        active = openSegment(sealed.id + 1);
+        segments.put(active.id, active);
+
+        if (!compacting) {
+            compact();
+        }
+    }
+
+    /**
+     * 가장 오래된 세그먼트부터 정리하는 메서드
+     * <p>
+     * 확인(ack) 레코드가 이전 세그먼트의 요청을 가리킬 수 있으므로, 세그먼트는 항상 가장 오래된 것부터 순서대로 삭제한다.
+     * 살아있는 요청이 얼마 남지 않은 세그먼트는 해당 요청들을 현재 세그먼트로 옮겨 적은 뒤 삭제한다.
+     */
+    private void compact() {
+        compacting = true;
+        try {
+            for (Segment segment : new ArrayList<>(segments.headMap(active.id).values())) {
+                if (segment.liveRecords > 0 && (double) segment.liveRecords / segment.totalRecords >= COMPACTION_LIVE_RATIO) {
+                    break;
+                }
+
+                relocate(segment);
+            }
+
+        } finally {
+            compacting = false;
+        }
+
+        removeObsoleteSegments();
+    }
+
+    /**
+     * 세그먼트에 남아있는 살아있는 요청을 원래 시퀀스 그대로 현재 세그먼트에 다시 기록하는 메서드
+     *
+     * @param segment 정리할 세그먼트
+     */
+    private void relocate(Segment segment) {
+        List<Entry> entries = live.values().stream()
+                .filter(entry -> entry.segmentId == segment.id)
+                .sorted(Comparator.comparingLong(entry -> entry.seq))
+                .toList();
+
+        for (Entry entry : entries) {
+            writeRecord(encodeEnqueue(entry, encodeGradingData(entry.data)));
+            release(entry);
+            track(entry);
+        }
+
+        if (!entries.isEmpty()) {
+            log.debug("세그먼트 #{}의 채점 요청 {}건을 세그먼트 #{}로 옮겼습니다.", segment.id, entries.size(), active.id);
+        }
+    }
+
+    /**
+     * 살아있는 요청이 없는 가장 오래된 세그먼트들을 삭제하는 메서드
+     */
+    private void removeObsoleteSegments() {
+        while (!segments.isEmpty()) {
+            Segment head = segments.firstEntry().getValue();
+            if (head == active || head.liveRecords > 0) {
+                return;
+            }
+
+            segments.pollFirstEntry();
+
+            try {
+                Files.deleteIfExists(head.path);
+            } catch (IOException e) {
+                log.warn("세그먼트 파일 삭제 중 오류 발생: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 요청이 현재 세그먼트에 기록되었음을 반영하는 메서드
+     */
+    private void track(Entry entry) {
+        entry.segmentId = active.id;
+        active.totalRecords++;
+        active.liveRecords++;
+    }
+
+    /**
+     * 요청이 더 이상 기록된 세그먼트에 살아있지 않음을 반영하는 메서드
+     */
+    private void release(Entry entry) {
+        Segment segment = segments.get(entry.segmentId);
+        if (segment != null) {
+            segment.liveRecords--;
+        }
+    }
+
+    /**
+     * 레코드가 디스크에 반영될 때까지 대기하는 메서드 (그룹 커밋)
+     *
+     * @param lsn 대기할 논리적 로그 위치
+     */
+    private void awaitDurable(long lsn) {
+        flushLock.lock();
+        try {
+            while (flushedLsn < lsn && running) {
+                flushRequested.signal();
+                flushed.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+
+        } catch (InterruptedException e) {
+            // 레코드는 이미 기록되었으며 다음 주기에 디스크에 반영된다
+            Thread.currentThread().interrupt();
+
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 기록된 레코드를 주기적으로, 또는 요청이 있을 때 디스크에 반영하는 스레드의 작업
+     */
+    private void runFlusher() {
+        while (running) {
+            try {
+                flush();
+
+                flushLock.lock();
+                try {
+                    if (running && flushedLsn >= writtenLsn) {
+                        flushRequested.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                    }
+
+                } finally {
+                    flushLock.unlock();
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+
+            } catch (RuntimeException e) {
+                log.error("채점 대기 큐 로그를 디스크에 반영하는 중 오류 발생: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void flush() {
+        long target;
+        MappedByteBuffer buffer;
+
+        lock.lock();
+        try {
+            target = writtenLsn;
+            buffer = active.buffer;
+
+        } finally {
+            lock.unlock();
+        }
+
+        if (target > flushedLsn) {
+            buffer.force();
+            markFlushed(target);
+        }
+    }
+
+    private void markFlushed(long lsn) {
+        flushLock.lock();
+        try {
+            flushedLsn = Math.max(flushedLsn, lsn);
+            flushed.signalAll();
+
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 디렉터리의 세그먼트 파일을 순서대로 읽어 확인되지 않은 요청을 복구하는 메서드
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            Segment segment = new Segment(parseSegmentId(file), file);
+            segments.put(segment.id, segment);
+            replay(segment);
+        }
+
+        pending.addAll(live.values());
+
+        if (segments.isEmpty()) {
+            active = openSegment(0);
+            segments.put(active.id, active);
+
+        } else {
+            Segment last = segments.lastEntry().getValue();
+            active = openSegment(last.id);
+            active.writePosition = last.writePosition;
+            active.totalRecords = last.totalRecords;
+            active.liveRecords = last.liveRecords;
+            segments.put(active.id, active);
+            clearTail(active);
+        }
+
+        removeObsoleteSegments();
+
+        log.info("채점 대기 큐 복구 완료: 대기 중인 요청 {}건, 세그먼트 {}개", pending.size(), segments.size());
+    }
+
+    /**
+     * 세그먼트의 레코드를 처음부터 읽어 인덱스에 반영하는 메서드
+     * <p>
+     * 길이가 0이거나 체크섬이 맞지 않는 레코드를 만나면 해당 위치를 세그먼트의 끝으로 간주한다.
+     */
+    private void replay(Segment segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            int position = 0;
+            while (position + HEADER_SIZE <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_SIZE + length > buffer.limit()) {
+                    break;
+                }
+
+                byte[] body = new byte[length];
+                buffer.get(position + HEADER_SIZE, body);
+
+                if (checksum(body) != buffer.getInt(position + 4)) {
+                    log.warn("세그먼트 #{}의 {}번째 바이트에서 손상된 레코드를 발견하여 이후 내용을 무시합니다.", segment.id, position);
+                    break;
+                }
+
+                apply(segment, body);
+                position += HEADER_SIZE + length;
+            }
+
+            segment.writePosition = position;
+        }
+    }
+
+    private void apply(Segment segment, byte[] body) {
+        ByteBuffer in = ByteBuffer.wrap(body);
+        byte type = in.get();
+
+        switch (type) {
+            case ENQUEUE_RECORD -> {
+                long seq = in.getLong();
+                int priority = in.getInt();
+                long enqueuedAt = in.getLong();
+
+                GradingData data = decodeGradingData(in);
+                Entry entry = new Entry(seq, priority, enqueuedAt, data);
+                entry.segmentId = segment.id;
+                segment.totalRecords++;
+                nextSeq = Math.max(nextSeq, seq + 1);
+
+                Entry previous = live.get(entry.data.getSubmissionId());
+                if (previous != null && previous.seq > seq) {
+                    return; // 이미 더 최신의 요청이 복구된 경우
+                }
+
+                if (previous != null) {
+                    release(previous);
+                }
+
+                segment.liveRecords++;
+                live.put(entry.data.getSubmissionId(), entry);
+            }
+
+            case ACK_RECORD -> {
+                long submissionId = in.getLong();
+                long seq = in.getLong();
+
+                Entry entry = live.get(submissionId);
+                if (entry != null && entry.seq == seq) {
+                    live.remove(submissionId);
+                    release(entry);
+                }
+            }
+
+            default -> throw new IllegalStateException("알 수 없는 채점 대기 큐 레코드 유형입니다: " + type);
+        }
+    }
+
+    /**
+     * 비정상 종료로 세그먼트 끝에 남은 부분 기록을 지우는 메서드
+     */
+    private void clearTail(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = segment.writePosition;
+
+        if (position + HEADER_SIZE <= segmentSize && buffer.getInt(position) != 0) {
+            byte[] zeros = new byte[8192];
+            for (int i = position; i < segmentSize; i += zeros.length) {
+                buffer.put(i, zeros, 0, Math.min(zeros.length, segmentSize - i));
+            }
+            buffer.force();
+        }
+    }
+
+    private Segment openSegment(long id) {
+        Path path = directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+        Segment segment = new Segment(id, path);
+
+        try {
+            segment.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment.buffer = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("채점 대기 큐 세그먼트를 열 수 없습니다: " + path, e);
+        }
+
+        return segment;
+    }
+
+    private static long parseSegmentId(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encodeEnqueue(Entry entry, byte[] payload) {
+        return ByteBuffer.allocate(ENQUEUE_FIXED_SIZE + payload.length)
+                .put(ENQUEUE_RECORD)
+                .putLong(entry.seq)
+                .putInt(entry.priority)
+                .putLong(entry.enqueuedAt)
+                .put(payload)
+                .array();
+    }
+
+    private static byte[] encodeAck(Entry entry) {
+        return ByteBuffer.allocate(17)
+                .put(ACK_RECORD)
+                .putLong(entry.data.getSubmissionId())
+                .putLong(entry.seq)
+                .array();
+    }
+
+    private static byte[] encodeGradingData(GradingData data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(data.getSubmissionId());
+            out.writeBoolean(data.getProblemId() != null);
+            out.writeLong(data.getProblemId() != null ? data.getProblemId() : 0L);
+            out.writeBoolean(data.getUserId() != null);
+            out.writeLong(data.getUserId() != null ? data.getUserId() : 0L);
+            writeString(out, data.getSubmittedAnswer());
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static GradingData decodeGradingData(ByteBuffer in) {
+        long submissionId = in.getLong();
+        boolean hasProblemId = in.get() != 0;
+        long problemId = in.getLong();
+        boolean hasUserId = in.get() != 0;
+        long userId = in.getLong();
+
+        return GradingData.builder()
+                .submissionId(submissionId)
+                .problemId(hasProblemId ? problemId : null)
+                .userId(hasUserId ? userId : null)
+                .submittedAnswer(readString(in))
+                .build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private GradingData unwrap(Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+
+        gradingMetrics.recordQueueWait(Duration.ofMillis(System.currentTimeMillis() - entry.enqueuedAt));
+        return entry.data;
+    }
+
+    /**
+     * 로그에 기록된 채점 요청
+     */
+    private static final class Entry {
+
+        private final long seq;
+
+        private final int priority;
+
+        private final long enqueuedAt;
+
+        private final GradingData data;
+
+        // 요청이 마지막으로 기록된 세그먼트 ID
+        private long segmentId;
+
+        private Entry(long seq, int priority, long enqueuedAt, GradingData data) {
+            this.seq = seq;
+            this.priority = priority;
+            this.enqueuedAt = enqueuedAt;
+            this.data = data;
+        }
+    }
+
+    /**
+     * 세그먼트 파일의 상태
+     */
+    private static final class Segment {
+
+        private final long id;
+
+        private final Path path;
+
+        private FileChannel channel;
+
+        private MappedByteBuffer buffer;
+
+        private int writePosition;
+
+        // 세그먼트에 기록된 채점 요청 수 / 그중 아직 확인되지 않은 요청 수
+        private int totalRecords;
+        private int liveRecords;
+
+        private Segment(long id, Path path) {
+            this.id = id;
+            this.path = path;
+        }
+
+        private void close() {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                log.warn("세그먼트 파일을 닫는 중 오류 발생: {}", e.getMessage());
+            }
+        }
+    }
+}
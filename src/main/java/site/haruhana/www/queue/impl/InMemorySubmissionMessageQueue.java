@@ -1,17 +1,28 @@
 package site.haruhana.www.queue.impl;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import site.haruhana.www.metrics.GradingMetrics;
 import site.haruhana.www.queue.SubmissionMessageQueue;
 import site.haruhana.www.queue.message.GradingData;
 import site.haruhana.www.queue.message.GradingRequest;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grading.queue.type", havingValue = "memory", matchIfMissing = true)
 public class InMemorySubmissionMessageQueue implements SubmissionMessageQueue {
 
     private final PriorityBlockingQueue<GradingRequest> queue = new PriorityBlockingQueue<>();
 
+    private final GradingMetrics gradingMetrics;
+
     @Override
     public void enqueue(GradingData data) {
         queue.put(GradingRequest.normal(data));
@@ -24,11 +35,12 @@ public class InMemorySubmissionMessageQueue implements SubmissionMessageQueue {
 
     @Override
     public GradingData dequeue() throws InterruptedException {
-        if (queue.isEmpty()) {
-            return null;
-        }
+        return unwrap(queue.poll());
+    }
 
-        return queue.take().getGradingData();
+    @Override
+    public GradingData dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        return unwrap(queue.poll(timeout, unit));
     }
 
     @Override
@@ -41,4 +53,38 @@ public class InMemorySubmissionMessageQueue implements SubmissionMessageQueue {
         return queue.size();
     }
 
+    @Override
+    public Map<Integer, Integer> sizeByPriority() {
+        return snapshot().sizeByPriority();
+    }
+
+    @Override
+    public long oldestWaitMillis() {
+        return snapshot().oldestWaitMillis();
+    }
+
+    /**
+     * 대기열을 한 번만 순회하여 우선순위별 크기와 가장 오래된 요청의 대기 시간을 함께 계산한다.
+     */
+    @Override
+    public Snapshot snapshot() {
+        long now = System.nanoTime();
+        long oldest = 0;
+        Map<Integer, Integer> sizes = new HashMap<>();
+        for (GradingRequest request : queue) {
+            sizes.merge(request.getPriority(), 1, Integer::sum);
+            oldest = Math.max(oldest, now - request.getEnqueuedAt());
+        }
+        return new Snapshot(sizes, TimeUnit.NANOSECONDS.toMillis(oldest));
+    }
+
+    private GradingData unwrap(GradingRequest request) {
+        if (request == null) {
+            return null;
+        }
+
+        gradingMetrics.recordQueueWait(Duration.ofNanos(System.nanoTime() - request.getEnqueuedAt()));
+        return request.getGradingData();
+    }
+
 }
@@ -0,0 +1,412 @@
+package site.haruhana.www.queue.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.queue.message.GradingRequest;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * grading_jobs 테이블에 채점 요청을 저장하여 여러 서버가 함께 사용하는 메시지 큐
+ * <p>
+ * 어느 서버에서 제출된 답안이든 모든 서버의 채점 작업자가 나누어 채점한다.
+ * <ul>
+ *   <li>가져가기: 임대(lease)되지 않았거나 임대가 만료된 요청을 우선순위, 저장 순서대로 배치 단위로 잠가서 가져가고
+ *       (FOR UPDATE SKIP LOCKED), 임대 소유자와 만료 시각을 기록한다. 다른 서버가 잠근 행은 기다리지 않고 건너뛴다.</li>
+ *   <li>하트비트: 채점 중이거나 재시도를 기다리는 요청의 임대를 주기적으로 연장한다.
+ *       서버가 종료되어 하트비트가 멈추면 임대가 만료되고, 다른 서버가 해당 요청을 다시 가져간다.</li>
+ *   <li>확인(ack): 채점 결과가 저장되면 행을 삭제한다. 재시도를 위해 다시 추가된 요청은 임대를 해제하고 높은 우선순위로 바꾼다.</li>
+ * </ul>
+ * 임대 만료 시각은 각 서버의 시계로 계산하므로, 서버 간 시계 차이는 임대 시간보다 충분히 작아야 한다.
+ * <p>
+ * 대기 시간 메트릭은 행이 처음 저장된 시각부터 계산하므로, 재시도 요청은 이전 채점 시간까지 포함된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "grading.queue.type", havingValue = "jdbc")
+public class JdbcSubmissionMessageQueue implements SubmissionMessageQueue {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO grading_jobs (submission_id, problem_id, user_id, submitted_answer, priority, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String PRIORITIZE_SQL = """
+            UPDATE grading_jobs SET priority = ?, lease_owner = NULL, lease_expires_at = NULL
+            WHERE submission_id = ?
+            """;
+
+    private static final String CLAIM_SQL = """
+            SELECT id, submission_id, problem_id, user_id, submitted_answer, priority, created_at FROM grading_jobs
+            WHERE lease_owner IS NULL OR lease_expires_at < ?
+            ORDER BY priority, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String LEASE_SQL = "UPDATE grading_jobs SET lease_owner = ?, lease_expires_at = ? WHERE id = ?";
+
+    private static final String RENEW_SQL = "UPDATE grading_jobs SET lease_expires_at = ? WHERE lease_owner = ?";
+
+    private static final String RELEASE_ALL_SQL = "UPDATE grading_jobs SET lease_owner = NULL, lease_expires_at = NULL WHERE lease_owner = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM grading_jobs WHERE submission_id = ?";
+
+    private static final String COUNT_AVAILABLE_SQL = "SELECT COUNT(*) FROM grading_jobs WHERE lease_owner IS NULL OR lease_expires_at < ?";
+
+    private static final String COUNT_AVAILABLE_BY_PRIORITY_SQL = """
+            SELECT priority, COUNT(*) AS jobs, MIN(created_at) AS oldest FROM grading_jobs
+            WHERE lease_owner IS NULL OR lease_expires_at < ?
+            GROUP BY priority
+            """;
+
+    private static final RowMapper<ClaimedJob> CLAIMED_JOB_MAPPER = (rs, rowNum) -> new ClaimedJob(
+            rs.getLong("id"),
+            GradingData.builder()
+                    .submissionId(rs.getLong("submission_id"))
+                    .problemId(rs.getLong("problem_id"))
+                    .userId(rs.getLong("user_id"))
+                    .submittedAnswer(rs.getString("submitted_answer"))
+                    .build(),
+            rs.getInt("priority"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 이 서버가 임대한 행을 구분하는 값 (프로세스마다 고유)
+    private final String owner;
+
+    private final int claimBatchSize;
+
+    private final long leaseMillis;
+
+    private final long pollIntervalMillis;
+
+    // 가져갔지만 아직 작업자에게 전달하지 않은 요청 (가져간 순서 = 우선순위, 저장 순서)
+    private final ArrayDeque<ClaimedJob> claimed = new ArrayDeque<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 이 서버에서 요청이 추가되었음을 대기 중인 작업자에게 알림 (다른 서버에서 추가된 요청은 주기적으로 확인)
+    private final Condition jobAdded = lock.newCondition();
+
+    private final ScheduledExecutorService heartbeat;
+
+    private final GradingMetrics gradingMetrics;
+
+    public JdbcSubmissionMessageQueue(
+            GradingMetrics gradingMetrics,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${grading.queue.jdbc.claim-batch-size:8}") int claimBatchSize,
+            @Value("${grading.queue.jdbc.lease-ms:60000}") long leaseMillis,
+            @Value("${grading.queue.jdbc.heartbeat-interval-ms:15000}") long heartbeatIntervalMillis,
+            @Value("${grading.queue.jdbc.poll-interval-ms:1000}") long pollIntervalMillis
+    ) {
+        this.gradingMetrics = gradingMetrics;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.claimBatchSize = claimBatchSize;
+        this.leaseMillis = leaseMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grading-queue-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat.scheduleWithFixedDelay(this::renewLeases, heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void enqueue(GradingData data) {
+        try {
+            insert(data, GradingRequest.NORMAL_PRIORITY);
+        } catch (DuplicateKeyException e) { // 이미 대기 중이거나 채점 중인 제출
+            log.debug("제출 #{}은(는) 이미 채점 대기열에 있습니다.", data.getSubmissionId());
+        }
+
+        signalJobAdded();
+    }
+
+    @Override
+    public void prioritize(GradingData data) {
+        // 이미 있는 요청이라면 (채점 실패 후 재시도) 임대를 해제하고 높은 우선순위로 변경
+        if (jdbcTemplate.update(PRIORITIZE_SQL, GradingRequest.HIGHEST_PRIORITY, data.getSubmissionId()) == 0) {
+            try {
+                insert(data, GradingRequest.HIGHEST_PRIORITY);
+            } catch (DuplicateKeyException e) { // 그 사이 다른 곳에서 추가된 경우
+                jdbcTemplate.update(PRIORITIZE_SQL, GradingRequest.HIGHEST_PRIORITY, data.getSubmissionId());
+            }
+        }
+
+        lock.lock();
+        try {
+            claimed.removeIf(pending -> pending.data().getSubmissionId().equals(data.getSubmissionId()));
+            jobAdded.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public GradingData dequeue() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            return pollOrClaim();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public GradingData dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                GradingData next = pollOrClaim();
+                if (next != null) {
+                    return next;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+
+                // 다른 서버에서 추가된 요청은 알림이 없으므로 확인 주기마다 다시 가져가 봄
+                jobAdded.awaitNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis)));
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void acknowledge(GradingData data) {
+        jdbcTemplate.update(DELETE_SQL, data.getSubmissionId());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    /**
+     * 이 서버가 가져간 요청과, 아직 어느 서버도 가져가지 않은 요청의 수를 반환하는 메서드
+     */
+    @Override
+    public int size() {
+        int local;
+        lock.lock();
+        try {
+            local = claimed.size();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            Integer available = jdbcTemplate.queryForObject(COUNT_AVAILABLE_SQL, Integer.class, LocalDateTime.now());
+            return local + (available == null ? 0 : available);
+
+        } catch (DataAccessException e) {
+            log.warn("채점 대기열 크기 조회 중 오류 발생: {}", e.getMessage());
+            return local;
+        }
+    }
+
+    @Override
+    public Map<Integer, Integer> sizeByPriority() {
+        return snapshot().sizeByPriority();
+    }
+
+    @Override
+    public long oldestWaitMillis() {
+        return snapshot().oldestWaitMillis();
+    }
+
+    /**
+     * 이 서버가 가져간 요청과, 아직 어느 서버도 가져가지 않은 요청을 함께 집계하는 메서드
+     * <p>
+     * 가져가지 않은 요청의 우선순위별 수와 가장 오래된 요청 시각은 한 번의 쿼리로 조회한다.
+     */
+    @Override
+    public Snapshot snapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, Integer> sizes = new HashMap<>();
+        LocalDateTime[] oldest = {now};
+
+        lock.lock();
+        try {
+            for (ClaimedJob job : claimed) {
+                sizes.merge(job.priority(), 1, Integer::sum);
+                oldest[0] = job.createdAt().isBefore(oldest[0]) ? job.createdAt() : oldest[0];
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            jdbcTemplate.query(COUNT_AVAILABLE_BY_PRIORITY_SQL, (RowCallbackHandler) rs -> {
+                sizes.merge(rs.getInt("priority"), rs.getInt("jobs"), Integer::sum);
+
+                Timestamp available = rs.getTimestamp("oldest");
+                if (available != null && available.toLocalDateTime().isBefore(oldest[0])) {
+                    oldest[0] = available.toLocalDateTime();
+                }
+            }, now);
+
+        } catch (DataAccessException e) {
+            log.warn("채점 대기열 상태 조회 중 오류 발생: {}", e.getMessage());
+        }
+
+        return new Snapshot(sizes, Duration.between(oldest[0], now).toMillis());
+    }
+
+    /**
+     * 하트비트를 멈추고, 이 서버가 임대한 요청을 다른 서버가 바로 가져갈 수 있도록 해제하는 메서드
+     */
+    @PreDestroy
+    public void close() {
+        heartbeat.shutdownNow();
+
+        lock.lock();
+        try {
+            claimed.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            int released = jdbcTemplate.update(RELEASE_ALL_SQL, owner);
+            log.info("채점 대기열 임대 {}건을 해제했습니다.", released);
+
+        } catch (DataAccessException e) { // 해제하지 못한 임대는 만료된 후 다른 서버가 가져감
+            log.warn("채점 대기열 임대 해제 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private void insert(GradingData data, int priority) {
+        jdbcTemplate.update(
+                INSERT_SQL,
+                data.getSubmissionId(),
+                data.getProblemId(),
+                data.getUserId(),
+                data.getSubmittedAnswer(),
+                priority,
+                LocalDateTime.now()
+        );
+    }
+
+    private void signalJobAdded() {
+        lock.lock();
+        try {
+            jobAdded.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이미 가져간 요청을 꺼내고, 없으면 테이블에서 한 배치를 가져가는 메서드 (락을 잡은 상태에서 호출)
+     */
+    private GradingData pollOrClaim() {
+        if (claimed.isEmpty()) {
+            claimed.addAll(claimBatch());
+        }
+
+        ClaimedJob job = claimed.poll();
+        if (job == null) {
+            return null;
+        }
+
+        gradingMetrics.recordQueueWait(Duration.between(job.createdAt(), LocalDateTime.now()));
+        return job.data();
+    }
+
+    /**
+     * 임대되지 않았거나 임대가 만료된 요청을 한 배치 가져가 이 서버의 임대로 기록하는 메서드
+     *
+     * @return 가져간 요청 (우선순위, 저장 순서)
+     */
+    private List<ClaimedJob> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseExpiresAt = now.plus(leaseMillis, ChronoUnit.MILLIS);
+
+        try {
+            List<ClaimedJob> jobs = transactionTemplate.execute(status -> {
+                List<ClaimedJob> rows = jdbcTemplate.query(CLAIM_SQL, CLAIMED_JOB_MAPPER, now, claimBatchSize);
+                if (rows.isEmpty()) {
+                    return List.of();
+                }
+
+                jdbcTemplate.batchUpdate(LEASE_SQL, rows.stream()
+                        .map(row -> new Object[]{owner, leaseExpiresAt, row.id()})
+                        .toList());
+
+                return rows;
+            });
+
+            return jobs == null ? List.of() : jobs;
+
+        } catch (DataAccessException e) { // DB 오류 시 다음 확인 주기에 다시 시도
+            log.warn("채점 대기열에서 요청을 가져오는 중 오류 발생: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 이 서버가 임대한 모든 요청(대기, 채점 중, 재시도 대기)의 임대를 연장하는 메서드
+     */
+    private void renewLeases() {
+        try {
+            jdbcTemplate.update(RENEW_SQL, LocalDateTime.now().plus(leaseMillis, ChronoUnit.MILLIS), owner);
+
+        } catch (DataAccessException e) { // 임대가 만료되기 전에 다음 하트비트에서 다시 시도
+            log.warn("채점 대기열 임대 연장 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private record ClaimedJob(long id, GradingData data, int priority, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,164 @@
+package site.haruhana.www.queue.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.queue.message.GradingRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 우선순위별 락 프리(lock-free) 큐로 구성된 메모리 기반 메시지 큐
+ * <p>
+ * 채점 요청의 우선순위는 높은 우선순위와 일반 우선순위 두 가지뿐이므로, 하나의 락으로 보호되는 힙 대신
+ * 우선순위마다 CAS 기반의 FIFO 큐({@link ConcurrentLinkedQueue})를 두고 높은 우선순위 큐부터 꺼낸다.
+ * 요청을 추가하거나 꺼낼 때 락을 잡지 않으며, 우선순위 그룹 안에서는 추가된 순서(FIFO)가 그대로 유지된다.
+ * <p>
+ * 큐가 비어 있을 때 대기 시간을 지정한 dequeue는 스레드를 파킹(park)하여 기다리고,
+ * 요청을 추가한 스레드가 대기 중인 스레드 하나를 깨운다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grading.queue.type", havingValue = "lock-free")
+public class LockFreeSubmissionMessageQueue implements SubmissionMessageQueue {
+
+    private final ConcurrentLinkedQueue<GradingRequest> highPriorityQueue = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentLinkedQueue<GradingRequest> normalPriorityQueue = new ConcurrentLinkedQueue<>();
+
+    // 요청을 기다리며 파킹된 스레드 목록
+    private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final GradingMetrics gradingMetrics;
+
+    @Override
+    public void enqueue(GradingData data) {
+        normalPriorityQueue.offer(GradingRequest.normal(data));
+        size.incrementAndGet();
+        signalWaiter();
+    }
+
+    @Override
+    public void prioritize(GradingData data) {
+        highPriorityQueue.offer(GradingRequest.high(data));
+        size.incrementAndGet();
+        signalWaiter();
+    }
+
+    @Override
+    public GradingData dequeue() {
+        GradingRequest request = highPriorityQueue.poll();
+        if (request == null) {
+            request = normalPriorityQueue.poll();
+        }
+
+        if (request == null) {
+            return null;
+        }
+
+        size.decrementAndGet();
+        gradingMetrics.recordQueueWait(Duration.ofNanos(System.nanoTime() - request.getEnqueuedAt()));
+
+        return request.getGradingData();
+    }
+
+    @Override
+    public GradingData dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        GradingData data = dequeue();
+        if (data != null) {
+            return data;
+        }
+
+        Thread current = Thread.currentThread();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (true) {
+            // 대기 목록에 먼저 등록한 뒤 다시 확인하여, 그 사이에 추가된 요청의 알림을 놓치지 않도록 함
+            waiters.offer(current);
+            data = dequeue();
+
+            long remaining = deadline - System.nanoTime();
+            if (data != null || remaining <= 0) {
+                leave(current);
+                return data;
+            }
+
+            LockSupport.parkNanos(this, remaining);
+
+            if (Thread.interrupted()) {
+                leave(current);
+                throw new InterruptedException();
+            }
+
+            // 깨어난 스레드는 대기 목록에서 제거된 상태이므로 다음 반복에서 다시 등록한다
+            waiters.remove(current);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return highPriorityQueue.isEmpty() && normalPriorityQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    @Override
+    public Map<Integer, Integer> sizeByPriority() {
+        return Map.of(
+                GradingRequest.HIGHEST_PRIORITY, highPriorityQueue.size(),
+                GradingRequest.NORMAL_PRIORITY, normalPriorityQueue.size()
+        );
+    }
+
+    /**
+     * 우선순위 그룹 안에서는 추가된 순서대로 꺼내므로 각 큐의 맨 앞 요청만 확인한다.
+     */
+    @Override
+    public long oldestWaitMillis() {
+        long now = System.nanoTime();
+        long oldest = 0;
+        for (ConcurrentLinkedQueue<GradingRequest> queue : List.of(highPriorityQueue, normalPriorityQueue)) {
+            GradingRequest head = queue.peek();
+            if (head != null) {
+                oldest = Math.max(oldest, now - head.getEnqueuedAt());
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(oldest);
+    }
+
+    /**
+     * 대기 중인 스레드 하나를 깨우는 메서드
+     */
+    private void signalWaiter() {
+        Thread waiter = waiters.poll();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * 대기를 마친 스레드를 대기 목록에서 제거하는 메서드
+     * <p>
+     * 이미 다른 스레드가 이 스레드를 깨우기 위해 목록에서 꺼냈다면, 그 알림을 이 스레드가 사용하지 않았을 수 있으므로
+     * 남은 요청이 있는 경우 다른 대기 스레드에게 알림을 넘긴다.
+     */
+    private void leave(Thread current) {
+        if (!waiters.remove(current) && !isEmpty()) {
+            signalWaiter();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package site.haruhana.www.queue.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import site.haruhana.www.entity.problem.Problem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 주관식 답안 채점에 필요한 문제 정보를 담는 불변 클래스
+ * <p>
+ * 같은 문제에 대한 모든 채점 요청이 하나의 인스턴스를 공유하며,
+ * {@link site.haruhana.www.cache.GradingContextCache}를 통해 문제 ID로 조회한다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class GradingContext {
+
+    // String 객체 하나의 대략적인 고정 크기 (객체 헤더, 필드, 내부 배열 헤더)
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    // 문제 ID
+    private final Long problemId;
+
+    // 문제 제목
+    private final String problemTitle;
+
+    // 문제 내용
+    private final String problemQuestion;
+
+    // 채점 기준
+    private final List<String> gradingCriteria;
+
+    // 예시 답안
+    private final String sampleAnswer;
+
+    // 채점 기준, 예시 답안, 문제 내용의 지문 (채점 결과 캐시 키에 사용)
+    private final String fingerprint;
+
+    // 문제 정보가 힙에서 차지하는 대략적인 크기 (바이트)
+    private final int estimatedBytes;
+
+    /**
+     * Problem 엔티티에서 GradingContext 객체를 생성하는 팩토리 메서드
+     * <p>
+     * 채점 기준을 지연 로딩하므로 트랜잭션 안에서 호출해야 한다.
+     *
+     * @param problem 채점할 주관식 문제
+     * @return 채점에 필요한 문제 정보
+     */
+    public static GradingContext from(Problem problem) {
+        List<String> criteria = List.copyOf(problem.getGradingCriteriaList());
+
+        String fingerprintSource = String.join("\u0000", criteria)
+                + "\u0001" + problem.getSampleAnswer()
+                + "\u0001" + problem.getQuestion();
+
+        int estimatedBytes = estimateBytes(problem.getTitle())
+                + estimateBytes(problem.getQuestion())
+                + estimateBytes(problem.getSampleAnswer())
+                + 16 + 4 * criteria.size()
+                + criteria.stream().mapToInt(GradingContext::estimateBytes).sum();
+
+        return new GradingContext(
+                problem.getId(),
+                problem.getTitle(),
+                problem.getQuestion(),
+                criteria,
+                problem.getSampleAnswer(),
+                fingerprint(fingerprintSource),
+                estimatedBytes
+        );
+    }
+
+    /**
+     * 문자열이 힙에서 차지하는 대략적인 크기를 계산하는 메서드
+     * <p>
+     * 한글이 포함된 문자열은 UTF-16으로 저장되므로 문자당 2바이트로 계산한다.
+     */
+    private static int estimateBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2 * value.length();
+    }
+
+    private static String fingerprint(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다", e);
+        }
+    }
+}
@@ -2,13 +2,13 @@ package site.haruhana.www.queue.message;
 
 import lombok.Builder;
 import lombok.Getter;
-import site.haruhana.www.entity.problem.Problem;
 import site.haruhana.www.entity.submission.Submission;
 
-import java.util.List;
-
 /**
- * 주관식 답안 채점에 필요한 핵심 데이터만 포함하는 데이터 클래스
+ * 채점 대기 큐에 저장되는 주관식 답안 채점 요청 데이터 클래스
+ * <p>
+ * 문제 제목, 내용, 채점 기준, 예시 답안처럼 같은 문제의 제출마다 반복되는 내용은 담지 않는다.
+ * 채점 시점에 {@link site.haruhana.www.cache.GradingContextCache}에서 문제 ID로 공유 {@link GradingContext}를 조회해 사용한다.
  */
 @Getter
 @Builder
@@ -20,37 +20,25 @@ public class GradingData {
     // 문제 ID
     private final Long problemId;
 
-    // 문제 제목
-    private final String problemTitle;
-
-    // 문제 내용
-    private final String problemQuestion;
-
-    // 채점 기준
-    private final List<String> gradingCriteria;
-
-    // 예시 답안
-    private final String sampleAnswer;
+    // 답안을 제출한 사용자 ID (사용자별 공정 스케줄링에 사용)
+    private final Long userId;
 
     // 사용자가 제출한 답변
     private final String submittedAnswer;
 
     /**
      * Submission 엔티티에서 GradingData 객체를 생성하는 팩토리 메서드
+     * <p>
+     * 문제와 사용자는 ID만 참조하므로 지연 로딩된 엔티티를 초기화하지 않는다.
      *
      * @param submission 채점할 제출 정보
      * @return 채점에 필요한 데이터만 포함하는 GradingData 객체
      */
     public static GradingData fromSubmission(Submission submission) {
-        Problem problem = submission.getProblem();
-
         return GradingData.builder()
                 .submissionId(submission.getId())
-                .problemId(problem.getId())
-                .problemTitle(problem.getTitle())
-                .problemQuestion(problem.getQuestion())
-                .gradingCriteria(problem.getGradingCriteriaList())
-                .sampleAnswer(problem.getSampleAnswer())
+                .problemId(submission.getProblem().getId())
+                .userId(submission.getUser().getId())
                 .submittedAnswer(submission.getSubmittedAnswer())
                 .build();
     }
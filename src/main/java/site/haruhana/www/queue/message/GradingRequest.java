@@ -9,6 +9,9 @@ import lombok.Getter;
  * <p>
  * 채점에 필요한 데이터에 우선순위(priority)와 요청 시간(enqueuedAt)을 추가하여
  * 우선순위 그룹 내에서 FIFO 순서를 보장한다.
+ * <p>
+ * 채점에 실패한 요청은 시도 횟수(attempt)와 다시 채점할 수 있는 시각(nextEligibleAt)을 함께 가지고
+ * 재시도 대기열에서 대기한다.
  */
 @Getter
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -23,9 +26,15 @@ public class GradingRequest implements Comparable<GradingRequest> {
     // 요청이 큐에 추가된 시간 (나노초 단위로 정확도 보장)
     private final long enqueuedAt;
 
+    // 지금까지 채점에 실패한 횟수
+    private final int attempt;
+
+    // 다시 채점할 수 있는 시각 (epoch 밀리초, 0이면 즉시 채점 가능)
+    private final long nextEligibleAt;
+
     // 우선순위 상수
-    private final static int HIGHEST_PRIORITY = 0;
-    private final static int NORMAL_PRIORITY = 10;
+    public final static int HIGHEST_PRIORITY = 0;
+    public final static int NORMAL_PRIORITY = 10;
 
     @Override
     public int compareTo(GradingRequest other) {
@@ -43,7 +52,7 @@ public class GradingRequest implements Comparable<GradingRequest> {
      * @return 일반 우선순위의 GradingRequest 객체
      */
     public static GradingRequest normal(GradingData gradingData) {
-        return new GradingRequest(gradingData, NORMAL_PRIORITY, System.nanoTime());
+        return new GradingRequest(gradingData, NORMAL_PRIORITY, System.nanoTime(), 0, 0);
     }
 
     /**
@@ -53,7 +62,19 @@ public class GradingRequest implements Comparable<GradingRequest> {
      * @return 높은 우선순위의 GradingRequest 객체
      */
     public static GradingRequest high(GradingData gradingData) {
-        return new GradingRequest(gradingData, HIGHEST_PRIORITY, System.nanoTime());
+        return new GradingRequest(gradingData, HIGHEST_PRIORITY, System.nanoTime(), 0, 0);
+    }
+
+    /**
+     * 채점에 실패한 요청의 재시도 요청을 생성하는 팩토리 메서드
+     *
+     * @param gradingData    채점에 필요한 데이터
+     * @param attempt        지금까지 채점에 실패한 횟수
+     * @param nextEligibleAt 다시 채점할 수 있는 시각 (epoch 밀리초)
+     * @return 높은 우선순위의 재시도 GradingRequest 객체
+     */
+    public static GradingRequest retry(GradingData gradingData, int attempt, long nextEligibleAt) {
+        return new GradingRequest(gradingData, HIGHEST_PRIORITY, System.nanoTime(), attempt, nextEligibleAt);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package site.haruhana.www.ratelimit;
+
+/**
+ * AI API 호출 경로(레인)
+ * <p>
+ * 하나의 API 키를 공유하는 호출 경로를 구분하며, 사용자가 기다리는 채점 요청이
+ * 백그라운드 문제 생성보다 항상 먼저 처리된다.
+ */
+public enum AICallLane {
+
+    /**
+     * 주관식 답안 채점 (우선 처리)
+     */
+    GRADING,
+
+    /**
+     * 백그라운드 문제 생성
+     */
+    GENERATION
+}
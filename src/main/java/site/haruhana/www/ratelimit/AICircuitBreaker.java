@@ -0,0 +1,414 @@
+package site.haruhana.www.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.exception.AIServiceUnavailableException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 모든 AI API 호출이 공유하는 서킷 브레이커
+ * <p>
+ * 최근 호출 결과를 고정 크기의 창(sliding window)에 기록하고, 실패율 또는 느린 호출의 비율이 기준을 넘으면 회로를 연다.
+ * <ul>
+ *   <li>CLOSED: 모든 호출을 허가하고 결과를 기록한다.</li>
+ *   <li>OPEN: 호출하지 않고 바로 거절한다. open-duration-ms가 지나면 HALF_OPEN으로 바뀐다.</li>
+ *   <li>HALF_OPEN: half-open-permitted-calls개의 시험 호출만 허가한다. 모두 성공하면 CLOSED로,
+ *       하나라도 실패하거나 느리면 다시 OPEN으로 바뀐다.</li>
+ * </ul>
+ * 회로가 열려 있는 동안 채점 작업자는 {@link #awaitCallPermitted(long, TimeUnit)}으로 대기열에서 요청을 꺼내지 않고 기다리며,
+ * 문제 생성 스케줄러는 {@link #isCallPermitted()}로 확인하여 생성을 건너뛴다.
+ * <p>
+ * 허가를 받은 호출자는 호출이 끝나면 반드시 {@link Permission}의 결과 메서드 중 하나를 호출해야 한다.
+ * 상태는 ai.circuit-breaker.* 메트릭과 Actuator 상태 확인(health)으로 확인할 수 있다.
+ */
+@Slf4j
+@Component
+public class AICircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+
+    private final int minimumCalls;
+
+    private final double failureRateThreshold;
+
+    private final long slowCallNanos;
+
+    private final double slowCallRateThreshold;
+
+    private final long openDurationNanos;
+
+    private final int halfOpenPermittedCalls;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition callPermitted = lock.newCondition();
+
+    // 최근 호출 결과 (원형 버퍼)
+    private final boolean[] failedCalls;
+
+    private final boolean[] slowCalls;
+
+    private int bufferedCalls;
+
+    private int nextIndex;
+
+    private int failureCount;
+
+    private int slowCount;
+
+    private State state = State.CLOSED;
+
+    /**
+     * 상태가 바뀔 때마다 증가하며, 이전 상태에서 시작된 호출의 결과는 현재 상태에 반영하지 않는다.
+     */
+    private long generation;
+
+    private long openUntilNanos;
+
+    private int halfOpenIssued;
+
+    private int halfOpenSucceeded;
+
+    private final Counter successCounter;
+
+    private final Counter failureCounter;
+
+    private final Counter slowCounter;
+
+    private final Counter rejectedCounter;
+
+    private final Map<State, Counter> transitionCounters = new EnumMap<>(State.class);
+
+    public AICircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${gemini.circuit-breaker.sliding-window-size:20}") int windowSize,
+            @Value("${gemini.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${gemini.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${gemini.circuit-breaker.slow-call-threshold-ms:30000}") long slowCallThresholdMillis,
+            @Value("${gemini.circuit-breaker.slow-call-rate-threshold:0.8}") double slowCallRateThreshold,
+            @Value("${gemini.circuit-breaker.open-duration-ms:30000}") long openDurationMillis,
+            @Value("${gemini.circuit-breaker.half-open-permitted-calls:3}") int halfOpenPermittedCalls
+    ) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.min(this.windowSize, Math.max(1, minimumCalls));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMillis);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+        this.halfOpenPermittedCalls = Math.max(1, halfOpenPermittedCalls);
+        this.failedCalls = new boolean[this.windowSize];
+        this.slowCalls = new boolean[this.windowSize];
+
+        this.successCounter = callCounter(meterRegistry, "success");
+        this.failureCounter = callCounter(meterRegistry, "failure");
+        this.slowCounter = callCounter(meterRegistry, "slow");
+        this.rejectedCounter = callCounter(meterRegistry, "rejected");
+
+        for (State to : State.values()) {
+            transitionCounters.put(to, Counter.builder("ai.circuit-breaker.transitions")
+                    .description("AI 서킷 브레이커의 상태 전환 횟수")
+                    .tag("state", to.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+
+        Gauge.builder("ai.circuit-breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("AI 서킷 브레이커의 상태 (0: CLOSED, 1: OPEN, 2: HALF_OPEN)")
+                .register(meterRegistry);
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ai.circuit-breaker.calls")
+                .description("AI 서킷 브레이커를 거친 호출 수")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * AI API 호출 허가를 받는 메서드
+     *
+     * @return 호출 허가
+     * @throws AIServiceUnavailableException 회로가 열려 있거나, 반열림 상태에서 시험 호출이 모두 진행 중인 경우
+     */
+    public Permission acquire() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refreshLocked(now);
+
+            if (state == State.CLOSED) {
+                return new Permission(generation, now);
+            }
+
+            if (state == State.HALF_OPEN && halfOpenIssued < halfOpenPermittedCalls) {
+                halfOpenIssued++;
+                return new Permission(generation, now);
+            }
+
+            rejectedCounter.increment();
+            throw new AIServiceUnavailableException(remainingOpenMillisLocked(now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금 호출하면 허가를 받을 수 있는지 확인하는 메서드 (허가를 받지는 않는다)
+     */
+    public boolean isCallPermitted() {
+        lock.lock();
+        try {
+            refreshLocked(System.nanoTime());
+            return isCallPermittedLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 호출을 허가받을 수 있는 상태가 될 때까지 기다리는 메서드
+     *
+     * @return 제한 시간 안에 호출할 수 있게 되면 true
+     * @throws InterruptedException 대기 중 스레드가 인터럽트되면 발생
+     */
+    public boolean awaitCallPermitted(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refreshLocked(now);
+
+                if (isCallPermittedLocked()) {
+                    return true;
+                }
+
+                long remainingNanos = deadline - now;
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+
+                // 열려 있는 동안에는 반열림으로 바뀌는 시점까지만 대기
+                long waitNanos = state == State.OPEN ? Math.min(remainingNanos, openUntilNanos - now) : remainingNanos;
+                callPermitted.awaitNanos(Math.max(1, waitNanos));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 상태를 반환하는 메서드
+     */
+    public State getState() {
+        lock.lock();
+        try {
+            refreshLocked(System.nanoTime());
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 상태와 최근 호출 결과를 조회하는 메서드
+     */
+    public Snapshot getSnapshot() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refreshLocked(now);
+
+            return new Snapshot(
+                    state,
+                    bufferedCalls,
+                    bufferedCalls == 0 ? 0 : (double) failureCount / bufferedCalls,
+                    bufferedCalls == 0 ? 0 : (double) slowCount / bufferedCalls,
+                    remainingOpenMillisLocked(now)
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 열려 있는 시간이 지났다면 반열림 상태로 바꾸는 메서드 (lock을 보유한 상태에서 호출)
+     */
+    private void refreshLocked(long now) {
+        if (state == State.OPEN && now - openUntilNanos >= 0) {
+            transitionLocked(State.HALF_OPEN, now);
+        }
+    }
+
+    private boolean isCallPermittedLocked() {
+        return state == State.CLOSED || (state == State.HALF_OPEN && halfOpenIssued < halfOpenPermittedCalls);
+    }
+
+    private long remainingOpenMillisLocked(long now) {
+        return state == State.OPEN ? TimeUnit.NANOSECONDS.toMillis(Math.max(0, openUntilNanos - now)) : 0;
+    }
+
+    /**
+     * 호출 결과를 기록하고 필요하면 상태를 바꾸는 메서드
+     */
+    private void onComplete(Permission permission, boolean failed, long now) {
+        boolean slow = !failed && now - permission.startedAt > slowCallNanos;
+
+        (failed ? failureCounter : slow ? slowCounter : successCounter).increment();
+
+        lock.lock();
+        try {
+            if (permission.generation != generation) { // 이전 상태에서 시작된 호출
+                return;
+            }
+
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    transitionLocked(State.OPEN, now);
+                } else if (++halfOpenSucceeded >= halfOpenPermittedCalls) {
+                    transitionLocked(State.CLOSED, now);
+                }
+                return;
+            }
+
+            if (state != State.CLOSED) {
+                return;
+            }
+
+            // 가장 오래된 결과를 새 결과로 교체
+            if (bufferedCalls == windowSize) {
+                failureCount -= failedCalls[nextIndex] ? 1 : 0;
+                slowCount -= slowCalls[nextIndex] ? 1 : 0;
+            } else {
+                bufferedCalls++;
+            }
+
+            failedCalls[nextIndex] = failed;
+            slowCalls[nextIndex] = slow;
+            failureCount += failed ? 1 : 0;
+            slowCount += slow ? 1 : 0;
+            nextIndex = (nextIndex + 1) % windowSize;
+
+            if (bufferedCalls >= minimumCalls
+                    && ((double) failureCount / bufferedCalls >= failureRateThreshold
+                    || (double) slowCount / bufferedCalls >= slowCallRateThreshold)) {
+                log.warn("AI API 최근 호출 {}건 중 실패 {}건, 느린 호출 {}건", bufferedCalls, failureCount, slowCount);
+                transitionLocked(State.OPEN, now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 결과를 기록하지 않고 허가를 반납하는 메서드 (반열림 상태의 시험 호출이었다면 다른 호출이 사용할 수 있도록 한다)
+     */
+    private void onRelease(Permission permission) {
+        lock.lock();
+        try {
+            if (permission.generation == generation && state == State.HALF_OPEN) {
+                halfOpenIssued--;
+                callPermitted.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transitionLocked(State to, long now) {
+        State from = state;
+
+        state = to;
+        generation++;
+        bufferedCalls = 0;
+        nextIndex = 0;
+        failureCount = 0;
+        slowCount = 0;
+        halfOpenIssued = 0;
+        halfOpenSucceeded = 0;
+
+        if (to == State.OPEN) {
+            openUntilNanos = now + openDurationNanos;
+            log.warn("AI 서킷 브레이커 상태 변경: {} -> {} ({}ms 동안 AI 호출을 중단합니다)", from, to, TimeUnit.NANOSECONDS.toMillis(openDurationNanos));
+        } else {
+            log.info("AI 서킷 브레이커 상태 변경: {} -> {}", from, to);
+        }
+
+        transitionCounters.get(to).increment();
+        callPermitted.signalAll();
+    }
+
+    /**
+     * 서킷 브레이커의 상태
+     *
+     * @param state               현재 상태
+     * @param bufferedCalls       기록된 최근 호출 수 (닫힌 상태에서만 기록)
+     * @param failureRate         최근 호출 중 실패한 비율
+     * @param slowCallRate        최근 호출 중 느린 호출의 비율
+     * @param remainingOpenMillis 반열림 상태로 바뀌기까지 남은 시간 (열려 있지 않으면 0)
+     */
+    public record Snapshot(State state, int bufferedCalls, double failureRate,
+                           double slowCallRate, long remainingOpenMillis) {
+    }
+
+    /**
+     * AI API 호출 허가
+     * <p>
+     * 호출이 끝나면 결과에 맞는 메서드를 한 번 호출한다. 두 번째 호출부터는 무시된다.
+     * 응답 시간은 허가를 받은 시점부터 측정한다.
+     */
+    public class Permission {
+
+        private final long generation;
+
+        private final long startedAt;
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Permission(long generation, long startedAt) {
+            this.generation = generation;
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * AI API가 응답한 경우 (응답 시간이 기준보다 길면 느린 호출로 기록한다)
+         */
+        public void onSuccess() {
+            if (finished.compareAndSet(false, true)) {
+                onComplete(this, false, System.nanoTime());
+            }
+        }
+
+        /**
+         * 연결 오류, 오류 응답, 요청 한도 초과 등으로 실패한 경우
+         */
+        public void onFailure() {
+            if (finished.compareAndSet(false, true)) {
+                onComplete(this, true, System.nanoTime());
+            }
+        }
+
+        /**
+         * 호출하지 않았거나 호출자가 취소하여 결과를 기록하지 않는 경우
+         */
+        public void release() {
+            if (finished.compareAndSet(false, true)) {
+                onRelease(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package site.haruhana.www.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 모든 AI API 호출이 공유하는 클라이언트 측 속도 제한기
+ * <p>
+ * 두 가지 제한을 함께 적용한다.
+ * <ul>
+ *   <li>토큰 버킷: 분당 요청 수와 순간 허용량(burst)을 제한한다.</li>
+ *   <li>AIMD 동시성 제한: 성공하면 동시 요청 한도를 조금씩(1/한도) 늘리고,
+ *       429 응답이나 응답 지연이 발생하면 절반으로 줄인다.</li>
+ * </ul>
+ * 대기 중인 요청은 레인별로 관리되며, 채점 레인의 요청이 문제 생성 레인보다 항상 먼저 허가된다.
+ * 문제 생성 레인은 동시 요청 한도의 일부만 사용할 수 있어 채점 요청이 밀리지 않도록 한다.
+ * <p>
+ * 허가는 {@link CompletableFuture}로 전달되므로 스레드를 점유하지 않고 기다릴 수 있으며,
+ * 블로킹 호출이 필요한 경우 {@link #acquire(AICallLane)}를 사용한다.
+ * 허가를 받은 호출자는 호출이 끝나면 반드시 {@link Permit}의 결과 메서드 중 하나를 호출해야 한다.
+ */
+@Slf4j
+@Component
+public class AIRateLimiter {
+
+    private final double tokensPerNano;
+
+    private final double burst;
+
+    private final double minLimit;
+
+    private final double maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double generationShare;
+
+    /**
+     * 연속된 감소를 하나의 혼잡 신호로 취급하는 시간 (동시에 실패한 요청들로 한도가 급격히 줄어드는 것을 방지)
+     */
+    private final long decreaseCooldownNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<AICallLane, ArrayDeque<CompletableFuture<Permit>>> waiters = new EnumMap<>(AICallLane.class);
+
+    private final Map<AICallLane, Integer> inFlightByLane = new EnumMap<>(AICallLane.class);
+
+    private final ScheduledExecutorService timer;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    private long pausedUntilNanos;
+
+    private double limit;
+
+    private int inFlight;
+
+    private long lastDecreaseNanos;
+
+    private boolean wakeUpScheduled;
+
+    public AIRateLimiter(
+            @Value("${gemini.rate-limit.requests-per-minute:60}") double requestsPerMinute,
+            @Value("${gemini.rate-limit.burst:10}") double burst,
+            @Value("${gemini.rate-limit.initial-concurrency:4}") double initialConcurrency,
+            @Value("${gemini.rate-limit.min-concurrency:1}") double minConcurrency,
+            @Value("${gemini.rate-limit.max-concurrency:16}") double maxConcurrency,
+            @Value("${gemini.rate-limit.latency-threshold-ms:20000}") long latencyThresholdMillis,
+            @Value("${gemini.rate-limit.generation-share:0.5}") double generationShare
+    ) {
+        this.tokensPerNano = requestsPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.minLimit = Math.max(1, minConcurrency);
+        this.maxLimit = Math.max(this.minLimit, maxConcurrency);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialConcurrency));
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.generationShare = generationShare;
+        this.decreaseCooldownNanos = TimeUnit.SECONDS.toNanos(1);
+
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = this.lastRefillNanos;
+        this.lastDecreaseNanos = this.lastRefillNanos - decreaseCooldownNanos;
+
+        for (AICallLane lane : AICallLane.values()) {
+            waiters.put(lane, new ArrayDeque<>());
+            inFlightByLane.put(lane, 0);
+        }
+
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * AI API 호출 허가를 비동기로 요청하는 메서드
+     * <p>
+     * 반환된 Future를 취소하면 대기열에서 제외되며, 이미 허가된 경우에는 허가가 반납된다.
+     *
+     * @param lane 호출 경로
+     * @return 호출이 허가되면 완료되는 Future
+     */
+    public CompletableFuture<Permit> acquireAsync(AICallLane lane) {
+        CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        List<Grant> granted;
+        lock.lock();
+        try {
+            waiters.get(lane).add(future);
+            granted = grantLocked();
+        } finally {
+            lock.unlock();
+        }
+
+        complete(granted);
+        return future;
+    }
+
+    /**
+     * AI API 호출 허가를 받을 때까지 기다리는 메서드
+     *
+     * @param lane 호출 경로
+     * @return 호출 허가
+     * @throws InterruptedException 대기 중 스레드가 인터럽트되면 발생
+     */
+    public Permit acquire(AICallLane lane) throws InterruptedException {
+        CompletableFuture<Permit> future = acquireAsync(lane);
+
+        try {
+            return future.get();
+
+        } catch (InterruptedException e) {
+            if (!future.cancel(false)) { // 인터럽트와 동시에 허가된 경우 허가를 반납
+                future.join().release();
+            }
+            throw e;
+
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("AI 호출 허가를 받을 수 없습니다", e.getCause());
+        }
+    }
+
+    /**
+     * 현재 동시 요청 한도를 반환하는 메서드
+     */
+    public double getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 진행 중인 요청 수를 반환하는 메서드
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 레인별 대기 중인 요청 수를 반환하는 메서드
+     */
+    public int getWaiting(AICallLane lane) {
+        lock.lock();
+        try {
+            return waiters.get(lane).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * 토큰과 동시성 한도가 허용하는 만큼 대기 중인 요청을 허가하는 메서드 (lock을 보유한 상태에서 호출)
+     *
+     * @return 허가된 요청 목록 (lock 밖에서 완료 처리)
+     */
+    private List<Grant> grantLocked() {
+        List<Grant> granted = new ArrayList<>();
+        long now = System.nanoTime();
+
+        refillLocked(now);
+
+        while (true) {
+            AICallLane lane = nextLaneLocked();
+            if (lane == null) {
+                break;
+            }
+
+            if (inFlight >= Math.max(1, (int) limit)) { // 동시성 한도 초과 (허가 반납 시 다시 시도)
+                break;
+            }
+
+            if (now < pausedUntilNanos) { // 429 응답의 Retry-After 동안 대기
+                scheduleWakeUpLocked(pausedUntilNanos - now);
+                break;
+            }
+
+            if (tokens < 1) { // 토큰 부족 (토큰이 채워지는 시점에 다시 시도)
+                scheduleWakeUpLocked((long) Math.ceil((1 - tokens) / tokensPerNano));
+                break;
+            }
+
+            tokens -= 1;
+            inFlight++;
+            inFlightByLane.merge(lane, 1, Integer::sum);
+            granted.add(new Grant(waiters.get(lane).poll(), new Permit(lane)));
+        }
+
+        return granted;
+    }
+
+    /**
+     * 다음으로 허가할 레인을 선택하는 메서드
+     * <p>
+     * 채점 레인을 먼저 확인하고, 문제 생성 레인은 자신의 동시성 몫이 남아있을 때만 선택한다.
+     */
+    private AICallLane nextLaneLocked() {
+        if (hasWaiterLocked(AICallLane.GRADING)) {
+            return AICallLane.GRADING;
+        }
+
+        if (hasWaiterLocked(AICallLane.GENERATION)) {
+            int generationLimit = Math.max(1, (int) (limit * generationShare));
+            if (inFlightByLane.get(AICallLane.GENERATION) < generationLimit) {
+                return AICallLane.GENERATION;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 취소된 요청을 정리하고 레인에 대기 중인 요청이 있는지 확인하는 메서드
+     */
+    private boolean hasWaiterLocked(AICallLane lane) {
+        ArrayDeque<CompletableFuture<Permit>> queue = waiters.get(lane);
+
+        while (!queue.isEmpty() && queue.peek().isDone()) {
+            queue.poll();
+        }
+
+        return !queue.isEmpty();
+    }
+
+    private void refillLocked(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+
+    private void scheduleWakeUpLocked(long delayNanos) {
+        if (wakeUpScheduled || timer.isShutdown()) {
+            return;
+        }
+
+        wakeUpScheduled = true;
+        timer.schedule(() -> {
+            List<Grant> granted;
+            lock.lock();
+            try {
+                wakeUpScheduled = false;
+                granted = grantLocked();
+            } finally {
+                lock.unlock();
+            }
+            complete(granted);
+        }, Math.max(1, delayNanos), TimeUnit.NANOSECONDS);
+    }
+
+    private void complete(List<Grant> granted) {
+        for (Grant grant : granted) {
+            if (!grant.future().complete(grant.permit())) { // 허가 직전에 취소된 경우 반납
+                grant.permit().release();
+            }
+        }
+    }
+
+    /**
+     * 허가를 반납하고 호출 결과에 따라 동시성 한도를 조정하는 메서드
+     */
+    private void onRelease(Permit permit, Outcome outcome, long retryAfterNanos) {
+        List<Grant> granted;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+
+            inFlight--;
+            inFlightByLane.merge(permit.lane, -1, Integer::sum);
+
+            boolean congested = outcome == Outcome.RATE_LIMITED
+                    || (outcome == Outcome.SUCCESS && now - permit.grantedAt > latencyThresholdNanos);
+
+            if (congested) {
+                // 곱셈 감소 (짧은 시간 안에 연속된 혼잡 신호는 한 번만 반영)
+                if (now - lastDecreaseNanos >= decreaseCooldownNanos) {
+                    limit = Math.max(minLimit, limit / 2);
+                    lastDecreaseNanos = now;
+                    log.warn("AI API 혼잡 감지({}): 동시 요청 한도를 {}로 줄입니다.", outcome, String.format("%.2f", limit));
+                }
+
+                if (outcome == Outcome.RATE_LIMITED) {
+                    tokens = Math.min(tokens, 0);
+                    pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfterNanos);
+                }
+
+            } else if (outcome == Outcome.SUCCESS) {
+                // 덧셈 증가 (한도만큼 성공하면 1 증가)
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+
+            granted = grantLocked();
+        } finally {
+            lock.unlock();
+        }
+
+        complete(granted);
+    }
+
+    private record Grant(CompletableFuture<Permit> future, Permit permit) {
+    }
+
+    private enum Outcome {
+        SUCCESS, RATE_LIMITED, FAILURE, RELEASED
+    }
+
+    /**
+     * AI API 호출 허가
+     * <p>
+     * 호출이 끝나면 결과에 맞는 메서드를 한 번 호출하여 허가를 반납한다. 두 번째 호출부터는 무시된다.
+     */
+    public class Permit {
+
+        private final AICallLane lane;
+
+        private final long grantedAt = System.nanoTime();
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AICallLane lane) {
+            this.lane = lane;
+        }
+
+        /**
+         * 호출에 성공한 경우 (응답 시간이 기준 이하라면 동시성 한도를 늘린다)
+         */
+        public void onSuccess() {
+            finish(Outcome.SUCCESS, 0);
+        }
+
+        /**
+         * 429 응답을 받은 경우 (동시성 한도를 줄이고 Retry-After 동안 새 요청을 보내지 않는다)
+         *
+         * @param retryAfterMillis 서버가 알려준 재시도 대기 시간 (없으면 0)
+         */
+        public void onRateLimited(long retryAfterMillis) {
+            finish(Outcome.RATE_LIMITED, TimeUnit.MILLISECONDS.toNanos(Math.max(0, retryAfterMillis)));
+        }
+
+        /**
+         * 속도 제한과 관계없는 오류로 실패한 경우 (동시성 한도를 유지한다)
+         */
+        public void onFailure() {
+            finish(Outcome.FAILURE, 0);
+        }
+
+        /**
+         * 호출하지 않고 허가를 반납하는 경우
+         */
+        public void release() {
+            finish(Outcome.RELEASED, 0);
+        }
+
+        private void finish(Outcome outcome, long retryAfterNanos) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(this, outcome, retryAfterNanos);
+            }
+        }
+    }
+}
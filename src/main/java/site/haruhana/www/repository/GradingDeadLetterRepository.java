@@ -0,0 +1,17 @@
+package site.haruhana.www.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import site.haruhana.www.entity.grading.GradingDeadLetter;
+
+import java.util.Optional;
+
+public interface GradingDeadLetterRepository extends JpaRepository<GradingDeadLetter, Long> {
+
+    /**
+     * 제출 ID로 데드 레터를 조회하는 메서드
+     *
+     * @param submissionId 제출 ID
+     * @return 해당 제출의 데드 레터 (없으면 빈 Optional)
+     */
+    Optional<GradingDeadLetter> findBySubmissionId(Long submissionId);
+}
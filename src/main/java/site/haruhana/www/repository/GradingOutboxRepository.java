@@ -0,0 +1,23 @@
+package site.haruhana.www.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import site.haruhana.www.entity.grading.GradingOutbox;
+
+import java.util.List;
+
+public interface GradingOutboxRepository extends JpaRepository<GradingOutbox, Long> {
+
+    /**
+     * 대기열에 추가할 아웃박스 항목을 저장 순서대로 가져가는 메서드
+     * <p>
+     * 가져간 행은 트랜잭션이 끝날 때까지 잠기며, 다른 서버가 이미 잠근 행은 기다리지 않고 건너뛴다.
+     * 여러 서버가 동시에 실행되어도 같은 항목을 중복으로 가져가지 않는다.
+     *
+     * @param limit 한 번에 가져갈 최대 개수
+     * @return 잠근 아웃박스 항목 목록
+     */
+    @Query(value = "SELECT * FROM grading_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<GradingOutbox> claimBatch(@Param("limit") int limit);
+}
@@ -1,7 +1,9 @@
 package site.haruhana.www.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,34 +13,40 @@ import site.haruhana.www.entity.problem.ProblemCategory;
 import site.haruhana.www.entity.problem.ProblemDifficulty;
 import site.haruhana.www.entity.problem.ProblemType;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface ProblemRepository extends JpaRepository<Problem, Long> {
 
-    /**
-     * 필터 조건에 맞는 문제를 페이징하여 조회하는 메서드
-     *
-     * @param pageable 페이징 정보
-     * @param category 문제 카테고리
-     * @param difficulty 문제 난이도
-     * @param type 문제 유형
-     * @param excludeProblemIds 제외할 문제 ID 집합
-     */
-    @Query("""
+    String FIND_PROBLEMS_WITH_FILTERS_QUERY = """
             SELECT new site.haruhana.www.dto.problem.ProblemSummaryDto(
                 p.id,
                 p.title,
                 p.category,
                 p.difficulty,
                 p.type,
-                p.solvedCount
+                p.solvedCount,
+                p.createdAt
             )
             FROM Problem p
             WHERE (:category IS NULL OR p.category = :category)
             AND (:difficulty IS NULL OR p.difficulty = :difficulty)
             AND (:type IS NULL OR p.type = :type)
             AND p.id NOT IN :excludeProblemIds
-            """)
+            """;
+
+    /**
+     * 필터 조건에 맞는 문제를 페이징하여 조회하는 메서드
+     *
+     * @param pageable 페이징 정보
+     * @param category 문제 카테고리
+     * @param difficulty 문제 난이도
+     * @param type 문제 유형
+     * @param excludeProblemIds 제외할 문제 ID 집합
+     */
+    @Query(FIND_PROBLEMS_WITH_FILTERS_QUERY)
     Page<ProblemSummaryDto> findProblemsWithFilters(
             Pageable pageable,
             @Param("category") ProblemCategory category,
@@ -46,4 +54,123 @@ public interface ProblemRepository extends JpaRepository<Problem, Long> {
             @Param("type") ProblemType type,
             @Param("excludeProblemIds") Set<Long> excludeProblemIds
     );
+
+    /**
+     * 필터 조건에 맞는 문제를 전체 개수 없이 조회하는 메서드 (COUNT 쿼리를 실행하지 않음)
+     *
+     * @param pageable 페이징 정보
+     * @param category 문제 카테고리
+     * @param difficulty 문제 난이도
+     * @param type 문제 유형
+     * @param excludeProblemIds 제외할 문제 ID 집합
+     */
+    @Query(FIND_PROBLEMS_WITH_FILTERS_QUERY)
+    Slice<ProblemSummaryDto> findProblemSliceWithFilters(
+            Pageable pageable,
+            @Param("category") ProblemCategory category,
+            @Param("difficulty") ProblemDifficulty difficulty,
+            @Param("type") ProblemType type,
+            @Param("excludeProblemIds") Set<Long> excludeProblemIds
+    );
+
+    /*
+     * 키셋(커서) 페이지네이션 쿼리
+     *
+     * 커서의 (정렬 키, ID)보다 크거나 작은 문제를 커서에 가까운 순서로 조회한다.
+     * InnoDB의 보조 인덱스는 기본 키를 포함하므로, created_at과 solved_count 인덱스를 (정렬 키, id) 순서로 그대로 읽는다.
+     * 내림차순 정렬의 다음 페이지는 '작은 쪽', 오름차순 정렬의 다음 페이지는 '큰 쪽'을 조회하며, 이전 페이지는 그 반대이다.
+     */
+
+    /**
+     * 커서보다 (생성 시각, ID)가 큰 문제를 오름차순으로 조회하는 메서드
+     *
+     * @param createdAt 커서의 생성 시각
+     * @param id        커서의 문제 ID
+     * @param limit     조회할 최대 개수
+     */
+    @Query(FIND_PROBLEMS_WITH_FILTERS_QUERY + """
+            AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id))
+            ORDER BY p.createdAt ASC, p.id ASC
+            """)
+    List<ProblemSummaryDto> findProblemsCreatedAfter(
+            @Param("category") ProblemCategory category,
+            @Param("difficulty") ProblemDifficulty difficulty,
+            @Param("type") ProblemType type,
+            @Param("excludeProblemIds") Set<Long> excludeProblemIds,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * 커서보다 (생성 시각, ID)가 작은 문제를 내림차순으로 조회하는 메서드
+     *
+     * @param createdAt 커서의 생성 시각
+     * @param id        커서의 문제 ID
+     * @param limit     조회할 최대 개수
+     */
+    @Query(FIND_PROBLEMS_WITH_FILTERS_QUERY + """
+            AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<ProblemSummaryDto> findProblemsCreatedBefore(
+            @Param("category") ProblemCategory category,
+            @Param("difficulty") ProblemDifficulty difficulty,
+            @Param("type") ProblemType type,
+            @Param("excludeProblemIds") Set<Long> excludeProblemIds,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * 커서보다 (풀이 수, ID)가 큰 문제를 오름차순으로 조회하는 메서드
+     *
+     * @param solvedCount 커서의 풀이 수
+     * @param id          커서의 문제 ID
+     * @param limit       조회할 최대 개수
+     */
+    @Query(FIND_PROBLEMS_WITH_FILTERS_QUERY + """
+            AND (p.solvedCount > :solvedCount OR (p.solvedCount = :solvedCount AND p.id > :id))
+            ORDER BY p.solvedCount ASC, p.id ASC
+            """)
+    List<ProblemSummaryDto> findProblemsSolvedMoreThan(
+            @Param("category") ProblemCategory category,
+            @Param("difficulty") ProblemDifficulty difficulty,
+            @Param("type") ProblemType type,
+            @Param("excludeProblemIds") Set<Long> excludeProblemIds,
+            @Param("solvedCount") long solvedCount,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * 커서보다 (풀이 수, ID)가 작은 문제를 내림차순으로 조회하는 메서드
+     *
+     * @param solvedCount 커서의 풀이 수
+     * @param id          커서의 문제 ID
+     * @param limit       조회할 최대 개수
+     */
+    @Query(FIND_PROBLEMS_WITH_FILTERS_QUERY + """
+            AND (p.solvedCount < :solvedCount OR (p.solvedCount = :solvedCount AND p.id < :id))
+            ORDER BY p.solvedCount DESC, p.id DESC
+            """)
+    List<ProblemSummaryDto> findProblemsSolvedLessThan(
+            @Param("category") ProblemCategory category,
+            @Param("difficulty") ProblemDifficulty difficulty,
+            @Param("type") ProblemType type,
+            @Param("excludeProblemIds") Set<Long> excludeProblemIds,
+            @Param("solvedCount") long solvedCount,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * 문제 풀이 수를 조회하는 메서드
+     *
+     * @param problemId 문제 ID
+     * @return 문제 풀이 수 (문제가 존재하지 않는 경우 빈 값)
+     */
+    @Query("SELECT p.solvedCount FROM Problem p WHERE p.id = :problemId")
+    Optional<Long> findSolvedCountById(@Param("problemId") Long problemId);
 }
@@ -1,5 +1,6 @@
 package site.haruhana.www.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,10 +13,31 @@ import site.haruhana.www.entity.problem.ProblemType;
 import site.haruhana.www.entity.submission.Submission;
 import site.haruhana.www.entity.user.User;
 
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
 
+    String FIND_SUBMISSIONS_WITH_FILTERS_QUERY = """
+            SELECT new site.haruhana.www.dto.submission.response.SubmissionHistoryResponseDto(
+                p.id,
+                p.title,
+                p.category,
+                p.difficulty,
+                p.type,
+                s.submittedAt,
+                s.isCorrect,
+                s.score,
+                s.id
+            )
+            FROM Submission s JOIN s.problem p
+            WHERE s.user.id = :userId
+            AND (:category IS NULL OR p.category = :category)
+            AND (:difficulty IS NULL OR p.difficulty = :difficulty)
+            AND (:type IS NULL OR p.type = :type)
+            AND (:isCorrect IS NULL OR s.isCorrect = :isCorrect)
+            """;
+
     /**
      * 특정 사용자가 특정 문제를 해결했는지 확인하는 메서드
      *
@@ -26,13 +48,22 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     boolean existsByUserAndProblemIdAndIsCorrectTrue(User user, Long problemId);
 
     /**
-     * 특정 사용자가 해결한 모든 문제 ID 집합을 조회하는 메서드
+     * 특정 사용자가 해결한 모든 문제 ID를 조회하는 메서드
      *
-     * @param user 조회할 사용자
-     * @return 사용자가 해결한 문제 ID 집합
+     * @param userId 조회할 사용자 ID
+     * @return 사용자가 해결한 문제 ID 목록 (중복 없음)
      */
-    @Query("SELECT DISTINCT s.problem.id FROM Submission s WHERE s.user = :user AND s.isCorrect = true")
-    Set<Long> findProblemIdsSolvedCorrectlyByUser(@Param("user") User user);
+    @Query("SELECT DISTINCT s.problem.id FROM Submission s WHERE s.user.id = :userId AND s.isCorrect = true")
+    List<Long> findProblemIdsSolvedCorrectlyByUserId(@Param("userId") Long userId);
+
+    /**
+     * 특정 사용자가 해결한 문제 수를 조회하는 메서드 (해결한 문제 집합 캐시가 최신인지 확인하는 용도)
+     *
+     * @param userId 조회할 사용자 ID
+     * @return 사용자가 해결한 문제 수
+     */
+    @Query("SELECT COUNT(DISTINCT s.problem.id) FROM Submission s WHERE s.user.id = :userId AND s.isCorrect = true")
+    long countProblemsSolvedCorrectlyByUserId(@Param("userId") Long userId);
 
     /**
      * 필터 조건에 맞는 문제 답안 제출 기록을 페이징하여 조회하는 메서드
@@ -45,24 +76,8 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
      * @param pageable   페이징 정보
      * @return 필터링된 문제 답안 제출 기록 페이지
      */
-    @Query("""
-            SELECT new site.haruhana.www.dto.submission.response.SubmissionHistoryResponseDto(
-                p.id,
-                p.title,
-                p.category,
-                p.difficulty,
-                p.type,
-                s.submittedAt,
-                s.isCorrect,
-                s.score
-            )
-            FROM Submission s JOIN s.problem p
-            WHERE s.user.id = :userId
-            AND (:category IS NULL OR p.category = :category)
-            AND (:difficulty IS NULL OR p.difficulty = :difficulty)
-            AND (:type IS NULL OR p.type = :type)
-            AND (:isCorrect IS NULL OR s.isCorrect = :isCorrect)
-            ORDER BY s.submittedAt DESC
+    @Query(FIND_SUBMISSIONS_WITH_FILTERS_QUERY + """
+            ORDER BY s.submittedAt DESC, s.id DESC
             """)
     Page<SubmissionHistoryResponseDto> findSubmissionsWithFiltersDirect(
             @Param("userId") Long userId,
@@ -72,4 +87,78 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
             @Param("isCorrect") Boolean isCorrect,
             Pageable pageable
     );
+
+    /**
+     * 커서보다 오래된 문제 답안 제출 기록을 최신순으로 조회하는 메서드 (키셋 페이지네이션)
+     * <p>
+     * (user_id, submitted_at) 인덱스에서 커서 위치부터 읽으므로, 앞의 행을 건너뛰지 않는다.
+     *
+     * @param submittedAt  커서의 제출 시각
+     * @param submissionId 커서의 제출 ID (제출 시각이 같은 경우 구분)
+     * @param limit        조회할 최대 개수
+     * @return 커서 다음 페이지의 제출 기록 (최신순)
+     */
+    @Query(FIND_SUBMISSIONS_WITH_FILTERS_QUERY + """
+            AND (s.submittedAt < :submittedAt OR (s.submittedAt = :submittedAt AND s.id < :submissionId))
+            ORDER BY s.submittedAt DESC, s.id DESC
+            """)
+    List<SubmissionHistoryResponseDto> findSubmissionsWithFiltersBefore(
+            @Param("userId") Long userId,
+            @Param("category") ProblemCategory category,
+            @Param("difficulty") ProblemDifficulty difficulty,
+            @Param("type") ProblemType type,
+            @Param("isCorrect") Boolean isCorrect,
+            @Param("submittedAt") LocalDateTime submittedAt,
+            @Param("submissionId") Long submissionId,
+            Limit limit
+    );
+
+    /**
+     * 커서보다 최근의 문제 답안 제출 기록을 오래된순으로 조회하는 메서드 (키셋 페이지네이션, 이전 페이지 조회용)
+     *
+     * @param submittedAt  커서의 제출 시각
+     * @param submissionId 커서의 제출 ID (제출 시각이 같은 경우 구분)
+     * @param limit        조회할 최대 개수
+     * @return 커서 이전 페이지의 제출 기록 (커서에 가까운 것부터, 오래된순)
+     */
+    @Query(FIND_SUBMISSIONS_WITH_FILTERS_QUERY + """
+            AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :submissionId))
+            ORDER BY s.submittedAt ASC, s.id ASC
+            """)
+    List<SubmissionHistoryResponseDto> findSubmissionsWithFiltersAfter(
+            @Param("userId") Long userId,
+            @Param("category") ProblemCategory category,
+            @Param("difficulty") ProblemDifficulty difficulty,
+            @Param("type") ProblemType type,
+            @Param("isCorrect") Boolean isCorrect,
+            @Param("submittedAt") LocalDateTime submittedAt,
+            @Param("submissionId") Long submissionId,
+            Limit limit
+    );
+
+    /**
+     * 채점되지 않은 주관식 제출을 ID 순으로 조회하는 메서드 (키셋 페이지네이션)
+     * <p>
+     * 데드 레터로 이동한 제출과, 아웃박스 릴레이가 대기열에 추가할 제출은 제외한다.
+     *
+     * @param lastId          이전 배치의 마지막 제출 ID (처음 조회 시 0)
+     * @param submittedBefore 이 시각 이전에 제출된 답안만 조회 (다른 서버가 채점 중일 수 있는 최근 제출 제외)
+     * @param limit           한 번에 조회할 최대 개수
+     * @return lastId 이후의 채점되지 않은 주관식 제출 목록
+     */
+    @Query("""
+            SELECT s FROM Submission s
+            WHERE s.id > :lastId
+            AND s.submittedAt < :submittedBefore
+            AND s.isCorrect IS NULL
+            AND s.problem.type = site.haruhana.www.entity.problem.ProblemType.SUBJECTIVE
+            AND NOT EXISTS (SELECT 1 FROM GradingDeadLetter d WHERE d.submissionId = s.id)
+            AND NOT EXISTS (SELECT 1 FROM GradingOutbox o WHERE o.submissionId = s.id)
+            ORDER BY s.id
+            """)
+    List<Submission> findUngradedSubjectiveSubmissionsAfter(
+            @Param("lastId") Long lastId,
+            @Param("submittedBefore") LocalDateTime submittedBefore,
+            Limit limit
+    );
 }
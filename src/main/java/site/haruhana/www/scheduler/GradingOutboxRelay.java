@@ -0,0 +1,239 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.haruhana.www.entity.grading.GradingOutbox;
+import site.haruhana.www.entity.submission.Submission;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.repository.GradingOutboxRepository;
+import site.haruhana.www.repository.SubmissionRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 채점 아웃박스에 저장된 제출을 채점 대기열로 옮기는 컴포넌트
+ * <p>
+ * 아웃박스 항목을 배치 단위로 잠가서 가져가고(FOR UPDATE SKIP LOCKED), 대기열에 추가한 뒤 같은 트랜잭션에서 삭제한다.
+ * 여러 서버가 동시에 실행되어도 다른 서버가 잠근 항목은 건너뛰므로 같은 제출을 중복으로 옮기지 않는다.
+ * <p>
+ * 제출이 커밋되면 {@link #wakeUp()}으로 바로 깨어나고, 그 외에는 poll-interval-ms마다 아웃박스를 확인한다.
+ * 아웃박스에 쌓인 항목이 배치 크기보다 많으면 쉬지 않고 다음 배치를 옮긴다.
+ * <p>
+ * 지연 시간은 grading.outbox.* 메트릭으로 확인할 수 있다.
+ */
+@Slf4j
+@Component
+public class GradingOutboxRelay implements SmartLifecycle {
+
+    private final SubmissionMessageQueue messageQueue;
+
+    private final GradingOutboxRepository outboxRepository;
+
+    private final SubmissionRepository submissionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final long pollIntervalMillis;
+
+    private final Counter relayedCounter;
+
+    private final Counter batchCounter;
+
+    private final Timer lagTimer;
+
+    // 마지막으로 가져간 배치에서 가장 오래된 항목의 대기 시간 (아웃박스가 비어 있으면 0)
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition wakeUpRequested = lock.newCondition();
+
+    private boolean pendingWakeUp;
+
+    private Thread relay;
+
+    private volatile boolean running;
+
+    public GradingOutboxRelay(
+            SubmissionMessageQueue messageQueue,
+            GradingOutboxRepository outboxRepository,
+            SubmissionRepository submissionRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${grading.outbox.batch-size:100}") int batchSize,
+            @Value("${grading.outbox.poll-interval-ms:1000}") long pollIntervalMillis
+    ) {
+        this.messageQueue = messageQueue;
+        this.outboxRepository = outboxRepository;
+        this.submissionRepository = submissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+
+        this.relayedCounter = Counter.builder("grading.outbox.relayed")
+                .description("아웃박스에서 채점 대기열로 옮긴 제출 수")
+                .register(meterRegistry);
+        this.batchCounter = Counter.builder("grading.outbox.batches")
+                .description("아웃박스에서 가져간 배치 수")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("grading.outbox.lag")
+                .description("제출이 커밋된 후 채점 대기열에 추가되기까지 걸린 시간")
+                .register(meterRegistry);
+        meterRegistry.gauge("grading.outbox.oldest.age.ms", oldestAgeMillis);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        relay = new Thread(this::run, "grading-outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+
+        wakeUp();
+
+        try {
+            relay.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 대기열 복구가 끝난 후 시작되고, 재시도 스케줄러와 채점 작업자보다 나중에 종료된다.
+     * (옮기지 못한 항목은 아웃박스에 남아 다음 시작 시 옮겨진다)
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2;
+    }
+
+    /**
+     * 새 항목이 저장되었음을 알려 바로 아웃박스를 확인하도록 하는 메서드
+     */
+    public void wakeUp() {
+        lock.lock();
+        try {
+            pendingWakeUp = true;
+            wakeUpRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 종료될 때까지 아웃박스의 항목을 대기열로 옮기는 메서드
+     */
+    private void run() {
+        while (running) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (Exception e) { // DB 오류 등으로 실패하면 다음 주기에 다시 시도
+                log.error("채점 아웃박스 처리 중 오류 발생: {}", e.getMessage());
+                relayed = 0;
+            }
+
+            if (relayed >= batchSize) { // 아직 남은 항목이 있을 수 있으므로 바로 다음 배치 처리
+                continue;
+            }
+
+            lock.lock();
+            try {
+                if (!pendingWakeUp && running) {
+                    wakeUpRequested.await(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+                pendingWakeUp = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 아웃박스 항목을 한 배치 가져가 대기열에 추가하고 삭제하는 메서드
+     * <p>
+     * 대기열에 추가한 뒤 커밋에 실패하면 항목이 남아 다시 옮겨지므로, 같은 제출이 두 번 추가될 수 있는 경우는 이때뿐이다.
+     * (커밋 전에 삭제만 반영되어 제출이 유실되는 경우는 없다)
+     *
+     * @return 가져간 항목 수
+     */
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<GradingOutbox> entries = outboxRepository.claimBatch(batchSize);
+            if (entries.isEmpty()) {
+                oldestAgeMillis.set(0);
+                return 0;
+            }
+
+            Map<Long, Submission> submissions = submissionRepository.findAllById(entries.stream().map(GradingOutbox::getSubmissionId).toList()).stream()
+                    .collect(Collectors.toMap(Submission::getId, Function.identity()));
+
+            LocalDateTime now = LocalDateTime.now();
+            oldestAgeMillis.set(Duration.between(entries.get(0).getCreatedAt(), now).toMillis());
+
+            for (GradingOutbox entry : entries) {
+                Submission submission = submissions.get(entry.getSubmissionId());
+                if (submission == null) { // 그 사이 삭제된 제출은 채점하지 않음
+                    continue;
+                }
+
+                messageQueue.enqueue(GradingData.fromSubmission(submission));
+                lagTimer.record(Duration.between(entry.getCreatedAt(), now));
+            }
+
+            outboxRepository.deleteAllInBatch(entries);
+            return entries.size();
+        });
+
+        if (relayed == null || relayed == 0) {
+            return 0;
+        }
+
+        relayedCounter.increment(relayed);
+        batchCounter.increment();
+        log.debug("채점 아웃박스 {}건을 대기열에 추가했습니다.", relayed);
+
+        return relayed;
+    }
+}
@@ -0,0 +1,176 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.haruhana.www.entity.submission.Submission;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.repository.SubmissionRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서버 시작 시 채점되지 않은 주관식 제출로 채점 대기열을 복구하는 컴포넌트
+ * <p>
+ * 재시작 전에 대기열에 있었지만 채점되지 않은 제출을 submissions 테이블에서 다시 찾아 대기열에 추가한다.
+ * 테이블 전체를 한 번에 읽지 않도록 제출 ID 기준의 키셋 페이지네이션으로 일정 개수씩 조회하며,
+ * 웹 서버와 채점 작업자가 시작되기 전에 완료된다.
+ * <ul>
+ *   <li>대기 중인 요청이 DB나 파일에 유지되는 큐(jdbc, file)는 재시작 후에도 요청이 남아 있으므로 복구하지 않는다.
+ *       (모든 서버가 복구하면 같은 제출이 서버 수만큼 다시 추가됨)</li>
+ *   <li>메모리 큐는 grace-period-ms보다 오래전에 제출된 답안만 복구한다.
+ *       최근 제출은 다른 서버의 대기열에서 채점 중일 수 있으며, 그보다 오래 채점되지 않은 제출은 종료된 서버에 남아 있던 것으로 본다.</li>
+ * </ul>
+ * <p>
+ * 진행 상황은 grading.rehydration.* 메트릭으로 확인할 수 있다.
+ */
+@Slf4j
+@Component
+public class GradingQueueRehydrator implements SmartLifecycle {
+
+    private final SubmissionMessageQueue messageQueue;
+
+    private final SubmissionRepository submissionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final long gracePeriodMillis;
+
+    private final Counter enqueuedCounter;
+
+    private final Counter batchCounter;
+
+    private final Timer durationTimer;
+
+    private final AtomicLong lastSubmissionId = new AtomicLong();
+
+    private volatile boolean running;
+
+    public GradingQueueRehydrator(
+            SubmissionMessageQueue messageQueue,
+            SubmissionRepository submissionRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${grading.rehydration.enabled:true}") boolean enabled,
+            @Value("${grading.rehydration.batch-size:1000}") int batchSize,
+            @Value("${grading.rehydration.grace-period-ms:600000}") long gracePeriodMillis
+    ) {
+        this.messageQueue = messageQueue;
+        this.submissionRepository = submissionRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.gracePeriodMillis = gracePeriodMillis;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.enqueuedCounter = Counter.builder("grading.rehydration.enqueued")
+                .description("서버 시작 시 채점 대기열에 복구된 제출 수")
+                .register(meterRegistry);
+        this.batchCounter = Counter.builder("grading.rehydration.batches")
+                .description("채점 대기열 복구 중 조회한 배치 수")
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("grading.rehydration.duration")
+                .description("채점 대기열 복구에 걸린 시간")
+                .register(meterRegistry);
+        meterRegistry.gauge("grading.rehydration.last.submission.id", lastSubmissionId);
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+
+        if (!enabled) {
+            return;
+        }
+
+        if (messageQueue.isDurable()) { // 재시작 전의 요청이 큐에 그대로 남아 있음
+            log.info("채점 대기열이 요청을 유지하므로 복구를 건너뜁니다.");
+            return;
+        }
+
+        durationTimer.record(this::rehydrate);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버보다 먼저 시작되도록 하여, 복구 중에 새로 제출된 답안이 중복으로 대기열에 추가되지 않도록 한다.
+     * (재시도 스케줄러와 채점 작업자보다도 먼저 시작된다)
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * 채점되지 않은 주관식 제출을 배치 단위로 조회하여 대기열에 추가하는 메서드
+     */
+    private void rehydrate() {
+        long startedAt = System.currentTimeMillis();
+        long total = 0;
+        LocalDateTime submittedBefore = LocalDateTime.now().minus(gracePeriodMillis, ChronoUnit.MILLIS);
+
+        try {
+            while (true) {
+                long afterId = lastSubmissionId.get();
+
+                // 배치마다 트랜잭션을 분리하여 영속성 컨텍스트가 계속 커지지 않도록 함
+                List<GradingData> batch = transactionTemplate.execute(status ->
+                        submissionRepository.findUngradedSubjectiveSubmissionsAfter(afterId, submittedBefore, Limit.of(batchSize)).stream()
+                                .map(GradingData::fromSubmission)
+                                .toList()
+                );
+
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+
+                batch.forEach(messageQueue::enqueue);
+
+                total += batch.size();
+                enqueuedCounter.increment(batch.size());
+                batchCounter.increment();
+                lastSubmissionId.set(batch.get(batch.size() - 1).getSubmissionId());
+
+                log.info("채점 대기열 복구 중: {}건 (마지막 제출 #{})", total, lastSubmissionId.get());
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+
+            log.info("채점 대기열 복구 완료: {}건, {}ms", total, System.currentTimeMillis() - startedAt);
+
+        } catch (Exception e) { // 복구에 실패하더라도 서버는 시작되어야 함
+            log.error("채점 대기열 복구 중 오류 발생 (마지막 제출 #{}): {}", lastSubmissionId.get(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package site.haruhana.www.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.haruhana.www.cache.SolvedProblemCache;
+import site.haruhana.www.dto.grading.GradingEventDto;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.service.AIService.GradingResult;
+import site.haruhana.www.service.GradingEventService;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 주관식 채점 결과를 모아서 한 번에 저장하는 컴포넌트 (write-behind)
+ * <p>
+ * 채점 작업자는 결과를 넘기고 바로 다음 채점을 진행하며, 모인 결과는 배치 크기에 도달하거나
+ * flush-interval-ms가 지나면 하나의 트랜잭션으로 저장된다. 결과 하나당 4~5번이던 DB 왕복이 배치당 몇 번으로 줄어든다.
+ * <ul>
+ *   <li>제출 조회: 배치의 모든 제출을 한 번에 조회한다.</li>
+ *   <li>채점 결과 저장: 아직 채점되지 않은 제출의 채점 결과만 JDBC 배치로 갱신한다.
+ *       대기열은 같은 요청을 다시 전달할 수 있으므로(at-least-once), 이미 채점된 제출은 확인(ack)만 하고 완료 처리하지 않는다.</li>
+ *   <li>처음 맞춘 문제 확인: 이번에 채점된 정답 제출의 (사용자, 문제) 쌍을 solved_problems에 기록하여 처음 맞춘 쌍만 센다.
+ *       ({@link SolvedCountAccumulator#recordSolved}) 같은 배치나 동시에 저장되는 다른 배치에서 같은 사용자가 같은 문제를 여러 번 맞춘 경우에도 한 번만 센다.</li>
+ *   <li>문제 풀이 수: 문제별로 늘어난 수를 합산하여 저널에 기록한다. ({@link SolvedCountAccumulator}가 모아서 반영)</li>
+ * </ul>
+ * 저장이 커밋된 후에 늘어난 풀이 수를 메모리에 더하고 사용자별 해결한 문제 집합을 갱신하며, 대기열에서 요청을 확인(ack)하고 채점 완료 이벤트를 보낸다.
+ * 저장에 실패하면 배치의 모든 요청에 대해 재시도를 예약한다.
+ * <p>
+ * 실행 중이 아닐 때(시작 전, 종료 후) 받은 결과는 모으지 않고 바로 저장하므로, 채점 작업자와의 시작, 종료 순서에 관계없이 결과가 유실되지 않는다.
+ */
+@Slf4j
+@Component
+public class GradingResultWriter implements SmartLifecycle {
+
+    private static final String SELECT_SUBMISSIONS_SQL = """
+            SELECT id, user_id, problem_id, submitted_at FROM submissions
+            WHERE id IN (:ids)
+            """;
+
+    // 이미 채점된 제출은 갱신하지 않음 (같은 요청이 다시 전달되어도 결과를 덮어쓰거나 풀이 수를 다시 세지 않도록)
+    private static final String UPDATE_SUBMISSION_SQL = """
+            UPDATE submissions SET score = ?, is_correct = ?, feedback = ?, feedback_provided_at = ?
+            WHERE id = ? AND is_correct IS NULL
+            """;
+
+    private final SubmissionMessageQueue messageQueue;
+
+    private final GradingRetryScheduler retryScheduler;
+
+    private final GradingEventService gradingEventService;
+
+    private final GradingMetrics gradingMetrics;
+
+    private final SolvedCountAccumulator solvedCountAccumulator;
+
+    private final SolvedProblemCache solvedProblemCache;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    // 저장을 기다리는 결과 (제출 ID별로 마지막 결과만 유지)
+    private final Map<Long, PendingResult> pending = new LinkedHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition batchFilled = lock.newCondition();
+
+    private Thread flusher;
+
+    private boolean running;
+
+    public GradingResultWriter(
+            SubmissionMessageQueue messageQueue,
+            GradingRetryScheduler retryScheduler,
+            GradingEventService gradingEventService,
+            GradingMetrics gradingMetrics,
+            SolvedCountAccumulator solvedCountAccumulator,
+            SolvedProblemCache solvedProblemCache,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${grading.write-behind.batch-size:50}") int batchSize,
+            @Value("${grading.write-behind.flush-interval-ms:200}") long flushIntervalMillis
+    ) {
+        this.messageQueue = messageQueue;
+        this.retryScheduler = retryScheduler;
+        this.gradingEventService = gradingEventService;
+        this.gradingMetrics = gradingMetrics;
+        this.solvedCountAccumulator = solvedCountAccumulator;
+        this.solvedProblemCache = solvedProblemCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+
+        flusher = new Thread(this::run, "grading-result-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            batchFilled.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        // 남은 결과는 저장 스레드가 모두 저장한 뒤 종료
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 저장에 실패한 결과의 재시도를 예약할 수 있도록 재시도 스케줄러보다 먼저 종료된다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    /**
+     * 채점 결과를 저장 대기열에 추가하는 메서드
+     * <p>
+     * 실행 중이 아니라면 호출한 스레드에서 바로 저장한다.
+     *
+     * @param data   채점한 데이터
+     * @param result 채점 결과
+     */
+    public void submit(GradingData data, GradingResult result) {
+        PendingResult pendingResult = new PendingResult(data, result);
+
+        lock.lock();
+        try {
+            if (running) {
+                pending.put(data.getSubmissionId(), pendingResult);
+                if (pending.size() >= batchSize) {
+                    batchFilled.signal();
+                }
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        write(List.of(pendingResult));
+    }
+
+    /**
+     * 저장을 기다리는 결과 수를 반환하는 메서드
+     */
+    public int pendingSize() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 종료될 때까지 모인 결과를 주기적으로 저장하는 메서드
+     */
+    private void run() {
+        while (true) {
+            List<PendingResult> batch = new ArrayList<>();
+
+            lock.lock();
+            try {
+                if (running && pending.size() < batchSize) {
+                    batchFilled.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+
+                if (!running && pending.isEmpty()) {
+                    return;
+                }
+
+                Iterator<PendingResult> iterator = pending.values().iterator();
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    iterator.remove();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        }
+    }
+
+    /**
+     * 결과 배치를 하나의 트랜잭션으로 저장하고, 커밋된 후 완료 처리하는 메서드
+     */
+    private void write(List<PendingResult> batch) {
+        long startNanos = System.nanoTime();
+        Map<Long, SubmissionRow> saved;
+
+        try {
+            saved = transactionTemplate.execute(status -> save(batch));
+        } catch (Exception e) { // DB 오류 등으로 저장에 실패한 경우
+            log.error("채점 결과 {}건 저장 중 오류 발생: {}", batch.size(), e.getMessage());
+            batch.forEach(pendingResult -> retryScheduler.scheduleRetry(pendingResult.data(), e.getMessage())); // 백오프 후 재시도
+            return;
+        }
+
+        gradingMetrics.recordDbWrite(System.nanoTime() - startNanos);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (PendingResult pendingResult : batch) {
+            GradingData data = pendingResult.data();
+            GradingResult result = pendingResult.result();
+            SubmissionRow submission = saved == null ? null : saved.get(data.getSubmissionId());
+
+            if (submission == null) { // 그 사이 삭제된 제출
+                retryScheduler.scheduleRetry(data, "제출을 찾을 수 없습니다.");
+                continue;
+            }
+
+            if (submission.gradedAt() == null) { // 다시 전달된 요청 등으로 이미 채점된 제출
+                messageQueue.acknowledge(data);
+                retryScheduler.clearAttempts(data);
+                log.info("주관식 문제 제출 #{}은 이미 채점되어 결과를 저장하지 않았습니다.", data.getSubmissionId());
+                continue;
+            }
+
+            if (submission.submittedAt() != null) {
+                gradingMetrics.recordTimeToGrade(Duration.between(submission.submittedAt(), now));
+            }
+
+            if (result.isCorrect()) {
+                solvedProblemCache.markSolved(submission.userId(), submission.problemId());
+            }
+
+            // 채점 완료 확인 (영속 큐에서 해당 요청 제거)
+            messageQueue.acknowledge(data);
+            retryScheduler.clearAttempts(data);
+
+            // 사용자에게 채점 완료 알림
+            gradingEventService.publish(submission.userId(), GradingEventDto.builder()
+                    .submissionId(submission.id())
+                    .problemId(submission.problemId())
+                    .score(result.score())
+                    .isCorrect(result.isCorrect())
+                    .gradedAt(submission.gradedAt())
+                    .build());
+
+            log.info("주관식 문제 제출 #{} 채점 완료: {}점 (정답 여부: {})", data.getSubmissionId(), result.score(), result.isCorrect());
+        }
+
+        log.debug("채점 결과 {}건을 저장했습니다. / 남은 채점 대기 수: {}", batch.size(), messageQueue.size());
+    }
+
+    /**
+     * 결과 배치를 저장하는 메서드 (트랜잭션 안에서 실행)
+     *
+     * @return 저장한 제출 (제출 ID별, 이미 채점되어 갱신하지 않은 제출은 채점 시각이 null)
+     */
+    private Map<Long, SubmissionRow> save(List<PendingResult> batch) {
+        List<Long> ids = batch.stream().map(pendingResult -> pendingResult.data().getSubmissionId()).toList();
+
+        // 배치의 모든 제출을 한 번에 조회
+        Map<Long, SubmissionRow> submissions = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_SUBMISSIONS_SQL, new MapSqlParameterSource("ids", ids), rs -> {
+            Timestamp submittedAt = rs.getTimestamp("submitted_at");
+            SubmissionRow row = new SubmissionRow(
+                    rs.getLong("id"),
+                    rs.getLong("user_id"),
+                    rs.getLong("problem_id"),
+                    submittedAt == null ? null : submittedAt.toLocalDateTime(),
+                    null
+            );
+            submissions.put(row.id(), row);
+        });
+
+        // 채점 결과 갱신 (아직 채점되지 않은 제출만)
+        // 채점 시각은 이벤트 ID에 쓰이므로 DB(DATETIME(6))에 저장되는 정밀도로 맞춤
+        LocalDateTime gradedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Timestamp gradedAtTimestamp = Timestamp.valueOf(gradedAt);
+        List<PendingResult> found = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+
+        for (PendingResult pendingResult : batch) {
+            SubmissionRow submission = submissions.get(pendingResult.data().getSubmissionId());
+            if (submission == null) {
+                continue;
+            }
+
+            GradingResult result = pendingResult.result();
+            found.add(pendingResult);
+            updates.add(new Object[]{result.score(), result.isCorrect(), result.feedback(), gradedAtTimestamp, submission.id()});
+        }
+
+        int[] updateCounts = updates.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(UPDATE_SUBMISSION_SQL, updates);
+
+        // 실제로 갱신된 제출만 이번에 채점된 것으로 처리하고, 그중 정답인 (사용자, 문제) 쌍을 모음
+        Map<Long, SubmissionRow> saved = new HashMap<>();
+        Set<SolvedKey> correct = new TreeSet<>(Comparator.comparingLong(SolvedKey::userId).thenComparingLong(SolvedKey::problemId));
+
+        for (int i = 0; i < found.size(); i++) {
+            PendingResult pendingResult = found.get(i);
+            SubmissionRow submission = submissions.get(pendingResult.data().getSubmissionId());
+
+            if (updateCounts[i] == 0) { // 이미 채점된 제출 (채점 시각 없이 반환)
+                saved.put(submission.id(), submission);
+                continue;
+            }
+
+            saved.put(submission.id(), submission.gradedAt(gradedAt));
+            if (pendingResult.result().isCorrect()) {
+                correct.add(new SolvedKey(submission.userId(), submission.problemId()));
+            }
+        }
+
+        // 처음 맞춘 쌍만 문제별로 합산 (여러 배치가 동시에 기록할 때 서로 기다리는 순서가 엇갈리지 않도록 정렬된 순서로 기록)
+        Map<Long, Integer> solvedIncrements = new HashMap<>();
+        for (SolvedKey key : correct) {
+            if (solvedCountAccumulator.recordSolved(key.userId(), key.problemId())) {
+                solvedIncrements.merge(key.problemId(), 1, Integer::sum);
+            }
+        }
+
+        // 문제 행을 잠그지 않도록 풀이 수 변경은 저널에만 기록 (SolvedCountAccumulator가 모아서 반영)
+        solvedCountAccumulator.journal(solvedIncrements);
+
+        return saved;
+    }
+
+    /**
+     * 저장을 기다리는 채점 결과
+     */
+    private record PendingResult(GradingData data, GradingResult result) {
+    }
+
+    /**
+     * 채점 결과를 저장할 제출
+     *
+     * @param gradedAt 채점 결과를 저장한 시각 (저장 전에는 null)
+     */
+    private record SubmissionRow(long id, long userId, long problemId, LocalDateTime submittedAt, LocalDateTime gradedAt) {
+
+        SubmissionRow gradedAt(LocalDateTime gradedAt) {
+            return new SubmissionRow(id, userId, problemId, submittedAt, gradedAt);
+        }
+    }
+
+    /**
+     * 사용자가 맞춘 문제
+     */
+    private record SolvedKey(long userId, long problemId) {
+    }
+}
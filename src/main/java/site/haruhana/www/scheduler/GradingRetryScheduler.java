@@ -0,0 +1,268 @@
+package site.haruhana.www.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.queue.message.GradingRequest;
+import site.haruhana.www.service.GradingDeadLetterService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채점에 실패한 요청의 재시도를 관리하는 스케줄러
+ * <p>
+ * 실패한 요청은 지수 백오프(지터 포함)만큼 지연 힙에서 대기한 후 높은 우선순위로 채점 대기 큐에 다시 추가된다.
+ * 최대 시도 횟수를 넘긴 요청은 마지막 오류와 함께 데드 레터로 이동하여 다른 채점을 막지 않도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GradingRetryScheduler implements SmartLifecycle {
+
+    private final SubmissionMessageQueue messageQueue;
+
+    private final GradingDeadLetterService deadLetterService;
+
+    private final GradingMetrics gradingMetrics;
+
+    @Value("${grading.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${grading.retry.base-delay-ms:2000}")
+    private long baseDelayMillis;
+
+    @Value("${grading.retry.max-delay-ms:300000}")
+    private long maxDelayMillis;
+
+    // 제출 ID별 채점 실패 횟수
+    private final Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+
+    // 다시 채점할 수 있는 시각 순으로 정렬된 지연 힙
+    private final PriorityQueue<GradingRequest> delayed = new PriorityQueue<>(Comparator.comparingLong(GradingRequest::getNextEligibleAt));
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition headChanged = lock.newCondition();
+
+    private Thread dispatcher;
+
+    private volatile boolean running;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        dispatcher = new Thread(this::dispatch, "grading-retry-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+
+        lock.lock();
+        try {
+            headChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 대기 중인 재시도 요청은 유실되지 않도록 바로 큐에 돌려놓음
+        List<GradingRequest> remaining = new ArrayList<>();
+        lock.lock();
+        try {
+            remaining.addAll(delayed);
+            delayed.clear();
+        } finally {
+            lock.unlock();
+        }
+        remaining.forEach(request -> messageQueue.prioritize(request.getGradingData()));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 채점 작업자보다 먼저 시작하고 나중에 종료되어, 종료 중 발생한 재시도 요청도 큐에 돌려놓는다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    /**
+     * 채점에 실패한 요청의 재시도를 예약하는 메서드
+     * <p>
+     * 최대 시도 횟수에 도달한 경우 재시도하지 않고 데드 레터로 이동한다.
+     *
+     * @param data  채점에 실패한 데이터
+     * @param error 발생한 오류 메시지
+     */
+    public void scheduleRetry(GradingData data, String error) {
+        int attempt = attempts.merge(data.getSubmissionId(), 1, Integer::sum);
+
+        if (attempt >= maxAttempts) {
+            moveToDeadLetter(data, attempt, error);
+            return;
+        }
+
+        gradingMetrics.incrementRetries();
+
+        long delay = backoffDelay(attempt);
+        GradingRequest request = GradingRequest.retry(data, attempt, System.currentTimeMillis() + delay);
+
+        lock.lock();
+        try {
+            delayed.removeIf(pending -> pending.getGradingData().getSubmissionId().equals(data.getSubmissionId()));
+            delayed.add(request);
+
+            // 가장 먼저 재시도할 요청이 바뀐 경우 대기 시간을 다시 계산하도록 알림
+            if (delayed.peek() == request) {
+                headChanged.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        log.warn("제출 #{} 채점 실패 ({}/{}회), {}ms 후 재시도: {}", data.getSubmissionId(), attempt, maxAttempts, delay, error);
+    }
+
+    /**
+     * 채점에 성공한 요청의 실패 기록을 제거하는 메서드
+     *
+     * @param data 채점에 성공한 데이터
+     */
+    public void clearAttempts(GradingData data) {
+        attempts.remove(data.getSubmissionId());
+    }
+
+    /**
+     * 재시도 대기 중인 요청 수를 반환하는 메서드
+     */
+    public int delayedSize() {
+        lock.lock();
+        try {
+            return delayed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * n번째 재시도까지의 대기 시간을 계산하는 메서드
+     * <p>
+     * 기본 대기 시간을 실패할 때마다 두 배로 늘리되 최대 대기 시간을 넘지 않도록 하고,
+     * 동시에 실패한 요청들이 한꺼번에 재시도되지 않도록 절반 구간에 무작위 지터를 더한다.
+     *
+     * @param attempt 지금까지 실패한 횟수 (1 이상)
+     * @return 재시도까지의 대기 시간 (밀리초)
+     */
+    long backoffDelay(int attempt) {
+        int shift = Math.min(attempt - 1, 30);
+        long delay = Math.min(maxDelayMillis, baseDelayMillis << shift);
+        if (delay < 0) { // 오버플로 방지
+            delay = maxDelayMillis;
+        }
+
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /**
+     * 재시도 시각이 된 요청을 채점 대기 큐로 옮기는 실행 루프
+     */
+    private void dispatch() {
+        while (running) {
+            GradingRequest ready = null;
+
+            lock.lock();
+            try {
+                GradingRequest head = delayed.peek();
+
+                if (head == null) {
+                    headChanged.await();
+                } else {
+                    long waitMillis = head.getNextEligibleAt() - System.currentTimeMillis();
+
+                    if (waitMillis <= 0) {
+                        ready = delayed.poll();
+                    } else {
+                        headChanged.awaitNanos(waitMillis * 1_000_000);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (ready != null) {
+                messageQueue.prioritize(ready.getGradingData());
+            }
+        }
+    }
+
+    /**
+     * 최대 시도 횟수를 넘긴 요청을 데드 레터로 이동하는 메서드
+     */
+    private void moveToDeadLetter(GradingData data, int attempt, String error) {
+        try {
+            deadLetterService.record(data, attempt, error);
+            attempts.remove(data.getSubmissionId());
+
+            lock.lock();
+            try {
+                delayed.removeIf(pending -> pending.getGradingData().getSubmissionId().equals(data.getSubmissionId()));
+            } finally {
+                lock.unlock();
+            }
+
+            // 영속 큐에서도 해당 요청을 제거
+            messageQueue.acknowledge(data);
+
+            log.error("제출 #{} 채점이 {}회 실패하여 데드 레터로 이동했습니다: {}", data.getSubmissionId(), attempt, error);
+
+        } catch (Exception e) { // 데드 레터 저장에 실패한 경우 최대 대기 시간 후 다시 시도
+            log.error("제출 #{} 데드 레터 저장 중 오류 발생: {}", data.getSubmissionId(), e.getMessage());
+
+            lock.lock();
+            try {
+                delayed.add(GradingRequest.retry(data, attempt, System.currentTimeMillis() + maxDelayMillis));
+                headChanged.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
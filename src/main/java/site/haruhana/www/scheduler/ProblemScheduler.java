@@ -4,9 +4,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import site.haruhana.www.cache.ProblemCatalogIndex;
 import site.haruhana.www.entity.problem.Problem;
 import site.haruhana.www.entity.problem.ProblemCategory;
 import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.ratelimit.AICircuitBreaker;
 import site.haruhana.www.repository.ProblemRepository;
 import site.haruhana.www.service.AIService;
 import site.haruhana.www.utils.RandomUtil;
@@ -23,6 +25,10 @@ public class ProblemScheduler {
 
     private final ProblemRepository problemRepository;
 
+    private final AICircuitBreaker circuitBreaker;
+
+    private final ProblemCatalogIndex catalogIndex;
+
     /**
      * 60초마다 실행되는 문제 자동 생성 스케줄러
      * <p>
@@ -32,9 +38,15 @@ public class ProblemScheduler {
      *   <li>난이도: {@link ProblemDifficulty} 중 랜덤 선택</li>
      *   <li>문제 유형: 객관식/주관식 랜덤 선택</li>
      * </ul>
+     * AI 서비스 장애로 서킷 브레이커가 열려 있는 동안에는 생성을 건너뜁니다.
      */
     @Scheduled(fixedRate = 60000) // 60초
     public void generateRandomProblem() {
+        if (!circuitBreaker.isCallPermitted()) {
+            log.info("AI 서비스 회로가 열려 있어 문제 자동 생성을 건너뜁니다. (남은 시간: {}ms)", circuitBreaker.getSnapshot().remainingOpenMillis());
+            return;
+        }
+
         try {
             // 랜덤 카테고리, 난이도, 문제 유형 선택
             var randomCategory = RandomUtil.getRandomCategory();
@@ -47,8 +59,9 @@ public class ProblemScheduler {
                 case SUBJECTIVE -> aiService.generateSubjectiveQuestion(randomCategory, randomDifficulty);
             };
 
-            // 문제 저장
-            problemRepository.save(problem);
+            // 문제 저장 후 문제 목록 인덱스에 추가
+            Problem saved = problemRepository.save(problem);
+            catalogIndex.add(saved);
 
             log.info("새로운 문제가 생성되었습니다. 유형: {}, 카테고리: {}, 난이도: {}", problemType.getDescription(), randomCategory, randomDifficulty);
 
@@ -0,0 +1,301 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.haruhana.www.cache.ProblemCatalogIndex;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 문제 풀이 수 변경을 모아서 반영하는 컴포넌트
+ * <p>
+ * 정답 제출마다 problems 행의 풀이 수를 갱신하면, 많은 사용자가 같은 문제를 동시에 맞출 때 같은 행의 잠금을 기다리게 된다.
+ * 대신 제출과 같은 트랜잭션에서 solved_count_journal 테이블에 (문제 ID, 변경량)을 추가해 두고, flush-interval-ms마다 모아서 반영한다.
+ * 저널은 행을 추가하기만 하므로 문제 행을 잠그지 않으며, 커밋된 변경은 서버가 바로 종료되더라도 남는다.
+ * <p>
+ * 반영할 때는 저널 항목을 배치 단위로 잠가서 가져가고(FOR UPDATE SKIP LOCKED), 문제별로 합산하여 풀이 수를 한 번씩 갱신한 뒤
+ * 같은 트랜잭션에서 삭제한다. 여러 서버가 동시에 실행되어도 다른 서버가 잠근 항목은 건너뛰므로 같은 변경을 두 번 반영하지 않는다.
+ * 커밋된 후에는 갱신한 문제들의 커밋된 풀이 수를 문제 목록 인덱스에 반영한다.
+ * 증가량이 아니라 커밋된 값을 반영하므로, 인덱스가 다른 서버의 반영을 DB와 맞추기로 먼저 가져갔더라도 같은 변경을 두 번 세지 않는다.
+ * <p>
+ * 따라서 문제의 풀이 수와 많이 푼 순 정렬은 최대 flush-interval-ms만큼 늦게 반영되며,
+ * 서버 시작 시에는 문제 목록 인덱스를 만들기 전에 남은 저널을 모두 반영한다.
+ */
+@Slf4j
+@Component
+public class SolvedCountAccumulator implements SmartLifecycle {
+
+    private static final String INSERT_SOLVED_SQL = "INSERT IGNORE INTO solved_problems (user_id, problem_id, solved_at) VALUES (?, ?, ?)";
+
+    private static final String INSERT_JOURNAL_SQL = "INSERT INTO solved_count_journal (problem_id, delta, created_at) VALUES (?, ?, ?)";
+
+    private static final String CLAIM_JOURNAL_SQL = "SELECT id, problem_id, delta FROM solved_count_journal ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String INCREMENT_SOLVED_COUNT_SQL = "UPDATE problems SET solved_count = solved_count + ? WHERE id = ?";
+
+    // 같은 트랜잭션에서 갱신한 행이므로 커밋될 값을 읽음
+    private static final String SELECT_SOLVED_COUNTS_SQL = "SELECT id, solved_count FROM problems WHERE id IN (:ids)";
+
+    private static final String DELETE_JOURNAL_SQL = "DELETE FROM solved_count_journal WHERE id IN (:ids)";
+
+    private final ProblemCatalogIndex catalogIndex;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final Counter flushedCounter;
+
+    private final Timer flushTimer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition stopRequested = lock.newCondition();
+
+    private Thread flusher;
+
+    private volatile boolean running;
+
+    public SolvedCountAccumulator(
+            ProblemCatalogIndex catalogIndex,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${problem.solved-count.batch-size:1000}") int batchSize,
+            @Value("${problem.solved-count.flush-interval-ms:5000}") long flushIntervalMillis
+    ) {
+        this.catalogIndex = catalogIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        this.flushedCounter = Counter.builder("problem.solved.journal.flushed")
+                .description("저널에서 문제 풀이 수에 반영한 변경 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("problem.solved.flush")
+                .description("모인 문제 풀이 수 변경을 반영하는 데 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 남은 저널을 모두 반영한 뒤 반영 스레드를 시작하는 메서드
+     */
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flushJournal();
+        } catch (Exception e) { // 반영하지 못한 저널은 남아 있으므로 다음 주기에 다시 반영
+            log.error("문제 풀이 수 저널 반영 중 오류 발생: {}", e.getMessage());
+        }
+
+        flusher = new Thread(this::run, "solved-count-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            stopRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        // 모인 변경은 반영 스레드가 모두 반영한 뒤 종료
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 문제 목록 인덱스보다 먼저 시작하여 남은 저널이 반영된 풀이 수로 인덱스를 만들도록 하고,
+     * 웹 서버와 채점 결과 저장이 모두 종료된 후에 종료되어 모인 변경을 반영한다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    /**
+     * 사용자가 문제를 맞췄음을 기록하고, 처음 맞춘 것인지 반환하는 메서드 (제출과 같은 트랜잭션 안에서 호출)
+     * <p>
+     * (사용자, 문제)마다 solved_problems 행을 하나만 추가할 수 있으므로, 같은 사용자가 같은 문제를 맞춘 제출이
+     * 여러 트랜잭션에서 동시에 저장되더라도 먼저 추가한 트랜잭션만 처음 맞춘 것으로 센다.
+     * (나중에 추가하는 트랜잭션은 먼저 추가한 트랜잭션이 끝날 때까지 기다렸다가, 커밋되었다면 무시되고 롤백되었다면 대신 추가됨)
+     * 같은 제출의 채점 결과가 다시 저장되는 경우에도 풀이 수가 두 번 늘어나지 않는다.
+     *
+     * @param userId    사용자 ID
+     * @param problemId 문제 ID
+     * @return 처음 맞춘 경우 true
+     */
+    public boolean recordSolved(long userId, long problemId) {
+        return jdbcTemplate.update(INSERT_SOLVED_SQL, userId, problemId, Timestamp.valueOf(LocalDateTime.now())) > 0;
+    }
+
+    /**
+     * 문제 풀이 수 변경을 저널에 기록하는 메서드 (제출과 같은 트랜잭션 안에서 호출)
+     *
+     * @param increments 문제별로 늘어난 풀이 수
+     */
+    public void journal(Map<Long, Integer> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_JOURNAL_SQL, increments.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), now})
+                .toList());
+    }
+
+    /**
+     * 저널에 모인 풀이 수 변경을 DB와 문제 목록 인덱스에 반영하는 메서드
+     */
+    public void flush() {
+        flushTimer.record(this::flushJournal);
+    }
+
+    /**
+     * 저널에 남은 변경을 모두 DB의 문제 풀이 수에 반영하는 메서드
+     *
+     * @return 반영한 저널 항목 수
+     */
+    int flushJournal() {
+        int total = 0;
+        int flushed;
+        do {
+            flushed = flushJournalBatch();
+            total += flushed;
+        } while (flushed >= batchSize);
+
+        return total;
+    }
+
+    /**
+     * 저널 항목을 한 배치 가져가 문제별로 합산하여 반영하고 삭제하는 메서드
+     * <p>
+     * 풀이 수 갱신과 저널 삭제가 같은 트랜잭션에서 커밋되므로, 커밋에 실패하면 항목이 남아 다시 반영된다.
+     * 커밋된 후에는 갱신한 문제들의 커밋된 풀이 수를 문제 목록 인덱스에 반영한다.
+     *
+     * @return 반영한 저널 항목 수
+     */
+    private int flushJournalBatch() {
+        Map<Long, Long> committedCounts = new HashMap<>();
+        Integer flushed = transactionTemplate.execute(status -> {
+            List<JournalEntry> entries = jdbcTemplate.query(CLAIM_JOURNAL_SQL,
+                    (rs, rowNum) -> new JournalEntry(rs.getLong("id"), rs.getLong("problem_id"), rs.getInt("delta")),
+                    batchSize);
+            if (entries.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, Long> increments = new HashMap<>();
+            for (JournalEntry entry : entries) {
+                increments.merge(entry.problemId(), (long) entry.delta(), Long::sum);
+            }
+
+            jdbcTemplate.batchUpdate(INCREMENT_SOLVED_COUNT_SQL, increments.entrySet().stream()
+                    .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                    .toList());
+            namedJdbcTemplate.update(DELETE_JOURNAL_SQL, new MapSqlParameterSource("ids", entries.stream().map(JournalEntry::id).toList()));
+            namedJdbcTemplate.query(SELECT_SOLVED_COUNTS_SQL, new MapSqlParameterSource("ids", increments.keySet()), rs -> {
+                committedCounts.put(rs.getLong("id"), rs.getLong("solved_count"));
+            });
+
+            return entries.size();
+        });
+
+        if (flushed == null || flushed == 0) {
+            return 0;
+        }
+
+        catalogIndex.applySolvedCounts(committedCounts);
+
+        flushedCounter.increment(flushed);
+        log.debug("문제 풀이 수 저널 {}건을 반영했습니다.", flushed);
+
+        return flushed;
+    }
+
+    /**
+     * 종료될 때까지 flush-interval-ms마다 모인 변경을 반영하는 메서드 (종료 시 마지막으로 한 번 더 반영)
+     */
+    private void run() {
+        do {
+            lock.lock();
+            try {
+                if (running) {
+                    stopRequested.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                flush();
+            } catch (Exception e) { // DB 오류 등으로 실패하면 저널이 남아 다음 주기(또는 다음 시작 시)에 다시 반영
+                log.error("문제 풀이 수 반영 중 오류 발생: {}", e.getMessage());
+            }
+        } while (running);
+    }
+
+    /**
+     * 풀이 수 변경 저널 항목
+     *
+     * @param id        저널 ID (기록 순서)
+     * @param problemId 문제 ID
+     * @param delta     늘어난 풀이 수
+     */
+    private record JournalEntry(long id, long problemId, int delta) {
+    }
+}
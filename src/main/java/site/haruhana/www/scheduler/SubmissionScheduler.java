@@ -2,87 +2,442 @@ package site.haruhana.www.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
-import site.haruhana.www.entity.submission.Submission;
-import site.haruhana.www.exception.SubmissionNotFoundException;
+import site.haruhana.www.cache.GradingContextCache;
+import site.haruhana.www.cache.GradingResultCache;
+import site.haruhana.www.exception.AIServiceUnavailableException;
 import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingContext;
 import site.haruhana.www.queue.message.GradingData;
-import site.haruhana.www.repository.ProblemRepository;
-import site.haruhana.www.repository.SubmissionRepository;
-import site.haruhana.www.service.AIService;
+import site.haruhana.www.ratelimit.AICircuitBreaker;
 import site.haruhana.www.service.AIService.GradingResult;
+import site.haruhana.www.service.AsyncAIService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
- * 주관식 답안 채점을 위한 스케줄러
+ * 주관식 답안 채점을 위한 작업자 풀
+ * <p>
+ * 여러 개의 작업자 스레드가 채점 대기 큐에서 요청을 기다렸다가 꺼내어 채점한다.
+ * 이미 대기 중인 요청은 함께 꺼내어 같은 문제의 답안끼리 한 번의 AI 요청으로 채점한다.
+ * AI 채점 요청은 비동기로 보내므로 작업자는 응답을 기다리지 않고 다음 요청을 꺼내며, 결과는 응답이 도착했을 때 처리한다.
+ * 동시에 진행되는 AI 채점 요청 수는 별도로 제한하며(응답이 도착하면 허가를 반납), 애플리케이션 종료 시에는
+ * 진행 중인 채점을 마칠 때까지 기다린 후 종료한다.
+ * <p>
+ * AI 서비스 장애로 서킷 브레이커가 열려 있는 동안에는 대기열에서 요청을 꺼내지 않고 기다린다.
+ * <p>
+ * 채점 결과는 {@link GradingResultWriter}에 넘겨 모아서 저장하며, 대기열 확인(ack)과 완료 알림은 저장이 커밋된 후에 이루어진다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class SubmissionScheduler {
+public class SubmissionScheduler implements SmartLifecycle {
+
+    /**
+     * 작업자가 큐에서 요청을 기다리는 최대 시간 (종료 및 풀 크기 변경 확인 주기)
+     */
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
 
     private final SubmissionMessageQueue messageQueue;
 
-    private final ProblemRepository problemRepository;
+    private final AsyncAIService aiService;
+
+    private final AICircuitBreaker circuitBreaker;
+
+    private final GradingRetryScheduler retryScheduler;
+
+    private final GradingResultCache gradingResultCache;
+
+    private final GradingContextCache gradingContextCache;
+
+    private final GradingResultWriter resultWriter;
+
+    @Value("${grading.worker.pool-size:4}")
+    private int initialPoolSize;
+
+    @Value("${grading.worker.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${grading.batch.max-size:10}")
+    private int maxBatchSize;
+
+    @Value("${grading.worker.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMillis;
+
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger workerSequence = new AtomicInteger();
+
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+
+    // 응답을 기다리는 AI 채점 요청 (종료 제한 시간이 지나면 취소)
+    private final Set<CompletableFuture<?>> inFlightRequests = ConcurrentHashMap.newKeySet();
+
+    private Semaphore inFlightPermits;
+
+    private volatile int poolSize;
+
+    private volatile boolean running;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        inFlightPermits = new Semaphore(Math.max(1, maxInFlight), true);
+        running = true;
+        resize(initialPoolSize);
+
+        log.info("주관식 채점 작업자 풀 시작: 작업자 {}개, 최대 동시 채점 {}건", poolSize, maxInFlight);
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+
+        // 진행 중인 채점이 끝날 때까지 대기
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        for (Thread worker : Set.copyOf(workers)) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // 제한 시간 안에 끝나지 않은 작업자는 인터럽트 (채점 중이던 요청은 다시 큐에 들어간다)
+        if (!workers.isEmpty()) {
+            log.warn("채점 작업자 {}개가 제한 시간 안에 종료되지 않아 강제로 중단합니다.", workers.size());
+            workers.forEach(Thread::interrupt);
+        }
 
-    private final SubmissionRepository submissionRepository;
+        awaitInFlightRequests(deadline);
 
-    private final AIService aiService;
+        log.info("주관식 채점 작업자 풀 종료 / 남은 채점 대기 수: {}", messageQueue.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
 
     /**
-     * 특정 시간 간격으로 주관식 답안 채점 처리하는 스케줄러
+     * 응답을 기다리는 AI 채점 요청이 모두 처리될 때까지 기다리는 메서드
+     * <p>
+     * 제한 시간이 지나면 남은 요청을 취소하며, 취소된 요청의 답안은 다시 대기열에 들어간다.
      */
-    @Scheduled(fixedDelay = 6000) // 6초마다 실행
-    public void processSubjectiveSubmission() throws InterruptedException {
-        if (!messageQueue.isEmpty()) {
-            GradingData gradingData = messageQueue.dequeue();
+    private void awaitInFlightRequests(long deadline) {
+        int permits = Math.max(1, maxInFlight);
+
+        try {
+            // 결과 처리를 마친 요청만 허가를 반납하므로, 모든 허가가 반납되면 처리가 끝난 것
+            if (inFlightPermits.tryAcquire(permits, Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                inFlightPermits.release(permits);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.warn("AI 채점 요청 {}건이 제한 시간 안에 끝나지 않아 취소합니다.", inFlightRequests.size());
+        inFlightRequests.forEach(request -> request.cancel(true));
+    }
+
+    /**
+     * 작업자 풀의 크기를 변경하는 메서드
+     * <p>
+     * 늘어난 만큼 작업자를 바로 추가하고, 줄어든 만큼의 작업자는 진행 중인 채점을 마친 뒤 종료된다.
+     *
+     * @param newPoolSize 변경할 작업자 수
+     */
+    public synchronized void resize(int newPoolSize) {
+        if (newPoolSize < 1) {
+            throw new IllegalArgumentException("작업자 수는 1 이상이어야 합니다.");
+        }
+
+        poolSize = newPoolSize;
+
+        if (!running) {
+            return;
+        }
+
+        while (liveWorkers.get() < poolSize) {
+            liveWorkers.incrementAndGet();
+
+            Thread worker = new Thread(this::runWorker, "grading-worker-" + workerSequence.incrementAndGet());
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * 작업자 풀의 현재 상태를 조회하는 메서드
+     */
+    public WorkerPoolStatus getStatus() {
+        return new WorkerPoolStatus(
+                poolSize,
+                liveWorkers.get(),
+                busyWorkers.get(),
+                maxInFlight,
+                inFlightPermits == null ? maxInFlight : inFlightPermits.availablePermits(),
+                messageQueue.size()
+        );
+    }
+
+    /**
+     * 작업자 스레드의 실행 루프
+     */
+    private void runWorker() {
+        boolean retired = false;
+        try {
+            while (running && !(retired = retireIfSurplus())) {
+                // AI 서비스 회로가 열려 있는 동안에는 요청을 꺼내지 않음 (실패와 재시도가 반복되지 않도록)
+                if (!circuitBreaker.awaitCallPermitted(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+
+                GradingData gradingData = messageQueue.dequeue(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (gradingData != null) {
+                    busyWorkers.incrementAndGet();
+                    try {
+                        gradeSubjectiveSubmissions(gradingData);
+                    } finally {
+                        busyWorkers.decrementAndGet();
+                    }
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
 
-            if (gradingData != null) {
-                gradeSubjectiveSubmission(gradingData);
+        } finally {
+            if (!retired) {
+                liveWorkers.decrementAndGet();
             }
+            workers.remove(Thread.currentThread());
         }
     }
 
     /**
-     * 주관식 문제를 채점하는 메서드
+     * 풀 크기가 줄어들어 남는 작업자라면 종료 대상으로 표시하는 메서드
      *
-     * @param gradingData 채점할 데이터
+     * @return 현재 작업자가 종료되어야 하면 true
      */
-    private void gradeSubjectiveSubmission(GradingData gradingData) {
+    private boolean retireIfSurplus() {
+        int current;
+        do {
+            current = liveWorkers.get();
+            if (current <= poolSize) {
+                return false;
+            }
+        } while (!liveWorkers.compareAndSet(current, current - 1));
+
+        return true;
+    }
+
+    /**
+     * 대기 중인 요청을 최대 일괄 채점 크기만큼 모아 문제별로 나누어 채점하는 메서드
+     *
+     * @param first 먼저 꺼낸 채점 데이터
+     */
+    private void gradeSubjectiveSubmissions(GradingData first) throws InterruptedException {
+        List<GradingData> drained = new ArrayList<>();
+        drained.add(first);
+
+        // 이미 대기 중인 요청을 기다리지 않고 추가로 꺼냄
+        GradingData next;
+        while (drained.size() < maxBatchSize && (next = messageQueue.dequeue()) != null) {
+            drained.add(next);
+        }
+
+        // 같은 문제에 대한 답안끼리 묶어서 채점
+        Map<Long, List<GradingData>> batches = drained.stream()
+                .collect(Collectors.groupingBy(GradingData::getProblemId, LinkedHashMap::new, Collectors.toList()));
+
+        for (List<GradingData> batch : batches.values()) {
+            gradeBatch(batch);
+        }
+    }
+
+    /**
+     * 같은 문제에 대한 주관식 답안들을 한 번의 AI 요청으로 채점하는 메서드
+     * <p>
+     * 문제 정보는 공유 캐시에서 조회하며, 캐시에 채점 결과가 있는 답안은 AI에 요청하지 않고 저장하며,
+     * 정규화한 내용이 같은 답안은 한 번만 채점 요청한다.
+     * 결과를 얻지 못한 답안은 개별적으로 재시도를 예약한다.
+     *
+     * @param batch 같은 문제에 대한 채점 데이터 목록
+     */
+    private void gradeBatch(List<GradingData> batch) {
+        GradingContext context;
+
+        try {
+            // 같은 문제의 모든 답안이 공유하는 채점 정보 조회
+            context = gradingContextCache.get(batch.get(0).getProblemId());
+
+        } catch (Exception e) { // 문제 정보를 조회하지 못한 경우
+            log.error("문제 #{} 채점 정보 조회 중 오류 발생: {}", batch.get(0).getProblemId(), e.getMessage());
+            batch.forEach(gradingData -> retryScheduler.scheduleRetry(gradingData, e.getMessage())); // 백오프 후 재시도
+            return;
+        }
+
+        // 캐시 키별로 답안을 묶고, 캐시에 결과가 있는 답안은 바로 저장
+        Map<GradingResultCache.Key, List<GradingData>> uncached = new LinkedHashMap<>();
+
+        for (GradingData gradingData : batch) {
+            GradingResultCache.Key key = gradingResultCache.keyOf(context, gradingData);
+            GradingResult cached = gradingResultCache.get(key);
+
+            if (cached != null) {
+                resultWriter.submit(gradingData, cached);
+            } else {
+                uncached.computeIfAbsent(key, k -> new ArrayList<>()).add(gradingData);
+            }
+        }
+
+        if (uncached.isEmpty()) {
+            return;
+        }
+
+        // 같은 답안 중 하나만 AI에 채점 요청
+        List<GradingData> representatives = uncached.values().stream()
+                .map(group -> group.get(0))
+                .toList();
+
         try {
-            // AI 서비스를 통한 채점 요청
-            GradingResult result = aiService.gradeSubjectiveSubmission(gradingData);
-
-            // 제출물 조회
-            Submission submission = submissionRepository.findById(gradingData.getSubmissionId())
-                    .orElseThrow(SubmissionNotFoundException::new);
-
-            if (result.isCorrect()) { // 해당 제출물이 정답인 경우
-                // 사용자가 해당 문제를 이전에 해결한 적이 있는지 확인
-                boolean alreadySolvedByUser = submissionRepository.existsByUserAndProblemIdAndIsCorrectTrue(submission.getUser(), gradingData.getProblemId());
-
-                // 문제를 처음 맞춘 경우에만 문제 풀이 횟수 증가
-                if (!alreadySolvedByUser) {
-                    problemRepository.findById(gradingData.getProblemId())
-                            .ifPresent(problem -> {
-                                problem.incrementSolvedCount();
-                                problemRepository.save(problem);
-                            });
+            // 동시 요청 수 제한 (허가는 응답을 처리한 뒤 반납)
+            inFlightPermits.acquire();
+
+        } catch (InterruptedException e) { // 종료 중 채점이 중단된 경우
+            log.warn("문제 #{} 답안 {}건의 채점이 중단되어 다시 대기열에 추가합니다.", batch.get(0).getProblemId(), batch.size());
+            uncached.values().forEach(group -> group.forEach(messageQueue::prioritize));
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        CompletableFuture<Map<Long, GradingResult>> request;
+
+        try {
+            // AI 서비스를 통한 비동기 채점 요청
+            request = aiService.gradeSubjectiveSubmissions(context, representatives);
+        } catch (Exception e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Map<Long, GradingResult>> sent = request;
+        inFlightRequests.add(sent);
+
+        sent.whenComplete((results, failure) -> {
+            try {
+                if (failure == null) {
+                    applyResults(uncached, results);
+                } else {
+                    handleFailure(context, uncached, failure);
                 }
+            } finally {
+                inFlightRequests.remove(sent);
+                inFlightPermits.release();
             }
+        });
+    }
 
-            // 채점 결과 업데이트
-            submission.updateSubjectiveGradingResult(result);
+    /**
+     * AI 채점 결과를 저장하고, 결과를 얻지 못한 답안은 개별적으로 재시도를 예약하는 메서드
+     *
+     * @param uncached 캐시 키별로 묶은 답안 (묶음의 첫 번째 답안만 채점 요청함)
+     * @param results  제출 번호별 채점 결과
+     */
+    private void applyResults(Map<GradingResultCache.Key, List<GradingData>> uncached, Map<Long, GradingResult> results) {
+        uncached.forEach((key, group) -> {
+            GradingResult result = results.get(group.get(0).getSubmissionId());
 
-            // 채점 결과 저장
-            submissionRepository.save(submission);
+            if (result == null) { // 일괄 채점 결과에서 누락된 답안
+                group.forEach(gradingData -> retryScheduler.scheduleRetry(gradingData, "일괄 채점 결과에서 누락됨"));
+                return;
+            }
 
-            log.info("주관식 문제 제출 #{} 채점 완료: {}점 (정답 여부: {}) / 남은 채점 대기 수: {}", gradingData.getSubmissionId(), result.score(), result.isCorrect(), messageQueue.size());
+            gradingResultCache.put(key, result);
+            group.forEach(gradingData -> resultWriter.submit(gradingData, result));
+        });
+    }
 
-        } catch (Exception e) { // AI 서비스 호출 중 오류 발생 시
-            log.error("제출 #{} 채점 중 오류 발생: {}", gradingData.getSubmissionId(), e.getMessage());
-            messageQueue.prioritize(gradingData); // 높은 우선순위로 다시 큐에 넣어 재시도
+    /**
+     * AI 채점 요청이 실패한 경우 답안을 다시 대기열에 넣거나 재시도를 예약하는 메서드
+     *
+     * @param context  채점할 문제 정보
+     * @param uncached 캐시 키별로 묶은 답안
+     * @param failure  요청이 실패한 원인
+     */
+    private void handleFailure(GradingContext context, Map<GradingResultCache.Key, List<GradingData>> uncached, Throwable failure) {
+        int count = uncached.values().stream().mapToInt(List::size).sum();
+
+        // 이어진 단계에서 실패한 경우 원래 예외는 CompletionException에 감싸여 전달됨
+        Throwable e = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+
+        if (e instanceof CancellationException) { // 종료 중 요청이 취소된 경우
+            log.warn("문제 #{} 답안 {}건의 채점이 취소되어 다시 대기열에 추가합니다.", context.getProblemId(), count);
+            uncached.values().forEach(group -> group.forEach(messageQueue::prioritize));
+            return;
+        }
+
+        if (isRejectedByCircuitBreaker(e)) { // 호출하지 않은 경우 시도 횟수를 늘리지 않고 다시 대기열에 추가
+            log.warn("AI 서비스 회로가 열려 있어 문제 #{} 답안 {}건을 다시 대기열에 추가합니다.", context.getProblemId(), uncached.size());
+            uncached.values().forEach(group -> group.forEach(messageQueue::prioritize));
+            return;
+        }
+
+        log.error("문제 #{} 답안 {}건 채점 중 오류 발생: {}", context.getProblemId(), uncached.size(), e.getMessage());
+        uncached.values().forEach(group -> group.forEach(gradingData -> retryScheduler.scheduleRetry(gradingData, e.getMessage()))); // 백오프 후 재시도
+    }
+
+    /**
+     * 서킷 브레이커가 AI 서비스 호출을 거절하여 발생한 예외인지 확인하는 메서드
+     */
+    private boolean isRejectedByCircuitBreaker(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AIServiceUnavailableException) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    /**
+     * 채점 작업자 풀의 상태
+     *
+     * @param poolSize             설정된 작업자 수
+     * @param liveWorkers          실행 중인 작업자 수
+     * @param busyWorkers          채점 요청을 보내는 중인 작업자 수 (동시 채점 허가 대기 포함)
+     * @param maxInFlight          최대 동시 AI 채점 요청 수
+     * @param availableInFlight    추가로 보낼 수 있는 AI 채점 요청 수
+     * @param pendingSubmissions   채점 대기 중인 제출 수
+     */
+    public record WorkerPoolStatus(int poolSize, int liveWorkers, int busyWorkers,
+                                   int maxInFlight, int availableInFlight, int pendingSubmissions) {
     }
 
 }
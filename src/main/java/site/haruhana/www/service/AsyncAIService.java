@@ -0,0 +1,60 @@
+package site.haruhana.www.service;
+
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.service.AIService.GradingResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link AIService}의 비동기 버전
+ * <p>
+ * 호출한 스레드는 AI 응답을 기다리지 않고 바로 반환되며, 결과는 {@link CompletableFuture}로 전달된다.
+ * 호출마다 제한 시간이 적용되어 시간이 지나면 {@link java.util.concurrent.TimeoutException}으로 완료되고,
+ * 반환된 Future를 취소하면 대기 중이거나 진행 중인 AI 요청도 함께 취소된다.
+ */
+public interface AsyncAIService {
+
+    /**
+     * AI를 사용하여 객관식 문제를 생성하는 메소드
+     *
+     * @param category   생성할 문제의 카테고리
+     * @param difficulty 생성할 문제의 난이도
+     * @return 카테고리와 난이도에 맞게 AI가 생성한 객관식 문제
+     */
+    CompletableFuture<Problem> generateMultipleChoiceQuestion(ProblemCategory category, ProblemDifficulty difficulty);
+
+    /**
+     * AI를 사용하여 주관식 문제를 생성하는 메소드
+     *
+     * @param category   생성할 문제의 카테고리
+     * @param difficulty 생성할 문제의 난이도
+     * @return 카테고리와 난이도에 맞게 AI가 생성한 주관식 문제
+     */
+    CompletableFuture<Problem> generateSubjectiveQuestion(ProblemCategory category, ProblemDifficulty difficulty);
+
+    /**
+     * 사용자의 주관식 답안을 채점하는 메소드
+     *
+     * @param context 채점할 문제 정보
+     * @param data    채점 데이터
+     * @return 채점 결과 (점수와 피드백)
+     */
+    CompletableFuture<GradingResult> gradeSubjectiveSubmission(GradingContext context, GradingData data);
+
+    /**
+     * 같은 문제에 대한 여러 주관식 답안을 한 번의 요청으로 채점하는 메소드
+     * <p>
+     * 결과를 얻지 못한 답안은 반환값에서 제외된다. ({@link AIService#gradeSubjectiveSubmissions} 참고)
+     *
+     * @param context  채점할 문제 정보
+     * @param dataList 같은 문제에 대한 채점 데이터 목록
+     * @return 제출 번호별 채점 결과
+     */
+    CompletableFuture<Map<Long, GradingResult>> gradeSubjectiveSubmissions(GradingContext context, List<GradingData> dataList);
+}
@@ -0,0 +1,127 @@
+package site.haruhana.www.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import site.haruhana.www.dto.grading.GradingDeadLetterDto;
+import site.haruhana.www.dto.grading.GradingDeadLetterPage;
+import site.haruhana.www.entity.grading.GradingDeadLetter;
+import site.haruhana.www.entity.grading.GradingOutbox;
+import site.haruhana.www.exception.GradingDeadLetterNotFoundException;
+import site.haruhana.www.exception.SubmissionNotFoundException;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.repository.GradingDeadLetterRepository;
+import site.haruhana.www.repository.GradingOutboxRepository;
+import site.haruhana.www.repository.SubmissionRepository;
+import site.haruhana.www.scheduler.GradingOutboxRelay;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradingDeadLetterService {
+
+    private final SubmissionRepository submissionRepository;
+
+    private final GradingDeadLetterRepository deadLetterRepository;
+
+    private final GradingOutboxRepository outboxRepository;
+
+    private final GradingOutboxRelay outboxRelay;
+
+    /**
+     * 최대 재시도 횟수를 넘긴 채점 요청을 데드 레터로 기록하는 메서드
+     * <p>
+     * 같은 제출이 이미 기록되어 있다면 시도 횟수와 오류 메시지만 갱신한다.
+     *
+     * @param data      채점에 실패한 데이터
+     * @param attempts  채점을 시도한 횟수
+     * @param lastError 마지막으로 발생한 오류 메시지
+     */
+    @Transactional
+    public void record(GradingData data, int attempts, String lastError) {
+        deadLetterRepository.findBySubmissionId(data.getSubmissionId())
+                .ifPresentOrElse(
+                        deadLetter -> deadLetter.recordFailure(attempts, lastError),
+                        () -> deadLetterRepository.save(GradingDeadLetter.builder()
+                                .submissionId(data.getSubmissionId())
+                                .problemId(data.getProblemId())
+                                .attempts(attempts)
+                                .lastError(lastError)
+                                .build())
+                );
+    }
+
+    /**
+     * 데드 레터 목록을 최신순으로 조회하는 메서드
+     *
+     * @param page 페이지 번호
+     * @param size 페이지 크기
+     * @return 페이징 처리된 데드 레터 목록
+     */
+    @Transactional(readOnly = true)
+    public GradingDeadLetterPage getDeadLetters(int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+        return new GradingDeadLetterPage(deadLetterRepository.findAll(pageRequest).map(GradingDeadLetterDto::from));
+    }
+
+    /**
+     * 데드 레터의 제출을 다시 채점 대기열에 추가하는 메서드
+     * <p>
+     * 데드 레터 삭제와 같은 트랜잭션에서 아웃박스에 저장하므로, 커밋된 경우에만 대기열에 추가되고
+     * 커밋에 실패하면 데드 레터가 그대로 남는다. (채점 데이터는 릴레이가 최신 문제 정보로 다시 생성)
+     *
+     * @param deadLetterId 데드 레터 ID
+     */
+    @Transactional
+    public void replay(Long deadLetterId) {
+        GradingDeadLetter deadLetter = deadLetterRepository.findById(deadLetterId)
+                .orElseThrow(GradingDeadLetterNotFoundException::new);
+
+        if (!submissionRepository.existsById(deadLetter.getSubmissionId())) {
+            throw new SubmissionNotFoundException();
+        }
+
+        deadLetterRepository.delete(deadLetter);
+        outboxRepository.save(new GradingOutbox(deadLetter.getSubmissionId()));
+        afterCommit(outboxRelay::wakeUp); // 다음 확인 주기를 기다리지 않고 바로 채점 대기열에 추가되도록 릴레이를 깨움
+
+        log.info("제출 #{} 채점 요청을 데드 레터에서 다시 대기열에 추가했습니다.", deadLetter.getSubmissionId());
+    }
+
+    /**
+     * 데드 레터를 삭제하는 메서드 (해당 제출은 채점되지 않은 상태로 남는다)
+     *
+     * @param deadLetterId 데드 레터 ID
+     */
+    @Transactional
+    public void discard(Long deadLetterId) {
+        GradingDeadLetter deadLetter = deadLetterRepository.findById(deadLetterId)
+                .orElseThrow(GradingDeadLetterNotFoundException::new);
+
+        deadLetterRepository.delete(deadLetter);
+
+        log.info("제출 #{} 채점 실패 기록을 삭제했습니다.", deadLetter.getSubmissionId());
+    }
+
+    /**
+     * 트랜잭션이 커밋된 후 작업을 실행하는 메서드 (트랜잭션 밖에서 호출된 경우 바로 실행)
+     */
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,454 @@
+package site.haruhana.www.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import site.haruhana.www.dto.grading.GradingEventDto;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 주관식 채점 완료 이벤트를 사용자에게 SSE(Server-Sent Events)로 전달하는 서비스
+ * <p>
+ * 클라이언트가 제출 기록을 반복 조회하지 않고도 채점 완료를 바로 알 수 있도록 한다.
+ * <ul>
+ *   <li>연결은 서블릿 비동기 요청으로 유지되므로 대기 중인 연결이 스레드를 점유하지 않는다.</li>
+ *   <li>이벤트는 연결별 제한된 크기의 버퍼에 담겨 별도의 전송 스레드가 보내며,
+ *       버퍼가 가득 찬 느린 연결은 종료된다. (클라이언트는 재연결하여 놓친 이벤트를 다시 받는다)</li>
+ *   <li>채점 결과가 저장된 submissions 테이블을 이벤트 로그로 사용한다. 이 서버에서 저장한 결과는 바로 전달하고,
+ *       다른 서버에서 저장한 결과는 poll-interval-ms마다 최근에 채점된 제출을 조회하여 이 서버의 연결에 전달한다.
+ *       따라서 사용자의 연결이 어느 서버에 있더라도 이벤트를 받으며, 고정 세션(sticky session)이 필요하지 않다.</li>
+ *   <li>이벤트 ID는 (채점 시각, 제출 ID)로 모든 서버에서 같은 순서를 가진다. 재연결 시 Last-Event-ID 이후에 채점된 제출을
+ *       DB에서 다시 보내며, replay-size를 넘게 놓친 경우에는 resync 이벤트로 제출 기록을 다시 조회하도록 알린다.</li>
+ *   <li>주기적으로 하트비트 주석을 보내 프록시의 유휴 연결 종료를 막고 끊어진 연결을 정리한다.</li>
+ * </ul>
+ * 늦게 커밋된 결과를 놓치지 않도록 조회 범위를 commit-grace-ms만큼 겹치게 하므로, 같은 이벤트가 두 번 전달될 수 있다.
+ * 클라이언트는 제출 ID로 중복을 구분한다.
+ */
+@Slf4j
+@Service
+public class GradingEventService {
+
+    private static final String GRADED_EVENT = "graded";
+
+    private static final String RESYNC_EVENT = "resync";
+
+    private static final int POLL_BATCH_SIZE = 500;
+
+    // (채점 시각, 제출 ID) 순서로 주어진 위치 이후에 채점된 제출
+    private static final String SELECT_GRADED_AFTER_SQL = """
+            SELECT id, user_id, problem_id, score, is_correct, feedback_provided_at
+              FROM submissions
+             WHERE feedback_provided_at >= ? AND (feedback_provided_at > ? OR id > ?)
+             ORDER BY feedback_provided_at, id
+             LIMIT ?
+            """;
+
+    // 사용자가 마지막으로 받은 이벤트 이후에 채점된 제출
+    private static final String SELECT_USER_GRADED_AFTER_SQL = """
+            SELECT id, user_id, problem_id, score, is_correct, feedback_provided_at
+              FROM submissions
+             WHERE user_id = ? AND feedback_provided_at >= ? AND (feedback_provided_at > ? OR id > ?)
+             ORDER BY feedback_provided_at, id
+             LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int replaySize;
+
+    private final int bufferSize;
+
+    private final long timeoutMillis;
+
+    private final long reconnectMillis;
+
+    private final long commitGraceMillis;
+
+    // 사용자 ID별 연결 목록
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    // 이 서버의 연결에 전달한 이벤트의 제출 ID (조회 범위가 겹치는 동안 다시 전달하지 않도록 보관)
+    private final Cache<Long, Boolean> delivered;
+
+    // 마지막으로 조회를 시작한 시각 (다음 조회는 commit-grace-ms만큼 앞에서 시작)
+    private volatile LocalDateTime polledUntil = LocalDateTime.now();
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final ExecutorService sender;
+
+    public GradingEventService(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${grading.events.replay-size:50}") int replaySize,
+            @Value("${grading.events.buffer-size:32}") int bufferSize,
+            @Value("${grading.events.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${grading.events.reconnect-ms:3000}") long reconnectMillis,
+            @Value("${grading.events.commit-grace-ms:5000}") long commitGraceMillis,
+            @Value("${grading.events.sender-threads:2}") int senderThreads
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.replaySize = replaySize;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.reconnectMillis = reconnectMillis;
+        this.commitGraceMillis = commitGraceMillis;
+
+        // 조회 범위가 겹치는 동안(commit-grace-ms)과 조회 주기를 넉넉히 포함하도록 보관
+        this.delivered = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(commitGraceMillis * 2 + TimeUnit.MINUTES.toMillis(1)))
+                .build();
+
+        AtomicInteger threadSequence = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "grading-events-sender-" + threadSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        meterRegistry.gauge("grading.events.connections", connectionCount);
+    }
+
+    /**
+     * 사용자의 채점 완료 이벤트를 구독하는 메서드
+     *
+     * @param userId      사용자 ID
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID (재연결 시 Last-Event-ID 헤더, 없으면 null)
+     * @return 이벤트를 전송할 SSE 연결
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+
+        emitter.onCompletion(connection::remove);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.remove());
+
+        // 재연결 간격을 알리고 응답을 바로 시작
+        connection.offer(SseEmitter.event().comment("connected").reconnectTime(reconnectMillis));
+
+        // 놓친 이벤트를 조회하는 사이에 채점된 결과를 놓치지 않도록 먼저 등록 (두 번 전달될 수 있음)
+        connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        connectionCount.incrementAndGet();
+
+        EventId lastId = EventId.parse(lastEventId);
+        if (lastId != null) {
+            replay(connection, lastId);
+        }
+
+        if (connection.closed.get()) { // 등록하는 사이에 연결이 종료된 경우
+            connection.remove();
+        }
+
+        return emitter;
+    }
+
+    /**
+     * 마지막으로 받은 이벤트 이후에 채점된 제출을 DB에서 조회하여 다시 보내는 메서드
+     * <p>
+     * replay-size보다 많이 놓친 경우에는 resync 이벤트만 보낸다.
+     */
+    private void replay(Connection connection, EventId lastId) {
+        try {
+            List<GradingEvent> missed = jdbcTemplate.query(
+                    SELECT_USER_GRADED_AFTER_SQL,
+                    (rs, rowNum) -> toEvent(rs),
+                    connection.userId, Timestamp.valueOf(lastId.gradedAt()), Timestamp.valueOf(lastId.gradedAt()), lastId.submissionId(), replaySize + 1
+            );
+
+            if (missed.size() > replaySize) {
+                connection.offer(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                return;
+            }
+
+            missed.forEach(event -> connection.offer(event.toSse()));
+
+        } catch (Exception e) { // 놓친 이벤트를 조회하지 못하면 제출 기록을 다시 조회하도록 알림
+            log.warn("사용자 #{}의 놓친 채점 완료 이벤트 조회 중 오류 발생: {}", connection.userId, e.getMessage());
+            connection.offer(SseEmitter.event().name(RESYNC_EVENT).data(""));
+        }
+    }
+
+    /**
+     * 이 서버에서 커밋한 채점 결과를 이 서버의 연결에 바로 전달하는 메서드
+     * <p>
+     * 이벤트는 연결별 버퍼에 추가만 하고 바로 반환하므로, 채점 작업자가 느린 연결 때문에 지연되지 않는다.
+     * 다른 서버의 연결에는 각 서버가 DB를 조회하여 전달한다({@link #pollGradedSubmissions()}).
+     *
+     * @param userId 사용자 ID
+     * @param event  채점 완료 이벤트 (채점 시각 포함)
+     */
+    public void publish(Long userId, GradingEventDto event) {
+        try {
+            LocalDateTime gradedAt = event.getGradedAt() != null ? event.getGradedAt() : LocalDateTime.now();
+            deliver(new GradingEvent(new EventId(gradedAt, event.getSubmissionId()), userId, event));
+
+        } catch (Exception e) { // 이벤트 전달에 실패하더라도 채점 결과 처리는 계속되어야 함
+            log.warn("사용자 #{}의 채점 완료 이벤트 전달 중 오류 발생: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 최근에 채점된 제출을 조회하여 이 서버에 연결된 사용자에게 전달하는 메서드
+     * <p>
+     * 다른 서버에서 저장한 채점 결과도 전달되도록 모든 서버가 주기적으로 실행한다.
+     * 채점 시각이 정해진 뒤 늦게 커밋된 결과와 서버 간 시계 차이를 감안하여 마지막 조회 시각보다 commit-grace-ms 앞에서부터 조회하며,
+     * 이미 전달한 제출은 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${grading.events.poll-interval-ms:1000}")
+    public void pollGradedSubmissions() {
+        LocalDateTime pollStartedAt = LocalDateTime.now();
+
+        if (connections.isEmpty()) { // 전달할 연결이 없으면 조회하지 않음 (연결되면 놓친 이벤트는 DB에서 이어받음)
+            polledUntil = pollStartedAt;
+            return;
+        }
+
+        try {
+            EventId position = new EventId(polledUntil.minus(commitGraceMillis, ChronoUnit.MILLIS), 0);
+            List<GradingEvent> events;
+
+            do {
+                events = jdbcTemplate.query(
+                        SELECT_GRADED_AFTER_SQL,
+                        (rs, rowNum) -> toEvent(rs),
+                        Timestamp.valueOf(position.gradedAt()), Timestamp.valueOf(position.gradedAt()), position.submissionId(), POLL_BATCH_SIZE
+                );
+
+                for (GradingEvent event : events) {
+                    deliver(event);
+                    position = event.id();
+                }
+            } while (events.size() == POLL_BATCH_SIZE);
+
+            polledUntil = pollStartedAt;
+
+        } catch (Exception e) { // 다음 주기에 같은 위치부터 다시 조회
+            log.warn("채점 완료 이벤트 조회 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 아직 전달하지 않은 이벤트를 사용자의 연결에 전달하는 메서드
+     */
+    private void deliver(GradingEvent event) {
+        if (delivered.asMap().putIfAbsent(event.data().getSubmissionId(), Boolean.TRUE) != null) {
+            return;
+        }
+
+        Set<Connection> userConnections = connections.get(event.userId());
+        if (userConnections != null) {
+            userConnections.forEach(connection -> connection.offer(event.toSse()));
+        }
+    }
+
+    /**
+     * 모든 연결에 하트비트를 보내는 메서드
+     */
+    @Scheduled(fixedDelayString = "${grading.events.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.offer(SseEmitter.event().comment("heartbeat")))
+        );
+    }
+
+    /**
+     * 현재 연결된 SSE 연결 수를 반환하는 메서드
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+        sender.shutdown();
+    }
+
+    private static GradingEvent toEvent(ResultSet rs) throws SQLException {
+        LocalDateTime gradedAt = rs.getTimestamp("feedback_provided_at").toLocalDateTime();
+        long submissionId = rs.getLong("id");
+
+        return new GradingEvent(new EventId(gradedAt, submissionId), rs.getLong("user_id"), GradingEventDto.builder()
+                .submissionId(submissionId)
+                .problemId(rs.getLong("problem_id"))
+                .score(rs.getObject("score", Double.class))
+                .isCorrect(rs.getObject("is_correct", Boolean.class))
+                .gradedAt(gradedAt)
+                .build());
+    }
+
+    /**
+     * 모든 서버에서 같은 순서를 가지는 이벤트 ID (채점 시각, 제출 ID)
+     * <p>
+     * "채점 시각(UTC 기준 에포크 마이크로초)-제출 ID" 형태의 문자열로 전송한다.
+     */
+    private record EventId(LocalDateTime gradedAt, long submissionId) {
+
+        private static EventId parse(String eventId) {
+            if (eventId == null || eventId.isBlank()) {
+                return null;
+            }
+
+            String[] parts = eventId.trim().split("-", 2);
+            if (parts.length != 2) {
+                return null;
+            }
+
+            try {
+                long micros = Long.parseLong(parts[0]);
+                LocalDateTime gradedAt = LocalDateTime.ofEpochSecond(
+                        Math.floorDiv(micros, 1_000_000L),
+                        (int) Math.floorMod(micros, 1_000_000L) * 1000,
+                        ZoneOffset.UTC
+                );
+                return new EventId(gradedAt, Long.parseLong(parts[1]));
+
+            } catch (NumberFormatException | DateTimeException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            long micros = gradedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + gradedAt.getNano() / 1000;
+            return micros + "-" + submissionId;
+        }
+    }
+
+    /**
+     * ID가 부여된 채점 완료 이벤트
+     */
+    private record GradingEvent(EventId id, long userId, GradingEventDto data) {
+
+        private SseEventBuilder toSse() {
+            return SseEmitter.event()
+                    .id(id.toString())
+                    .name(GRADED_EVENT)
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * 하나의 SSE 연결
+     * <p>
+     * 전송할 이벤트를 제한된 크기의 버퍼에 모아두고, 전송 스레드가 순서대로 보낸다.
+     */
+    private final class Connection {
+
+        private final Long userId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        // 전송 작업이 예약되었거나 실행 중인지 여부 (한 연결에는 하나의 전송 작업만 실행)
+        private final AtomicBoolean flushing = new AtomicBoolean();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+
+            if (!buffer.offer(event)) { // 클라이언트가 이벤트를 받는 속도보다 이벤트가 빠르게 쌓인 경우
+                log.warn("사용자 #{}의 SSE 연결 버퍼가 가득 차 연결을 종료합니다.", userId);
+                close();
+                return;
+            }
+
+            scheduleFlush();
+        }
+
+        private void scheduleFlush() {
+            if (flushing.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::flush);
+                } catch (RejectedExecutionException e) { // 서버 종료 중
+                    flushing.set(false);
+                }
+            }
+        }
+
+        private void flush() {
+            try {
+                SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+
+            } catch (IOException | IllegalStateException e) { // 클라이언트 연결이 끊어진 경우
+                remove();
+
+            } finally {
+                flushing.set(false);
+            }
+
+            // 전송을 마치는 사이에 추가된 이벤트 처리
+            if (!buffer.isEmpty() && !closed.get()) {
+                scheduleFlush();
+            }
+        }
+
+        private void close() {
+            if (remove()) {
+                emitter.complete();
+            }
+        }
+
+        /**
+         * 연결을 종료 상태로 표시하고 연결 목록에서 제거하는 메서드
+         *
+         * @return 이번 호출로 종료 상태가 된 경우 true
+         */
+        private boolean remove() {
+            boolean closedNow = closed.compareAndSet(false, true);
+
+            buffer.clear();
+            connections.computeIfPresent(userId, (id, userConnections) -> {
+                if (userConnections.remove(this)) {
+                    connectionCount.decrementAndGet();
+                }
+                return userConnections.isEmpty() ? null : userConnections;
+            });
+
+            return closedNow;
+        }
+    }
+}
@@ -2,25 +2,30 @@ package site.haruhana.www.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import site.haruhana.www.dto.problem.ProblemDto;
+import site.haruhana.www.cache.ProblemCatalogIndex;
+import site.haruhana.www.cache.ProblemDetailCache;
+import site.haruhana.www.cache.SolvedProblemCache;
+import site.haruhana.www.cache.SolvedProblems;
+import site.haruhana.www.dto.KeysetCursor;
 import site.haruhana.www.dto.problem.ProblemPage;
 import site.haruhana.www.dto.problem.ProblemSortType;
 import site.haruhana.www.dto.problem.ProblemSummaryDto;
-import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.dto.problem.SerializedProblemDto;
 import site.haruhana.www.entity.problem.ProblemCategory;
 import site.haruhana.www.entity.problem.ProblemDifficulty;
 import site.haruhana.www.entity.problem.ProblemType;
 import site.haruhana.www.entity.user.User;
 import site.haruhana.www.exception.ProblemNotFoundException;
 import site.haruhana.www.repository.ProblemRepository;
-import site.haruhana.www.repository.SubmissionRepository;
 
-import java.util.Collections;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.Set;
 
 @Slf4j
@@ -30,7 +35,11 @@ public class ProblemService {
 
     private final ProblemRepository problemRepository;
 
-    private final SubmissionRepository submissionRepository;
+    private final ProblemCatalogIndex catalogIndex;
+
+    private final SolvedProblemCache solvedProblemCache;
+
+    private final ProblemDetailCache problemDetailCache;
 
     /**
      * 문제 목록을 조회하는 메서드
@@ -46,35 +55,48 @@ public class ProblemService {
      * @param type         문제 유형 필터 (null인 경우 모든 유형)
      * @param sortType     문제 정렬 기준 (최신순, 오래된순, 많이 푼 순, 적게 푼 순)
      * @param onlyUnsolved 미해결 문제만 조회 여부 (true: 미해결 문제만, false: 모든 문제)
+     * @param includeTotal 전체 페이지 수와 전체 문제 수 포함 여부 (false인 경우 전체 개수를 세지 않고 다음 페이지 존재 여부만 확인)
+     * @param cursor       이전 응답의 다음/이전 페이지 커서 (null이 아닌 경우 페이지 번호와 전체 개수 없이 커서 위치부터 조회)
      * @param user         현재 사용자 정보 (null인 경우 인증되지 않은 사용자)
-     * @return 페이징 처리된 문제 목록과 페이지 정보
+     * @return 페이징 처리된 문제 목록과 페이지 정보 (다음/이전 페이지 커서 포함)
+     * @throws site.haruhana.www.exception.InvalidCursorException 커서 형식이 올바르지 않거나 다른 정렬 기준으로 받은 커서인 경우
      */
     @Transactional(readOnly = true)
-    public ProblemPage<ProblemSummaryDto> getProblems(int page, int size, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, ProblemSortType sortType, boolean onlyUnsolved, User user) {
+    public ProblemPage<ProblemSummaryDto> getProblems(int page, int size, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, ProblemSortType sortType, boolean onlyUnsolved, boolean includeTotal, String cursor, User user) {
         // 사용자 인증 여부에 따라 미해결 문제만 조회 옵션 처리
         boolean applyUnsolvedFilter = shouldApplyUnsolvedFilter(user, onlyUnsolved);
 
+        // 커서가 있으면 페이지 번호 대신 커서 위치부터 조회
+        KeysetCursor position = cursor == null ? null : KeysetCursor.decode(cursor, sortType.name());
+
         // 페이지 요청 객체 생성
         PageRequest pageRequest = PageRequest.of(page, size, sortType.getSort());
 
         // 문제 목록
-        Page<ProblemSummaryDto> problems;
+        Slice<ProblemSummaryDto> problems;
 
         if (user != null) { // 인증된 사용자의 요청인 경우
-            // 사용자가 해결한 문제 ID 집합 조회
-            Set<Long> solvedProblemIds = getSolvedProblemIds(user);
+            // 사용자가 해결한 문제 집합 조회
+            SolvedProblems solvedProblems = getSolvedProblems(user);
 
             // 문제 목록 조회 및 해결 여부 설정
-            problems = fetchProblems(pageRequest, category, difficulty, type, applyUnsolvedFilter, solvedProblemIds);
+            problems = position != null
+                    ? fetchProblemsByCursor(position, size, sortType, category, difficulty, type, applyUnsolvedFilter, solvedProblems)
+                    : fetchProblems(pageRequest, sortType, category, difficulty, type, includeTotal, applyUnsolvedFilter, solvedProblems);
             if (!problems.isEmpty()) {
-                markProblemSolvedStatus(problems.getContent(), solvedProblemIds, applyUnsolvedFilter);
+                markProblemSolvedStatus(problems.getContent(), solvedProblems, applyUnsolvedFilter);
             }
 
         } else {
-            problems = fetchProblems(pageRequest, category, difficulty, type, applyUnsolvedFilter, Collections.emptySet());
+            problems = position != null
+                    ? fetchProblemsByCursor(position, size, sortType, category, difficulty, type, applyUnsolvedFilter, SolvedProblems.empty())
+                    : fetchProblems(pageRequest, sortType, category, difficulty, type, includeTotal, applyUnsolvedFilter, SolvedProblems.empty());
         }
 
-        return new ProblemPage<>(problems);
+        // 다음/이전 페이지 커서 생성
+        KeysetCursor.Links links = KeysetCursor.Links.of(problems, position, sortType.name(), sortType::cursorKey, ProblemSummaryDto::getId);
+
+        return new ProblemPage<>(problems, links.next(), links.prev());
     }
 
     /**
@@ -94,50 +116,111 @@ public class ProblemService {
     }
 
     /**
-     * 사용자가 해결한 문제 ID 집합을 조회하는 메서드
+     * 사용자가 해결한 문제 집합을 조회하는 메서드
+     * <p>
+     * 사용자별로 캐시된 압축 비트맵을 사용하므로, 요청마다 해결한 모든 문제 ID를 조회하지 않습니다.
      *
      * @param user 사용자 정보
-     * @return 사용자가 정확하게 해결한 문제 ID 집합 (Set)
+     * @return 사용자가 정확하게 해결한 문제 집합
      */
-    private Set<Long> getSolvedProblemIds(User user) {
+    private SolvedProblems getSolvedProblems(User user) {
         if (user == null) {
-            return Collections.emptySet();
+            return SolvedProblems.empty();
         }
 
-        return submissionRepository.findProblemIdsSolvedCorrectlyByUser(user);
+        return solvedProblemCache.get(user.getId());
     }
 
     /**
      * 필터 조건에 맞는 문제 목록을 조회하는 메서드
      * <p>
-     * 미해결 문제만 보기 옵션이 활성화된 경우, 사용자가 해결한 문제 ID를 제외한 결과를 반환합니다.
+     * 미해결 문제만 보기 옵션이 활성화된 경우, 사용자가 해결한 문제를 제외한 결과를 반환합니다.
+     * 문제 목록 인덱스가 준비된 경우 DB를 조회하지 않고 인덱스에서 조회합니다.
      *
      * @param pageRequest           페이지 요청 객체 (페이지 번호, 크기, 정렬 정보 포함)
+     * @param sortType              문제 정렬 기준
      * @param category              문제 카테고리 필터
      * @param difficulty            문제 난이도 필터
      * @param type                  문제 유형 필터
+     * @param includeTotal          전체 개수 포함 여부 (false인 경우 COUNT 없이 조회)
      * @param excludeSolvedProblems 미해결 문제만 조회 여부
-     * @param excludeProblemIds     제외할 문제 ID 집합 (사용자가 해결한 문제 ID 집합)
-     * @return 페이징된 문제 목록
+     * @param solvedProblems        사용자가 해결한 문제 집합
+     * @return 페이징된 문제 목록 (전체 개수를 포함하지 않는 경우 {@link Slice})
      */
-    private Page<ProblemSummaryDto> fetchProblems(PageRequest pageRequest, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, boolean excludeSolvedProblems, Set<Long> excludeProblemIds) {
+    private Slice<ProblemSummaryDto> fetchProblems(PageRequest pageRequest, ProblemSortType sortType, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, boolean includeTotal, boolean excludeSolvedProblems, SolvedProblems solvedProblems) {
+        SolvedProblems excludedProblems = excludeSolvedProblems ? solvedProblems : SolvedProblems.empty();
+
+        if (catalogIndex.isReady()) {
+            return includeTotal
+                    ? catalogIndex.findProblems(pageRequest, sortType, category, difficulty, type, excludedProblems)
+                    : catalogIndex.findProblemSlice(pageRequest, sortType, category, difficulty, type, excludedProblems);
+        }
+
+        if (!includeTotal) {
+            return problemRepository.findProblemSliceWithFilters(pageRequest, category, difficulty, type, excludedProblems.toSet());
+        }
+
         return problemRepository.findProblemsWithFilters(
                 pageRequest,
                 category,
                 difficulty,
                 type,
-                excludeSolvedProblems ? excludeProblemIds : Collections.emptySet()
+                excludedProblems.toSet()
         );
     }
 
+    /**
+     * 커서 다음(또는 이전)의 필터 조건에 맞는 문제 목록을 조회하는 메서드 (키셋 페이지네이션)
+     * <p>
+     * 페이지 번호로 조회하면 앞의 모든 문제를 건너뛰어야 하므로 뒤쪽 페이지일수록 느려지지만,
+     * 커서로 조회하면 커서의 (정렬 키, ID) 위치부터 읽으므로 페이지 위치와 관계없이 일정한 시간이 걸린다.
+     * 문제 목록 인덱스가 준비되지 않은 경우 정렬 키 인덱스를 사용하는 키셋 쿼리로 조회합니다.
+     *
+     * @param cursor                요청한 커서
+     * @param size                  페이지당 문제 수
+     * @param sortType              문제 정렬 기준
+     * @param category              문제 카테고리 필터
+     * @param difficulty            문제 난이도 필터
+     * @param type                  문제 유형 필터
+     * @param excludeSolvedProblems 미해결 문제만 조회 여부
+     * @param solvedProblems        사용자가 해결한 문제 집합
+     * @return 정렬 순서의 문제 목록 ({@link Slice#hasNext()}는 커서 방향에 문제가 더 있는지 여부)
+     */
+    private Slice<ProblemSummaryDto> fetchProblemsByCursor(KeysetCursor cursor, int size, ProblemSortType sortType, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, boolean excludeSolvedProblems, SolvedProblems solvedProblems) {
+        SolvedProblems excludedProblems = excludeSolvedProblems ? solvedProblems : SolvedProblems.empty();
+
+        if (catalogIndex.isReady()) {
+            return catalogIndex.findProblemsByCursor(cursor, size, sortType, category, difficulty, type, excludedProblems);
+        }
+
+        // 오름차순 정렬의 다음 페이지와 내림차순 정렬의 이전 페이지는 커서보다 큰 쪽을 조회
+        boolean greater = sortType.getDirection().isAscending() != cursor.backward();
+        Set<Long> excludeProblemIds = excludedProblems.toSet();
+        Limit limit = Limit.of(size + 1); // 한 페이지를 넘는지 확인하기 위해 하나 더 조회
+
+        List<ProblemSummaryDto> problems = switch (sortType) {
+            case LATEST, OLDEST -> {
+                LocalDateTime createdAt = KeysetCursor.toDateTime(cursor.key());
+                yield greater
+                        ? problemRepository.findProblemsCreatedAfter(category, difficulty, type, excludeProblemIds, createdAt, cursor.id(), limit)
+                        : problemRepository.findProblemsCreatedBefore(category, difficulty, type, excludeProblemIds, createdAt, cursor.id(), limit);
+            }
+            case MOST_SOLVED, LEAST_SOLVED -> greater
+                    ? problemRepository.findProblemsSolvedMoreThan(category, difficulty, type, excludeProblemIds, cursor.key(), cursor.id(), limit)
+                    : problemRepository.findProblemsSolvedLessThan(category, difficulty, type, excludeProblemIds, cursor.key(), cursor.id(), limit);
+        };
+
+        return cursor.toSlice(problems, size);
+    }
+
     /**
      * 문제 목록의 해결 여부 정보를 설정하는 메서드
      *
-     * @param problems         해결 여부를 설정할 문제 목록
-     * @param solvedProblemIds 사용자가 해결한 문제 ID 집합
-     * @param onlyUnsolved     미해결 문제만 조회 여부 (true: 미해결 문제만 조회, false: 일반 조회)
+     * @param problems       해결 여부를 설정할 문제 목록
+     * @param solvedProblems 사용자가 해결한 문제 집합
+     * @param onlyUnsolved   미해결 문제만 조회 여부 (true: 미해결 문제만 조회, false: 일반 조회)
      */
-    private void markProblemSolvedStatus(List<ProblemSummaryDto> problems, Set<Long> solvedProblemIds, boolean onlyUnsolved) {
+    private void markProblemSolvedStatus(List<ProblemSummaryDto> problems, SolvedProblems solvedProblems, boolean onlyUnsolved) {
         if (onlyUnsolved) { // 미해결 문제만 조회하는 경우
             problems.forEach(problem ->
                     problem.setIsSolved(false) // 모든 문제를 미해결 상태로 설정
@@ -145,33 +228,84 @@ public class ProblemService {
 
         } else { // 일반 조회인 경우 (미해결 문제 + 해결 문제 모두 조회하는 경우)
             problems.forEach(problem ->
-                    problem.setIsSolved(solvedProblemIds.contains(problem.getId())) // 사용자가 해결한 문제만 해결 상태로 설정
+                    problem.setIsSolved(solvedProblems.contains(problem.getId())) // 사용자가 해결한 문제만 해결 상태로 설정
             );
         }
     }
 
+    /**
+     * 문제 목록 응답의 ETag를 계산하는 메서드 (조건부 요청 처리용, 인덱스가 준비된 경우 DB를 조회하지 않음)
+     * <p>
+     * 문제 목록은 문제 목록 버전이 같으면 같은 응답이므로, 인증되지 않은 사용자에게는 버전으로 만든 강한 ETag를 사용한다.
+     * 인증된 사용자의 응답은 해결 여부를 포함하므로, 사용자 ID와 해결한 문제 집합의 버전을 더한 약한 ETag를 사용한다.
+     * 두 버전 모두 DB의 내용으로 정해지므로, 요청이 어느 서버로 가더라도 같은 상태에는 같은 ETag를 반환한다.
+     *
+     * @param user 현재 사용자 정보 (null인 경우 인증되지 않은 사용자)
+     * @return 문제 목록 응답의 ETag
+     */
+    public String getProblemListETag(User user) {
+        String version = catalogIndex.versionTag();
+        if (user == null) {
+            return "\"" + version + "\"";
+        }
+
+        SolvedProblems solvedProblems = getSolvedProblems(user);
+        return "W/\"" + version + "-u" + user.getId() + "-s" + solvedProblems.version() + "\"";
+    }
+
+    /**
+     * 문제 상세 응답의 ETag를 계산하는 메서드 (조건부 요청 처리용, 인덱스가 준비된 경우 DB를 조회하지 않음)
+     * <p>
+     * 문제 내용은 바뀌지 않고 풀이 수만 늘어나므로, 문제 ID와 풀이 수로 ETag를 만든다. (다른 문제의 변경에는 영향받지 않음)
+     * 인증된 사용자의 응답은 해당 문제의 해결 여부만 다르므로, 해결 여부를 더한 약한 ETag를 사용한다.
+     *
+     * @param problemId 문제 ID
+     * @param user      현재 사용자 정보 (null인 경우 인증되지 않은 사용자)
+     * @return 문제 상세 응답의 ETag
+     * @throws ProblemNotFoundException 문제 ID에 해당하는 문제를 찾을 수 없는 경우
+     */
+    public String getProblemETag(Long problemId, User user) {
+        String version = "p" + problemId + "-" + getSolvedCount(problemId);
+        if (user == null) {
+            return "\"" + version + "\"";
+        }
+
+        boolean isSolved = getSolvedProblems(user).contains(problemId);
+        return "W/\"" + version + "-u" + user.getId() + (isSolved ? "-solved" : "-unsolved") + "\"";
+    }
+
     /**
      * 특정 문제의 상세 정보를 조회하는 메서드
      * <p>
      * 문제 ID에 해당하는 문제의 상세 정보를 조회합니다.
      * 인증된 사용자인 경우 해당 문제에 대한 사용자의 정확한 해결 여부도 함께 제공합니다.
+     * <p>
+     * 문제 내용은 직렬화된 JSON으로 캐시하며({@link ProblemDetailCache}), 풀이 수는 문제 목록 인덱스에서,
+     * 해결 여부는 사용자가 해결한 문제 집합에서 요청마다 확인합니다. (인덱스가 준비되지 않은 경우 풀이 수만 DB에서 조회)
      *
      * @param problemId 조회할 문제의 ID
      * @param user      현재 사용자 정보 (null인 경우 해결 정보 제외)
      * @return 문제의 상세 정보
      * @throws ProblemNotFoundException 문제 ID에 해당하는 문제를 찾을 수 없는 경우
      */
-    @Transactional(readOnly = true)
-    public ProblemDto getProblem(Long problemId, User user) {
-        Problem problem = problemRepository.findById(problemId)
-                .orElseThrow(ProblemNotFoundException::new);
-
-        // 인증된 사용자가 있는 경우, 문제를 해결했는지 여부 확인
-        if (user != null) {
-            boolean isSolved = submissionRepository.existsByUserAndProblemIdAndIsCorrectTrue(user, problemId);
-            return ProblemDto.from(problem, isSolved);
-        }
+    public SerializedProblemDto getProblem(Long problemId, User user) {
+        String content = problemDetailCache.get(problemId);
 
-        return ProblemDto.from(problem);
+        long solvedCount = getSolvedCount(problemId);
+
+        // 인증된 사용자가 있는 경우, 문제를 해결했는지 여부 확인 (ETag와 같은 해결한 문제 집합 사용)
+        Boolean isSolved = user == null ? null : getSolvedProblems(user).contains(problemId);
+
+        return new SerializedProblemDto(content, solvedCount, isSolved);
+    }
+
+    /**
+     * 문제 풀이 수를 조회하는 메서드 (인덱스가 준비되지 않았거나 인덱스에 없는 문제인 경우 DB에서 조회)
+     */
+    private long getSolvedCount(Long problemId) {
+        OptionalLong indexedSolvedCount = catalogIndex.findSolvedCount(problemId);
+        return indexedSolvedCount.isPresent()
+                ? indexedSolvedCount.getAsLong()
+                : problemRepository.findSolvedCountById(problemId).orElseThrow(ProblemNotFoundException::new);
     }
 }
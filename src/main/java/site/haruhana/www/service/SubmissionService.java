@@ -2,11 +2,16 @@ package site.haruhana.www.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import site.haruhana.www.cache.SolvedProblemCache;
+import site.haruhana.www.dto.KeysetCursor;
 import site.haruhana.www.dto.submission.SubmissionPage;
 import site.haruhana.www.dto.submission.request.SubmissionRequestDto;
 import site.haruhana.www.dto.submission.response.SubmissionHistoryResponseDto;
@@ -15,19 +20,23 @@ import site.haruhana.www.entity.problem.Problem;
 import site.haruhana.www.entity.problem.ProblemCategory;
 import site.haruhana.www.entity.problem.ProblemDifficulty;
 import site.haruhana.www.entity.problem.ProblemType;
+import site.haruhana.www.entity.grading.GradingOutbox;
 import site.haruhana.www.entity.problem.choice.ProblemOption;
 import site.haruhana.www.entity.submission.Submission;
 import site.haruhana.www.entity.user.User;
 import site.haruhana.www.exception.InvalidAnswerFormatException;
 import site.haruhana.www.exception.ProblemNotFoundException;
-import site.haruhana.www.queue.SubmissionMessageQueue;
-import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.repository.GradingOutboxRepository;
 import site.haruhana.www.repository.ProblemRepository;
 import site.haruhana.www.repository.SubmissionRepository;
+import site.haruhana.www.scheduler.GradingOutboxRelay;
+import site.haruhana.www.scheduler.SolvedCountAccumulator;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -36,12 +45,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SubmissionService {
 
-    private final SubmissionMessageQueue messageQueue;
+    private static final String HISTORY_CURSOR_SCOPE = "SUBMISSION_HISTORY";
+
+    private final GradingOutboxRepository outboxRepository;
+
+    private final GradingOutboxRelay outboxRelay;
 
     private final ProblemRepository problemRepository;
 
     private final SubmissionRepository submissionRepository;
 
+    private final SolvedCountAccumulator solvedCountAccumulator;
+
+    private final SolvedProblemCache solvedProblemCache;
+
     /**
      * 사용자 답안 제출 처리
      *
@@ -72,25 +89,45 @@ public class SubmissionService {
         if (problem.getType() == ProblemType.MULTIPLE_CHOICE) { // 객관식 문제인 경우
             boolean isCorrect = gradeMultipleChoiceSubmission(submission); // 문제를 채점하고
             if (isCorrect) { // 사용자가 정답을 맞췄다면
-                // 사용자가 해당 문제를 이전에 해결한 적이 있는지 확인
-                boolean alreadySolvedByUser = submissionRepository.existsByUserAndProblemIdAndIsCorrectTrue(user, problemId);
-
-                // 문제를 처음 맞춘 경우에만 문제 풀이 횟수 증가
-                if (!alreadySolvedByUser) {
-                    problem.incrementSolvedCount();
+                // 해결한 문제로 기록하고, 처음 맞춘 경우에만 문제 풀이 횟수 증가 (동시에 맞춘 제출이 있어도 한 번만 셈)
+                if (solvedCountAccumulator.recordSolved(user.getId(), problemId)) {
+                    solvedCountAccumulator.journal(Map.of(problemId, 1)); // 문제 행을 잠그지 않도록 같은 트랜잭션에서 저널에만 기록
                 }
+
+                afterCommit(() -> solvedProblemCache.markSolved(user.getId(), problemId));
             }
 
             submission.updateMultipleChoiceGradingResult(isCorrect); // 정답 여부 업데이트
 
         } else { // 주관식 문제인 경우
-            messageQueue.enqueue(GradingData.fromSubmission(submission)); // 채점 대기 큐에 추가
+            // 채점 대기 큐에는 커밋된 제출만 추가되도록, 같은 트랜잭션에서 아웃박스에 저장
+            outboxRepository.save(new GradingOutbox(submission.getId()));
+            afterCommit(outboxRelay::wakeUp); // 다음 확인 주기를 기다리지 않고 바로 채점 대기열에 추가되도록 릴레이를 깨움
         }
 
         // 응답 생성 및 반환
         return SubmissionResponseDto.fromSubmission(submission);
     }
 
+    /**
+     * 트랜잭션이 커밋된 후 작업을 실행하는 메서드 (트랜잭션 밖에서 호출된 경우 바로 실행)
+     * <p>
+     * 아웃박스 릴레이 깨우기, 해결한 문제 캐시 갱신처럼 커밋된 내용만 반영해야 하는 작업에 사용한다.
+     */
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
     /**
      * 객관식 문제를 채점하는 메서드
      *
@@ -164,6 +201,8 @@ public class SubmissionService {
 
     /**
      * 사용자의 문제 풀이 기록을 필터링하여 페이지로 조회하는 메서드
+     * <p>
+     * 커서가 주어지면 페이지 번호 대신 커서의 (제출 시각, 제출 ID) 위치부터 조회하며, 전체 개수는 세지 않는다.
      *
      * @param userId     조회할 사용자의 ID
      * @param page       페이지 번호 (0부터 시작)
@@ -172,24 +211,45 @@ public class SubmissionService {
      * @param difficulty 난이도 필터 (선택 사항)
      * @param type       문제 유형 필터 (선택 사항)
      * @param isCorrect  정답 여부 필터 (선택 사항)
-     * @return 필터링된 페이징 처리된 사용자의 문제 풀이 기록 목록
+     * @param cursor     이전 응답의 다음/이전 페이지 커서 (선택 사항)
+     * @return 필터링된 페이징 처리된 사용자의 문제 풀이 기록 목록 (다음/이전 페이지 커서 포함)
+     * @throws site.haruhana.www.exception.InvalidCursorException 커서 형식이 올바르지 않은 경우
      */
     @Transactional(readOnly = true)
-    public SubmissionPage<SubmissionHistoryResponseDto> getSubmissionHistoryByUser(Long userId, int page, int size, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, Boolean isCorrect) {
-        // 페이지 요청 객체 생성
-        PageRequest pageRequest = PageRequest.of(page, size);
+    public SubmissionPage<SubmissionHistoryResponseDto> getSubmissionHistoryByUser(Long userId, int page, int size, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, Boolean isCorrect, String cursor) {
+        KeysetCursor position = cursor == null ? null : KeysetCursor.decode(cursor, HISTORY_CURSOR_SCOPE);
 
         // 문제 답안 제출 기록 조회
-        Page<SubmissionHistoryResponseDto> submissions = submissionRepository.findSubmissionsWithFiltersDirect(
-                userId,
-                category,
-                difficulty,
-                type,
-                isCorrect,
-                pageRequest
+        Slice<SubmissionHistoryResponseDto> submissions;
+        if (position == null) {
+            submissions = submissionRepository.findSubmissionsWithFiltersDirect(
+                    userId,
+                    category,
+                    difficulty,
+                    type,
+                    isCorrect,
+                    PageRequest.of(page, size)
+            );
+
+        } else { // 최신순이므로 다음 페이지는 커서보다 오래된 기록, 이전 페이지는 커서보다 최근 기록
+            LocalDateTime submittedAt = KeysetCursor.toDateTime(position.key());
+            Limit limit = Limit.of(size + 1); // 한 페이지를 넘는지 확인하기 위해 하나 더 조회
+            List<SubmissionHistoryResponseDto> rows = position.backward()
+                    ? submissionRepository.findSubmissionsWithFiltersAfter(userId, category, difficulty, type, isCorrect, submittedAt, position.id(), limit)
+                    : submissionRepository.findSubmissionsWithFiltersBefore(userId, category, difficulty, type, isCorrect, submittedAt, position.id(), limit);
+            submissions = position.toSlice(rows, size);
+        }
+
+        // 다음/이전 페이지 커서 생성
+        KeysetCursor.Links links = KeysetCursor.Links.of(
+                submissions,
+                position,
+                HISTORY_CURSOR_SCOPE,
+                submission -> KeysetCursor.toKey(submission.getSolvedAt()),
+                SubmissionHistoryResponseDto::getSubmissionId
         );
 
-        return new SubmissionPage<>(submissions);
+        return new SubmissionPage<>(submissions, links.next(), links.prev());
     }
 }
 
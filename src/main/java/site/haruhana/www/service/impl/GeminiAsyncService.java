@@ -0,0 +1,531 @@
+package site.haruhana.www.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.exception.AIServiceUnavailableException;
+import site.haruhana.www.exception.InvalidJsonShapeException;
+import site.haruhana.www.feign.dto.gemini.GeminiRequest;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.ratelimit.AICallLane;
+import site.haruhana.www.ratelimit.AICircuitBreaker;
+import site.haruhana.www.ratelimit.AIRateLimiter;
+import site.haruhana.www.service.AIService.GradingResult;
+import site.haruhana.www.service.AsyncAIService;
+import site.haruhana.www.utils.json.JsonShape;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static site.haruhana.www.service.AIService.MULTIPLE_CHOICE_PROMPT;
+import static site.haruhana.www.service.AIService.SUBJECTIVE_PROMPT;
+
+/**
+ * 논블로킹 HTTP 클라이언트로 Google Gemini AI를 호출하는 비동기 서비스 클래스
+ * <p>
+ * JDK {@link HttpClient}를 사용하여 요청을 보내고 응답을 기다리는 동안 스레드를 점유하지 않는다.
+ * 연결은 클라이언트가 재사용하며(HTTP/2 사용 시 하나의 연결에서 여러 요청을 동시에 처리),
+ * 응답 처리는 소수의 스레드에서 수행되므로 수백 건의 AI 호출이 동시에 진행되어도 스레드 수는 늘어나지 않는다.
+ * <p>
+ * 응답은 스트리밍(SSE)으로 받아 도착하는 대로 읽으며, 형식이 잘못된 응답은 끝까지 받지 않고 중단한 뒤 다시 요청한다.
+ * <p>
+ * 모든 Gemini 호출은 이 클래스를 거치며, 동기 버전({@link GeminiService})도 이 클래스에 요청하고 결과를 기다린다.
+ * 호출은 공유 속도 제한기와 서킷 브레이커의 허가를 받은 후 수행된다.
+ *
+ * @see <a href="https://ai.google.dev/gemini-api/docs?hl=ko">Gemini API 문서</a>
+ */
+@Slf4j
+@Service
+public class GeminiAsyncService implements AsyncAIService {
+
+    private static final String STREAM_GENERATE_CONTENT_PATH = "/models/gemini-2.0-flash:streamGenerateContent";
+
+    private final ObjectMapper objectMapper;
+
+    private final AIRateLimiter rateLimiter;
+
+    private final AICircuitBreaker circuitBreaker;
+
+    private final GradingMetrics gradingMetrics;
+
+    private final URI streamGenerateContentUri;
+
+    private final long timeoutMillis;
+
+    private final int maxResponseAttempts;
+
+    private final ExecutorService executor;
+
+    private final HttpClient httpClient;
+
+    public GeminiAsyncService(
+            ObjectMapper objectMapper,
+            AIRateLimiter rateLimiter,
+            AICircuitBreaker circuitBreaker,
+            GradingMetrics gradingMetrics,
+            @Value("${gemini.api.key}") String apiKey,
+            @Value("${gemini.api.base-url:https://generativelanguage.googleapis.com/v1beta}") String baseUrl,
+            @Value("${gemini.async.timeout-ms:60000}") long timeoutMillis,
+            @Value("${gemini.async.connect-timeout-ms:5000}") long connectTimeoutMillis,
+            @Value("${gemini.async.threads:2}") int threads,
+            @Value("${gemini.response.max-attempts:2}") int maxResponseAttempts
+    ) {
+        this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.gradingMetrics = gradingMetrics;
+        this.streamGenerateContentUri = URI.create(baseUrl + STREAM_GENERATE_CONTENT_PATH + "?alt=sse&key=" + URLEncoder.encode(apiKey, StandardCharsets.UTF_8));
+        this.timeoutMillis = timeoutMillis;
+        this.maxResponseAttempts = maxResponseAttempts;
+
+        AtomicInteger threadSequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "gemini-async-" + threadSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<Problem> generateMultipleChoiceQuestion(ProblemCategory category, ProblemDifficulty difficulty) {
+        String prompt = String.format(MULTIPLE_CHOICE_PROMPT, category.getDescription(), difficulty.name());
+
+        CompletableFuture<Problem> future = mapContent(
+                getAIGeneratedContent(prompt, AICallLane.GENERATION, GeminiOutput.MULTIPLE_CHOICE_PROBLEM_SHAPE),
+                generated -> GeminiContentSupport.toMultipleChoiceProblem(generated, category, difficulty)
+        );
+
+        future.whenComplete((problem, e) -> {
+            if (e != null) {
+                log.error("객관식 문제 생성 중 오류 발생: {}", e.getMessage());
+            }
+        });
+
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Problem> generateSubjectiveQuestion(ProblemCategory category, ProblemDifficulty difficulty) {
+        String prompt = String.format(SUBJECTIVE_PROMPT, category.getDescription(), difficulty.name());
+
+        CompletableFuture<Problem> future = mapContent(
+                getAIGeneratedContent(prompt, AICallLane.GENERATION, GeminiOutput.SUBJECTIVE_PROBLEM_SHAPE),
+                generated -> GeminiContentSupport.toSubjectiveProblem(generated, category, difficulty)
+        );
+
+        future.whenComplete((problem, e) -> {
+            if (e != null) {
+                log.error("주관식 문제 생성 중 오류 발생: {}", e.getMessage());
+            }
+        });
+
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<GradingResult> gradeSubjectiveSubmission(GradingContext context, GradingData data) {
+        String gradingPrompt = GeminiContentSupport.gradingPrompt(context, data);
+
+        CompletableFuture<GradingResult> future = mapContent(
+                getAIGeneratedContent(gradingPrompt, AICallLane.GRADING, GeminiOutput.GRADING_SHAPE),
+                GeminiContentSupport::toGradingResult
+        );
+
+        future.whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("제출 #{} 채점 중 오류 발생: {}", data.getSubmissionId(), e.getMessage());
+            } else {
+                log.info("제출 #{} 채점 완료: {}점 (정답 여부: {})", data.getSubmissionId(), result.score(), result.isCorrect());
+            }
+        });
+
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, GradingResult>> gradeSubjectiveSubmissions(GradingContext context, List<GradingData> dataList) {
+        try {
+            GeminiContentSupport.requireSameProblem(context, dataList);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (dataList.size() == 1) { // 답안이 하나라면 단건 채점 프롬프트 사용
+            GradingData data = dataList.get(0);
+            return mapContent(gradeSubjectiveSubmission(context, data), result -> Map.of(data.getSubmissionId(), result));
+        }
+
+        String gradingPrompt = GeminiContentSupport.batchGradingPrompt(context, dataList);
+
+        CompletableFuture<Map<Long, GradingResult>> future = mapContent(
+                getAIGeneratedContent(gradingPrompt, AICallLane.GRADING, GeminiOutput.BATCH_GRADING_SHAPE),
+                gradings -> GeminiContentSupport.toBatchGradingResults(gradings, dataList)
+        );
+
+        future.whenComplete((results, e) -> {
+            if (e != null) {
+                log.error("문제 #{} 답안 {}건 일괄 채점 중 오류 발생: {}", context.getProblemId(), dataList.size(), e.getMessage());
+            } else {
+                log.info("문제 #{} 답안 {}건 일괄 채점 완료: 결과 {}건", context.getProblemId(), dataList.size(), results.size());
+            }
+        });
+
+        return future;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * AI 응답을 변환하는 Future를 만드는 메서드
+     * <p>
+     * 변환된 Future를 취소하면 원래의 AI 호출도 취소되도록 연결한다.
+     * (이 때문에 반환할 Future에는 whenComplete 등으로 새 단계를 이어 붙여 반환하지 않는다)
+     */
+    private <S, T> CompletableFuture<T> mapContent(CompletableFuture<S> source, Function<S, T> mapper) {
+        CompletableFuture<T> mapped = source.thenApply(mapper);
+        mapped.whenComplete((value, e) -> {
+            if (mapped.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return mapped;
+    }
+
+    /**
+     * Gemini API에 프롬프트를 비동기로 전달하고 응답을 주어진 형태로 읽어 반환하는 메서드
+     * <p>
+     * 형식이 잘못된 응답을 받으면 응답을 끝까지 기다리지 않고 중단한 뒤, 최대 요청 횟수까지 다시 요청한다.
+     * 재요청을 포함하여 제한 시간이 지나거나 반환된 Future가 취소되면, 허가 대기와 진행 중인 요청을 모두 취소한다.
+     *
+     * @param prompt 프롬프트
+     * @param lane   호출 경로 (채점 요청이 문제 생성보다 우선 처리됨)
+     * @param shape  응답 JSON의 형태
+     * @return 응답을 변환한 값
+     */
+    private <T> CompletableFuture<T> getAIGeneratedContent(String prompt, AICallLane lane, JsonShape<T> shape) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(prompt, lane, shape, 1, result);
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        return result;
+    }
+
+    /**
+     * 한 번의 요청 결과를 전체 결과에 전달하고, 응답 형식이 잘못된 경우 다시 요청하는 메서드
+     */
+    private <T> void attempt(String prompt, AICallLane lane, JsonShape<T> shape, int attempt, CompletableFuture<T> result) {
+        CompletableFuture<T> call = call(prompt, lane, shape);
+
+        // 결과를 더 이상 기다리지 않게 되면 (취소 또는 제한 시간 초과) 진행 중인 요청도 취소
+        result.whenComplete((value, e) -> call.cancel(false));
+
+        call.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+
+            // 결과를 기록한 뒤 완료되는 Future이므로 원래 예외는 CompletionException에 감싸여 전달됨
+            Throwable e = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+
+            if (e instanceof InvalidJsonShapeException) {
+                if (attempt < maxResponseAttempts && !result.isDone()) {
+                    log.warn("AI 응답 형식이 올바르지 않아 다시 요청합니다 ({}/{}): {}", attempt, maxResponseAttempts, e.getMessage());
+                    attempt(prompt, lane, shape, attempt + 1, result);
+                    return;
+                }
+
+                log.error("AI 응답 처리 중 오류 발생: {}", e.getMessage());
+                result.completeExceptionally(new RuntimeException("AI 응답을 처리할 수 없습니다", e));
+                return;
+            }
+
+            result.completeExceptionally(e);
+        });
+    }
+
+    /**
+     * 속도 제한기와 서킷 브레이커의 허가를 받아 한 번 요청하는 메서드
+     * <p>
+     * 허가도 스레드를 점유하지 않고 기다리며, 허가를 받으면 요청을 보낸다.
+     * 회로가 열려 있으면 요청하지 않고 {@link AIServiceUnavailableException}으로 완료한다.
+     * <p>
+     * 반환된 Future는 요청 결과를 서킷 브레이커와 메트릭에 기록한 뒤 완료되므로, 결과를 받은 호출자는 항상 갱신된 회로 상태를 보게 된다.
+     *
+     * @return 응답을 변환한 값 (응답 형식이 잘못된 경우 {@link InvalidJsonShapeException}으로 완료)
+     */
+    private <T> CompletableFuture<T> call(String prompt, AICallLane lane, JsonShape<T> shape) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<AIRateLimiter.Permit> permitFuture = rateLimiter.acquireAsync(lane);
+
+        // 전송한 요청 (결과를 한 번만 기록하기 위해 기록하는 쪽이 꺼내 감)
+        AtomicReference<SentCall> sent = new AtomicReference<>();
+
+        CompletableFuture<T> recorded = result.whenComplete((value, e) -> {
+            SentCall call = sent.getAndSet(null);
+            if (call != null) {
+                recordOutcome(lane, call, e);
+            }
+        });
+
+        permitFuture.whenComplete((permit, e) -> {
+            if (e != null) { // 허가를 기다리는 중 취소된 경우
+                result.completeExceptionally(e);
+                return;
+            }
+
+            if (result.isDone()) { // 허가를 받기 전에 취소되었거나 제한 시간이 지난 경우
+                permit.release();
+                return;
+            }
+
+            AICircuitBreaker.Permission circuitPermission;
+            try {
+                circuitPermission = circuitBreaker.acquire();
+            } catch (AIServiceUnavailableException ex) { // 회로가 열려 있으면 호출하지 않음
+                permit.release();
+                result.completeExceptionally(ex);
+                return;
+            }
+
+            GeminiStreamDecoder<T> decoder = new GeminiStreamDecoder<>(objectMapper, shape);
+            sent.set(new SentCall(circuitPermission, decoder, System.nanoTime()));
+
+            if (result.isDone()) { // 서킷 브레이커의 허가를 받는 사이에 취소된 경우
+                SentCall call = sent.getAndSet(null);
+                if (call != null) {
+                    call.circuitPermission().release();
+                }
+                permit.release();
+                return;
+            }
+
+            send(prompt, decoder, permit, result);
+        });
+
+        result.whenComplete((value, e) -> permitFuture.cancel(false)); // 아직 허가를 기다리는 중이라면 대기열에서 제외
+
+        // 반환된 Future를 취소하면 요청도 취소
+        recorded.whenComplete((value, e) -> {
+            if (recorded.isCancelled()) {
+                result.cancel(false);
+            }
+        });
+
+        return recorded;
+    }
+
+    /**
+     * 허가를 받아 전송한 요청
+     *
+     * @param circuitPermission 서킷 브레이커의 허가
+     * @param decoder           응답을 읽는 디코더 (응답 변환 시간 기록에 사용)
+     * @param startNanos        요청을 보낸 시각
+     */
+    private record SentCall(AICircuitBreaker.Permission circuitPermission, GeminiStreamDecoder<?> decoder, long startNanos) {
+    }
+
+    /**
+     * 요청 결과를 서킷 브레이커와 메트릭에 기록하는 메서드
+     * <p>
+     * 응답 형식이 잘못된 경우는 AI API가 응답한 것이므로 성공으로, 호출자가 취소한 경우는 결과 없이 기록한다.
+     * 취소되었거나 제한 시간이 지나 중단된 요청은 끝까지 응답을 받지 않았으므로 호출 시간을 기록하지 않는다.
+     */
+    private void recordOutcome(AICallLane lane, SentCall call, Throwable e) {
+        if (e instanceof CancellationException || e instanceof TimeoutException) {
+            call.circuitPermission().release();
+            return;
+        }
+
+        if (e == null || e instanceof InvalidJsonShapeException) {
+            call.circuitPermission().onSuccess();
+        } else {
+            call.circuitPermission().onFailure();
+        }
+
+        if (e instanceof InvalidJsonShapeException) {
+            gradingMetrics.incrementParseFailures();
+        }
+
+        gradingMetrics.recordAICall(lane, System.nanoTime() - call.startNanos());
+        gradingMetrics.recordParse(call.decoder().getParseNanos());
+    }
+
+    /**
+     * 허가를 받은 요청을 전송하고, 응답 결과를 속도 제한기에 알리는 메서드
+     * <p>
+     * 응답은 스트리밍(SSE)으로 받아 줄이 도착하는 대로 읽는다. 응답 형식이 잘못되면 그 시점에 응답 수신을 중단한다.
+     */
+    private <T> void send(String prompt, GeminiStreamDecoder<T> decoder, AIRateLimiter.Permit permit, CompletableFuture<T> result) {
+        CompletableFuture<HttpResponse<String>> response;
+
+        try {
+            // 제한 시간은 재요청을 포함한 전체 호출에 적용
+            HttpRequest request = HttpRequest.newBuilder(streamGenerateContentUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(GeminiRequest.of(prompt))))
+                    .build();
+
+            // 성공 응답은 줄 단위로 읽고, 오류 응답은 로그를 위해 문자열로 읽음
+            response = httpClient.sendAsync(request, responseInfo -> responseInfo.statusCode() / 100 == 2
+                    ? HttpResponse.BodySubscribers.fromLineSubscriber(new LineSubscriber<>(decoder, permit, result), subscriber -> null, StandardCharsets.UTF_8, null)
+                    : HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8));
+
+        } catch (Exception e) {
+            permit.onFailure();
+            result.completeExceptionally(new RuntimeException("Gemini API 호출에 실패했습니다", e));
+            return;
+        }
+
+        // 결과를 더 이상 기다리지 않게 되면 (취소, 제한 시간 초과, 응답 형식 오류) 진행 중인 요청도 취소
+        result.whenComplete((value, e) -> response.cancel(true));
+
+        response.whenComplete((httpResponse, e) -> {
+            try {
+                if (result.isDone()) { // 호출자가 취소했거나 응답 형식 오류로 이미 중단한 경우
+                    return;
+                }
+
+                if (e != null) {
+                    permit.onFailure();
+                    log.error("Gemini API 호출 중 오류 발생: {}", e.getMessage());
+                    result.completeExceptionally(new RuntimeException("Gemini API 호출에 실패했습니다", e));
+
+                } else if (httpResponse.statusCode() == 429) {
+                    permit.onRateLimited(parseRetryAfterMillis(httpResponse));
+                    gradingMetrics.incrementRateLimited();
+                    log.warn("Gemini API 요청 한도 초과: {}", httpResponse.body());
+                    result.completeExceptionally(new RuntimeException("Gemini API 요청 한도를 초과했습니다"));
+
+                } else if (httpResponse.statusCode() / 100 != 2) {
+                    permit.onFailure();
+                    log.error("Gemini API 호출 중 오류 발생: HTTP {} {}", httpResponse.statusCode(), httpResponse.body());
+                    result.completeExceptionally(new RuntimeException("Gemini API 호출에 실패했습니다 (HTTP " + httpResponse.statusCode() + ")"));
+
+                } else {
+                    T value = decoder.finish();
+                    permit.onSuccess();
+                    result.complete(value);
+                }
+
+            } catch (InvalidJsonShapeException ex) { // 호출은 정상이지만 응답 형식이 잘못된 경우
+                permit.onFailure();
+                result.completeExceptionally(ex);
+
+            } catch (Exception ex) {
+                log.error("AI 응답 처리 중 오류 발생: {}", ex.getMessage());
+                result.completeExceptionally(new RuntimeException("AI 응답을 처리할 수 없습니다", ex));
+
+            } finally {
+                permit.release(); // 취소되었거나 예상하지 못한 오류로 결과가 기록되지 않은 경우 허가 반납
+            }
+        });
+    }
+
+    /**
+     * 스트리밍 응답을 줄이 도착하는 대로 읽는 구독자
+     * <p>
+     * 응답 형식이 잘못되면 구독을 취소하여 남은 응답을 받지 않는다.
+     */
+    private static final class LineSubscriber<T> implements Flow.Subscriber<String> {
+
+        private final GeminiStreamDecoder<T> decoder;
+
+        private final AIRateLimiter.Permit permit;
+
+        private final CompletableFuture<T> result;
+
+        private Flow.Subscription subscription;
+
+        private boolean failed;
+
+        LineSubscriber(GeminiStreamDecoder<T> decoder, AIRateLimiter.Permit permit, CompletableFuture<T> result) {
+            this.decoder = decoder;
+            this.permit = permit;
+            this.result = result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (failed) {
+                return;
+            }
+
+            try {
+                decoder.onLine(line);
+            } catch (InvalidJsonShapeException e) {
+                failed = true;
+                subscription.cancel();
+                permit.onFailure();
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // 응답 Future에서 처리
+        }
+
+        @Override
+        public void onComplete() {
+            // 응답 Future에서 처리
+        }
+    }
+
+    /**
+     * 429 응답의 Retry-After 헤더(초 단위)를 밀리초로 변환하는 메서드
+     *
+     * @return 재시도 대기 시간 (헤더가 없거나 형식이 다르면 0)
+     */
+    private long parseRetryAfterMillis(HttpResponse<?> response) {
+        return response.headers().firstValue("retry-after")
+                .map(value -> {
+                    try {
+                        return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+}
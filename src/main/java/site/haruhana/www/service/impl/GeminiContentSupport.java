@@ -0,0 +1,224 @@
+package site.haruhana.www.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.service.AIService.GradingResult;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static site.haruhana.www.service.AIService.*;
+
+/**
+ * Gemini 호출 방식(동기/비동기)과 관계없이 공유하는 프롬프트 생성 및 응답 변환 메서드 모음
+ */
+@Slf4j
+final class GeminiContentSupport {
+
+    private GeminiContentSupport() {
+    }
+
+    /**
+     * 단건 채점 프롬프트를 생성하는 메서드
+     */
+    static String gradingPrompt(GradingContext context, GradingData data) {
+        return String.format(
+                SUBJECTIVE_GRADING_PROMPT,
+                context.getProblemTitle(),
+                context.getProblemQuestion(),
+                formatGradingCriteria(context),
+                context.getSampleAnswer(),
+                data.getSubmittedAnswer()
+        );
+    }
+
+    /**
+     * 일괄 채점할 답안이 모두 같은 문제에 대한 것인지 확인하는 메서드
+     *
+     * @throws IllegalArgumentException 다른 문제에 대한 답안이 섞여 있는 경우
+     */
+    static void requireSameProblem(GradingContext context, List<GradingData> dataList) {
+        if (dataList.stream().anyMatch(data -> !context.getProblemId().equals(data.getProblemId()))) {
+            throw new IllegalArgumentException("같은 문제에 대한 답안만 함께 채점할 수 있습니다");
+        }
+    }
+
+    /**
+     * 일괄 채점 프롬프트를 생성하는 메서드 (문제 정보는 한 번만 포함)
+     * <p>
+     * 답안은 &lt;answer&gt; 태그로 구분하므로, 답안에 포함된 태그가 다른 답안의 경계나 제출 번호로 해석되지 않도록
+     * 답안의 &lt;, &gt;, &amp; 문자를 이스케이프한다.
+     */
+    static String batchGradingPrompt(GradingContext context, List<GradingData> dataList) {
+        // 답안 목록을 제출 번호로 구분된 형태로 변환
+        String formattedAnswers = dataList.stream()
+                .map(data -> "<answer submissionId=\"" + data.getSubmissionId() + "\">\n"
+                        + escapeAnswer(data.getSubmittedAnswer()) + "\n</answer>")
+                .collect(Collectors.joining("\n\n"));
+
+        return String.format(
+                SUBJECTIVE_BATCH_GRADING_PROMPT,
+                context.getProblemTitle(),
+                context.getProblemQuestion(),
+                formatGradingCriteria(context),
+                context.getSampleAnswer(),
+                formattedAnswers
+        );
+    }
+
+    /**
+     * AI 응답을 객관식 문제로 변환하는 메서드
+     */
+    static Problem toMultipleChoiceProblem(GeminiOutput.MultipleChoiceProblem generated, ProblemCategory category, ProblemDifficulty difficulty) {
+        Problem problem = Problem.multipleChoiceProblemBuilder()
+                .title(generated.title())
+                .question(generated.question())
+                .category(category)
+                .difficulty(difficulty)
+                .provider(ProblemProvider.AI)
+                .build();
+
+        // 문제의 보기 추가
+        generated.options().forEach(option -> problem.addOption(option.content(), option.isCorrect()));
+
+        return problem;
+    }
+
+    /**
+     * AI 응답을 주관식 문제로 변환하는 메서드
+     */
+    static Problem toSubjectiveProblem(GeminiOutput.SubjectiveProblem generated, ProblemCategory category, ProblemDifficulty difficulty) {
+        Problem problem = Problem.subjectiveProblemBuilder()
+                .title(generated.title())
+                .question(generated.question())
+                .category(category)
+                .difficulty(difficulty)
+                .provider(ProblemProvider.AI)
+                .sampleAnswer(generated.sampleAnswer())
+                .build();
+
+        // 문제의 평가 요소 추가
+        generated.evaluationPoints().forEach(problem::addGradingCriteria);
+
+        return problem;
+    }
+
+    /**
+     * AI 채점 응답을 채점 결과로 변환하는 메서드
+     *
+     * @param grading 하나의 답안에 대한 피드백과 기준별 평가
+     * @return 채점 결과 (평균 점수와 정리된 피드백)
+     */
+    static GradingResult toGradingResult(GeminiOutput.Grading grading) {
+        // 피드백을 정리하기 위한 빌더
+        StringBuilder feedbackBuilder = new StringBuilder();
+
+        // 평균 점수 계산을 위한 변수
+        double totalScore = 0;
+        int criteriaCount = 0;
+
+        for (GeminiOutput.CriteriaEvaluation evaluation : grading.criteriaEvaluation()) {
+            // 평균 점수 계산을 위해 누적
+            totalScore += evaluation.score();
+            criteriaCount++;
+
+            // 피드백 빌더에 추가
+            feedbackBuilder.append("## ").append(criteriaCount).append(". ")
+                    .append(evaluation.criteria())
+                    .append(" (").append(evaluation.score()).append("점)\n\n")
+                    .append(evaluation.feedback()).append("\n\n");
+        }
+
+        // 평균 점수 계산 (소수점 둘째 자리에서 반올림)
+        double averageScore = 0;
+        if (criteriaCount > 0) {
+            averageScore = new BigDecimal(totalScore / criteriaCount)
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .doubleValue();
+        }
+
+        // 종합 평가 추가
+        feedbackBuilder.insert(0, "# 종합 평가 결과 (" + averageScore + "점)\n\n" + grading.feedback() + "\n\n");
+
+        // 주관식 문제 해결 여부 판단
+        boolean isCorrect = averageScore >= PASSING_SCORE;
+
+        return new GradingResult(averageScore, isCorrect, feedbackBuilder.toString().trim());
+    }
+
+    /**
+     * 답안을 &lt;answer&gt; 태그 안에 넣을 수 있도록 &lt;, &gt;, &amp; 문자를 이스케이프하는 메서드
+     */
+    static String escapeAnswer(String answer) {
+        if (answer == null) {
+            return "";
+        }
+
+        return answer.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;");
+    }
+
+    /**
+     * AI 일괄 채점 응답을 제출 번호별 채점 결과로 변환하는 메서드 (요청한 제출 번호의 결과만 인정)
+     * <p>
+     * 요청하지 않은 제출 번호의 결과는 거부하며, 같은 제출 번호의 결과가 여러 개라면 어느 결과가 맞는지 알 수 없으므로 모두 거부한다.
+     * 거부된 답안과 결과가 없는 답안(형태가 잘못되어 제외된 결과 포함)은 반환값에서 제외되어 호출하는 쪽에서 다시 채점된다.
+     */
+    static Map<Long, GradingResult> toBatchGradingResults(List<GeminiOutput.SubmissionGrading> gradings, List<GradingData> dataList) {
+        Set<Long> requestedIds = dataList.stream()
+                .map(GradingData::getSubmissionId)
+                .collect(Collectors.toSet());
+
+        Map<Long, GradingResult> results = new HashMap<>();
+        Set<Long> unknownIds = new HashSet<>();
+        Set<Long> duplicatedIds = new HashSet<>();
+
+        for (GeminiOutput.SubmissionGrading grading : gradings) {
+            Long submissionId = grading.submissionId();
+            if (!requestedIds.contains(submissionId)) {
+                unknownIds.add(submissionId);
+            } else if (results.containsKey(submissionId) || duplicatedIds.contains(submissionId)) {
+                duplicatedIds.add(submissionId);
+            } else {
+                results.put(submissionId, toGradingResult(grading.grading()));
+            }
+        }
+
+        results.keySet().removeAll(duplicatedIds);
+
+        if (!unknownIds.isEmpty() || !duplicatedIds.isEmpty()) {
+            log.warn("일괄 채점 응답의 결과 일부를 거부했습니다. (요청하지 않은 제출 번호: {}, 중복된 제출 번호: {})", unknownIds, duplicatedIds);
+        }
+
+        Set<Long> missingIds = new HashSet<>(requestedIds);
+        missingIds.removeAll(results.keySet());
+        missingIds.removeAll(duplicatedIds);
+        if (!missingIds.isEmpty()) {
+            log.warn("일괄 채점 응답에 제출 번호 {}의 결과가 없거나 형태가 잘못되었습니다.", missingIds);
+        }
+
+        return results;
+    }
+
+    /**
+     * 채점 기준 목록을 번호가 있는 목록 형태로 변환하는 메서드
+     */
+    private static String formatGradingCriteria(GradingContext context) {
+        return IntStream.range(0, context.getGradingCriteria().size())
+                .mapToObj(i -> (i + 1) + ". " + context.getGradingCriteria().get(i))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,125 @@
+package site.haruhana.www.service.impl;
+
+import site.haruhana.www.utils.json.JsonShape;
+
+import java.util.List;
+
+import static site.haruhana.www.utils.json.JsonShape.array;
+import static site.haruhana.www.utils.json.JsonShape.bool;
+import static site.haruhana.www.utils.json.JsonShape.integer;
+import static site.haruhana.www.utils.json.JsonShape.lenientArray;
+import static site.haruhana.www.utils.json.JsonShape.longValue;
+import static site.haruhana.www.utils.json.JsonShape.object;
+import static site.haruhana.www.utils.json.JsonShape.string;
+
+/**
+ * 프롬프트에서 요청한 AI 응답 JSON의 형태와, 응답을 변환할 타입 모음
+ * <p>
+ * 형태는 {@link site.haruhana.www.utils.json.StreamingJsonBinder}가 응답을 읽는 동안 확인하므로,
+ * 필드 타입이 다르거나 점수가 범위를 벗어나는 등 형태가 잘못된 응답은 끝까지 받지 않고 바로 실패한다.
+ * 단, 일괄 채점 응답은 답안별 결과 중 형태가 잘못된 결과만 제외하므로, 나머지 답안의 결과는 그대로 사용된다.
+ */
+final class GeminiOutput {
+
+    private static final int MAX_TITLE_LENGTH = 255; // problem.title 컬럼 길이
+
+    private static final int MAX_CRITERIA = 20;
+
+    private static final int MAX_OPTIONS = 5;
+
+    private static final int MAX_BATCH_RESULTS = 1000;
+
+    private GeminiOutput() {
+    }
+
+    /**
+     * 채점 기준별 평가
+     */
+    record CriteriaEvaluation(String criteria, int score, String feedback) {
+    }
+
+    /**
+     * 하나의 답안에 대한 채점 응답
+     */
+    record Grading(String feedback, List<CriteriaEvaluation> criteriaEvaluation) {
+    }
+
+    /**
+     * 일괄 채점 응답의 답안별 결과
+     */
+    record SubmissionGrading(long submissionId, Grading grading) {
+    }
+
+    /**
+     * 객관식 문제의 보기
+     */
+    record Option(String content, boolean isCorrect) {
+    }
+
+    /**
+     * 생성된 객관식 문제
+     */
+    record MultipleChoiceProblem(String title, String question, List<Option> options) {
+    }
+
+    /**
+     * 생성된 주관식 문제
+     */
+    record SubjectiveProblem(String title, String question, List<String> evaluationPoints, String sampleAnswer) {
+    }
+
+    private static final JsonShape<CriteriaEvaluation> CRITERIA_EVALUATION_SHAPE = object(fields -> new CriteriaEvaluation(
+            fields.get("criteria"),
+            fields.<Integer>get("score"),
+            fields.get("feedback")
+    ))
+            .required("criteria", string())
+            .required("score", integer(0, 100))
+            .required("feedback", string());
+
+    static final JsonShape<Grading> GRADING_SHAPE = object(fields -> new Grading(
+            fields.get("feedback"),
+            fields.get("criteriaEvaluation")
+    ))
+            .required("feedback", string())
+            .required("criteriaEvaluation", array(CRITERIA_EVALUATION_SHAPE, 1, MAX_CRITERIA));
+
+    private static final JsonShape<SubmissionGrading> SUBMISSION_GRADING_SHAPE = object(fields -> new SubmissionGrading(
+            fields.<Long>get("submissionId"),
+            new Grading(fields.get("feedback"), fields.get("criteriaEvaluation"))
+    ))
+            .required("submissionId", longValue())
+            .required("feedback", string())
+            .required("criteriaEvaluation", array(CRITERIA_EVALUATION_SHAPE, 1, MAX_CRITERIA));
+
+    // 형태가 잘못된 결과는 제외되어 그 답안만 다시 채점됨
+    static final JsonShape<List<SubmissionGrading>> BATCH_GRADING_SHAPE = object(fields -> fields.<List<SubmissionGrading>>get("results"))
+            .required("results", lenientArray(SUBMISSION_GRADING_SHAPE, MAX_BATCH_RESULTS));
+
+    private static final JsonShape<Option> OPTION_SHAPE = object(fields -> new Option(
+            fields.get("content"),
+            fields.<Boolean>get("isCorrect")
+    ))
+            .required("content", string())
+            .required("isCorrect", bool());
+
+    static final JsonShape<MultipleChoiceProblem> MULTIPLE_CHOICE_PROBLEM_SHAPE = object(fields -> new MultipleChoiceProblem(
+            fields.get("title"),
+            fields.get("question"),
+            fields.get("options")
+    ))
+            .required("title", string(MAX_TITLE_LENGTH))
+            .required("question", string())
+            .required("options", array(OPTION_SHAPE, 2, MAX_OPTIONS));
+
+    static final JsonShape<SubjectiveProblem> SUBJECTIVE_PROBLEM_SHAPE = object(fields -> new SubjectiveProblem(
+            fields.get("title"),
+            fields.get("question"),
+            fields.get("evaluationPoints"),
+            fields.get("sampleAnswer")
+    ))
+            .required("title", string(MAX_TITLE_LENGTH))
+            .required("question", string())
+            .required("evaluationPoints", array(string(), 1, MAX_CRITERIA))
+            .required("sampleAnswer", string());
+}
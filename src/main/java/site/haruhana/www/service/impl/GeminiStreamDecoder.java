@@ -0,0 +1,197 @@
+package site.haruhana.www.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import site.haruhana.www.exception.InvalidJsonShapeException;
+import site.haruhana.www.feign.dto.gemini.GeminiResponse;
+import site.haruhana.www.utils.json.JsonShape;
+import site.haruhana.www.utils.json.StreamingJsonBinder;
+
+/**
+ * Gemini streamGenerateContent(SSE) 응답을 줄 단위로 받아, 생성된 텍스트를 이어 붙이지 않고 바로 읽는 클래스
+ * <p>
+ * 각 SSE 이벤트는 생성된 텍스트의 일부를 담은 응답 조각이며, 텍스트 조각은 도착하는 대로
+ * {@link StreamingJsonBinder}에 전달된다. 모델이 응답을 코드 블록(```json ... ```)으로 감싼 경우
+ * 코드 블록 표시는 건너뛴다.
+ * <p>
+ * 응답 형식이 잘못되면 해당 줄을 처리하는 시점에 {@link InvalidJsonShapeException}이 발생한다.
+ * 변환은 응답을 받는 동안 조금씩 이루어지므로, 변환에 사용한 시간은 줄을 처리할 때마다 누적하여 {@link #getParseNanos()}로 제공한다.
+ * 스레드 안전하지 않다.
+ *
+ * @param <T> 변환할 타입
+ */
+final class GeminiStreamDecoder<T> {
+
+    private static final String DATA_FIELD = "data:";
+
+    private final ObjectMapper objectMapper;
+
+    private final StreamingJsonBinder<T> binder;
+
+    // 현재 SSE 이벤트의 data 필드
+    private final StringBuilder eventData = new StringBuilder();
+
+    // 코드 블록 표시일 수 있어 아직 전달하지 않은 텍스트
+    private final StringBuilder pending = new StringBuilder();
+
+    // 응답 앞쪽의 코드 블록 표시를 처리했는지 여부
+    private boolean leadingFenceHandled;
+
+    // 줄을 처리하고 결과를 변환하는 데 사용한 누적 시간 (응답을 기다린 시간은 제외)
+    private long parseNanos;
+
+    GeminiStreamDecoder(ObjectMapper objectMapper, JsonShape<T> shape) {
+        this.objectMapper = objectMapper;
+        this.binder = new StreamingJsonBinder<>(objectMapper.getFactory(), shape);
+    }
+
+    /**
+     * SSE 응답의 한 줄을 처리하는 메서드
+     */
+    void onLine(String line) {
+        long start = System.nanoTime();
+        try {
+            decodeLine(line);
+        } finally {
+            parseNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * 응답이 끝났을 때 호출하여 변환된 값을 반환하는 메서드
+     *
+     * @throws InvalidJsonShapeException 응답이 완성되지 않았거나 형식이 잘못된 경우
+     */
+    T finish() {
+        long start = System.nanoTime();
+        try {
+            return complete();
+        } finally {
+            parseNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * 지금까지 응답을 변환하는 데 사용한 시간(나노초)을 반환하는 메서드
+     */
+    long getParseNanos() {
+        return parseNanos;
+    }
+
+    private void decodeLine(String line) {
+        if (line.isEmpty()) { // 빈 줄은 이벤트의 끝
+            dispatchEvent();
+            return;
+        }
+
+        if (line.startsWith(DATA_FIELD)) { // data 이외의 필드(event, id, 주석)는 사용하지 않음
+            String data = line.substring(DATA_FIELD.length());
+            if (data.startsWith(" ")) {
+                data = data.substring(1);
+            }
+
+            if (!eventData.isEmpty()) {
+                eventData.append('\n');
+            }
+            eventData.append(data);
+        }
+    }
+
+    private T complete() {
+        dispatchEvent();
+
+        String rest = pending.toString();
+        pending.setLength(0);
+
+        if (!leadingFenceHandled) { // 줄바꿈 없이 코드 블록으로 감싼 짧은 응답
+            rest = rest.strip();
+            if (rest.startsWith("```json")) {
+                rest = rest.substring(7);
+            } else if (rest.startsWith("```")) {
+                rest = rest.substring(3);
+            }
+        }
+
+        binder.feed(rest.substring(0, contentEnd(rest)));
+        return binder.finish();
+    }
+
+    /**
+     * 하나의 SSE 이벤트(응답 조각)에서 생성된 텍스트를 꺼내는 메서드
+     */
+    private void dispatchEvent() {
+        if (eventData.isEmpty()) {
+            return;
+        }
+
+        GeminiResponse chunk;
+        try {
+            chunk = objectMapper.readValue(eventData.toString(), GeminiResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidJsonShapeException("응답 조각을 읽을 수 없습니다 (" + e.getOriginalMessage() + ")");
+        } finally {
+            eventData.setLength(0);
+        }
+
+        if (chunk.getCandidates() == null || chunk.getCandidates().isEmpty()) {
+            return;
+        }
+
+        GeminiResponse.Content content = chunk.getCandidates().get(0).getContent();
+        if (content == null || content.getParts() == null) { // 마지막 조각에는 종료 사유만 있을 수 있음
+            return;
+        }
+
+        for (GeminiResponse.Part part : content.getParts()) {
+            if (part.getText() != null) {
+                onText(part.getText());
+            }
+        }
+    }
+
+    /**
+     * 생성된 텍스트 조각을 처리하는 메서드
+     */
+    private void onText(String text) {
+        pending.append(text);
+
+        if (!leadingFenceHandled) {
+            int start = 0;
+            while (start < pending.length() && Character.isWhitespace(pending.charAt(start))) {
+                start++;
+            }
+
+            if (start == pending.length()) { // 아직 내용이 없음
+                return;
+            }
+
+            if (pending.charAt(start) == '`') { // 코드 블록 표시 줄(```json)은 줄이 끝날 때까지 기다렸다가 건너뜀
+                int lineEnd = pending.indexOf("\n", start);
+                if (lineEnd < 0) {
+                    return;
+                }
+                pending.delete(0, lineEnd + 1);
+            }
+
+            leadingFenceHandled = true;
+        }
+
+        // 끝의 공백과 백틱은 닫는 코드 블록 표시일 수 있으므로 다음 조각이 올 때까지 보류
+        int end = contentEnd(pending);
+        if (end > 0) {
+            binder.feed(pending.substring(0, end));
+            pending.delete(0, end);
+        }
+    }
+
+    /**
+     * 끝에 붙은 공백과 백틱을 제외한 내용의 길이를 반환하는 메서드
+     */
+    private static int contentEnd(CharSequence text) {
+        int end = text.length();
+        while (end > 0 && (Character.isWhitespace(text.charAt(end - 1)) || text.charAt(end - 1) == '`')) {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,607 @@
+package site.haruhana.www.utils.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import site.haruhana.www.exception.InvalidJsonShapeException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 스트리밍 파서로 읽을 JSON 값의 형태(타입, 필수 필드, 값의 범위)와 변환 방법을 정의하는 클래스
+ * <p>
+ * {@link StreamingJsonBinder}는 토큰을 받을 때마다 형태를 확인하므로, 형태가 맞지 않는 응답은
+ * 전체를 받기 전에 바로 실패한다. JSON 트리를 만들지 않고 완성된 값부터 바로 대상 타입으로 변환한다.
+ * <p>
+ * 정의되지 않은 필드는 건너뛴다.
+ * 여러 값 중 일부만 잘못되어도 나머지를 사용할 수 있는 경우 {@link #lenientArray}로 형태가 잘못된 원소만 건너뛸 수 있다.
+ *
+ * @param <T> 변환할 타입
+ */
+public abstract class JsonShape<T> {
+
+    abstract Frame newFrame(String path);
+
+    /**
+     * 문자열 값
+     */
+    public static JsonShape<String> string() {
+        return string(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 최대 길이가 제한된 문자열 값
+     */
+    public static JsonShape<String> string(int maxLength) {
+        return new JsonShape<>() {
+            @Override
+            Frame newFrame(String path) {
+                return new ScalarFrame(path) {
+                    @Override
+                    Object convert(JsonToken token, JsonParser parser) throws IOException {
+                        if (token != JsonToken.VALUE_STRING) {
+                            throw mismatch("문자열", token);
+                        }
+
+                        String value = parser.getText();
+                        if (value.length() > maxLength) {
+                            throw new InvalidJsonShapeException(path + " 길이가 " + maxLength + "자를 넘습니다");
+                        }
+                        return value;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * 범위가 제한된 정수 값 (소수는 반올림)
+     */
+    public static JsonShape<Integer> integer(int min, int max) {
+        return new JsonShape<>() {
+            @Override
+            Frame newFrame(String path) {
+                return new ScalarFrame(path) {
+                    @Override
+                    Object convert(JsonToken token, JsonParser parser) throws IOException {
+                        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+                            throw mismatch("숫자", token);
+                        }
+
+                        long value = Math.round(parser.getDoubleValue());
+                        if (value < min || value > max) {
+                            throw new InvalidJsonShapeException(path + " 값(" + value + ")이 " + min + "~" + max + " 범위를 벗어납니다");
+                        }
+                        return (int) value;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * 정수 값 (JSON 문자열로 전달된 숫자도 허용)
+     */
+    public static JsonShape<Long> longValue() {
+        return new JsonShape<>() {
+            @Override
+            Frame newFrame(String path) {
+                return new ScalarFrame(path) {
+                    @Override
+                    Object convert(JsonToken token, JsonParser parser) throws IOException {
+                        if (token == JsonToken.VALUE_NUMBER_INT) {
+                            return parser.getLongValue();
+                        }
+
+                        if (token == JsonToken.VALUE_STRING) {
+                            try {
+                                return Long.parseLong(parser.getText().trim());
+                            } catch (NumberFormatException e) {
+                                throw mismatch("정수", token);
+                            }
+                        }
+
+                        throw mismatch("정수", token);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * 불리언 값
+     */
+    public static JsonShape<Boolean> bool() {
+        return new JsonShape<>() {
+            @Override
+            Frame newFrame(String path) {
+                return new ScalarFrame(path) {
+                    @Override
+                    Object convert(JsonToken token, JsonParser parser) {
+                        if (token != JsonToken.VALUE_TRUE && token != JsonToken.VALUE_FALSE) {
+                            throw mismatch("불리언", token);
+                        }
+                        return token == JsonToken.VALUE_TRUE;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * 원소 수가 제한된 배열 값
+     */
+    public static <E> JsonShape<List<E>> array(JsonShape<E> item, int minItems, int maxItems) {
+        return new JsonShape<>() {
+            @Override
+            Frame newFrame(String path) {
+                return new ArrayFrame(path, item, minItems, maxItems, false);
+            }
+        };
+    }
+
+    /**
+     * 형태가 잘못된 원소는 실패하지 않고 건너뛰는 배열 값
+     * <p>
+     * 원소 안에서 발생한 형태 오류는 그 원소만 제외하며, 원소가 끝날 때까지 나머지 토큰을 건너뛴다.
+     * 배열 자체의 형태(배열 여부, 최대 개수)와 JSON 문법 오류는 그대로 실패한다.
+     */
+    public static <E> JsonShape<List<E>> lenientArray(JsonShape<E> item, int maxItems) {
+        return new JsonShape<>() {
+            @Override
+            Frame newFrame(String path) {
+                return new ArrayFrame(path, item, 0, maxItems, true);
+            }
+        };
+    }
+
+    /**
+     * 객체 값
+     *
+     * @param factory 읽은 필드 값으로 대상 타입을 만드는 함수
+     * @return 필드를 추가할 수 있는 객체 형태
+     */
+    public static <T> ObjectShape<T> object(Function<Fields, T> factory) {
+        return new ObjectShape<>(factory);
+    }
+
+    /**
+     * 객체 형태 (필드 정의는 초기화 시에만 추가한다)
+     */
+    public static final class ObjectShape<T> extends JsonShape<T> {
+
+        private final Function<Fields, T> factory;
+
+        private final Map<String, Field> fields = new LinkedHashMap<>();
+
+        private ObjectShape(Function<Fields, T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * 반드시 있어야 하는 필드를 추가하는 메서드
+         */
+        public ObjectShape<T> required(String name, JsonShape<?> shape) {
+            fields.put(name, new Field(fields.size(), shape, true));
+            return this;
+        }
+
+        /**
+         * 없어도 되는 필드를 추가하는 메서드 (없으면 null)
+         */
+        public ObjectShape<T> optional(String name, JsonShape<?> shape) {
+            fields.put(name, new Field(fields.size(), shape, false));
+            return this;
+        }
+
+        @Override
+        Frame newFrame(String path) {
+            return new ObjectFrame(path, this);
+        }
+
+        private record Field(int index, JsonShape<?> shape, boolean required) {
+        }
+    }
+
+    /**
+     * 객체에서 읽은 필드 값
+     */
+    public static final class Fields {
+
+        private final Map<String, ObjectShape.Field> definitions;
+
+        private final Object[] values;
+
+        private Fields(Map<String, ObjectShape.Field> definitions, Object[] values) {
+            this.definitions = definitions;
+            this.values = values;
+        }
+
+        /**
+         * 필드 값을 반환하는 메서드 (없는 선택 필드는 null)
+         */
+        @SuppressWarnings("unchecked")
+        public <V> V get(String name) {
+            ObjectShape.Field field = definitions.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("정의되지 않은 필드입니다: " + name);
+            }
+            return (V) values[field.index()];
+        }
+    }
+
+    /**
+     * 읽는 중인 하나의 JSON 값
+     */
+    abstract static class Frame {
+
+        final String path;
+
+        Frame(String path) {
+            this.path = path;
+        }
+
+        /**
+         * 토큰을 처리하는 메서드
+         *
+         * @return 하위 값이 시작된 경우 그 값을 읽을 프레임 (같은 토큰을 이어서 전달받음), 아니면 null
+         */
+        abstract Frame onToken(JsonToken token, JsonParser parser) throws IOException;
+
+        /**
+         * 하위 값을 모두 읽은 경우 호출되는 메서드
+         */
+        void onChildValue(Object value) {
+        }
+
+        abstract boolean isComplete();
+
+        abstract Object value();
+
+        InvalidJsonShapeException mismatch(String expected, JsonToken token) {
+            return new InvalidJsonShapeException(path + "에 " + expected + "이(가) 필요하지만 " + describe(token) + "입니다");
+        }
+
+        private static String describe(JsonToken token) {
+            return switch (token) {
+                case START_OBJECT -> "객체";
+                case START_ARRAY -> "배열";
+                case VALUE_STRING -> "문자열";
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> "숫자";
+                case VALUE_TRUE, VALUE_FALSE -> "불리언";
+                case VALUE_NULL -> "null";
+                default -> token.name();
+            };
+        }
+    }
+
+    /**
+     * 하나의 JSON 값을 읽는 프레임 스택
+     * <p>
+     * 하위 값의 시작 토큰은 하위 프레임에 이어서 전달하고, 완성된 값은 상위 프레임에 전달한다.
+     */
+    static final class FrameStack {
+
+        private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+
+        private boolean complete;
+
+        private Object value;
+
+        FrameStack(Frame root) {
+            frames.push(root);
+        }
+
+        /**
+         * 토큰을 처리하는 메서드
+         *
+         * @throws InvalidJsonShapeException 형태가 맞지 않거나, 값을 모두 읽은 뒤에 토큰이 전달된 경우
+         */
+        void onToken(JsonToken token, JsonParser parser) throws IOException {
+            if (complete) {
+                throw new InvalidJsonShapeException("JSON 값 뒤에 다른 내용이 있습니다");
+            }
+
+            Frame child = frames.peek().onToken(token, parser);
+            if (child != null) { // 하위 값의 시작 토큰은 하위 프레임이 처리
+                frames.push(child);
+                child.onToken(token, parser);
+            }
+
+            // 완성된 값을 상위 값에 전달
+            while (!frames.isEmpty() && frames.peek().isComplete()) {
+                Frame done = frames.pop();
+
+                if (frames.isEmpty()) {
+                    value = done.value();
+                    complete = true;
+                } else {
+                    frames.peek().onChildValue(done.value());
+                }
+            }
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        Object value() {
+            return value;
+        }
+    }
+
+    private abstract static class ScalarFrame extends Frame {
+
+        private Object value;
+
+        private boolean complete;
+
+        ScalarFrame(String path) {
+            super(path);
+        }
+
+        abstract Object convert(JsonToken token, JsonParser parser) throws IOException;
+
+        @Override
+        Frame onToken(JsonToken token, JsonParser parser) throws IOException {
+            value = convert(token, parser);
+            complete = true;
+            return null;
+        }
+
+        @Override
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        Object value() {
+            return value;
+        }
+    }
+
+    private static final class ArrayFrame extends Frame {
+
+        private final JsonShape<?> item;
+
+        private final int minItems;
+
+        private final int maxItems;
+
+        private final boolean lenient;
+
+        private final List<Object> items = new ArrayList<>();
+
+        private int itemCount; // 건너뛴 원소를 포함한 원소 수
+
+        private boolean started;
+
+        private boolean complete;
+
+        ArrayFrame(String path, JsonShape<?> item, int minItems, int maxItems, boolean lenient) {
+            super(path);
+            this.item = item;
+            this.minItems = minItems;
+            this.maxItems = maxItems;
+            this.lenient = lenient;
+        }
+
+        @Override
+        Frame onToken(JsonToken token, JsonParser parser) {
+            if (!started) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw mismatch("배열", token);
+                }
+                started = true;
+                return null;
+            }
+
+            if (token == JsonToken.END_ARRAY) {
+                if (items.size() < minItems) {
+                    throw new InvalidJsonShapeException(path + " 원소가 " + minItems + "개보다 적습니다");
+                }
+                complete = true;
+                return null;
+            }
+
+            if (itemCount >= maxItems) { // 원소가 많으면 배열이 끝나기를 기다리지 않고 실패
+                throw new InvalidJsonShapeException(path + " 원소가 " + maxItems + "개를 넘습니다");
+            }
+
+            Frame itemFrame = item.newFrame(path + "[" + itemCount++ + "]");
+            return lenient ? new LenientFrame(itemFrame) : itemFrame;
+        }
+
+        @Override
+        void onChildValue(Object value) {
+            if (value != SkipFrame.SKIPPED) {
+                items.add(value);
+            }
+        }
+
+        @Override
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        Object value() {
+            return List.copyOf(items);
+        }
+    }
+
+    private static final class ObjectFrame extends Frame {
+
+        private final ObjectShape<?> shape;
+
+        private final Object[] values;
+
+        private final boolean[] present;
+
+        private String fieldName;
+
+        private boolean started;
+
+        private boolean complete;
+
+        private Object value;
+
+        ObjectFrame(String path, ObjectShape<?> shape) {
+            super(path);
+            this.shape = shape;
+            this.values = new Object[shape.fields.size()];
+            this.present = new boolean[shape.fields.size()];
+        }
+
+        @Override
+        Frame onToken(JsonToken token, JsonParser parser) throws IOException {
+            if (!started) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw mismatch("객체", token);
+                }
+                started = true;
+                return null;
+            }
+
+            if (token == JsonToken.FIELD_NAME) {
+                fieldName = parser.currentName();
+                return null;
+            }
+
+            if (token == JsonToken.END_OBJECT) {
+                for (Map.Entry<String, ObjectShape.Field> entry : shape.fields.entrySet()) {
+                    if (entry.getValue().required() && !present[entry.getValue().index()]) {
+                        throw new InvalidJsonShapeException(path + "." + entry.getKey() + " 필드가 없습니다");
+                    }
+                }
+
+                value = shape.factory.apply(new Fields(shape.fields, values));
+                complete = true;
+                return null;
+            }
+
+            // 필드 값의 시작
+            ObjectShape.Field field = shape.fields.get(fieldName);
+            if (field == null) { // 정의되지 않은 필드는 건너뜀
+                return new SkipFrame(path + "." + fieldName);
+            }
+
+            if (token == JsonToken.VALUE_NULL && !field.required()) {
+                return new SkipFrame(path + "." + fieldName);
+            }
+
+            return field.shape().newFrame(path + "." + fieldName);
+        }
+
+        @Override
+        void onChildValue(Object childValue) {
+            ObjectShape.Field field = shape.fields.get(fieldName);
+            if (field != null && childValue != SkipFrame.SKIPPED) {
+                values[field.index()] = childValue;
+                present[field.index()] = true;
+            }
+        }
+
+        @Override
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        Object value() {
+            return value;
+        }
+    }
+
+    /**
+     * 형태 오류가 발생하면 값이 끝날 때까지 나머지 토큰을 건너뛰는 프레임 (건너뛴 경우 {@link SkipFrame#SKIPPED}를 반환)
+     */
+    private static final class LenientFrame extends Frame {
+
+        private final FrameStack value;
+
+        private int depth;
+
+        private boolean invalid;
+
+        private boolean complete;
+
+        LenientFrame(Frame frame) {
+            super(frame.path);
+            this.value = new FrameStack(frame);
+        }
+
+        @Override
+        Frame onToken(JsonToken token, JsonParser parser) throws IOException {
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+
+            if (!invalid) {
+                try {
+                    value.onToken(token, parser);
+                } catch (InvalidJsonShapeException e) {
+                    invalid = true;
+                }
+            }
+
+            complete = depth == 0;
+            return null;
+        }
+
+        @Override
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        Object value() {
+            return invalid ? SkipFrame.SKIPPED : value.value();
+        }
+    }
+
+    /**
+     * 정의되지 않은 값을 건너뛰는 프레임
+     */
+    private static final class SkipFrame extends Frame {
+
+        private static final Object SKIPPED = new Object();
+
+        private int depth;
+
+        private boolean complete;
+
+        SkipFrame(String path) {
+            super(path);
+        }
+
+        @Override
+        Frame onToken(JsonToken token, JsonParser parser) {
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+
+            complete = depth == 0;
+            return null;
+        }
+
+        @Override
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        Object value() {
+            return SKIPPED;
+        }
+    }
+}
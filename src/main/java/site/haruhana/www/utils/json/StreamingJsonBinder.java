@@ -0,0 +1,110 @@
+package site.haruhana.www.utils.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import site.haruhana.www.exception.InvalidJsonShapeException;
+import site.haruhana.www.utils.json.JsonShape.FrameStack;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 조각으로 나뉘어 도착하는 JSON 텍스트를 받는 즉시 읽어 대상 타입으로 변환하는 클래스
+ * <p>
+ * Jackson의 논블로킹 파서에 도착한 조각을 넣고, 완성된 토큰부터 {@link JsonShape}에 따라 형태를 확인하며 값을 만든다.
+ * 형태가 맞지 않거나 JSON 문법이 잘못된 경우 그 토큰을 읽는 시점에 {@link InvalidJsonShapeException}이 발생하므로,
+ * 호출하는 쪽은 나머지 응답을 기다리지 않고 요청을 중단할 수 있다.
+ * <p>
+ * 하나의 JSON 값만 읽으며, 스레드 안전하지 않다.
+ *
+ * @param <T> 변환할 타입
+ */
+public class StreamingJsonBinder<T> {
+
+    private final JsonShape<T> shape;
+
+    private final JsonParser parser;
+
+    private final ByteArrayFeeder feeder;
+
+    private FrameStack frames;
+
+    public StreamingJsonBinder(JsonFactory jsonFactory, JsonShape<T> shape) {
+        try {
+            this.shape = shape;
+            this.parser = jsonFactory.createNonBlockingByteArrayParser();
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        } catch (IOException e) {
+            throw new IllegalStateException("JSON 파서를 생성할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 도착한 JSON 텍스트 조각을 읽는 메서드
+     *
+     * @param chunk JSON 텍스트 조각
+     * @throws InvalidJsonShapeException JSON 문법이나 형태가 잘못된 경우
+     */
+    public void feed(String chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new InvalidJsonShapeException(e.getMessage());
+        }
+
+        drain();
+    }
+
+    /**
+     * 입력이 끝났음을 알리고 변환된 값을 반환하는 메서드
+     *
+     * @throws InvalidJsonShapeException 값이 완성되지 않은 채 입력이 끝난 경우
+     */
+    @SuppressWarnings("unchecked")
+    public T finish() {
+        feeder.endOfInput();
+        drain();
+
+        if (!isComplete()) {
+            throw new InvalidJsonShapeException("응답이 완성되지 않은 채 끝났습니다");
+        }
+        return (T) frames.value();
+    }
+
+    /**
+     * 값을 모두 읽었는지 여부
+     */
+    public boolean isComplete() {
+        return frames != null && frames.isComplete();
+    }
+
+    /**
+     * 파서에서 지금 읽을 수 있는 토큰을 모두 처리하는 메서드
+     */
+    private void drain() {
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (frames == null) {
+                    frames = new FrameStack(shape.newFrame("$"));
+                }
+
+                frames.onToken(token, parser);
+            }
+
+        } catch (JsonProcessingException e) { // JSON 문법 오류
+            throw new InvalidJsonShapeException(e.getOriginalMessage());
+
+        } catch (IOException e) {
+            throw new InvalidJsonShapeException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package site.haruhana.www.actuator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import site.haruhana.www.scheduler.SubmissionScheduler;
+import site.haruhana.www.scheduler.SubmissionScheduler.WorkerPoolStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GradingWorkerEndpointUnitTest {
+
+    @Mock
+    private SubmissionScheduler submissionScheduler;
+
+    @InjectMocks
+    private GradingWorkerEndpoint gradingWorkerEndpoint;
+
+    @Test
+    @DisplayName("작업자 수를 변경하고 변경된 풀 상태를 반환한다")
+    void resizesPool() {
+        // given
+        WorkerPoolStatus status = new WorkerPoolStatus(8, 8, 0, 4, 4, 0);
+        when(submissionScheduler.getStatus()).thenReturn(status);
+
+        // when
+        WorkerPoolStatus resized = gradingWorkerEndpoint.resize(8);
+
+        // then
+        verify(submissionScheduler).resize(8);
+        assertThat(resized).isEqualTo(status);
+    }
+
+    @Test
+    @DisplayName("작업자 수가 1보다 작으면 잘못된 요청으로 거부하고 풀 크기를 바꾸지 않는다")
+    void rejectsNonPositiveSize() {
+        // when & then
+        assertAll(
+                "잘못된 크기 검증",
+                () -> assertThatThrownBy(() -> gradingWorkerEndpoint.resize(0)).isInstanceOf(InvalidEndpointRequestException.class),
+                () -> assertThatThrownBy(() -> gradingWorkerEndpoint.resize(-1)).isInstanceOf(InvalidEndpointRequestException.class)
+        );
+        verify(submissionScheduler, never()).resize(anyInt());
+    }
+}
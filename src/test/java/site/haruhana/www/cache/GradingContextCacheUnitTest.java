@@ -0,0 +1,137 @@
+package site.haruhana.www.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.exception.ProblemNotFoundException;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.repository.ProblemRepository;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GradingContextCacheUnitTest {
+
+    @Mock
+    private ProblemRepository problemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemorySubmissionMessageQueue messageQueue;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GradingContextCache gradingContextCache;
+
+    @BeforeEach
+    void setUp() {
+        messageQueue = new InMemorySubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()));
+        meterRegistry = new SimpleMeterRegistry();
+        gradingContextCache = new GradingContextCache(problemRepository, messageQueue, transactionManager, meterRegistry, 1024 * 1024, 60);
+    }
+
+    private Problem createProblem(Long id) throws Exception {
+        Problem problem = Problem.subjectiveProblemBuilder()
+                .title("Kubernetes Pod")
+                .question("Pod와 컨테이너의 관계를 설명하세요.".repeat(50))
+                .category(ProblemCategory.KUBERNETES)
+                .difficulty(ProblemDifficulty.MEDIUM)
+                .provider(ProblemProvider.AI)
+                .sampleAnswer("Pod는 하나 이상의 컨테이너를 묶은 배포 단위입니다.".repeat(50))
+                .build();
+        problem.addGradingCriteria("Pod의 정의를 설명한다");
+        problem.addGradingCriteria("컨테이너 간 자원 공유를 설명한다");
+
+        Field idField = Problem.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(problem, id);
+
+        return problem;
+    }
+
+    @Nested
+    @DisplayName("채점 정보 조회")
+    class Lookup {
+
+        @Test
+        @DisplayName("같은 문제의 채점 정보는 한 번만 조회되고 같은 인스턴스를 공유한다")
+        void contextIsLoadedOnceAndShared() throws Exception {
+            // given: 주관식 문제가 존재할 때
+            when(problemRepository.findById(1L)).thenReturn(Optional.of(createProblem(1L)));
+
+            // when: 같은 문제의 채점 정보를 여러 번 조회하면
+            GradingContext first = gradingContextCache.get(1L);
+            GradingContext second = gradingContextCache.get(1L);
+
+            // then: 같은 인스턴스가 반환되고 문제는 한 번만 조회된다
+            assertAll(
+                    "채점 정보 공유 검증",
+                    () -> assertThat(second).isSameAs(first),
+                    () -> assertThat(first.getProblemTitle()).isEqualTo("Kubernetes Pod"),
+                    () -> assertThat(first.getGradingCriteria()).containsExactly("Pod의 정의를 설명한다", "컨테이너 간 자원 공유를 설명한다"),
+                    () -> verify(problemRepository, times(1)).findById(1L)
+            );
+        }
+
+        @Test
+        @DisplayName("존재하지 않는 문제의 채점 정보를 조회하면 예외가 발생한다")
+        void missingProblemThrowsException() {
+            // given: 문제가 존재하지 않을 때
+            when(problemRepository.findById(99L)).thenReturn(Optional.empty());
+
+            // when & then: 예외가 발생한다
+            assertThatThrownBy(() -> gradingContextCache.get(99L))
+                    .isInstanceOf(ProblemNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("메모리 절약 지표")
+    class SavedBytes {
+
+        @Test
+        @DisplayName("대기 중인 요청 수만큼 복사되지 않은 문제 정보의 크기가 절약된 메모리로 기록된다")
+        void savedBytesReflectPendingRequests() throws Exception {
+            // given: 채점 정보가 캐시되어 있고, 같은 문제에 대한 요청 100건이 대기 중일 때
+            when(problemRepository.findById(1L)).thenReturn(Optional.of(createProblem(1L)));
+            GradingContext context = gradingContextCache.get(1L);
+
+            for (long id = 1; id <= 100; id++) {
+                messageQueue.enqueue(GradingData.builder().submissionId(id).problemId(1L).submittedAnswer("답안").build());
+            }
+
+            // when: 메트릭을 조회하면
+            double cachedBytes = meterRegistry.get("grading.context.cached.bytes").gauge().value();
+            double savedBytes = meterRegistry.get("grading.context.saved.bytes").gauge().value();
+
+            // then: 문제 정보 99건 분량의 메모리가 절약된 것으로 기록된다
+            assertAll(
+                    "메모리 절약 지표 검증",
+                    () -> assertThat(cachedBytes).isEqualTo(context.getEstimatedBytes()),
+                    () -> assertThat(savedBytes).isEqualTo(99.0 * context.getEstimatedBytes())
+            );
+        }
+    }
+}
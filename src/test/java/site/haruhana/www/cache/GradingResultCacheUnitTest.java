@@ -0,0 +1,117 @@
+package site.haruhana.www.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.service.AIService.GradingResult;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class GradingResultCacheUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GradingResultCache gradingResultCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gradingResultCache = new GradingResultCache(meterRegistry, 100, 60);
+    }
+
+    private GradingResultCache.Key keyOf(Long problemId, List<String> criteria, String answer) throws Exception {
+        Problem problem = Problem.subjectiveProblemBuilder()
+                .title("Test Problem")
+                .question("Test Question")
+                .category(ProblemCategory.KUBERNETES)
+                .difficulty(ProblemDifficulty.MEDIUM)
+                .provider(ProblemProvider.AI)
+                .sampleAnswer("Sample answer")
+                .build();
+        criteria.forEach(problem::addGradingCriteria);
+
+        Field idField = Problem.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(problem, problemId);
+
+        GradingData data = GradingData.builder()
+                .submissionId(1L)
+                .problemId(problemId)
+                .submittedAnswer(answer)
+                .build();
+
+        return gradingResultCache.keyOf(GradingContext.from(problem), data);
+    }
+
+    @Nested
+    @DisplayName("캐시 키")
+    class CacheKey {
+
+        @Test
+        @DisplayName("공백과 대소문자만 다른 답안은 같은 키를 가진다")
+        void answersDifferingOnlyInWhitespaceAndCaseShareKey() throws Exception {
+            // given: 공백과 대소문자만 다른 두 답안이 주어졌을 때
+            GradingResultCache.Key first = keyOf(1L, List.of("기준 1"), "Kubernetes Pod는   컨테이너의\n묶음입니다.");
+            GradingResultCache.Key second = keyOf(1L, List.of("기준 1"), "  kubernetes pod는 컨테이너의 묶음입니다.  ");
+
+            // when & then: 같은 캐시 키가 생성된다
+            assertThat(first).isEqualTo(second);
+        }
+
+        @Test
+        @DisplayName("문제나 채점 기준이 다르면 같은 답안이라도 다른 키를 가진다")
+        void differentProblemOrCriteriaProduceDifferentKeys() throws Exception {
+            // given: 같은 답안이지만 문제 또는 채점 기준이 다를 때
+            GradingResultCache.Key original = keyOf(1L, List.of("기준 1"), "답안");
+            GradingResultCache.Key otherProblem = keyOf(2L, List.of("기준 1"), "답안");
+            GradingResultCache.Key otherCriteria = keyOf(1L, List.of("기준 1", "기준 2"), "답안");
+
+            // when & then: 서로 다른 캐시 키가 생성된다
+            assertAll(
+                    "캐시 키 구분 검증",
+                    () -> assertThat(original).isNotEqualTo(otherProblem),
+                    () -> assertThat(original).isNotEqualTo(otherCriteria)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("캐시 조회")
+    class CacheLookup {
+
+        @Test
+        @DisplayName("저장된 채점 결과는 정규화된 같은 답안으로 조회되고 적중/누락이 기록된다")
+        void cachedResultIsReturnedAndStatsRecorded() throws Exception {
+            // given: 채점 결과가 저장되어 있을 때
+            GradingResult result = new GradingResult(85.0, true, "피드백");
+            gradingResultCache.put(keyOf(1L, List.of("기준 1"), "정답 입니다"), result);
+
+            // when: 같은 답안과 다른 답안으로 조회하면
+            GradingResult hit = gradingResultCache.get(keyOf(1L, List.of("기준 1"), "정답   입니다"));
+            GradingResult miss = gradingResultCache.get(keyOf(1L, List.of("기준 1"), "오답입니다"));
+
+            // then: 같은 답안은 저장된 결과를 반환하고, 적중/누락 메트릭이 기록된다
+            assertAll(
+                    "캐시 조회 검증",
+                    () -> assertThat(hit).isEqualTo(result),
+                    () -> assertThat(miss).isNull(),
+                    () -> assertThat(meterRegistry.get("cache.gets").tag("cache", "grading.result").tag("result", "hit")
+                            .functionCounter().count()).isEqualTo(1.0),
+                    () -> assertThat(meterRegistry.get("cache.gets").tag("cache", "grading.result").tag("result", "miss")
+                            .functionCounter().count()).isEqualTo(1.0)
+            );
+        }
+    }
+}
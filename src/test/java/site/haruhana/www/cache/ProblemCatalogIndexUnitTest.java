@@ -0,0 +1,605 @@
+package site.haruhana.www.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import site.haruhana.www.dto.KeysetCursor;
+import site.haruhana.www.dto.problem.ProblemSortType;
+import site.haruhana.www.dto.problem.ProblemSummaryDto;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.entity.problem.ProblemType;
+
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * 내장 DB(H2, MySQL 호환 모드)의 문제 목록으로 만든 인덱스의 조회와 갱신을 검증한다.
+ */
+class ProblemCatalogIndexUnitTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProblemCatalogIndex catalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        meterRegistry = new SimpleMeterRegistry();
+
+        jdbcTemplate.execute("""
+                CREATE TABLE problems
+                (
+                    id           BIGINT PRIMARY KEY,
+                    title        VARCHAR(255) NOT NULL,
+                    category     VARCHAR(50)  NOT NULL,
+                    difficulty   VARCHAR(20)  NOT NULL,
+                    type         VARCHAR(20)  NOT NULL,
+                    solved_count BIGINT       NOT NULL DEFAULT 0,
+                    created_at   DATETIME(6)  NOT NULL
+                )
+                """);
+
+        // 1번부터 순서대로 생성된 문제
+        insert(1L, ProblemCategory.PROCESS, ProblemDifficulty.EASY, ProblemType.MULTIPLE_CHOICE, 5);
+        insert(2L, ProblemCategory.THREAD, ProblemDifficulty.MEDIUM, ProblemType.SUBJECTIVE, 0);
+        insert(3L, ProblemCategory.PROCESS, ProblemDifficulty.HARD, ProblemType.SUBJECTIVE, 9);
+        insert(4L, ProblemCategory.PROCESS, ProblemDifficulty.EASY, ProblemType.SUBJECTIVE, 2);
+        insert(5L, ProblemCategory.THREAD, ProblemDifficulty.EASY, ProblemType.MULTIPLE_CHOICE, 7);
+
+        catalogIndex = new ProblemCatalogIndex(jdbcTemplate, meterRegistry, true);
+        catalogIndex.start();
+    }
+
+    private void insert(long id, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, long solvedCount) {
+        jdbcTemplate.update(
+                "INSERT INTO problems (id, title, category, difficulty, type, solved_count, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                id, "Problem " + id, category.name(), difficulty.name(), type.name(), solvedCount, Timestamp.valueOf(BASE_TIME.plusMinutes(id))
+        );
+    }
+
+    private Page<ProblemSummaryDto> find(int page, int size, ProblemSortType sortType, ProblemCategory category, ProblemDifficulty difficulty, ProblemType type, SolvedProblems excludedProblems) {
+        return catalogIndex.findProblems(PageRequest.of(page, size, sortType.getSort()), sortType, category, difficulty, type, excludedProblems);
+    }
+
+    private List<Long> ids(Page<ProblemSummaryDto> page) {
+        return page.getContent().stream().map(ProblemSummaryDto::getId).toList();
+    }
+
+    private List<Long> allIds(ProblemSortType sortType) {
+        return ids(find(0, 100, sortType, null, null, null, SolvedProblems.empty()));
+    }
+
+    @Nested
+    @DisplayName("조회")
+    class Query {
+
+        @Test
+        @DisplayName("서버 시작 시 DB의 문제 목록으로 인덱스를 만든다")
+        void rebuildsFromDatabaseOnStart() {
+            // when
+            Page<ProblemSummaryDto> page = find(0, 2, ProblemSortType.LATEST, null, null, null, SolvedProblems.empty());
+
+            // then
+            ProblemSummaryDto latest = page.getContent().get(0);
+            assertAll(
+                    "인덱스 생성 검증",
+                    () -> assertThat(catalogIndex.isReady()).isTrue(),
+                    () -> assertThat(catalogIndex.size()).isEqualTo(5),
+                    () -> assertThat(ids(page)).containsExactly(5L, 4L),
+                    () -> assertThat(page.getTotalElements()).isEqualTo(5),
+                    () -> assertThat(page.getTotalPages()).isEqualTo(3),
+                    () -> assertThat(latest.getTitle()).isEqualTo("Problem 5"),
+                    () -> assertThat(latest.getCategory()).isEqualTo(ProblemCategory.THREAD),
+                    () -> assertThat(latest.getDifficulty()).isEqualTo(ProblemDifficulty.EASY),
+                    () -> assertThat(latest.getType()).isEqualTo(ProblemType.MULTIPLE_CHOICE),
+                    () -> assertThat(latest.getSolvedCount()).isEqualTo(7),
+                    () -> assertThat(latest.getIsSolved()).isNull(),
+                    () -> assertThat(meterRegistry.get("problem.catalog.size").gauge().value()).isEqualTo(5.0)
+            );
+        }
+
+        @Test
+        @DisplayName("모든 정렬 기준에 따라 정렬된다")
+        void sortsBySortType() {
+            assertAll(
+                    "정렬 검증",
+                    () -> assertThat(allIds(ProblemSortType.LATEST)).containsExactly(5L, 4L, 3L, 2L, 1L),
+                    () -> assertThat(allIds(ProblemSortType.OLDEST)).containsExactly(1L, 2L, 3L, 4L, 5L),
+                    () -> assertThat(allIds(ProblemSortType.MOST_SOLVED)).containsExactly(3L, 5L, 1L, 4L, 2L),
+                    () -> assertThat(allIds(ProblemSortType.LEAST_SOLVED)).containsExactly(2L, 4L, 1L, 5L, 3L)
+            );
+        }
+
+        @Test
+        @DisplayName("카테고리, 난이도, 유형 필터와 제외할 문제를 함께 적용하고, 전체 개수도 필터를 반영한다")
+        void appliesFiltersAndExclusions() {
+            // when
+            Page<ProblemSummaryDto> process = find(0, 10, ProblemSortType.OLDEST, ProblemCategory.PROCESS, null, null, SolvedProblems.empty());
+            Page<ProblemSummaryDto> processEasy = find(0, 10, ProblemSortType.OLDEST, ProblemCategory.PROCESS, ProblemDifficulty.EASY, null, SolvedProblems.empty());
+            Page<ProblemSummaryDto> subjective = find(0, 10, ProblemSortType.MOST_SOLVED, null, null, ProblemType.SUBJECTIVE, SolvedProblems.of(List.of(3L)));
+            Page<ProblemSummaryDto> unsolved = find(0, 10, ProblemSortType.LATEST, null, null, null, SolvedProblems.of(List.of(1L, 5L, 99L)));
+
+            // then
+            assertAll(
+                    "필터 검증",
+                    () -> assertThat(ids(process)).containsExactly(1L, 3L, 4L),
+                    () -> assertThat(ids(processEasy)).containsExactly(1L, 4L),
+                    () -> assertThat(ids(subjective)).containsExactly(4L, 2L),
+                    () -> assertThat(subjective.getTotalElements()).isEqualTo(2),
+                    () -> assertThat(ids(unsolved)).containsExactly(4L, 3L, 2L),
+                    () -> assertThat(unsolved.getTotalElements()).isEqualTo(3)
+            );
+        }
+
+        @Test
+        @DisplayName("필터가 있을 때도 페이지 위치를 조건에 맞는 문제 기준으로 계산한다")
+        void pagesThroughFilteredResults() {
+            // when
+            Page<ProblemSummaryDto> second = find(1, 2, ProblemSortType.LATEST, ProblemCategory.PROCESS, null, null, SolvedProblems.empty());
+            Page<ProblemSummaryDto> beyond = find(5, 2, ProblemSortType.LATEST, ProblemCategory.PROCESS, null, null, SolvedProblems.empty());
+
+            // then
+            assertAll(
+                    "페이지 검증",
+                    () -> assertThat(ids(second)).containsExactly(1L),
+                    () -> assertThat(second.getTotalElements()).isEqualTo(3),
+                    () -> assertThat(second.hasNext()).isFalse(),
+                    () -> assertThat(beyond.getContent()).isEmpty(),
+                    () -> assertThat(beyond.getTotalElements()).isEqualTo(3)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("갱신")
+    class Update {
+
+        @Test
+        @DisplayName("새로 저장된 문제는 가장 최신 문제로 추가되고 필터에도 반영된다")
+        void addsNewProblem() {
+            // given
+            Problem problem = Problem.multipleChoiceProblemBuilder()
+                    .title("Problem 6")
+                    .question("새 문제")
+                    .category(ProblemCategory.THREAD)
+                    .difficulty(ProblemDifficulty.HARD)
+                    .provider(ProblemProvider.AI)
+                    .build();
+            setFieldValue(problem, "id", 6L);
+            setFieldValue(problem, "createdAt", BASE_TIME.plusMinutes(6));
+
+            // when
+            catalogIndex.add(problem);
+            catalogIndex.add(problem); // 같은 문제를 다시 추가해도 무시된다
+
+            // then
+            assertAll(
+                    "추가 검증",
+                    () -> assertThat(catalogIndex.size()).isEqualTo(6),
+                    () -> assertThat(allIds(ProblemSortType.LATEST)).containsExactly(6L, 5L, 4L, 3L, 2L, 1L),
+                    () -> assertThat(allIds(ProblemSortType.LEAST_SOLVED)).startsWith(2L, 6L), // 풀이 수가 같으면 ID순
+                    () -> assertThat(ids(find(0, 10, ProblemSortType.OLDEST, ProblemCategory.THREAD, ProblemDifficulty.HARD, null, SolvedProblems.empty())))
+                            .containsExactly(6L)
+            );
+        }
+
+        @Test
+        @DisplayName("문제 풀이 수가 늘어나면 풀이 수 정렬 순서가 바뀐다")
+        void reordersOnSolvedCountIncrement() {
+            // when: 풀이 수가 0인 2번 문제의 풀이 수가 3으로 커밋되면
+            catalogIndex.applySolvedCounts(Map.of(2L, 3L));
+
+            // then
+            assertAll(
+                    "풀이 수 갱신 검증",
+                    () -> assertThat(allIds(ProblemSortType.MOST_SOLVED)).containsExactly(3L, 5L, 1L, 2L, 4L),
+                    () -> assertThat(find(0, 10, ProblemSortType.OLDEST, ProblemCategory.THREAD, null, null, SolvedProblems.empty()).getContent().get(0).getSolvedCount())
+                            .isEqualTo(3)
+            );
+        }
+
+        @Test
+        @DisplayName("풀이 수가 여러 번 바뀌어도 (풀이 수, ID) 순서가 항상 정렬된 상태를 유지한다")
+        void keepsSolvedOrderSortedUnderRandomIncrements() {
+            // given: 풀이 수가 같은 문제가 많을 때
+            for (long id = 6; id <= 200; id++) {
+                insert(id, ProblemCategory.DEADLOCK, ProblemDifficulty.MEDIUM, ProblemType.SUBJECTIVE, id % 3);
+            }
+            catalogIndex.rebuild();
+
+            Map<Long, Long> expected = new HashMap<>();
+            jdbcTemplate.query("SELECT id, solved_count FROM problems", rs -> {
+                expected.put(rs.getLong("id"), rs.getLong("solved_count"));
+            });
+
+            // when: 무작위 문제의 풀이 수를 무작위로 늘리면
+            Random random = new Random(42);
+            for (int i = 0; i < 2000; i++) {
+                long problemId = 1 + random.nextInt(200);
+                int delta = 1 + random.nextInt(random.nextBoolean() ? 1 : 20);
+                expected.merge(problemId, (long) delta, Long::sum);
+                catalogIndex.applySolvedCounts(Map.of(problemId, expected.get(problemId)));
+            }
+
+            // then: 풀이 수가 정확하고, 정렬 순서가 유지된다 (풀이 수가 같으면 ID 내림차순)
+            List<ProblemSummaryDto> mostSolved = find(0, 500, ProblemSortType.MOST_SOLVED, null, null, null, SolvedProblems.empty()).getContent();
+            assertThat(mostSolved).hasSize(200);
+            for (int i = 0; i < mostSolved.size(); i++) {
+                ProblemSummaryDto problem = mostSolved.get(i);
+                assertThat(problem.getSolvedCount()).isEqualTo(expected.get(problem.getId()));
+                if (i > 0) {
+                    ProblemSummaryDto previous = mostSolved.get(i - 1);
+                    assertThat(problem.getSolvedCount()).isLessThanOrEqualTo(previous.getSolvedCount());
+                    if (problem.getSolvedCount() == previous.getSolvedCount()) {
+                        assertThat(problem.getId()).isLessThan(previous.getId());
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("여러 문제의 풀이 수를 한 번에 늘려도 (풀이 수, ID) 순서가 정렬된 상태를 유지한다")
+        void keepsSolvedOrderSortedUnderBatchIncrements() {
+            // given: 풀이 수가 같은 문제가 많을 때
+            for (long id = 6; id <= 200; id++) {
+                insert(id, ProblemCategory.DEADLOCK, ProblemDifficulty.MEDIUM, ProblemType.SUBJECTIVE, id % 3);
+            }
+            catalogIndex.rebuild();
+
+            Map<Long, Long> expected = new HashMap<>();
+            jdbcTemplate.query("SELECT id, solved_count FROM problems", rs -> {
+                expected.put(rs.getLong("id"), rs.getLong("solved_count"));
+            });
+
+            // when: 무작위 문제들의 풀이 수를 여러 번에 걸쳐 한 번에 늘리면 (인덱스에 없는 문제 포함)
+            Random random = new Random(7);
+            for (int round = 0; round < 50; round++) {
+                Map<Long, Long> deltas = new HashMap<>();
+                for (int i = 0; i < 1 + random.nextInt(40); i++) {
+                    deltas.merge(1L + random.nextInt(210), 1L + random.nextInt(random.nextBoolean() ? 1 : 20), Long::sum);
+                }
+                Map<Long, Long> committed = new HashMap<>();
+                deltas.forEach((problemId, delta) -> committed.put(problemId, expected.getOrDefault(problemId, 0L) + delta));
+                catalogIndex.applySolvedCounts(committed);
+                deltas.forEach((problemId, delta) -> expected.computeIfPresent(problemId, (id, count) -> count + delta));
+            }
+
+            // then: 풀이 수가 정확하고, 정렬 순서가 유지된다 (풀이 수가 같으면 ID 오름차순)
+            List<ProblemSummaryDto> leastSolved = find(0, 500, ProblemSortType.LEAST_SOLVED, null, null, null, SolvedProblems.empty()).getContent();
+            assertThat(leastSolved).hasSize(200);
+            for (int i = 0; i < leastSolved.size(); i++) {
+                ProblemSummaryDto problem = leastSolved.get(i);
+                assertThat(problem.getSolvedCount()).isEqualTo(expected.get(problem.getId()));
+                if (i > 0) {
+                    ProblemSummaryDto previous = leastSolved.get(i - 1);
+                    assertThat(problem.getSolvedCount()).isGreaterThanOrEqualTo(previous.getSolvedCount());
+                    if (problem.getSolvedCount() == previous.getSolvedCount()) {
+                        assertThat(problem.getId()).isGreaterThan(previous.getId());
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("다른 서버에서 추가된 문제는 DB와 맞출 때 인덱스에 추가되고 필터와 전체 개수에도 반영된다")
+        void refreshAddsProblemsInsertedElsewhere() {
+            // given: 인덱스를 거치지 않고 DB에 문제가 추가되었을 때 (늦게 커밋된 더 작은 ID 포함)
+            insert(7L, ProblemCategory.THREAD, ProblemDifficulty.HARD, ProblemType.SUBJECTIVE, 4);
+            insert(6L, ProblemCategory.THREAD, ProblemDifficulty.HARD, ProblemType.MULTIPLE_CHOICE, 0);
+            long beforeRefresh = catalogIndex.countProblems(ProblemCategory.THREAD, null, null, SolvedProblems.empty());
+
+            // when: DB와 맞추면
+            catalogIndex.refresh();
+
+            // then
+            assertAll(
+                    "추가 검증",
+                    () -> assertThat(beforeRefresh).isEqualTo(2),
+                    () -> assertThat(catalogIndex.size()).isEqualTo(7),
+                    () -> assertThat(allIds(ProblemSortType.LATEST)).containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L),
+                    () -> assertThat(allIds(ProblemSortType.MOST_SOLVED)).containsExactly(3L, 5L, 1L, 7L, 4L, 6L, 2L),
+                    () -> assertThat(catalogIndex.countProblems(ProblemCategory.THREAD, null, null, SolvedProblems.empty())).isEqualTo(4)
+            );
+        }
+
+        @Test
+        @DisplayName("DB와 맞출 때 다른 서버에서 늘어난 풀이 수는 반영하고, 더 큰 풀이 수는 줄이지 않는다")
+        void refreshAdoptsLargerSolvedCounts() {
+            // given: 다른 서버의 풀이 수 변경이 DB에 반영되었고, DB와 맞추기 위해 읽은 값보다 이후에 커밋된 풀이 수가 이미 반영되었을 때
+            jdbcTemplate.update("UPDATE problems SET solved_count = 20 WHERE id = 2");
+            catalogIndex.applySolvedCounts(Map.of(4L, 12L));
+
+            // when: DB와 맞추면
+            catalogIndex.refresh();
+
+            // then
+            assertAll(
+                    "풀이 수 검증",
+                    () -> assertThat(catalogIndex.findSolvedCount(2L)).hasValue(20),
+                    () -> assertThat(catalogIndex.findSolvedCount(4L)).hasValue(12),
+                    () -> assertThat(allIds(ProblemSortType.MOST_SOLVED)).containsExactly(2L, 4L, 3L, 5L, 1L)
+            );
+        }
+
+        @Test
+        @DisplayName("같은 풀이 수 변경이 DB와 맞출 때와 저널을 반영할 때 두 번 전달되어도 한 번만 반영된다")
+        void appliesCommittedSolvedCountOnce() {
+            // given: 다른 서버가 반영한 풀이 수 변경을 DB와 맞출 때 먼저 가져갔을 때
+            jdbcTemplate.update("UPDATE problems SET solved_count = solved_count + 3 WHERE id = 2");
+            catalogIndex.refresh();
+
+            // when: 같은 변경의 커밋된 풀이 수와, 그보다 먼저 커밋된 풀이 수가 뒤늦게 전달되면
+            catalogIndex.applySolvedCounts(Map.of(2L, 3L));
+            catalogIndex.applySolvedCounts(Map.of(2L, 1L));
+
+            // then: DB의 풀이 수와 같다
+            assertThat(catalogIndex.findSolvedCount(2L)).hasValue(3);
+        }
+
+        @Test
+        @DisplayName("문제가 추가되거나 풀이 수가 바뀌면 문제 목록 버전이 바뀌고, 바뀌지 않으면 그대로다")
+        void changesVersionOnChange() {
+            // given
+            String initial = catalogIndex.versionTag();
+
+            // when
+            catalogIndex.applySolvedCounts(Map.of(1L, 6L));
+            String afterIncrement = catalogIndex.versionTag();
+            catalogIndex.applySolvedCounts(Map.of(1L, 6L)); // 변경 없음
+            String afterNoOp = catalogIndex.versionTag();
+            Problem problem = Problem.multipleChoiceProblemBuilder()
+                    .title("Problem 6")
+                    .question("새 문제")
+                    .category(ProblemCategory.THREAD)
+                    .difficulty(ProblemDifficulty.HARD)
+                    .provider(ProblemProvider.AI)
+                    .build();
+            setFieldValue(problem, "id", 6L);
+            catalogIndex.add(problem);
+
+            // then
+            assertAll(
+                    "버전 검증",
+                    () -> assertThat(afterIncrement).isNotEqualTo(initial),
+                    () -> assertThat(afterNoOp).isEqualTo(afterIncrement),
+                    () -> assertThat(catalogIndex.versionTag()).isNotEqualTo(afterIncrement)
+            );
+        }
+
+        @Test
+        @DisplayName("문제 목록 버전은 내용으로 정해지므로, 같은 DB 상태를 반영한 서버는 인덱스가 없어도 같은 버전을 반환한다")
+        void versionIsSharedAcrossServers() {
+            // given: 같은 DB를 사용하는 다른 서버와, 인덱스가 비활성화된 서버
+            ProblemCatalogIndex otherServer = new ProblemCatalogIndex(jdbcTemplate, new SimpleMeterRegistry(), true);
+            otherServer.start();
+            ProblemCatalogIndex disabled = new ProblemCatalogIndex(jdbcTemplate, new SimpleMeterRegistry(), false);
+            disabled.start();
+            String initial = catalogIndex.versionTag();
+
+            // when: 이 서버에서 늘어난 풀이 수가 DB에 반영된 뒤, 다른 서버가 DB와 맞추면
+            jdbcTemplate.update("UPDATE problems SET solved_count = solved_count + 1 WHERE id = 2");
+            catalogIndex.applySolvedCounts(Map.of(2L, 1L));
+            String beforeRefresh = otherServer.versionTag();
+            otherServer.refresh();
+
+            // then
+            assertAll(
+                    "버전 공유 검증",
+                    () -> assertThat(beforeRefresh).isEqualTo(initial),
+                    () -> assertThat(otherServer.versionTag()).isEqualTo(catalogIndex.versionTag()).isNotEqualTo(initial),
+                    () -> assertThat(disabled.versionTag()).isEqualTo(catalogIndex.versionTag())
+            );
+        }
+
+        @Test
+        @DisplayName("인덱스에 없는 문제의 풀이 수 변경은 무시된다")
+        void ignoresUnknownProblem() {
+            // when
+            catalogIndex.applySolvedCounts(Map.of(99L, 1L));
+
+            // then
+            assertThat(allIds(ProblemSortType.MOST_SOLVED)).containsExactly(3L, 5L, 1L, 4L, 2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("전체 개수")
+    class Count {
+
+        @Test
+        @DisplayName("필터 조합별 문제 수는 문제가 추가될 때 함께 갱신된다")
+        void maintainsFilterCountsOnInsert() {
+            // given
+            Problem problem = Problem.subjectiveProblemBuilder()
+                    .title("Problem 6")
+                    .question("새 문제")
+                    .category(ProblemCategory.PROCESS)
+                    .difficulty(ProblemDifficulty.EASY)
+                    .provider(ProblemProvider.AI)
+                    .sampleAnswer("예시 답안")
+                    .build();
+            setFieldValue(problem, "id", 6L);
+            setFieldValue(problem, "createdAt", BASE_TIME.plusMinutes(6));
+
+            // when
+            catalogIndex.add(problem);
+
+            // then
+            assertAll(
+                    "필터 조합별 문제 수 검증",
+                    () -> assertThat(catalogIndex.countProblems(null, null, null, SolvedProblems.empty())).isEqualTo(6),
+                    () -> assertThat(catalogIndex.countProblems(ProblemCategory.PROCESS, null, null, SolvedProblems.empty())).isEqualTo(4),
+                    () -> assertThat(catalogIndex.countProblems(ProblemCategory.PROCESS, ProblemDifficulty.EASY, null, SolvedProblems.empty())).isEqualTo(3),
+                    () -> assertThat(catalogIndex.countProblems(ProblemCategory.PROCESS, ProblemDifficulty.EASY, ProblemType.SUBJECTIVE, SolvedProblems.empty())).isEqualTo(2),
+                    () -> assertThat(catalogIndex.countProblems(null, ProblemDifficulty.EASY, ProblemType.MULTIPLE_CHOICE, SolvedProblems.empty())).isEqualTo(2),
+                    () -> assertThat(catalogIndex.countProblems(ProblemCategory.DEADLOCK, null, null, SolvedProblems.empty())).isZero()
+            );
+        }
+
+        @Test
+        @DisplayName("미해결 문제만 조회하는 경우 해결한 문제 중 조건에 맞는 문제만 빼서 정확한 수를 계산한다")
+        void countsUnsolvedExactly() {
+            // given: 1번(PROCESS), 2번(THREAD), 인덱스에 없는 99번 문제를 해결한 사용자
+            SolvedProblems solved = SolvedProblems.of(List.of(1L, 2L, 99L));
+
+            // when & then
+            assertAll(
+                    "미해결 문제 수 검증",
+                    () -> assertThat(catalogIndex.countProblems(null, null, null, solved)).isEqualTo(3),
+                    () -> assertThat(catalogIndex.countProblems(ProblemCategory.PROCESS, null, null, solved)).isEqualTo(2),
+                    () -> assertThat(catalogIndex.countProblems(ProblemCategory.THREAD, ProblemDifficulty.EASY, null, solved)).isEqualTo(1)
+            );
+        }
+
+        @Test
+        @DisplayName("전체 개수 없이 조회하면 다음 페이지가 있는지만 확인한다")
+        void findsSliceWithoutTotal() {
+            // when
+            Slice<ProblemSummaryDto> first = catalogIndex.findProblemSlice(PageRequest.of(0, 2), ProblemSortType.LATEST, ProblemCategory.PROCESS, null, null, SolvedProblems.empty());
+            Slice<ProblemSummaryDto> last = catalogIndex.findProblemSlice(PageRequest.of(1, 2), ProblemSortType.LATEST, ProblemCategory.PROCESS, null, null, SolvedProblems.empty());
+            Slice<ProblemSummaryDto> unfiltered = catalogIndex.findProblemSlice(PageRequest.of(2, 2), ProblemSortType.OLDEST, null, null, null, SolvedProblems.empty());
+
+            // then
+            assertAll(
+                    "슬라이스 검증",
+                    () -> assertThat(first).isNotInstanceOf(Page.class),
+                    () -> assertThat(first.getContent()).extracting(ProblemSummaryDto::getId).containsExactly(4L, 3L),
+                    () -> assertThat(first.hasNext()).isTrue(),
+                    () -> assertThat(last.getContent()).extracting(ProblemSummaryDto::getId).containsExactly(1L),
+                    () -> assertThat(last.hasNext()).isFalse(),
+                    () -> assertThat(unfiltered.getContent()).extracting(ProblemSummaryDto::getId).containsExactly(5L),
+                    () -> assertThat(unfiltered.hasNext()).isFalse()
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("커서 조회")
+    class Cursor {
+
+        private Slice<ProblemSummaryDto> findByCursor(KeysetCursor cursor, int size, ProblemSortType sortType) {
+            return catalogIndex.findProblemsByCursor(cursor, size, sortType, null, null, null, SolvedProblems.empty());
+        }
+
+        @Test
+        @DisplayName("커서의 (정렬 키, ID) 다음 문제부터 조회하고, 이전 페이지 커서는 커서 앞의 문제를 정렬 순서로 반환한다")
+        void seeksFromCursor() {
+            // given: 풀이 수 많은 순서는 3(9), 5(7), 1(5), 4(2), 2(0)
+            KeysetCursor afterFive = KeysetCursor.next(ProblemSortType.MOST_SOLVED.name(), 7, 5L);
+            KeysetCursor beforeOne = KeysetCursor.prev(ProblemSortType.MOST_SOLVED.name(), 5, 1L);
+            KeysetCursor afterFour = KeysetCursor.next(ProblemSortType.LATEST.name(), KeysetCursor.toKey(BASE_TIME.plusMinutes(4)), 4L);
+
+            // when
+            Slice<ProblemSummaryDto> next = findByCursor(afterFive, 2, ProblemSortType.MOST_SOLVED);
+            Slice<ProblemSummaryDto> prev = findByCursor(beforeOne, 2, ProblemSortType.MOST_SOLVED);
+            Slice<ProblemSummaryDto> latest = findByCursor(afterFour, 2, ProblemSortType.LATEST);
+            Slice<ProblemSummaryDto> unsolved = catalogIndex.findProblemsByCursor(afterFour, 2, ProblemSortType.LATEST, null, null, null, SolvedProblems.of(List.of(3L)));
+
+            // then
+            assertAll(
+                    "커서 조회 검증",
+                    () -> assertThat(next.getContent()).extracting(ProblemSummaryDto::getId).containsExactly(1L, 4L),
+                    () -> assertThat(next.hasNext()).isTrue(),
+                    () -> assertThat(prev.getContent()).extracting(ProblemSummaryDto::getId).containsExactly(3L, 5L),
+                    () -> assertThat(prev.hasNext()).isFalse(),
+                    () -> assertThat(latest.getContent()).extracting(ProblemSummaryDto::getId).containsExactly(3L, 2L),
+                    () -> assertThat(latest.hasNext()).isTrue(),
+                    () -> assertThat(latest.getContent().get(0).getCreatedAt()).isEqualTo(BASE_TIME.plusMinutes(3)),
+                    () -> assertThat(unsolved.getContent()).extracting(ProblemSummaryDto::getId).containsExactly(2L, 1L),
+                    () -> assertThat(unsolved.hasNext()).isFalse()
+            );
+        }
+
+        @Test
+        @DisplayName("풀이 수가 같은 문제가 많아도 다음 페이지 커서를 따라가면 모든 문제를 중복 없이 한 번씩 조회한다")
+        void walksAllProblemsWithTies() {
+            // given
+            for (long id = 6; id <= 50; id++) {
+                insert(id, ProblemCategory.DEADLOCK, ProblemDifficulty.MEDIUM, ProblemType.SUBJECTIVE, id % 3);
+            }
+            catalogIndex.rebuild();
+            ProblemSortType sortType = ProblemSortType.LEAST_SOLVED;
+
+            // when: 첫 페이지 이후로는 다음 페이지 커서로만 조회
+            Slice<ProblemSummaryDto> slice = catalogIndex.findProblemSlice(PageRequest.of(0, 7), sortType, null, null, null, SolvedProblems.empty());
+            List<Long> walked = new ArrayList<>(slice.getContent().stream().map(ProblemSummaryDto::getId).toList());
+            KeysetCursor.Links links = KeysetCursor.Links.of(slice, null, sortType.name(), sortType::cursorKey, ProblemSummaryDto::getId);
+            while (links.next() != null) {
+                KeysetCursor cursor = KeysetCursor.decode(links.next(), sortType.name());
+                slice = findByCursor(cursor, 7, sortType);
+                slice.getContent().forEach(problem -> walked.add(problem.getId()));
+                links = KeysetCursor.Links.of(slice, cursor, sortType.name(), sortType::cursorKey, ProblemSummaryDto::getId);
+            }
+
+            // then
+            assertThat(walked).isEqualTo(allIds(sortType)).hasSize(50).doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    @DisplayName("비활성화된 경우 인덱스를 만들지 않아 DB에서 조회하도록 한다")
+    void notReadyWhenDisabled() {
+        // given
+        ProblemCatalogIndex disabled = new ProblemCatalogIndex(jdbcTemplate, new SimpleMeterRegistry(), false);
+
+        // when
+        disabled.start();
+
+        // then
+        assertAll(
+                "비활성화 검증",
+                () -> assertThat(disabled.isReady()).isFalse(),
+                () -> assertThat(disabled.size()).isZero()
+        );
+    }
+
+    /**
+     * 리플렉션을 사용하여 private 필드 값을 설정하는 helper 메서드 (상위 클래스의 필드 포함)
+     */
+    private void setFieldValue(Object object, String fieldName, Object value) {
+        try {
+            Class<?> type = object.getClass();
+            while (type != null) {
+                try {
+                    Field field = type.getDeclaredField(fieldName);
+                    field.setAccessible(true);
+                    field.set(object, value);
+                    return;
+                } catch (NoSuchFieldException e) {
+                    type = type.getSuperclass();
+                }
+            }
+            throw new NoSuchFieldException(fieldName);
+
+        } catch (Exception e) {
+            throw new RuntimeException("필드 값 설정 중 오류 발생", e);
+        }
+    }
+}
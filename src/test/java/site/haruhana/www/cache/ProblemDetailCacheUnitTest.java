@@ -0,0 +1,182 @@
+package site.haruhana.www.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import site.haruhana.www.dto.BaseResponse;
+import site.haruhana.www.dto.problem.ProblemDto;
+import site.haruhana.www.dto.problem.SerializedProblemDto;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.entity.problem.choice.ProblemOption;
+import site.haruhana.www.exception.ProblemNotFoundException;
+import site.haruhana.www.repository.ProblemRepository;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProblemDetailCacheUnitTest {
+
+    @Mock
+    private ProblemRepository problemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProblemDetailCache problemDetailCache;
+
+    @BeforeEach
+    void setUp() {
+        problemDetailCache = new ProblemDetailCache(problemRepository, objectMapper, transactionManager, new SimpleMeterRegistry(), 1024 * 1024, 60);
+    }
+
+    private Problem createMultipleChoiceProblem(Long id) throws Exception {
+        Problem problem = Problem.multipleChoiceProblemBuilder()
+                .title("Docker 이미지 레이어")
+                .question("Docker 이미지 레이어에 대한 설명으로 옳은 것은? \"캐시\"와 \\ 문자 포함")
+                .category(ProblemCategory.DOCKER)
+                .difficulty(ProblemDifficulty.EASY)
+                .provider(ProblemProvider.AI)
+                .build();
+        problem.addOption("각 명령어마다 읽기 전용 레이어가 생성된다", true);
+        problem.addOption("모든 레이어는 쓰기 가능하다", false);
+
+        setId(Problem.class, problem, id);
+        long optionId = id * 10;
+        for (ProblemOption option : problem.getProblemOptions()) {
+            setId(ProblemOption.class, option, ++optionId);
+        }
+
+        return problem;
+    }
+
+    private Problem createSubjectiveProblem(Long id) throws Exception {
+        Problem problem = Problem.subjectiveProblemBuilder()
+                .title("Kubernetes Pod")
+                .question("Pod와 컨테이너의 관계를 설명하세요.")
+                .category(ProblemCategory.KUBERNETES)
+                .difficulty(ProblemDifficulty.MEDIUM)
+                .provider(ProblemProvider.AI)
+                .sampleAnswer("Pod는 하나 이상의 컨테이너를 묶은 배포 단위입니다.")
+                .build();
+        problem.addGradingCriteria("Pod의 정의를 설명한다");
+
+        setId(Problem.class, problem, id);
+        return problem;
+    }
+
+    private static <T> void setId(Class<T> type, T target, Long id) throws Exception {
+        Field idField = type.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(target, id);
+    }
+
+    private JsonNode toResponseTree(Object data) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsString(BaseResponse.onSuccess("문제를 조회하는데 성공했습니다.", data)));
+    }
+
+    @Nested
+    @DisplayName("직렬화된 문제 상세 정보")
+    class Serialization {
+
+        @Test
+        @DisplayName("캐시된 내용에 풀이 수와 해결 여부를 덧붙인 응답은 문제 DTO를 직렬화한 응답과 같다")
+        void overlayMatchesProblemDto() throws Exception {
+            // given: 풀이 수가 3인 객관식 문제가 존재할 때
+            Problem problem = createMultipleChoiceProblem(1L);
+            Field solvedCountField = Problem.class.getDeclaredField("solvedCount");
+            solvedCountField.setAccessible(true);
+            solvedCountField.set(problem, 3L);
+            when(problemRepository.findById(1L)).thenReturn(Optional.of(problem));
+
+            // when: 캐시된 내용에 풀이 수와 해결 여부를 덧붙여 응답을 만들면
+            String content = problemDetailCache.get(1L);
+            JsonNode solved = toResponseTree(new SerializedProblemDto(content, 3, true));
+            JsonNode anonymous = toResponseTree(new SerializedProblemDto(content, 3, null));
+
+            // then: 문제 DTO를 직렬화한 응답과 같은 JSON이 만들어진다
+            assertAll(
+                    "직렬화 결과 검증",
+                    () -> assertThat(content).doesNotContain("solvedCount", "isSolved"),
+                    () -> assertThat(solved).isEqualTo(toResponseTree(ProblemDto.from(problem, true))),
+                    () -> assertThat(anonymous).isEqualTo(toResponseTree(ProblemDto.from(problem))),
+                    () -> assertThat(anonymous.get("data").has("isSolved")).isFalse()
+            );
+        }
+
+        @Test
+        @DisplayName("요청마다 다른 풀이 수와 해결 여부를 덧붙여도 캐시된 내용은 다시 조회되지 않는다")
+        void overlayDoesNotReloadContent() throws Exception {
+            // given: 주관식 문제가 캐시되어 있을 때
+            when(problemRepository.findById(2L)).thenReturn(Optional.of(createSubjectiveProblem(2L)));
+            String content = problemDetailCache.get(2L);
+
+            // when: 다른 풀이 수와 해결 여부로 응답을 만들면
+            JsonNode first = toResponseTree(new SerializedProblemDto(problemDetailCache.get(2L), 5, false));
+            JsonNode second = toResponseTree(new SerializedProblemDto(problemDetailCache.get(2L), 6, true));
+
+            // then: 요청마다 다른 값이 응답되고 문제는 한 번만 조회된다
+            assertAll(
+                    "덧붙인 값 검증",
+                    () -> assertThat(problemDetailCache.get(2L)).isSameAs(content),
+                    () -> assertThat(first.at("/data/solvedCount").asLong()).isEqualTo(5),
+                    () -> assertThat(first.at("/data/isSolved").asBoolean()).isFalse(),
+                    () -> assertThat(second.at("/data/solvedCount").asLong()).isEqualTo(6),
+                    () -> assertThat(second.at("/data/isSolved").asBoolean()).isTrue(),
+                    () -> assertThat(second.at("/data/title").asText()).isEqualTo("Kubernetes Pod"),
+                    () -> verify(problemRepository, times(1)).findById(2L)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("캐시 관리")
+    class Invalidation {
+
+        @Test
+        @DisplayName("캐시에서 제거한 문제는 다음 조회 시 다시 조회된다")
+        void invalidatedProblemIsReloaded() throws Exception {
+            // given: 문제가 캐시되어 있을 때
+            when(problemRepository.findById(2L)).thenReturn(Optional.of(createSubjectiveProblem(2L)));
+            problemDetailCache.get(2L);
+
+            // when: 캐시에서 제거한 뒤 다시 조회하면
+            problemDetailCache.invalidate(2L);
+            problemDetailCache.get(2L);
+
+            // then: 문제를 다시 조회한다
+            verify(problemRepository, times(2)).findById(2L);
+        }
+
+        @Test
+        @DisplayName("존재하지 않는 문제를 조회하면 예외가 발생한다")
+        void missingProblemThrowsException() {
+            // given: 문제가 존재하지 않을 때
+            when(problemRepository.findById(99L)).thenReturn(Optional.empty());
+
+            // when & then: 예외가 발생한다
+            assertThatThrownBy(() -> problemDetailCache.get(99L))
+                    .isInstanceOf(ProblemNotFoundException.class);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package site.haruhana.www.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import site.haruhana.www.repository.SubmissionRepository;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SolvedProblemCacheUnitTest {
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SolvedProblemCache solvedProblemCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        solvedProblemCache = new SolvedProblemCache(submissionRepository, meterRegistry, 1024 * 1024, 30, 10);
+    }
+
+    @Nested
+    @DisplayName("해결한 문제 집합 캐시")
+    class Caching {
+
+        @Test
+        @DisplayName("처음 조회할 때만 DB에서 불러오고, 이후에는 캐시된 집합을 사용한다")
+        void loadsOnceFromDatabase() {
+            // given
+            when(submissionRepository.findProblemIdsSolvedCorrectlyByUserId(1L)).thenReturn(List.of(3L, 7L));
+
+            // when
+            SolvedProblems first = solvedProblemCache.get(1L);
+            SolvedProblems second = solvedProblemCache.get(1L);
+
+            // then
+            verify(submissionRepository, times(1)).findProblemIdsSolvedCorrectlyByUserId(1L);
+            assertAll(
+                    "캐시 검증",
+                    () -> assertThat(second).isSameAs(first),
+                    () -> assertThat(first.contains(3L)).isTrue(),
+                    () -> assertThat(first.contains(5L)).isFalse(),
+                    () -> assertThat(first.size()).isEqualTo(2),
+                    () -> assertThat(meterRegistry.get("cache.gets").tag("cache", "problem.solved").tag("result", "hit").functionCounter().count()).isEqualTo(1.0)
+            );
+        }
+
+        @Test
+        @DisplayName("정답으로 채점되면 캐시된 집합에 문제가 추가되고, 이전에 조회한 집합은 바뀌지 않는다")
+        void marksSolvedIncrementally() {
+            // given
+            when(submissionRepository.findProblemIdsSolvedCorrectlyByUserId(1L)).thenReturn(List.of(3L));
+            SolvedProblems before = solvedProblemCache.get(1L);
+
+            // when
+            solvedProblemCache.markSolved(1L, 9L);
+
+            // then
+            SolvedProblems after = solvedProblemCache.get(1L);
+            verify(submissionRepository, times(1)).findProblemIdsSolvedCorrectlyByUserId(1L);
+            assertAll(
+                    "갱신 검증",
+                    () -> assertThat(after.contains(9L)).isTrue(),
+                    () -> assertThat(after.contains(3L)).isTrue(),
+                    () -> assertThat(before.contains(9L)).isFalse()
+            );
+        }
+
+        @Test
+        @DisplayName("다른 서버에서 해결한 문제가 있으면 DB의 해결한 문제 수가 달라 다시 불러온다")
+        void reloadsWhenSolvedElsewhere() {
+            // given: 캐시된 후 다른 서버에서 문제 9를 해결했을 때
+            when(submissionRepository.findProblemIdsSolvedCorrectlyByUserId(1L)).thenReturn(List.of(3L), List.of(3L, 9L));
+            SolvedProblems before = solvedProblemCache.get(1L);
+            when(submissionRepository.countProblemsSolvedCorrectlyByUserId(1L)).thenReturn(2L);
+
+            // when: 캐시된 집합을 DB와 확인하면
+            solvedProblemCache.refresh(1L);
+
+            // then: 다시 불러온 집합에 문제 9가 포함된다
+            SolvedProblems after = solvedProblemCache.get(1L);
+            assertAll(
+                    "다시 불러오기 검증",
+                    () -> assertThat(before.contains(9L)).isFalse(),
+                    () -> assertThat(after.contains(9L)).isTrue(),
+                    () -> assertThat(after.version()).isEqualTo(2)
+            );
+        }
+
+        @Test
+        @DisplayName("DB의 해결한 문제 수가 같다면 해결한 문제 목록을 다시 조회하지 않는다")
+        void keepsCachedWhenUnchanged() {
+            // given
+            when(submissionRepository.findProblemIdsSolvedCorrectlyByUserId(1L)).thenReturn(List.of(3L, 7L));
+            SolvedProblems cached = solvedProblemCache.get(1L);
+            when(submissionRepository.countProblemsSolvedCorrectlyByUserId(1L)).thenReturn(2L);
+
+            // when
+            solvedProblemCache.refresh(1L);
+
+            // then
+            verify(submissionRepository, times(1)).findProblemIdsSolvedCorrectlyByUserId(1L);
+            assertThat(solvedProblemCache.get(1L)).isSameAs(cached);
+        }
+
+        @Test
+        @DisplayName("캐시에 없는 사용자의 정답은 무시하고, 다음 조회 시 DB에서 불러온다")
+        void ignoresUncachedUser() {
+            // when
+            solvedProblemCache.markSolved(2L, 9L);
+
+            // then
+            when(submissionRepository.findProblemIdsSolvedCorrectlyByUserId(2L)).thenReturn(List.of(9L));
+            assertThat(solvedProblemCache.get(2L).contains(9L)).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("압축 비트맵 집합")
+    class Bitmap {
+
+        @Test
+        @DisplayName("수천 개의 문제를 해결해도 ID마다 객체를 만들 때보다 훨씬 작은 크기로 보관한다")
+        void storesManyProblemsCompactly() {
+            // given: 5000개의 문제를 해결한 사용자
+            List<Long> problemIds = LongStream.rangeClosed(1, 10000).filter(id -> id % 2 == 0).boxed().toList();
+
+            // when
+            SolvedProblems solved = SolvedProblems.of(problemIds);
+
+            // then
+            assertAll(
+                    "압축 검증",
+                    () -> assertThat(solved.size()).isEqualTo(5000),
+                    () -> assertThat(solved.contains(10000L)).isTrue(),
+                    () -> assertThat(solved.contains(9999L)).isFalse(),
+                    () -> assertThat(solved.estimatedBytes()).isLessThan(5000 * 8),
+                    () -> assertThat(solved.toSet()).hasSize(5000).contains(2L, 10000L)
+            );
+        }
+
+        @Test
+        @DisplayName("같은 문제를 담은 집합은 버전이 같고, 문제가 추가되면 버전이 올라간다")
+        void versionFollowsContent() {
+            // given
+            SolvedProblems solved = SolvedProblems.of(List.of(3L, 7L));
+
+            // when & then
+            assertAll(
+                    "버전 검증",
+                    () -> assertThat(SolvedProblems.of(List.of(7L, 3L)).version()).isEqualTo(solved.version()),
+                    () -> assertThat(solved.with(9L).version()).isGreaterThan(solved.version()),
+                    () -> assertThat(solved.with(3L).version()).isEqualTo(solved.version())
+            );
+        }
+
+        @Test
+        @DisplayName("이미 포함된 문제나 범위를 벗어난 문제를 추가하면 같은 집합을 반환한다")
+        void withIsNoOpForExistingOrOutOfRange() {
+            // given
+            SolvedProblems solved = SolvedProblems.of(List.of(1L));
+
+            // when & then
+            assertAll(
+                    "추가 검증",
+                    () -> assertThat(solved.with(1L)).isSameAs(solved),
+                    () -> assertThat(solved.with(Long.MAX_VALUE)).isSameAs(solved),
+                    () -> assertThat(solved.contains(Long.MAX_VALUE)).isFalse(),
+                    () -> assertThat(SolvedProblems.empty().isEmpty()).isTrue()
+            );
+        }
+    }
+}
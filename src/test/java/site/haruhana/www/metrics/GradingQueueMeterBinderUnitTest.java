@@ -0,0 +1,113 @@
+package site.haruhana.www.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.queue.message.GradingRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GradingQueueMeterBinderUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InMemorySubmissionMessageQueue messageQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        messageQueue = new InMemorySubmissionMessageQueue(new GradingMetrics(meterRegistry));
+        new GradingQueueMeterBinder(messageQueue).bindTo(meterRegistry);
+    }
+
+    private GradingData createGradingData(Long id) {
+        return GradingData.builder()
+                .submissionId(id)
+                .problemId(1L)
+                .userId(1L)
+                .submittedAnswer("Test Answer")
+                .build();
+    }
+
+    private double depth(String priority) {
+        return meterRegistry.get("grading.queue.depth").tag("priority", priority).gauge().value();
+    }
+
+    @Test
+    @DisplayName("대기열의 우선순위별 크기와 가장 오래된 요청의 대기 시간을 게이지로 내보낸다")
+    void exposesQueueDepthAndOldestAge() throws InterruptedException {
+        // given: 일반 요청 두 개와 높은 우선순위 요청 하나가 대기 중일 때
+        messageQueue.enqueue(createGradingData(1L));
+        messageQueue.enqueue(createGradingData(2L));
+        messageQueue.prioritize(createGradingData(3L));
+
+        // when: 잠시 기다리면
+        Thread.sleep(50);
+
+        // then: 우선순위별 크기와 대기 시간이 보고된다
+        assertAll(
+                "대기열 게이지 검증",
+                () -> assertThat(depth("high")).isEqualTo(1.0),
+                () -> assertThat(depth("normal")).isEqualTo(2.0),
+                () -> assertThat(meterRegistry.get("grading.queue.oldest.age.ms").gauge().value()).isGreaterThanOrEqualTo(50.0)
+        );
+    }
+
+    @Test
+    @DisplayName("요청을 꺼내면 대기 시간이 기록되고, 대기열이 비면 게이지가 0이 된다")
+    void recordsQueueWaitOnDequeue() throws InterruptedException {
+        // given
+        messageQueue.enqueue(createGradingData(1L));
+        Thread.sleep(20);
+
+        // when
+        messageQueue.dequeue();
+
+        // then
+        assertAll(
+                "대기 시간 검증",
+                () -> assertThat(meterRegistry.get("grading.queue.wait").timer().count()).isEqualTo(1),
+                () -> assertThat(meterRegistry.get("grading.queue.wait").timer().max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20.0),
+                () -> assertThat(depth("normal")).isZero(),
+                () -> assertThat(meterRegistry.get("grading.queue.oldest.age.ms").gauge().value()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("한 번의 메트릭 조회에서 여러 게이지를 읽어도 대기열 상태는 한 번만 조회한다")
+    void takesOneSnapshotPerScrape() {
+        // given: 대기열 상태 조회 비용이 큰 대기열일 때
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SubmissionMessageQueue queue = mock(SubmissionMessageQueue.class);
+        when(queue.snapshot()).thenReturn(new SubmissionMessageQueue.Snapshot(
+                Map.of(GradingRequest.HIGHEST_PRIORITY, 1, GradingRequest.NORMAL_PRIORITY, 2), 100
+        ));
+        new GradingQueueMeterBinder(queue).bindTo(registry);
+
+        // when: 모든 게이지를 읽으면
+        double high = registry.get("grading.queue.depth").tag("priority", "high").gauge().value();
+        double normal = registry.get("grading.queue.depth").tag("priority", "normal").gauge().value();
+        double oldest = registry.get("grading.queue.oldest.age.ms").gauge().value();
+
+        // then: 같은 상태를 읽고 대기열은 한 번만 조회된다
+        assertAll(
+                "스냅샷 재사용 검증",
+                () -> assertThat(high).isEqualTo(1.0),
+                () -> assertThat(normal).isEqualTo(2.0),
+                () -> assertThat(oldest).isEqualTo(100.0),
+                () -> verify(queue, times(1)).snapshot()
+        );
+    }
+}
@@ -6,8 +6,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
 import site.haruhana.www.controller.ProblemController;
 import site.haruhana.www.dto.BaseResponse;
 import site.haruhana.www.dto.problem.ProblemPage;
@@ -72,7 +74,10 @@ class ProblemListPerformanceTest {
                     params.type,
                     params.sortType,
                     false,  // 비인증 사용자는 미해결 문제 필터 사용 불가
-                    null    // 비인증 사용자 (AuthenticationPrincipal이 null)
+                    true,   // 전체 페이지 수와 전체 문제 수 포함
+                    null,   // 페이지 번호로 조회 (커서 없음)
+                    null,   // 비인증 사용자 (AuthenticationPrincipal이 null)
+                    new ServletWebRequest(new MockHttpServletRequest()) // 조건부 요청 헤더 없음
             ).getBody();
 
             long endTime = System.nanoTime();
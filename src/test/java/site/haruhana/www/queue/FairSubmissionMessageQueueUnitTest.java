@@ -0,0 +1,190 @@
+package site.haruhana.www.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.FairSubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class FairSubmissionMessageQueueUnitTest {
+
+    private static final long QUANTUM = 100;
+
+    private static final long AGING_INTERVAL_MILLIS = 60_000;
+
+    private FairSubmissionMessageQueue messageQueue;
+
+    @BeforeEach
+    void setUp() {
+        messageQueue = new FairSubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()), QUANTUM, AGING_INTERVAL_MILLIS);
+    }
+
+    private GradingData createGradingData(Long id, Long userId) {
+        return createGradingData(id, userId, "Test Answer");
+    }
+
+    private GradingData createGradingData(Long id, Long userId, String answer) {
+        return GradingData.builder()
+                .submissionId(id)
+                .problemId(1L)
+                .userId(userId)
+                .submittedAnswer(answer)
+                .build();
+    }
+
+    private List<Long> drain() throws InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        GradingData data;
+        while ((data = messageQueue.dequeue()) != null) {
+            ids.add(data.getSubmissionId());
+        }
+        return ids;
+    }
+
+    @Nested
+    @DisplayName("우선순위와 FIFO 순서")
+    class PriorityOrdering {
+
+        @Test
+        @DisplayName("한 사용자의 요청은 우선순위가 높은 항목부터, 같은 우선순위에서는 추가된 순서대로 처리된다")
+        void singleUserKeepsFifoWithinPriority() throws InterruptedException {
+            // given: 한 사용자의 일반 항목과 우선순위 항목이 섞여 추가되었을 때
+            messageQueue.enqueue(createGradingData(1L, 1L));
+            messageQueue.prioritize(createGradingData(2L, 1L));
+            messageQueue.enqueue(createGradingData(3L, 1L));
+            messageQueue.prioritize(createGradingData(4L, 1L));
+            messageQueue.enqueue(createGradingData(5L, 1L));
+
+            // when & then: 우선순위 항목이 먼저, 각 우선순위 안에서는 FIFO 순서로 처리된다
+            assertThat(drain()).containsExactly(2L, 4L, 1L, 3L, 5L);
+        }
+
+        @Test
+        @DisplayName("다른 사용자의 일반 항목보다 우선순위 항목이 먼저 처리된다")
+        void priorityItemsOfOtherUsersComeFirst() throws InterruptedException {
+            // given: 한 사용자의 일반 항목 뒤에 다른 사용자의 우선순위 항목이 추가되었을 때
+            messageQueue.enqueue(createGradingData(1L, 1L));
+            messageQueue.enqueue(createGradingData(2L, 1L));
+            messageQueue.prioritize(createGradingData(3L, 2L));
+
+            // when & then: 우선순위 항목이 먼저 처리된다
+            assertThat(drain()).containsExactly(3L, 1L, 2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("사용자별 공정 스케줄링")
+    class FairScheduling {
+
+        @Test
+        @DisplayName("한 사용자가 많은 답안을 제출해도 다른 사용자의 답안이 번갈아 처리된다")
+        void usersAreServedInRoundRobin() throws InterruptedException {
+            // given: 1번 사용자가 먼저 5개, 2번과 3번 사용자가 나중에 각각 2개를 제출했을 때
+            for (long id = 1; id <= 5; id++) {
+                messageQueue.enqueue(createGradingData(id, 1L));
+            }
+            messageQueue.enqueue(createGradingData(21L, 2L));
+            messageQueue.enqueue(createGradingData(22L, 2L));
+            messageQueue.enqueue(createGradingData(31L, 3L));
+            messageQueue.enqueue(createGradingData(32L, 3L));
+
+            // when & then: 사용자별로 번갈아 처리되고, 각 사용자의 답안은 제출 순서대로 처리된다
+            assertThat(drain()).containsExactly(1L, 21L, 31L, 2L, 22L, 32L, 3L, 4L, 5L);
+        }
+
+        @Test
+        @DisplayName("긴 답안은 길이에 비례하여 여러 차례의 몫을 모아야 처리된다")
+        void longAnswersConsumeMoreDeficit() throws InterruptedException {
+            // given: 1번 사용자는 quantum의 3배 길이 답안을, 2번 사용자는 짧은 답안을 여러 개 제출했을 때
+            messageQueue.enqueue(createGradingData(1L, 1L, "a".repeat((int) QUANTUM * 3)));
+            messageQueue.enqueue(createGradingData(2L, 1L, "a".repeat((int) QUANTUM * 3)));
+            for (long id = 21; id <= 26; id++) {
+                messageQueue.enqueue(createGradingData(id, 2L, "a".repeat((int) QUANTUM / 2)));
+            }
+
+            // when & then: 긴 답안 하나를 처리할 몫이 쌓이는 동안 짧은 답안은 차례마다 하나씩 처리된다
+            assertThat(drain()).containsExactly(21L, 22L, 1L, 23L, 24L, 25L, 2L, 26L);
+        }
+
+        @Test
+        @DisplayName("대기 중인 요청이 없어졌다가 다시 들어온 사용자는 라운드 로빈의 마지막 차례가 된다")
+        void returningUserJoinsAtTheEnd() throws InterruptedException {
+            // given: 1번 사용자의 요청이 모두 처리된 뒤 다시 제출했을 때
+            messageQueue.enqueue(createGradingData(1L, 1L));
+            messageQueue.enqueue(createGradingData(21L, 2L));
+            messageQueue.enqueue(createGradingData(22L, 2L));
+            messageQueue.dequeue();
+            messageQueue.enqueue(createGradingData(2L, 1L));
+
+            // when & then: 이미 대기 중이던 2번 사용자의 요청 다음에 처리된다
+            assertThat(drain()).containsExactly(21L, 2L, 22L);
+        }
+    }
+
+    @Nested
+    @DisplayName("에이징")
+    class Aging {
+
+        @Test
+        @DisplayName("오래 기다린 일반 항목은 새로 들어온 우선순위 항목보다 먼저 처리된다")
+        void longWaitingNormalItemsArePromoted() throws InterruptedException {
+            // given: 에이징 간격이 짧은 큐에 일반 항목이 충분히 오래 기다렸을 때
+            messageQueue = new FairSubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()), QUANTUM, 5);
+            messageQueue.enqueue(createGradingData(1L, 1L));
+            Thread.sleep(100);
+
+            // when: 다른 사용자의 우선순위 항목이 새로 추가되면
+            messageQueue.prioritize(createGradingData(2L, 2L));
+            messageQueue.prioritize(createGradingData(3L, 2L));
+
+            // then: 오래 기다린 일반 항목이 먼저 처리된다
+            assertThat(drain()).containsExactly(1L, 2L, 3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("대기")
+    class Waiting {
+
+        @Test
+        @DisplayName("큐가 비어있으면 요청이 추가될 때까지 기다리고, 대기 시간이 지나면 null을 반환한다")
+        void timedDequeueWaitsForRequest() throws InterruptedException {
+            // given: 잠시 후 다른 스레드가 요청을 추가할 때
+            CountDownLatch started = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                messageQueue.enqueue(createGradingData(1L, 1L));
+            });
+            producer.start();
+            started.await();
+
+            // when: 요청을 기다리면
+            GradingData result = messageQueue.dequeue(5, TimeUnit.SECONDS);
+            GradingData timedOut = messageQueue.dequeue(50, TimeUnit.MILLISECONDS);
+
+            // then: 추가된 요청을 받고, 이후에는 대기 시간이 지나 null을 받는다
+            assertAll(
+                    "대기 동작 검증",
+                    () -> assertThat(result.getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(timedOut).isNull(),
+                    () -> assertThat(messageQueue.isEmpty()).isTrue()
+            );
+        }
+    }
+}
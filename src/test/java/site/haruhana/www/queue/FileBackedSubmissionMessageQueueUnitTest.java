@@ -0,0 +1,333 @@
+package site.haruhana.www.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.FileBackedSubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class FileBackedSubmissionMessageQueueUnitTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private FileBackedSubmissionMessageQueue messageQueue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        messageQueue = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        messageQueue.close();
+    }
+
+    private FileBackedSubmissionMessageQueue open() throws IOException {
+        return new FileBackedSubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()), directory.toString(), SEGMENT_SIZE, 5, true);
+    }
+
+    private FileBackedSubmissionMessageQueue reopen() throws IOException {
+        messageQueue.close();
+        messageQueue = open();
+        return messageQueue;
+    }
+
+    private GradingData createGradingData(Long id) {
+        return GradingData.builder()
+                .submissionId(id)
+                .problemId(1L)
+                .submittedAnswer("Test Answer " + id)
+                .build();
+    }
+
+    private List<Long> drain() throws InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        GradingData data;
+        while ((data = messageQueue.dequeue()) != null) {
+            ids.add(data.getSubmissionId());
+        }
+        return ids;
+    }
+
+    private long countSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Nested
+    @DisplayName("기본 큐 작업")
+    class BasicQueueOperations {
+
+        @Test
+        @DisplayName("큐가 비어있을 때 dequeue는 null을 반환한다")
+        void dequeueReturnsNullWhenQueueIsEmpty() throws InterruptedException {
+            // given: 비어있는 큐가 주어졌을 때
+
+            // when: dequeue를 수행하면
+            GradingData result = messageQueue.dequeue();
+
+            // then: null이 반환된다
+            assertAll(
+                    "빈 큐 검증",
+                    () -> assertThat(result).isNull(),
+                    () -> assertThat(messageQueue.isEmpty()).isTrue(),
+                    () -> assertThat(messageQueue.size()).isZero()
+            );
+        }
+
+        @Test
+        @DisplayName("대기 시간을 지정한 dequeue는 항목이 추가될 때까지 기다린다")
+        void timedDequeueWaitsForNewItem() throws Exception {
+            // given: 비어있는 큐와 잠시 후 항목을 추가하는 생산자가 주어졌을 때
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            executor.submit(() -> {
+                Thread.sleep(100);
+                messageQueue.enqueue(createGradingData(1L));
+                return null;
+            });
+
+            // when: 대기 시간을 지정하여 dequeue를 수행하면
+            GradingData result = messageQueue.dequeue(5, TimeUnit.SECONDS);
+            GradingData timedOut = messageQueue.dequeue(50, TimeUnit.MILLISECONDS);
+            executor.shutdown();
+
+            // then: 추가된 항목을 받고, 이후에는 대기 시간이 지나면 null이 반환된다
+            assertAll(
+                    "블로킹 dequeue 검증",
+                    () -> assertThat(result.getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(timedOut).isNull()
+            );
+        }
+
+        @Test
+        @DisplayName("우선순위 그룹이 먼저 FIFO로 처리되고, 그 다음 일반 항목이 FIFO로 처리된다")
+        void queueMaintainsFifoOrderWithinPriorityGroups() throws InterruptedException {
+            // given: 일반 항목과 우선순위 항목이 섞여있을 때
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.prioritize(createGradingData(3L));
+            messageQueue.enqueue(createGradingData(2L));
+            messageQueue.enqueue(createGradingData(4L));
+            messageQueue.prioritize(createGradingData(5L));
+
+            // when: 모든 항목을 꺼내면
+            List<Long> ids = drain();
+
+            // then: 우선순위 그룹 내에서 FIFO 순서가 보장된다
+            assertThat(ids).containsExactly(3L, 5L, 1L, 2L, 4L);
+        }
+
+        @Test
+        @DisplayName("채점 데이터의 모든 필드가 그대로 보존된다")
+        void gradingDataFieldsArePreserved() throws Exception {
+            // given: 채점 데이터를 큐에 추가하고 재시작했을 때
+            messageQueue.enqueue(createGradingData(1L));
+            reopen();
+
+            // when: 채점 데이터를 꺼내면
+            GradingData data = messageQueue.dequeue();
+
+            // then: 모든 필드가 동일하다
+            assertAll(
+                    "필드 보존 검증",
+                    () -> assertThat(data.getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(data.getProblemId()).isEqualTo(1L),
+                    () -> assertThat(data.getSubmittedAnswer()).isEqualTo("Test Answer 1")
+            );
+        }
+
+        @Test
+        @DisplayName("이미 대기 중인 제출을 다시 추가하면 중복으로 기록되지 않는다")
+        void duplicatedEnqueueIsIgnored() throws InterruptedException {
+            // given: 대기 중인 항목이 있을 때
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.enqueue(createGradingData(2L));
+
+            // when: 같은 제출을 일반 우선순위로 다시 추가하고, 다른 제출은 높은 우선순위로 다시 추가하면
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.prioritize(createGradingData(2L));
+
+            // then: 중복 없이 높은 우선순위로 변경된 항목이 먼저 처리된다
+            assertAll(
+                    "중복 제거 검증",
+                    () -> assertThat(messageQueue.size()).isEqualTo(2),
+                    () -> assertThat(drain()).containsExactly(2L, 1L)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("재시작 복구")
+    class Recovery {
+
+        @Test
+        @DisplayName("확인되지 않은 요청은 재시작 후 기존 순서대로 복구된다")
+        void unacknowledgedRequestsAreReplayedInOrder() throws Exception {
+            // given: 우선순위가 섞인 요청이 큐에 있고, 일부는 채점 완료, 일부는 채점 중일 때
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.enqueue(createGradingData(2L));
+            messageQueue.prioritize(createGradingData(3L));
+            messageQueue.enqueue(createGradingData(4L));
+            messageQueue.prioritize(createGradingData(5L));
+
+            GradingData graded = messageQueue.dequeue(); // 3번: 채점 완료
+            messageQueue.acknowledge(graded);
+            messageQueue.dequeue(); // 5번: 채점 중 종료
+
+            // when: 큐를 다시 열면
+            reopen();
+
+            // then: 확인되지 않은 요청만 기존 우선순위와 FIFO 순서대로 복구된다
+            assertAll(
+                    "복구 결과 검증",
+                    () -> assertThat(messageQueue.size()).isEqualTo(4),
+                    () -> assertThat(drain()).containsExactly(5L, 1L, 2L, 4L)
+            );
+        }
+
+        @Test
+        @DisplayName("재시도를 위해 다시 추가된 요청은 마지막 우선순위로 복구된다")
+        void retriedRequestIsReplayedWithLatestPriority() throws Exception {
+            // given: 채점에 실패한 요청이 높은 우선순위로 다시 추가되었을 때
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.enqueue(createGradingData(2L));
+
+            GradingData failed = messageQueue.dequeue();
+            messageQueue.prioritize(failed);
+            messageQueue.enqueue(createGradingData(3L));
+
+            // when: 큐를 다시 열면
+            reopen();
+
+            // then: 재시도 요청이 한 번만, 높은 우선순위로 복구된다
+            assertThat(drain()).containsExactly(1L, 2L, 3L);
+        }
+
+        @Test
+        @DisplayName("모든 요청이 확인되면 재시작 후 큐가 비어있다")
+        void acknowledgedRequestsAreNotReplayed() throws Exception {
+            // given: 모든 요청이 채점 완료되었을 때
+            for (long id = 1; id <= 10; id++) {
+                messageQueue.enqueue(createGradingData(id));
+            }
+
+            GradingData data;
+            while ((data = messageQueue.dequeue()) != null) {
+                messageQueue.acknowledge(data);
+            }
+
+            // when: 큐를 다시 열면
+            reopen();
+
+            // then: 복구되는 요청이 없다
+            assertThat(messageQueue.isEmpty()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("세그먼트 정리")
+    class Compaction {
+
+        @Test
+        @DisplayName("모든 요청이 확인된 오래된 세그먼트는 삭제된다")
+        void obsoleteSegmentsAreDeleted() throws Exception {
+            // given: 여러 세그먼트에 걸쳐 요청이 기록되고 모두 확인되었을 때
+            for (long id = 1; id <= 300; id++) {
+                messageQueue.enqueue(createGradingData(id));
+                messageQueue.acknowledge(messageQueue.dequeue());
+            }
+
+            // when: 새로운 요청을 추가하면
+            messageQueue.enqueue(createGradingData(1000L));
+
+            // then: 현재 세그먼트만 남는다
+            assertThat(countSegments()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("오래 대기 중인 요청은 최신 세그먼트로 옮겨지고 재시작 후에도 복구된다")
+        void longLivedRequestsAreRelocated() throws Exception {
+            // given: 가장 오래된 요청 하나만 확인되지 않은 채로 많은 요청이 처리되었을 때
+            messageQueue.prioritize(createGradingData(1L));
+            messageQueue.dequeue();
+
+            for (long id = 2; id <= 300; id++) {
+                messageQueue.enqueue(createGradingData(id));
+                messageQueue.acknowledge(messageQueue.dequeue());
+            }
+
+            // when: 큐를 다시 열면
+            reopen();
+
+            // then: 오래된 세그먼트는 정리되고 해당 요청은 복구된다
+            assertAll(
+                    "세그먼트 정리 검증",
+                    () -> assertThat(countSegments()).isLessThanOrEqualTo(2),
+                    () -> assertThat(drain()).containsExactly(1L)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("동시성 테스트")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("여러 스레드에서 동시에 추가한 요청이 모두 기록되고 복구된다")
+        void concurrentEnqueuesAreDurable() throws Exception {
+            // given: 여러 스레드와 항목이 주어졌을 때
+            messageQueue.close();
+            messageQueue = new FileBackedSubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()), directory.toString(), 1 << 20, 5, true);
+
+            int threadCount = 8;
+            int itemsPerThread = 250;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            CountDownLatch latch = new CountDownLatch(threadCount);
+
+            // when: 여러 스레드에서 동시에 항목을 추가하고 큐를 다시 열면
+            for (int i = 0; i < threadCount; i++) {
+                int finalI = i;
+                executor.submit(() -> {
+                    try {
+                        for (int j = 0; j < itemsPerThread; j++) {
+                            messageQueue.enqueue(createGradingData((long) (finalI * itemsPerThread + j)));
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+
+            latch.await(10, TimeUnit.SECONDS);
+            executor.shutdown();
+
+            messageQueue.close();
+            messageQueue = new FileBackedSubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()), directory.toString(), 1 << 20, 5, true);
+
+            // then: 모든 항목이 한 번씩 복구된다
+            Set<Long> ids = new HashSet<>(drain());
+            assertThat(ids).hasSize(threadCount * itemsPerThread);
+        }
+    }
+}
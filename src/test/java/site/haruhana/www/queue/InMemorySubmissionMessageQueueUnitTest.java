@@ -1,5 +1,6 @@
 package site.haruhana.www.queue;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -8,6 +9,7 @@ import site.haruhana.www.entity.problem.Problem;
 import site.haruhana.www.entity.problem.ProblemCategory;
 import site.haruhana.www.entity.problem.ProblemDifficulty;
 import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.metrics.GradingMetrics;
 import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
 import site.haruhana.www.queue.message.GradingData;
 
@@ -29,7 +31,7 @@ class InMemorySubmissionMessageQueueUnitTest {
 
     @BeforeEach
     void setUp() {
-        messageQueue = new InMemorySubmissionMessageQueue();
+        messageQueue = new InMemorySubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()));
 
         testProblem = Problem.subjectiveProblemBuilder()
                 .title("Test Problem")
@@ -44,10 +46,6 @@ class InMemorySubmissionMessageQueueUnitTest {
         return GradingData.builder()
                 .submissionId(id)
                 .problemId(testProblem.getId())
-                .problemTitle(testProblem.getTitle())
-                .problemQuestion(testProblem.getQuestion())
-                .gradingCriteria(Collections.singletonList("Test criteria"))
-                .sampleAnswer("Sample answer")
                 .submittedAnswer("Test Answer")
                 .build();
     }
@@ -97,6 +95,30 @@ class InMemorySubmissionMessageQueueUnitTest {
             assertThat(result).isNull();
         }
 
+        @Test
+        @DisplayName("대기 시간을 지정한 dequeue는 항목이 추가될 때까지 기다린다")
+        void timedDequeueWaitsForNewItem() throws Exception {
+            // given: 비어있는 큐와 잠시 후 항목을 추가하는 생산자가 주어졌을 때
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            executor.submit(() -> {
+                Thread.sleep(100);
+                messageQueue.enqueue(createGradingData(1L));
+                return null;
+            });
+
+            // when: 대기 시간을 지정하여 dequeue를 수행하면
+            GradingData result = messageQueue.dequeue(5, TimeUnit.SECONDS);
+            GradingData timedOut = messageQueue.dequeue(50, TimeUnit.MILLISECONDS);
+            executor.shutdown();
+
+            // then: 추가된 항목을 받고, 이후에는 대기 시간이 지나면 null이 반환된다
+            assertAll(
+                    "블로킹 dequeue 검증",
+                    () -> assertThat(result.getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(timedOut).isNull()
+            );
+        }
+
         @Test
         @DisplayName("일반 우선순위로 등록된 항목들은 FIFO 순서로 처리된다")
         void normalPriorityItemsAreProcessedInFifoOrder() {
@@ -0,0 +1,294 @@
+package site.haruhana.www.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.JdbcSubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * 내장 DB(H2, MySQL 호환 모드)의 grading_jobs 테이블을 여러 서버가 함께 사용하는 상황을 검증한다.
+ */
+class JdbcSubmissionMessageQueueUnitTest {
+
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private DataSourceTransactionManager transactionManager;
+
+    private final List<JdbcSubmissionMessageQueue> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE grading_jobs
+                (
+                    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    submission_id    BIGINT       NOT NULL,
+                    problem_id       BIGINT       NOT NULL,
+                    user_id          BIGINT       NOT NULL,
+                    submitted_answer TEXT         NULL,
+                    priority         INT          NOT NULL,
+                    lease_owner      VARCHAR(100) NULL,
+                    lease_expires_at DATETIME(6)  NULL,
+                    created_at       DATETIME(6)  NOT NULL,
+                    CONSTRAINT uk_grading_jobs_submission UNIQUE (submission_id)
+                )
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(JdbcSubmissionMessageQueue::close);
+    }
+
+    /**
+     * 같은 테이블을 사용하는 서버 하나를 만드는 메서드
+     */
+    private JdbcSubmissionMessageQueue node(int claimBatchSize, long leaseMillis, long heartbeatIntervalMillis) {
+        JdbcSubmissionMessageQueue node = new JdbcSubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()), jdbcTemplate, transactionManager, claimBatchSize, leaseMillis, heartbeatIntervalMillis, 50);
+        nodes.add(node);
+        return node;
+    }
+
+    private JdbcSubmissionMessageQueue node() {
+        return node(1, HOUR_MILLIS, HOUR_MILLIS);
+    }
+
+    private GradingData createGradingData(Long id) {
+        return GradingData.builder()
+                .submissionId(id)
+                .problemId(10L)
+                .userId(100L)
+                .submittedAnswer("Answer " + id)
+                .build();
+    }
+
+    private int countJobs() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM grading_jobs", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Nested
+    @DisplayName("우선순위와 순서")
+    class Ordering {
+
+        @Test
+        @DisplayName("높은 우선순위 요청이 먼저 나오고, 같은 우선순위에서는 추가된 순서대로 나온다")
+        void priorityThenFifo() throws InterruptedException {
+            // given
+            JdbcSubmissionMessageQueue queue = node();
+            queue.enqueue(createGradingData(1L));
+            queue.enqueue(createGradingData(2L));
+            queue.prioritize(createGradingData(3L));
+            queue.enqueue(createGradingData(4L));
+
+            // when
+            List<Long> ids = new ArrayList<>();
+            GradingData data;
+            while ((data = queue.dequeue()) != null) {
+                ids.add(data.getSubmissionId());
+            }
+
+            // then
+            assertThat(ids).containsExactly(3L, 1L, 2L, 4L);
+        }
+
+        @Test
+        @DisplayName("채점 데이터가 그대로 복원되고, 이미 있는 제출을 다시 추가하면 무시된다")
+        void restoresDataAndIgnoresDuplicates() throws InterruptedException {
+            // given
+            JdbcSubmissionMessageQueue queue = node();
+            queue.enqueue(createGradingData(1L));
+            queue.enqueue(createGradingData(1L));
+
+            // when
+            GradingData data = queue.dequeue();
+
+            // then
+            assertAll(
+                    "채점 데이터 검증",
+                    () -> assertThat(data.getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(data.getProblemId()).isEqualTo(10L),
+                    () -> assertThat(data.getUserId()).isEqualTo(100L),
+                    () -> assertThat(data.getSubmittedAnswer()).isEqualTo("Answer 1"),
+                    () -> assertThat(queue.dequeue()).isNull(),
+                    () -> assertThat(countJobs()).isEqualTo(1)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("여러 서버의 임대")
+    class Leasing {
+
+        @Test
+        @DisplayName("한 서버가 가져간 요청은 다른 서버가 가져가지 않는다")
+        void claimedJobsAreNotSharedBetweenNodes() throws InterruptedException {
+            // given: 서버 A가 요청 두 개를 한 배치로 가져갔을 때
+            JdbcSubmissionMessageQueue nodeA = node(2, HOUR_MILLIS, HOUR_MILLIS);
+            JdbcSubmissionMessageQueue nodeB = node(2, HOUR_MILLIS, HOUR_MILLIS);
+            for (long id = 1; id <= 3; id++) {
+                nodeA.enqueue(createGradingData(id));
+            }
+            GradingData first = nodeA.dequeue();
+
+            // when: 서버 B가 요청을 가져가면
+            GradingData second = nodeB.dequeue();
+
+            // then: A가 가져간 배치는 A에서만 나온다
+            assertAll(
+                    "임대 검증",
+                    () -> assertThat(first.getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(second.getSubmissionId()).isEqualTo(3L),
+                    () -> assertThat(nodeA.dequeue().getSubmissionId()).isEqualTo(2L),
+                    () -> assertThat(nodeB.dequeue()).isNull()
+            );
+        }
+
+        @Test
+        @DisplayName("임대가 만료된 요청은 다른 서버가 다시 가져간다")
+        void expiredLeaseIsReclaimed() throws InterruptedException {
+            // given: 하트비트 없이 짧은 임대로 요청을 가져간 서버가 멈췄을 때
+            JdbcSubmissionMessageQueue crashed = node(1, 200, HOUR_MILLIS);
+            JdbcSubmissionMessageQueue survivor = node();
+            crashed.enqueue(createGradingData(1L));
+            assertThat(crashed.dequeue()).isNotNull();
+            assertThat(survivor.dequeue()).isNull();
+
+            // when: 임대 시간이 지나면
+            Thread.sleep(400);
+
+            // then: 다른 서버가 가져간다
+            assertThat(survivor.dequeue().getSubmissionId()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("하트비트가 임대를 연장하는 동안에는 다른 서버가 가져가지 않는다")
+        void heartbeatRenewsLease() throws InterruptedException {
+            // given: 짧은 임대를 하트비트로 연장하는 서버가 요청을 가져갔을 때
+            JdbcSubmissionMessageQueue worker = node(1, 300, 50);
+            JdbcSubmissionMessageQueue other = node();
+            worker.enqueue(createGradingData(1L));
+            assertThat(worker.dequeue()).isNotNull();
+
+            // when: 임대 시간보다 오래 채점하더라도
+            Thread.sleep(900);
+
+            // then: 다른 서버는 가져가지 않는다
+            assertThat(other.dequeue()).isNull();
+        }
+
+        @Test
+        @DisplayName("서버가 종료되면 임대한 요청을 해제하여 다른 서버가 바로 가져간다")
+        void closeReleasesLeases() throws InterruptedException {
+            // given
+            JdbcSubmissionMessageQueue stopping = node(2, HOUR_MILLIS, HOUR_MILLIS);
+            JdbcSubmissionMessageQueue other = node();
+            stopping.enqueue(createGradingData(1L));
+            stopping.enqueue(createGradingData(2L));
+            assertThat(stopping.dequeue()).isNotNull();
+
+            // when
+            stopping.close();
+
+            // then
+            assertAll(
+                    "임대 해제 검증",
+                    () -> assertThat(other.dequeue().getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(other.dequeue().getSubmissionId()).isEqualTo(2L)
+            );
+        }
+
+        @Test
+        @DisplayName("다른 서버에서 추가된 요청도 기다리는 작업자가 확인 주기 안에 가져간다")
+        void waitingWorkerSeesJobsFromOtherNodes() throws Exception {
+            // given: 서버 B의 작업자가 요청을 기다리는 중일 때
+            JdbcSubmissionMessageQueue nodeA = node();
+            JdbcSubmissionMessageQueue nodeB = node();
+            CompletableFuture<GradingData> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return nodeB.dequeue(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(100);
+
+            // when: 서버 A에 요청이 추가되면
+            nodeA.enqueue(createGradingData(1L));
+
+            // then: 서버 B의 작업자가 가져간다
+            assertThat(waiting.get(2, TimeUnit.SECONDS).getSubmissionId()).isEqualTo(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("확인과 재시도")
+    class AcknowledgeAndRetry {
+
+        @Test
+        @DisplayName("확인된 요청은 테이블에서 삭제된다")
+        void acknowledgeDeletesJob() throws InterruptedException {
+            // given
+            JdbcSubmissionMessageQueue queue = node();
+            queue.enqueue(createGradingData(1L));
+            GradingData data = queue.dequeue();
+
+            // when
+            queue.acknowledge(data);
+
+            // then
+            assertAll(
+                    "확인 검증",
+                    () -> assertThat(countJobs()).isZero(),
+                    () -> assertThat(queue.isEmpty()).isTrue()
+            );
+        }
+
+        @Test
+        @DisplayName("재시도를 위해 다시 추가된 요청은 임대가 해제되고 가장 먼저 나온다")
+        void prioritizedRetryReleasesLease() throws InterruptedException {
+            // given: 서버 A가 가져간 요청의 채점이 실패했을 때
+            JdbcSubmissionMessageQueue nodeA = node();
+            JdbcSubmissionMessageQueue nodeB = node();
+            nodeA.enqueue(createGradingData(1L));
+            nodeA.enqueue(createGradingData(2L));
+            GradingData failed = nodeA.dequeue();
+
+            // when: 재시도를 위해 높은 우선순위로 다시 추가하면
+            nodeA.prioritize(failed);
+
+            // then: 어느 서버든 대기 중인 요청보다 먼저 가져간다
+            assertAll(
+                    "재시도 검증",
+                    () -> assertThat(nodeB.dequeue().getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(nodeB.dequeue().getSubmissionId()).isEqualTo(2L),
+                    () -> assertThat(countJobs()).isEqualTo(2)
+            );
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package site.haruhana.www.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.LockFreeSubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class LockFreeSubmissionMessageQueueUnitTest {
+
+    private LockFreeSubmissionMessageQueue messageQueue;
+
+    @BeforeEach
+    void setUp() {
+        messageQueue = new LockFreeSubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()));
+    }
+
+    private GradingData createGradingData(Long id) {
+        return GradingData.builder()
+                .submissionId(id)
+                .problemId(1L)
+                .userId(1L)
+                .submittedAnswer("Test Answer")
+                .build();
+    }
+
+    private List<Long> drain() {
+        List<Long> ids = new ArrayList<>();
+        GradingData data;
+        while ((data = messageQueue.dequeue()) != null) {
+            ids.add(data.getSubmissionId());
+        }
+        return ids;
+    }
+
+    @Nested
+    @DisplayName("우선순위와 FIFO 순서")
+    class PriorityOrdering {
+
+        @Test
+        @DisplayName("우선순위 항목이 먼저, 각 우선순위 그룹 안에서는 추가된 순서대로 처리된다")
+        void priorityGroupsAreFifo() {
+            // given: 일반 항목과 우선순위 항목이 섞여 추가되었을 때
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.prioritize(createGradingData(2L));
+            messageQueue.enqueue(createGradingData(3L));
+            messageQueue.prioritize(createGradingData(4L));
+            messageQueue.enqueue(createGradingData(5L));
+
+            // when & then: 우선순위 항목이 먼저, 각 그룹 안에서는 FIFO 순서로 처리된다
+            assertAll(
+                    "처리 순서 검증",
+                    () -> assertThat(messageQueue.size()).isEqualTo(5),
+                    () -> assertThat(drain()).containsExactly(2L, 4L, 1L, 3L, 5L),
+                    () -> assertThat(messageQueue.isEmpty()).isTrue(),
+                    () -> assertThat(messageQueue.size()).isZero()
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("대기")
+    class Waiting {
+
+        @Test
+        @DisplayName("큐가 비어있으면 요청이 추가될 때까지 기다리고, 대기 시간이 지나면 null을 반환한다")
+        void timedDequeueWaitsForRequest() throws InterruptedException {
+            // given: 잠시 후 다른 스레드가 요청을 추가할 때
+            CountDownLatch started = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                messageQueue.enqueue(createGradingData(1L));
+            });
+            producer.start();
+            started.await();
+
+            // when: 요청을 기다리면
+            GradingData result = messageQueue.dequeue(5, TimeUnit.SECONDS);
+            GradingData timedOut = messageQueue.dequeue(50, TimeUnit.MILLISECONDS);
+
+            // then: 추가된 요청을 받고, 이후에는 대기 시간이 지나 null을 받는다
+            assertAll(
+                    "대기 동작 검증",
+                    () -> assertThat(result.getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(timedOut).isNull()
+            );
+        }
+
+        @Test
+        @DisplayName("대기 중인 스레드가 인터럽트되면 InterruptedException이 발생한다")
+        void waitingThreadIsInterruptible() throws InterruptedException {
+            // given: 요청을 기다리는 스레드가 있을 때
+            AtomicInteger interrupted = new AtomicInteger();
+            Thread consumer = new Thread(() -> {
+                try {
+                    messageQueue.dequeue(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                }
+            });
+            consumer.start();
+            Thread.sleep(50);
+
+            // when: 스레드를 인터럽트하면
+            consumer.interrupt();
+            consumer.join(1000);
+
+            // then: 대기를 멈추고 InterruptedException이 발생한다
+            assertThat(interrupted.get()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("동시성 테스트")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("여러 생산자와 대기 중인 소비자가 동시에 접근해도 각 항목은 한 번만 처리된다")
+        void concurrentProducersAndWaitingConsumers() throws InterruptedException {
+            // given: 소비자들이 먼저 대기하고, 생산자들이 항목을 추가할 때
+            int producerCount = 8;
+            int consumerCount = 8;
+            int itemsPerProducer = 1000;
+            int totalItems = producerCount * itemsPerProducer;
+
+            Set<Long> processedIds = Collections.synchronizedSet(new HashSet<>());
+            AtomicInteger duplicates = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(totalItems);
+
+            ExecutorService executor = Executors.newFixedThreadPool(producerCount + consumerCount);
+
+            for (int i = 0; i < consumerCount; i++) {
+                executor.submit(() -> {
+                    try {
+                        while (done.getCount() > 0) {
+                            GradingData data = messageQueue.dequeue(100, TimeUnit.MILLISECONDS);
+                            if (data != null) {
+                                if (!processedIds.add(data.getSubmissionId())) {
+                                    duplicates.incrementAndGet();
+                                }
+                                done.countDown();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            // when: 생산자들이 일반 항목과 우선순위 항목을 번갈아 추가하면
+            for (int p = 0; p < producerCount; p++) {
+                final int producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < itemsPerProducer; i++) {
+                        long id = (long) producer * itemsPerProducer + i;
+                        if (i % 2 == 0) {
+                            messageQueue.enqueue(createGradingData(id));
+                        } else {
+                            messageQueue.prioritize(createGradingData(id));
+                        }
+                    }
+                });
+            }
+
+            boolean completed = done.await(10, TimeUnit.SECONDS);
+            executor.shutdownNow();
+
+            // then: 모든 항목이 중복 없이 한 번씩 처리된다
+            assertAll(
+                    "동시 처리 검증",
+                    () -> assertThat(completed).isTrue(),
+                    () -> assertThat(processedIds).hasSize(totalItems),
+                    () -> assertThat(duplicates.get()).isZero(),
+                    () -> assertThat(messageQueue.isEmpty()).isTrue()
+            );
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package site.haruhana.www.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import site.haruhana.www.exception.AIServiceUnavailableException;
+import site.haruhana.www.ratelimit.AICircuitBreaker.Permission;
+import site.haruhana.www.ratelimit.AICircuitBreaker.State;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class AICircuitBreakerUnitTest {
+
+    private static final long OPEN_MILLIS = 200;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AICircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = circuitBreaker(60_000);
+    }
+
+    /**
+     * 최근 4건 중 절반 이상 실패하면 열리고, 시험 호출 2건이 성공하면 닫히는 서킷 브레이커
+     */
+    private AICircuitBreaker circuitBreaker(long slowCallThresholdMillis) {
+        return new AICircuitBreaker(meterRegistry, 4, 4, 0.5, slowCallThresholdMillis, 0.5, OPEN_MILLIS, 2);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.acquire().onFailure();
+        }
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("ai.circuit-breaker.calls").tag("outcome", outcome).counter().count();
+    }
+
+    @Nested
+    @DisplayName("회로 열기")
+    class Opening {
+
+        @Test
+        @DisplayName("최소 호출 수에 도달하기 전에는 모두 실패해도 열리지 않는다")
+        void staysClosedBelowMinimumCalls() {
+            // given & when: 최소 호출 수보다 적게 실패하면
+            for (int i = 0; i < 3; i++) {
+                circuitBreaker.acquire().onFailure();
+            }
+
+            // then: 닫힌 상태를 유지한다
+            assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("실패율이 기준을 넘으면 열리고, 열린 동안의 호출은 바로 거절된다")
+        void opensOnFailureRate() {
+            // given: 최근 호출의 절반이 실패하면
+            circuitBreaker.acquire().onSuccess();
+            circuitBreaker.acquire().onSuccess();
+            circuitBreaker.acquire().onFailure();
+            circuitBreaker.acquire().onFailure();
+
+            // when & then: 회로가 열리고 호출이 거절된다
+            assertAll(
+                    "회로 열림 검증",
+                    () -> assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN),
+                    () -> assertThat(circuitBreaker.isCallPermitted()).isFalse(),
+                    () -> assertThatThrownBy(() -> circuitBreaker.acquire()).isInstanceOf(AIServiceUnavailableException.class),
+                    () -> assertThat(circuitBreaker.getSnapshot().remainingOpenMillis()).isPositive(),
+                    () -> assertThat(count("rejected")).isEqualTo(1.0),
+                    () -> assertThat(meterRegistry.get("ai.circuit-breaker.state").gauge().value()).isEqualTo(State.OPEN.ordinal())
+            );
+        }
+
+        @Test
+        @DisplayName("오래된 실패는 창에서 밀려나 실패율에 반영되지 않는다")
+        void oldFailuresSlideOut() {
+            // given: 실패 한 건 이후 성공이 창 크기만큼 이어지면
+            circuitBreaker.acquire().onFailure();
+            for (int i = 0; i < 4; i++) {
+                circuitBreaker.acquire().onSuccess();
+            }
+
+            // when: 다시 한 건 실패하면
+            circuitBreaker.acquire().onFailure();
+
+            // then: 실패율은 1/4로 기준보다 낮다
+            assertAll(
+                    "슬라이딩 창 검증",
+                    () -> assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED),
+                    () -> assertThat(circuitBreaker.getSnapshot().failureRate()).isEqualTo(0.25)
+            );
+        }
+
+        @Test
+        @DisplayName("느린 호출의 비율이 기준을 넘으면 열린다")
+        void opensOnSlowCallRate() throws InterruptedException {
+            // given: 느린 호출 기준이 짧을 때
+            circuitBreaker = circuitBreaker(10);
+            Permission slow1 = circuitBreaker.acquire();
+            Permission slow2 = circuitBreaker.acquire();
+            Thread.sleep(50);
+
+            // when: 절반이 느리게 성공하면
+            slow1.onSuccess();
+            slow2.onSuccess();
+            circuitBreaker.acquire().onSuccess();
+            circuitBreaker.acquire().onSuccess();
+
+            // then: 회로가 열린다
+            assertAll(
+                    "느린 호출 검증",
+                    () -> assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN),
+                    () -> assertThat(count("slow")).isEqualTo(2.0)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("반열림과 복구")
+    class HalfOpen {
+
+        @Test
+        @DisplayName("열린 시간이 지나면 정해진 수의 시험 호출만 허가한다")
+        void permitsLimitedTrialCalls() throws InterruptedException {
+            // given: 회로가 열린 후
+            open();
+
+            // when: 열린 시간이 지나면
+            Thread.sleep(OPEN_MILLIS + 50);
+
+            // then: 시험 호출 2건만 허가된다
+            circuitBreaker.acquire();
+            circuitBreaker.acquire();
+            assertAll(
+                    "시험 호출 검증",
+                    () -> assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN),
+                    () -> assertThatThrownBy(() -> circuitBreaker.acquire()).isInstanceOf(AIServiceUnavailableException.class)
+            );
+        }
+
+        @Test
+        @DisplayName("시험 호출이 모두 성공하면 닫힌다")
+        void closesAfterSuccessfulTrials() throws InterruptedException {
+            // given: 반열림 상태에서
+            open();
+            Thread.sleep(OPEN_MILLIS + 50);
+
+            // when: 시험 호출이 모두 성공하면
+            circuitBreaker.acquire().onSuccess();
+            circuitBreaker.acquire().onSuccess();
+
+            // then: 회로가 닫힌다
+            assertAll(
+                    "회로 닫힘 검증",
+                    () -> assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED),
+                    () -> assertThat(meterRegistry.get("ai.circuit-breaker.transitions").tag("state", "closed").counter().count()).isEqualTo(1.0)
+            );
+        }
+
+        @Test
+        @DisplayName("시험 호출이 실패하면 다시 열린다")
+        void reopensOnTrialFailure() throws InterruptedException {
+            // given: 반열림 상태에서
+            open();
+            Thread.sleep(OPEN_MILLIS + 50);
+            Permission trial = circuitBreaker.acquire();
+
+            // when: 시험 호출이 실패하면
+            trial.onFailure();
+
+            // then: 다시 열린다
+            assertAll(
+                    "회로 재열림 검증",
+                    () -> assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN),
+                    () -> assertThat(meterRegistry.get("ai.circuit-breaker.transitions").tag("state", "open").counter().count()).isEqualTo(2.0)
+            );
+        }
+
+        @Test
+        @DisplayName("반납된 시험 호출 허가는 다른 호출이 사용할 수 있다")
+        void releasedTrialIsReusable() throws InterruptedException {
+            // given: 반열림 상태에서 시험 호출 허가를 모두 받았을 때
+            open();
+            Thread.sleep(OPEN_MILLIS + 50);
+            Permission trial = circuitBreaker.acquire();
+            circuitBreaker.acquire();
+            assertThat(circuitBreaker.isCallPermitted()).isFalse();
+
+            // when: 호출하지 않고 반납하면
+            trial.release();
+
+            // then: 다시 허가받을 수 있다
+            assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        }
+
+        @Test
+        @DisplayName("회로가 열리기 전에 시작된 호출의 결과는 반열림 상태에 반영되지 않는다")
+        void ignoresStaleResults() throws InterruptedException {
+            // given: 닫힌 상태에서 시작된 호출이 진행 중일 때 회로가 열리고 반열림 상태가 되면
+            Permission stale = circuitBreaker.acquire();
+            open();
+            Thread.sleep(OPEN_MILLIS + 50);
+            assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+
+            // when: 이전 호출이 실패로 끝나도
+            stale.onFailure();
+
+            // then: 반열림 상태를 유지한다
+            assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        }
+    }
+
+    @Nested
+    @DisplayName("대기")
+    class Await {
+
+        @Test
+        @DisplayName("회로가 열려 있으면 대기하다가 반열림 상태가 되면 깨어난다")
+        void waitsUntilHalfOpen() throws Exception {
+            // given: 회로가 열린 상태에서
+            open();
+
+            // when: 호출 가능 상태를 기다리면
+            long start = System.nanoTime();
+            CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return circuitBreaker.awaitCallPermitted(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // then: 열린 시간이 지난 후 깨어난다
+            assertThat(waiting.get(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(OPEN_MILLIS - 50);
+        }
+
+        @Test
+        @DisplayName("제한 시간 안에 호출할 수 없으면 false를 반환한다")
+        void timesOutWhileOpen() throws InterruptedException {
+            // given: 회로가 열린 상태에서
+            open();
+
+            // when & then: 열린 시간보다 짧게 기다리면 false를 반환한다
+            assertThat(circuitBreaker.awaitCallPermitted(50, TimeUnit.MILLISECONDS)).isFalse();
+        }
+    }
+}
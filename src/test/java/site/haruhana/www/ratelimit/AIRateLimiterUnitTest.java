@@ -0,0 +1,197 @@
+package site.haruhana.www.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import site.haruhana.www.ratelimit.AIRateLimiter.Permit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class AIRateLimiterUnitTest {
+
+    private AIRateLimiter rateLimiter;
+
+    @AfterEach
+    void tearDown() {
+        rateLimiter.close();
+    }
+
+    /**
+     * 토큰이 충분한 상태에서 동시성 제어만 확인하기 위한 속도 제한기
+     */
+    private AIRateLimiter concurrencyLimiter(double initial, double max) {
+        return new AIRateLimiter(60_000, 1000, initial, 1, max, 60_000, 0.5);
+    }
+
+    @Nested
+    @DisplayName("동시성 제한")
+    class ConcurrencyLimit {
+
+        @Test
+        @DisplayName("동시 요청 한도를 넘는 요청은 허가가 반납될 때까지 대기한다")
+        void requestsBeyondLimitWait() throws Exception {
+            // given: 동시 요청 한도가 2일 때
+            rateLimiter = concurrencyLimiter(2, 2);
+            Permit first = rateLimiter.acquire(AICallLane.GRADING);
+            rateLimiter.acquire(AICallLane.GRADING);
+
+            // when: 세 번째 요청을 보내면
+            CompletableFuture<Permit> third = rateLimiter.acquireAsync(AICallLane.GRADING);
+
+            // then: 허가가 반납될 때까지 대기한다
+            assertThat(third).isNotDone();
+
+            first.onSuccess();
+            assertThat(third.get(1, TimeUnit.SECONDS)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("채점 요청은 먼저 대기 중인 문제 생성 요청보다 먼저 허가된다")
+        void gradingLaneHasPriority() throws Exception {
+            // given: 동시 요청 한도가 모두 사용 중이고, 문제 생성 요청이 먼저 대기 중일 때
+            rateLimiter = concurrencyLimiter(2, 2);
+            Permit first = rateLimiter.acquire(AICallLane.GRADING);
+            rateLimiter.acquire(AICallLane.GRADING);
+
+            CompletableFuture<Permit> generation = rateLimiter.acquireAsync(AICallLane.GENERATION);
+            CompletableFuture<Permit> grading = rateLimiter.acquireAsync(AICallLane.GRADING);
+
+            // when: 허가 하나가 반납되면
+            first.onSuccess();
+
+            // then: 채점 요청이 먼저 허가된다
+            assertAll(
+                    "레인 우선순위 검증",
+                    () -> assertThat(grading.get(1, TimeUnit.SECONDS)).isNotNull(),
+                    () -> assertThat(generation).isNotDone()
+            );
+        }
+
+        @Test
+        @DisplayName("문제 생성 요청은 동시 요청 한도의 일부만 사용할 수 있다")
+        void generationLaneIsCapped() {
+            // given: 동시 요청 한도가 4이고 문제 생성 비율이 0.5일 때
+            rateLimiter = concurrencyLimiter(4, 4);
+
+            // when: 문제 생성 요청을 3개 보내면
+            CompletableFuture<Permit> first = rateLimiter.acquireAsync(AICallLane.GENERATION);
+            CompletableFuture<Permit> second = rateLimiter.acquireAsync(AICallLane.GENERATION);
+            CompletableFuture<Permit> third = rateLimiter.acquireAsync(AICallLane.GENERATION);
+
+            // then: 2개만 허가되고 채점 요청은 여전히 허가된다
+            assertAll(
+                    "문제 생성 레인 제한 검증",
+                    () -> assertThat(first).isDone(),
+                    () -> assertThat(second).isDone(),
+                    () -> assertThat(third).isNotDone(),
+                    () -> assertThat(rateLimiter.acquireAsync(AICallLane.GRADING)).isDone()
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("AIMD 한도 조정")
+    class AdaptiveLimit {
+
+        @Test
+        @DisplayName("429 응답을 받으면 동시 요청 한도가 절반으로 줄어든다")
+        void limitIsHalvedOnRateLimit() throws Exception {
+            // given: 동시 요청 한도가 8일 때
+            rateLimiter = concurrencyLimiter(8, 16);
+
+            // when: 429 응답을 받으면
+            rateLimiter.acquire(AICallLane.GRADING).onRateLimited(0);
+
+            // then: 한도가 절반으로 줄어든다
+            assertThat(rateLimiter.getLimit()).isEqualTo(4.0);
+        }
+
+        @Test
+        @DisplayName("짧은 시간 안에 연속된 429 응답은 한 번만 반영된다")
+        void burstOfRateLimitsDecreasesOnce() throws Exception {
+            // given: 동시 요청 한도가 8이고 진행 중인 요청이 여러 개일 때
+            rateLimiter = concurrencyLimiter(8, 16);
+            Permit first = rateLimiter.acquire(AICallLane.GRADING);
+            Permit second = rateLimiter.acquire(AICallLane.GRADING);
+            Permit third = rateLimiter.acquire(AICallLane.GRADING);
+
+            // when: 동시에 429 응답을 받으면
+            first.onRateLimited(0);
+            second.onRateLimited(0);
+            third.onRateLimited(0);
+
+            // then: 한도는 한 번만 줄어든다
+            assertThat(rateLimiter.getLimit()).isEqualTo(4.0);
+        }
+
+        @Test
+        @DisplayName("성공하면 동시 요청 한도가 조금씩 늘어나며 최대 한도를 넘지 않는다")
+        void limitGrowsAdditivelyOnSuccess() throws Exception {
+            // given: 동시 요청 한도가 2이고 최대 한도가 3일 때
+            rateLimiter = concurrencyLimiter(2, 3);
+
+            // when: 요청이 계속 성공하면
+            rateLimiter.acquire(AICallLane.GRADING).onSuccess();
+            rateLimiter.acquire(AICallLane.GRADING).onSuccess();
+            double afterTwo = rateLimiter.getLimit();
+
+            for (int i = 0; i < 100; i++) {
+                rateLimiter.acquire(AICallLane.GRADING).onSuccess();
+            }
+
+            // then: 성공할 때마다 1/한도씩 늘어나고 최대 한도에서 멈춘다
+            assertAll(
+                    "AIMD 증가 검증",
+                    () -> assertThat(afterTwo).isGreaterThan(2.0).isLessThan(3.0),
+                    () -> assertThat(rateLimiter.getLimit()).isEqualTo(3.0)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("토큰 버킷")
+    class TokenBucket {
+
+        @Test
+        @DisplayName("순간 허용량을 넘는 요청은 토큰이 채워질 때까지 대기한다")
+        void requestsBeyondBurstWaitForRefill() throws Exception {
+            // given: 분당 600회(100ms마다 1개), 순간 허용량 2인 속도 제한기가 주어졌을 때
+            rateLimiter = new AIRateLimiter(600, 2, 16, 1, 16, 60_000, 0.5);
+
+            // when: 순간 허용량보다 많은 요청을 보내면
+            rateLimiter.acquire(AICallLane.GRADING).onSuccess();
+            rateLimiter.acquire(AICallLane.GRADING).onSuccess();
+            CompletableFuture<Permit> third = rateLimiter.acquireAsync(AICallLane.GRADING);
+
+            // then: 토큰이 채워진 후에 허가된다
+            assertThat(third).isNotDone();
+            assertThat(third.get(1, TimeUnit.SECONDS)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("취소된 대기 요청은 허가를 소비하지 않는다")
+        void cancelledWaiterDoesNotConsumePermit() throws Exception {
+            // given: 동시 요청 한도가 1이고 대기 중인 요청이 있을 때
+            rateLimiter = concurrencyLimiter(1, 1);
+            Permit first = rateLimiter.acquire(AICallLane.GRADING);
+            CompletableFuture<Permit> cancelled = rateLimiter.acquireAsync(AICallLane.GRADING);
+            CompletableFuture<Permit> next = rateLimiter.acquireAsync(AICallLane.GRADING);
+
+            // when: 대기 요청을 취소하고 허가를 반납하면
+            cancelled.cancel(false);
+            first.onSuccess();
+
+            // then: 다음 요청이 허가된다
+            assertAll(
+                    "취소 처리 검증",
+                    () -> assertThat(next.get(1, TimeUnit.SECONDS)).isNotNull(),
+                    () -> assertThat(rateLimiter.getInFlight()).isEqualTo(1)
+            );
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import site.haruhana.www.entity.BaseTimeEntity;
+import site.haruhana.www.entity.grading.GradingOutbox;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.entity.submission.Submission;
+import site.haruhana.www.entity.user.User;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.repository.GradingOutboxRepository;
+import site.haruhana.www.repository.SubmissionRepository;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GradingOutboxRelayUnitTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private GradingOutboxRepository outboxRepository;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemorySubmissionMessageQueue messageQueue;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GradingOutboxRelay relay;
+
+    private Problem subjectiveProblem;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        messageQueue = new InMemorySubmissionMessageQueue(new GradingMetrics(meterRegistry));
+        relay = new GradingOutboxRelay(messageQueue, outboxRepository, submissionRepository, transactionManager, meterRegistry, BATCH_SIZE, 1000);
+
+        subjectiveProblem = Problem.subjectiveProblemBuilder()
+                .title("Test Problem")
+                .question("Test Question")
+                .category(ProblemCategory.KUBERNETES)
+                .difficulty(ProblemDifficulty.MEDIUM)
+                .provider(ProblemProvider.AI)
+                .sampleAnswer("Sample answer")
+                .build();
+        subjectiveProblem.addGradingCriteria("Test criteria");
+        setFieldValue(Problem.class, subjectiveProblem, "id", 10L);
+    }
+
+    private GradingOutbox createOutbox(long id, long submissionId, LocalDateTime createdAt) throws Exception {
+        GradingOutbox outbox = new GradingOutbox(submissionId);
+        setFieldValue(GradingOutbox.class, outbox, "id", id);
+        setFieldValue(BaseTimeEntity.class, outbox, "createdAt", createdAt);
+        return outbox;
+    }
+
+    private Submission createSubmission(long id) {
+        return Submission.builder()
+                .id(id)
+                .problem(subjectiveProblem)
+                .user(User.builder().id(100L).build())
+                .submittedAnswer("Answer " + id)
+                .build();
+    }
+
+    private void setFieldValue(Class<?> type, Object object, String fieldName, Object value) throws Exception {
+        Field field = type.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(object, value);
+    }
+
+    @Test
+    @DisplayName("가져간 아웃박스 항목을 저장 순서대로 대기열에 추가하고 삭제한다")
+    void relaysClaimedEntriesInOrder() throws Exception {
+        // given: 아웃박스에 저장된 제출이 있을 때
+        LocalDateTime now = LocalDateTime.now();
+        List<GradingOutbox> entries = List.of(
+                createOutbox(1L, 7L, now.minusSeconds(5)),
+                createOutbox(2L, 3L, now.minusSeconds(1))
+        );
+        when(outboxRepository.claimBatch(BATCH_SIZE)).thenReturn(entries);
+        when(submissionRepository.findAllById(List.of(7L, 3L))).thenReturn(List.of(createSubmission(3L), createSubmission(7L)));
+
+        // when: 한 배치를 옮기면
+        int relayed = relay.relayBatch();
+
+        // then: 저장 순서대로 대기열에 추가되고, 항목이 삭제되며 지연 시간이 기록된다
+        List<Long> ids = new ArrayList<>();
+        GradingData data;
+        while ((data = messageQueue.dequeue()) != null) {
+            ids.add(data.getSubmissionId());
+        }
+
+        assertAll(
+                "아웃박스 처리 검증",
+                () -> assertThat(relayed).isEqualTo(2),
+                () -> assertThat(ids).containsExactly(7L, 3L),
+                () -> verify(outboxRepository).deleteAllInBatch(entries),
+                () -> assertThat(meterRegistry.get("grading.outbox.relayed").counter().count()).isEqualTo(2.0),
+                () -> assertThat(meterRegistry.get("grading.outbox.batches").counter().count()).isEqualTo(1.0),
+                () -> assertThat(meterRegistry.get("grading.outbox.lag").timer().count()).isEqualTo(2),
+                () -> assertThat(meterRegistry.get("grading.outbox.oldest.age.ms").gauge().value()).isGreaterThanOrEqualTo(5000.0)
+        );
+    }
+
+    @Test
+    @DisplayName("그 사이 삭제된 제출은 대기열에 추가하지 않고 아웃박스에서만 삭제한다")
+    void skipsDeletedSubmissions() throws Exception {
+        // given: 아웃박스 항목의 제출이 삭제되었을 때
+        List<GradingOutbox> entries = List.of(createOutbox(1L, 7L, LocalDateTime.now()));
+        when(outboxRepository.claimBatch(BATCH_SIZE)).thenReturn(entries);
+        when(submissionRepository.findAllById(List.of(7L))).thenReturn(List.of());
+
+        // when: 한 배치를 옮기면
+        relay.relayBatch();
+
+        // then: 대기열은 비어 있고 항목은 삭제된다
+        assertAll(
+                "삭제된 제출 처리 검증",
+                () -> assertThat(messageQueue.isEmpty()).isTrue(),
+                () -> verify(outboxRepository).deleteAllInBatch(entries)
+        );
+    }
+
+    @Test
+    @DisplayName("아웃박스가 비어 있으면 아무것도 삭제하지 않는다")
+    void emptyOutboxDoesNothing() {
+        // given: 아웃박스가 비어 있을 때
+        when(outboxRepository.claimBatch(BATCH_SIZE)).thenReturn(List.of());
+
+        // when: 한 배치를 옮기면
+        int relayed = relay.relayBatch();
+
+        // then: 옮긴 항목이 없다
+        assertAll(
+                "빈 아웃박스 검증",
+                () -> assertThat(relayed).isZero(),
+                () -> verify(outboxRepository, never()).deleteAllInBatch(any()),
+                () -> assertThat(meterRegistry.get("grading.outbox.oldest.age.ms").gauge().value()).isZero()
+        );
+    }
+}
@@ -0,0 +1,193 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.entity.submission.Submission;
+import site.haruhana.www.entity.user.User;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.SubmissionMessageQueue;
+import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.repository.SubmissionRepository;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GradingQueueRehydratorUnitTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    private static final long GRACE_PERIOD_MILLIS = 600_000;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemorySubmissionMessageQueue messageQueue;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Problem subjectiveProblem;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        messageQueue = new InMemorySubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()));
+        meterRegistry = new SimpleMeterRegistry();
+
+        subjectiveProblem = Problem.subjectiveProblemBuilder()
+                .title("Test Problem")
+                .question("Test Question")
+                .category(ProblemCategory.KUBERNETES)
+                .difficulty(ProblemDifficulty.MEDIUM)
+                .provider(ProblemProvider.AI)
+                .sampleAnswer("Sample answer")
+                .build();
+        subjectiveProblem.addGradingCriteria("Test criteria");
+
+        Field idField = Problem.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(subjectiveProblem, 10L);
+    }
+
+    private GradingQueueRehydrator createRehydrator(boolean enabled) {
+        return createRehydrator(messageQueue, enabled);
+    }
+
+    private GradingQueueRehydrator createRehydrator(SubmissionMessageQueue queue, boolean enabled) {
+        return new GradingQueueRehydrator(queue, submissionRepository, transactionManager, meterRegistry, enabled, BATCH_SIZE, GRACE_PERIOD_MILLIS);
+    }
+
+    private List<Submission> createSubmissions(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> Submission.builder()
+                        .id(id)
+                        .problem(subjectiveProblem)
+                        .user(User.builder().id(100L).build())
+                        .submittedAnswer("Answer " + id)
+                        .build())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("채점되지 않은 제출을 키셋 페이지네이션으로 모두 조회하여 대기열에 추가한다")
+    void ungradedSubmissionsAreEnqueuedBatchByBatch() throws InterruptedException {
+        // given: 배치 크기보다 많은 채점되지 않은 제출이 있을 때
+        when(submissionRepository.findUngradedSubjectiveSubmissionsAfter(eq(0L), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(createSubmissions(1, 3));
+        when(submissionRepository.findUngradedSubjectiveSubmissionsAfter(eq(3L), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(createSubmissions(4, 6));
+        when(submissionRepository.findUngradedSubjectiveSubmissionsAfter(eq(6L), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(createSubmissions(7, 7));
+
+        // when: 복구를 시작하면
+        createRehydrator(true).start();
+
+        // then: 모든 제출이 ID 순서대로 대기열에 추가되고 진행 메트릭이 기록된다
+        List<Long> ids = new ArrayList<>();
+        GradingData data;
+        while ((data = messageQueue.dequeue()) != null) {
+            ids.add(data.getSubmissionId());
+        }
+
+        assertAll(
+                "대기열 복구 검증",
+                () -> assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L),
+                () -> assertThat(meterRegistry.get("grading.rehydration.enqueued").counter().count()).isEqualTo(7.0),
+                () -> assertThat(meterRegistry.get("grading.rehydration.batches").counter().count()).isEqualTo(3.0),
+                () -> assertThat(meterRegistry.get("grading.rehydration.last.submission.id").gauge().value()).isEqualTo(7.0)
+        );
+    }
+
+    @Test
+    @DisplayName("채점 데이터는 제출 ID, 문제 ID, 답안으로 다시 생성된다")
+    void gradingDataIsRebuiltFromSubmission() throws InterruptedException {
+        // given: 채점되지 않은 제출이 하나 있을 때
+        when(submissionRepository.findUngradedSubjectiveSubmissionsAfter(eq(0L), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(createSubmissions(1, 1));
+
+        // when: 복구를 시작하면
+        createRehydrator(true).start();
+
+        // then: 문제 ID와 답안이 채점 데이터에 포함된다
+        GradingData data = messageQueue.dequeue();
+        assertAll(
+                "채점 데이터 검증",
+                () -> assertThat(data.getSubmissionId()).isEqualTo(1L),
+                () -> assertThat(data.getProblemId()).isEqualTo(10L),
+                () -> assertThat(data.getUserId()).isEqualTo(100L),
+                () -> assertThat(data.getSubmittedAnswer()).isEqualTo("Answer 1")
+        );
+        verify(submissionRepository).findUngradedSubjectiveSubmissionsAfter(eq(0L), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)));
+    }
+
+    @Test
+    @DisplayName("복구가 비활성화되어 있으면 아무 제출도 조회하지 않는다")
+    void rehydrationCanBeDisabled() {
+        // given: 복구가 비활성화되어 있을 때
+        GradingQueueRehydrator rehydrator = createRehydrator(false);
+
+        // when: 시작하면
+        rehydrator.start();
+
+        // then: 대기열이 비어있다
+        assertThat(messageQueue.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("요청을 유지하는 대기열이면 복구하지 않는다")
+    void durableQueueIsNotRehydrated() {
+        // given: 재시작 후에도 요청이 남아 있는 대기열일 때
+        SubmissionMessageQueue durableQueue = mock(SubmissionMessageQueue.class);
+        when(durableQueue.isDurable()).thenReturn(true);
+
+        // when: 시작하면
+        createRehydrator(durableQueue, true).start();
+
+        // then: 제출을 조회하지 않는다
+        verifyNoInteractions(submissionRepository);
+    }
+
+    @Test
+    @DisplayName("다른 서버가 채점 중일 수 있는 최근 제출은 복구하지 않는다")
+    void recentSubmissionsAreNotRehydrated() {
+        // given: 채점되지 않은 제출이 없을 때
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        // when: 복구를 시작하면
+        createRehydrator(true).start();
+
+        // then: 유예 시간 이전에 제출된 답안만 조회한다
+        ArgumentCaptor<LocalDateTime> submittedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(submissionRepository).findUngradedSubjectiveSubmissionsAfter(eq(0L), submittedBefore.capture(), eq(Limit.of(BATCH_SIZE)));
+        assertThat(submittedBefore.getValue())
+                .isBeforeOrEqualTo(LocalDateTime.now().minusNanos(GRACE_PERIOD_MILLIS * 1_000_000))
+                .isAfterOrEqualTo(startedAt.minusNanos(GRACE_PERIOD_MILLIS * 1_000_000));
+    }
+}
@@ -0,0 +1,372 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import site.haruhana.www.cache.ProblemCatalogIndex;
+import site.haruhana.www.cache.SolvedProblemCache;
+import site.haruhana.www.dto.grading.GradingEventDto;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.service.AIService.GradingResult;
+import site.haruhana.www.service.GradingEventService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 내장 DB(H2, MySQL 호환 모드)에 채점 결과를 모아서 저장하는 과정을 검증한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class GradingResultWriterUnitTest {
+
+    private static final long PROBLEM_ID = 10L;
+
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final GradingResult CORRECT = new GradingResult(90.0, true, "좋은 답안입니다.");
+
+    private static final GradingResult INCORRECT = new GradingResult(30.0, false, "핵심 개념이 빠졌습니다.");
+
+    @Mock
+    private GradingRetryScheduler retryScheduler;
+
+    @Mock
+    private GradingEventService gradingEventService;
+
+    @Mock
+    private ProblemCatalogIndex catalogIndex;
+
+    @Mock
+    private SolvedProblemCache solvedProblemCache;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private DataSourceTransactionManager transactionManager;
+
+    private SolvedCountAccumulator solvedCountAccumulator;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GradingResultWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        meterRegistry = new SimpleMeterRegistry();
+
+        jdbcTemplate.execute("""
+                CREATE TABLE problems
+                (
+                    id           BIGINT PRIMARY KEY,
+                    solved_count BIGINT NOT NULL DEFAULT 0
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE submissions
+                (
+                    id                   BIGINT PRIMARY KEY,
+                    user_id              BIGINT      NOT NULL,
+                    problem_id           BIGINT      NOT NULL,
+                    submitted_at         DATETIME(6) NOT NULL,
+                    is_correct           BIT         NULL,
+                    score                DOUBLE      NULL,
+                    feedback             TEXT        NULL,
+                    feedback_provided_at DATETIME(6) NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE solved_count_journal
+                (
+                    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    problem_id BIGINT      NOT NULL,
+                    delta      INT         NOT NULL,
+                    created_at DATETIME(6) NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE solved_problems
+                (
+                    user_id    BIGINT      NOT NULL,
+                    problem_id BIGINT      NOT NULL,
+                    solved_at  DATETIME(6) NOT NULL,
+                    PRIMARY KEY (user_id, problem_id)
+                )
+                """);
+        jdbcTemplate.update("INSERT INTO problems (id, solved_count) VALUES (?, 0)", PROBLEM_ID);
+
+        solvedCountAccumulator = new SolvedCountAccumulator(catalogIndex, jdbcTemplate, transactionManager, meterRegistry, 100, HOUR_MILLIS);
+
+        writer = writer(3, HOUR_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    private GradingResultWriter writer(int batchSize, long flushIntervalMillis) {
+        return new GradingResultWriter(
+                new InMemorySubmissionMessageQueue(new GradingMetrics(meterRegistry)),
+                retryScheduler,
+                gradingEventService,
+                new GradingMetrics(meterRegistry),
+                solvedCountAccumulator,
+                solvedProblemCache,
+                jdbcTemplate,
+                transactionManager,
+                batchSize,
+                flushIntervalMillis
+        );
+    }
+
+    /**
+     * 채점을 기다리는 제출을 저장하고 채점 데이터를 반환하는 메서드
+     */
+    private GradingData submission(long id, long userId) {
+        jdbcTemplate.update("INSERT INTO submissions (id, user_id, problem_id, submitted_at) VALUES (?, ?, ?, ?)",
+                id, userId, PROBLEM_ID, Timestamp.valueOf(LocalDateTime.now().minusSeconds(5)));
+
+        return GradingData.builder()
+                .submissionId(id)
+                .problemId(PROBLEM_ID)
+                .userId(userId)
+                .submittedAnswer("Answer " + id)
+                .build();
+    }
+
+    private long solvedCount() {
+        Long count = jdbcTemplate.queryForObject("SELECT solved_count FROM problems WHERE id = ?", Long.class, PROBLEM_ID);
+        return count == null ? 0 : count;
+    }
+
+    private long journaledSolvedCount() {
+        Long count = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(delta), 0) FROM solved_count_journal WHERE problem_id = ?", Long.class, PROBLEM_ID);
+        return count == null ? 0 : count;
+    }
+
+    private Double score(long submissionId) {
+        return jdbcTemplate.queryForObject("SELECT score FROM submissions WHERE id = ?", Double.class, submissionId);
+    }
+
+    private int gradedCount() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM submissions WHERE feedback_provided_at IS NOT NULL", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Nested
+    @DisplayName("채점 결과 저장")
+    class Saving {
+
+        @Test
+        @DisplayName("실행 중이 아닐 때 받은 결과는 바로 저장되고, 저장된 후 완료 알림을 보낸다")
+        void writesImmediatelyWhenNotRunning() {
+            // given
+            GradingData data = submission(1L, 100L);
+
+            // when
+            writer.submit(data, CORRECT);
+
+            // then
+            ArgumentCaptor<GradingEventDto> event = ArgumentCaptor.forClass(GradingEventDto.class);
+            verify(gradingEventService).publish(eq(100L), event.capture());
+            verify(retryScheduler).clearAttempts(data);
+            verify(solvedProblemCache).markSolved(100L, PROBLEM_ID);
+
+            assertAll(
+                    "저장 검증",
+                    () -> assertThat(score(1L)).isEqualTo(90.0),
+                    () -> assertThat(journaledSolvedCount()).isEqualTo(1),
+                    () -> assertThat(event.getValue().getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(event.getValue().getProblemId()).isEqualTo(PROBLEM_ID),
+                    () -> assertThat(event.getValue().getIsCorrect()).isTrue(),
+                    () -> assertThat(event.getValue().getGradedAt()).isNotNull(),
+                    () -> assertThat(meterRegistry.get("grading.db.write").timer().count()).isEqualTo(1),
+                    () -> assertThat(meterRegistry.get("grading.time.to.grade").timer().count()).isEqualTo(1)
+            );
+        }
+
+        @Test
+        @DisplayName("문제 풀이 수는 사용자가 문제를 처음 맞춘 경우에만, 배치 안에서도 한 번만 늘어난다")
+        void incrementsSolvedCountOnlyForFirstSolves() {
+            // given: 사용자 100은 이미 다른 제출로 문제를 맞췄고, 사용자 200은 같은 배치에서 두 번 맞췄을 때
+            submission(1L, 100L);
+            jdbcTemplate.update("UPDATE submissions SET is_correct = TRUE WHERE id = 1");
+            jdbcTemplate.update("INSERT INTO solved_problems (user_id, problem_id, solved_at) VALUES (100, ?, NOW())", PROBLEM_ID);
+            GradingData solvedAgain = submission(2L, 100L);
+            GradingData firstSolve = submission(3L, 200L);
+            GradingData secondSolve = submission(4L, 200L);
+            GradingData wrong = submission(5L, 300L);
+            writer = writer(10, HOUR_MILLIS);
+            writer.start();
+
+            // when: 결과를 모아서 저장하면
+            writer.submit(solvedAgain, CORRECT);
+            writer.submit(firstSolve, CORRECT);
+            writer.submit(secondSolve, CORRECT);
+            writer.submit(wrong, INCORRECT);
+            writer.stop();
+            solvedCountAccumulator.flush();
+
+            // then: 처음 맞춘 사용자 200만 풀이 수에 반영된다
+            assertAll(
+                    "풀이 수 검증",
+                    () -> assertThat(solvedCount()).isEqualTo(1),
+                    () -> assertThat(journaledSolvedCount()).isZero(),
+                    () -> assertThat(score(5L)).isEqualTo(30.0),
+                    () -> assertThat(gradedCount()).isEqualTo(4),
+                    () -> assertThat(meterRegistry.get("grading.db.write").timer().count()).isEqualTo(1)
+            );
+            verify(gradingEventService, times(4)).publish(any(), any());
+            verify(catalogIndex).applySolvedCounts(Map.of(PROBLEM_ID, 1L));
+            verify(solvedProblemCache, never()).markSolved(eq(300L), anyLong());
+        }
+
+        @Test
+        @DisplayName("이미 채점된 제출의 결과가 다시 전달되면 덮어쓰지 않고, 풀이 수와 완료 알림도 한 번만 반영된다")
+        void ignoresRedeliveredResult() {
+            // given: 정답으로 채점된 제출의 요청이 다시 전달되었을 때
+            GradingData data = submission(1L, 100L);
+            writer.submit(data, CORRECT);
+
+            // when: 다시 채점한 결과를 저장하면
+            writer.submit(data, new GradingResult(95.0, true, "다시 채점한 결과입니다."));
+
+            // then: 처음 저장한 결과가 유지되고 풀이 수 변경은 한 번만 기록된다
+            assertAll(
+                    "중복 저장 검증",
+                    () -> assertThat(score(1L)).isEqualTo(90.0),
+                    () -> assertThat(journaledSolvedCount()).isEqualTo(1)
+            );
+            verify(gradingEventService, times(1)).publish(any(), any());
+            verify(solvedProblemCache, times(1)).markSolved(100L, PROBLEM_ID);
+            verify(retryScheduler, times(2)).clearAttempts(data);
+            verify(retryScheduler, never()).scheduleRetry(any(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("모아서 저장")
+    class Batching {
+
+        @Test
+        @DisplayName("배치 크기만큼 모이면 저장 주기를 기다리지 않고 저장한다")
+        void flushesWhenBatchIsFull() throws InterruptedException {
+            // given: 저장 주기가 긴 상태에서
+            writer.start();
+
+            // when: 배치 크기(3)만큼 결과가 모이면
+            for (long id = 1; id <= 3; id++) {
+                writer.submit(submission(id, 100L + id), INCORRECT);
+            }
+
+            // then: 바로 저장된다
+            long deadline = System.currentTimeMillis() + 2000;
+            while (gradedCount() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertAll(
+                    "배치 저장 검증",
+                    () -> assertThat(gradedCount()).isEqualTo(3),
+                    () -> assertThat(writer.pendingSize()).isZero()
+            );
+        }
+
+        @Test
+        @DisplayName("배치 크기보다 적게 모여도 종료 시에는 남은 결과를 모두 저장한다")
+        void flushesRemainingOnStop() {
+            // given
+            writer.start();
+            writer.submit(submission(1L, 100L), INCORRECT);
+            assertThat(gradedCount()).isZero();
+
+            // when
+            writer.stop();
+
+            // then
+            assertThat(gradedCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("저장 실패")
+    class Failure {
+
+        @Test
+        @DisplayName("저장에 실패하면 배치 전체가 롤백되고 모든 결과의 재시도가 예약된다")
+        void schedulesRetryForWholeBatch() {
+            // given: 문제 풀이 수 변경을 기록할 수 없을 때
+            GradingData first = submission(1L, 100L);
+            GradingData second = submission(2L, 200L);
+            jdbcTemplate.execute("DROP TABLE solved_count_journal");
+            writer.start();
+
+            // when
+            writer.submit(first, INCORRECT);
+            writer.submit(second, CORRECT);
+            writer.stop();
+
+            // then
+            verify(retryScheduler).scheduleRetry(eq(first), anyString());
+            verify(retryScheduler).scheduleRetry(eq(second), anyString());
+            verify(gradingEventService, never()).publish(any(), any());
+            assertAll(
+                    "롤백 검증",
+                    () -> assertThat(gradedCount()).isZero(),
+                    () -> assertThat(solvedCount()).isZero()
+            );
+        }
+
+        @Test
+        @DisplayName("삭제된 제출의 결과는 재시도를 예약하고, 나머지 결과는 저장한다")
+        void schedulesRetryForMissingSubmission() {
+            // given
+            GradingData existing = submission(1L, 100L);
+            GradingData missing = GradingData.builder()
+                    .submissionId(99L)
+                    .problemId(PROBLEM_ID)
+                    .userId(100L)
+                    .submittedAnswer("Answer")
+                    .build();
+            writer.start();
+
+            // when
+            writer.submit(existing, INCORRECT);
+            writer.submit(missing, INCORRECT);
+            writer.stop();
+
+            // then
+            verify(retryScheduler).scheduleRetry(eq(missing), anyString());
+            verify(retryScheduler, never()).scheduleRetry(eq(existing), anyString());
+            assertThat(gradedCount()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.service.GradingDeadLetterService;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GradingRetrySchedulerUnitTest {
+
+    @Mock
+    private GradingDeadLetterService deadLetterService;
+
+    private InMemorySubmissionMessageQueue messageQueue;
+
+    private GradingRetryScheduler retryScheduler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        GradingMetrics gradingMetrics = new GradingMetrics(new SimpleMeterRegistry());
+        messageQueue = new InMemorySubmissionMessageQueue(gradingMetrics);
+        retryScheduler = new GradingRetryScheduler(messageQueue, deadLetterService, gradingMetrics);
+
+        setField("maxAttempts", 3);
+        setField("baseDelayMillis", 100L);
+        setField("maxDelayMillis", 1000L);
+
+        retryScheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryScheduler.stop();
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = GradingRetryScheduler.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(retryScheduler, value);
+    }
+
+    private GradingData createGradingData(Long id) {
+        return GradingData.builder()
+                .submissionId(id)
+                .problemId(1L)
+                .submittedAnswer("Test Answer")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("재시도 예약")
+    class ScheduleRetry {
+
+        @Test
+        @DisplayName("실패한 요청은 대기 시간이 지난 후 큐에 다시 추가된다")
+        void failedRequestIsRequeuedAfterDelay() throws InterruptedException {
+            // given: 채점에 실패한 요청이 있을 때
+            GradingData data = createGradingData(1L);
+
+            // when: 재시도를 예약하면
+            retryScheduler.scheduleRetry(data, "AI 응답 오류");
+
+            // then: 바로 큐에 추가되지 않고, 대기 시간이 지난 후 추가된다
+            assertThat(messageQueue.isEmpty()).isTrue();
+            assertThat(retryScheduler.delayedSize()).isEqualTo(1);
+
+            GradingData retried = messageQueue.dequeue(2, TimeUnit.SECONDS);
+            assertAll(
+                    "재시도 결과 검증",
+                    () -> assertThat(retried).isNotNull(),
+                    () -> assertThat(retried.getSubmissionId()).isEqualTo(1L),
+                    () -> assertThat(retryScheduler.delayedSize()).isZero()
+            );
+        }
+
+        @Test
+        @DisplayName("재시도를 기다리는 동안 다른 요청은 계속 처리된다")
+        void otherRequestsAreNotBlockedByRetry() throws InterruptedException {
+            // given: 재시도 대기 중인 요청이 있을 때
+            retryScheduler.scheduleRetry(createGradingData(1L), "AI 응답 오류");
+
+            // when: 새로운 요청이 추가되면
+            messageQueue.enqueue(createGradingData(2L));
+
+            // then: 새로운 요청이 먼저 처리된다
+            assertThat(messageQueue.dequeue().getSubmissionId()).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("종료 시 대기 중인 재시도 요청은 큐에 돌려놓는다")
+        void delayedRequestsAreFlushedOnStop() {
+            // given: 재시도 대기 중인 요청이 있을 때
+            retryScheduler.scheduleRetry(createGradingData(1L), "AI 응답 오류");
+
+            // when: 스케줄러를 종료하면
+            retryScheduler.stop();
+
+            // then: 대기 중이던 요청이 큐에 추가된다
+            assertAll(
+                    "종료 처리 검증",
+                    () -> assertThat(retryScheduler.delayedSize()).isZero(),
+                    () -> assertThat(messageQueue.size()).isEqualTo(1)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("백오프 계산")
+    class Backoff {
+
+        @Test
+        @DisplayName("대기 시간은 실패할 때마다 두 배로 늘어나며 지터 범위 안에 있다")
+        void backoffGrowsExponentiallyWithJitter() {
+            // given: 기본 대기 시간 100ms, 최대 대기 시간 1000ms가 주어졌을 때
+
+            // when & then: 각 시도별 대기 시간이 [delay/2, delay] 범위 안에 있다
+            for (int i = 0; i < 100; i++) {
+                assertThat(retryScheduler.backoffDelay(1)).isBetween(50L, 100L);
+                assertThat(retryScheduler.backoffDelay(2)).isBetween(100L, 200L);
+                assertThat(retryScheduler.backoffDelay(3)).isBetween(200L, 400L);
+                assertThat(retryScheduler.backoffDelay(10)).isBetween(500L, 1000L);
+                assertThat(retryScheduler.backoffDelay(100)).isBetween(500L, 1000L);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("데드 레터")
+    class DeadLetter {
+
+        @Test
+        @DisplayName("최대 시도 횟수에 도달하면 데드 레터로 이동하고 다시 큐에 추가되지 않는다")
+        void requestIsDeadLetteredAfterMaxAttempts() {
+            // given: 채점에 계속 실패하는 요청이 있을 때
+            GradingData data = createGradingData(1L);
+
+            // when: 최대 시도 횟수만큼 실패하면
+            retryScheduler.scheduleRetry(data, "첫 번째 오류");
+            retryScheduler.scheduleRetry(data, "두 번째 오류");
+            retryScheduler.scheduleRetry(data, "마지막 오류");
+
+            // then: 마지막 오류와 함께 데드 레터로 기록된다
+            verify(deadLetterService).record(eq(data), eq(3), eq("마지막 오류"));
+        }
+
+        @Test
+        @DisplayName("채점에 성공하면 실패 횟수가 초기화된다")
+        void attemptsAreClearedOnSuccess() {
+            // given: 최대 시도 횟수 직전까지 실패한 요청이 있을 때
+            GradingData data = createGradingData(1L);
+            retryScheduler.scheduleRetry(data, "첫 번째 오류");
+            retryScheduler.scheduleRetry(data, "두 번째 오류");
+
+            // when: 채점에 성공한 후 다시 실패하면
+            retryScheduler.clearAttempts(data);
+            retryScheduler.scheduleRetry(data, "새로운 오류");
+
+            // then: 데드 레터로 이동하지 않는다
+            verify(deadLetterService, never()).record(any(), anyInt(), anyString());
+        }
+    }
+}
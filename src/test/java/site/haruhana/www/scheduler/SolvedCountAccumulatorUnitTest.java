@@ -0,0 +1,280 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.haruhana.www.cache.ProblemCatalogIndex;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 내장 DB(H2, MySQL 호환 모드)에서 문제 풀이 수 변경을 저널에 기록하고 모아서 반영하는 과정을 검증한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class SolvedCountAccumulatorUnitTest {
+
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Mock
+    private ProblemCatalogIndex catalogIndex;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private DataSourceTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SolvedCountAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        meterRegistry = new SimpleMeterRegistry();
+
+        jdbcTemplate.execute("""
+                CREATE TABLE problems
+                (
+                    id           BIGINT PRIMARY KEY,
+                    title        VARCHAR(255) NOT NULL,
+                    category     VARCHAR(50)  NOT NULL,
+                    difficulty   VARCHAR(20)  NOT NULL,
+                    type         VARCHAR(20)  NOT NULL,
+                    solved_count BIGINT       NOT NULL DEFAULT 0,
+                    created_at   DATETIME(6)  NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE solved_count_journal
+                (
+                    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    problem_id BIGINT      NOT NULL,
+                    delta      INT         NOT NULL,
+                    created_at DATETIME(6) NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE solved_problems
+                (
+                    user_id    BIGINT      NOT NULL,
+                    problem_id BIGINT      NOT NULL,
+                    solved_at  DATETIME(6) NOT NULL,
+                    PRIMARY KEY (user_id, problem_id)
+                )
+                """);
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update(
+                    "INSERT INTO problems (id, title, category, difficulty, type, solved_count, created_at) VALUES (?, ?, 'PROCESS', 'EASY', 'SUBJECTIVE', 10, NOW())",
+                    id, "Problem " + id
+            );
+        }
+
+        // 배치 크기를 작게 두어 여러 배치에 걸쳐 반영되도록 함
+        accumulator = new SolvedCountAccumulator(catalogIndex, jdbcTemplate, transactionManager, meterRegistry, 2, HOUR_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accumulator.stop();
+    }
+
+    /**
+     * 제출 트랜잭션처럼 트랜잭션 안에서 저널에 기록하는 메서드
+     */
+    private void journalInTransaction(Map<Long, Integer> increments, boolean commit) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            accumulator.journal(increments);
+            if (!commit) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private long solvedCount(long problemId) {
+        Long count = jdbcTemplate.queryForObject("SELECT solved_count FROM problems WHERE id = ?", Long.class, problemId);
+        return count == null ? 0 : count;
+    }
+
+    private int journalSize() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM solved_count_journal", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Test
+    @DisplayName("같은 사용자가 같은 문제를 여러 번 맞춰도 처음 맞춘 것으로는 한 번만 기록된다")
+    void recordsFirstSolveOnce() {
+        // when: 같은 사용자가 같은 문제를 두 번 맞추고, 다른 사용자가 같은 문제를 맞추면
+        boolean first = accumulator.recordSolved(100L, 1L);
+        boolean again = accumulator.recordSolved(100L, 1L);
+        boolean otherUser = accumulator.recordSolved(200L, 1L);
+
+        // then
+        assertAll(
+                "처음 맞춘 문제 기록 검증",
+                () -> assertThat(first).isTrue(),
+                () -> assertThat(again).isFalse(),
+                () -> assertThat(otherUser).isTrue()
+        );
+    }
+
+    @Nested
+    @DisplayName("저널 반영")
+    class Journal {
+
+        @Test
+        @DisplayName("저널은 문제 행을 갱신하지 않고, 반영할 때 문제별로 합산하여 갱신한 뒤 삭제된다")
+        void flushesJournalPerProblem() {
+            // given: 여러 제출이 풀이 수 변경을 저널에 기록했을 때 (배치 크기보다 많음)
+            journalInTransaction(Map.of(1L, 1), true);
+            journalInTransaction(Map.of(1L, 1, 2L, 2), true);
+            journalInTransaction(Map.of(1L, 3), true);
+            long beforeFlush = solvedCount(1L);
+
+            // when: 저널을 반영하면
+            int flushed = accumulator.flushJournal();
+
+            // then: 모든 배치가 반영되고 저널은 비워진다
+            assertAll(
+                    "저널 반영 검증",
+                    () -> assertThat(beforeFlush).isEqualTo(10),
+                    () -> assertThat(flushed).isEqualTo(4),
+                    () -> assertThat(solvedCount(1L)).isEqualTo(15),
+                    () -> assertThat(solvedCount(2L)).isEqualTo(12),
+                    () -> assertThat(solvedCount(3L)).isEqualTo(10),
+                    () -> assertThat(journalSize()).isZero(),
+                    () -> assertThat(meterRegistry.get("problem.solved.journal.flushed").counter().count()).isEqualTo(4)
+            );
+        }
+
+        @Test
+        @DisplayName("제출 트랜잭션이 롤백되면 저널에도 남지 않는다")
+        void rolledBackJournalIsDiscarded() {
+            // given: 제출 트랜잭션이 롤백되었을 때
+            journalInTransaction(Map.of(1L, 1), false);
+
+            // when: 저널을 반영하면
+            accumulator.flushJournal();
+
+            // then: 풀이 수는 바뀌지 않는다
+            assertAll(
+                    "롤백 검증",
+                    () -> assertThat(journalSize()).isZero(),
+                    () -> assertThat(solvedCount(1L)).isEqualTo(10)
+            );
+        }
+
+        @Test
+        @DisplayName("서버가 반영하지 못하고 종료되었더라도, 다음 시작 시 남은 저널이 모두 반영된다")
+        void replaysJournalOnStart() {
+            // given: 이전 서버가 저널만 기록하고 종료되었을 때
+            journalInTransaction(Map.of(1L, 1, 2L, 1, 3L, 1), true);
+
+            // when: 새 서버가 시작되면
+            accumulator.start();
+
+            // then: 남은 저널이 반영된다
+            assertAll(
+                    "시작 시 반영 검증",
+                    () -> assertThat(journalSize()).isZero(),
+                    () -> assertThat(solvedCount(1L)).isEqualTo(11),
+                    () -> assertThat(solvedCount(2L)).isEqualTo(11),
+                    () -> assertThat(solvedCount(3L)).isEqualTo(11)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("문제 목록 인덱스 반영")
+    class Index {
+
+        @Test
+        @DisplayName("저널을 반영하면 변경량이 아니라 커밋된 풀이 수를 문제 목록 인덱스에 반영한다")
+        void appliesCommittedCountsToIndex() {
+            // given: 다른 서버가 반영한 풀이 수 변경이 있는 상태에서 저널에 기록되었을 때
+            jdbcTemplate.update("UPDATE problems SET solved_count = 20 WHERE id = 2");
+            journalInTransaction(Map.of(1L, 1, 2L, 2), true);
+
+            // when
+            accumulator.flushJournal();
+
+            // then: 배치마다 커밋된 풀이 수가 반영된다
+            verify(catalogIndex).applySolvedCounts(Map.of(1L, 11L, 2L, 22L));
+        }
+
+        @Test
+        @DisplayName("종료 시에는 반영 주기를 기다리지 않고 모인 변경을 반영한다")
+        void flushesOnStop() {
+            // given: 반영 주기가 긴 상태에서 커밋된 변경이 모였을 때
+            accumulator.start();
+            journalInTransaction(Map.of(3L, 1), true);
+
+            // when: 종료하면
+            accumulator.stop();
+
+            // then: 모인 변경이 DB와 문제 목록 인덱스에 반영된다
+            assertAll(
+                    "종료 시 반영 검증",
+                    () -> assertThat(solvedCount(3L)).isEqualTo(11),
+                    () -> assertThat(journalSize()).isZero(),
+                    () -> verify(catalogIndex).applySolvedCounts(Map.of(3L, 11L)),
+                    () -> assertThat(accumulator.isRunning()).isFalse()
+            );
+        }
+
+        @Test
+        @DisplayName("여러 서버의 저널 반영과 DB 맞추기가 섞여도 문제 목록 인덱스의 풀이 수는 DB와 같다")
+        void indexMatchesDatabaseUnderInterleavedFlushes() {
+            // given: 이 서버의 문제 목록 인덱스와, 같은 DB를 사용하는 다른 서버
+            ProblemCatalogIndex index = new ProblemCatalogIndex(jdbcTemplate, new SimpleMeterRegistry(), true);
+            index.start();
+            SolvedCountAccumulator thisServer = new SolvedCountAccumulator(index, jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 2, HOUR_MILLIS);
+            SolvedCountAccumulator otherServer = new SolvedCountAccumulator(catalogIndex, jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 2, HOUR_MILLIS);
+
+            // when: 이 서버의 반영, 다른 서버의 반영, DB 맞추기가 번갈아 일어나면
+            journalInTransaction(Map.of(1L, 1), true);
+            thisServer.flushJournal();
+            long afterThisFlush = index.findSolvedCount(1L).orElseThrow();
+
+            journalInTransaction(Map.of(1L, 2), true);
+            otherServer.flushJournal();
+            index.refresh();
+            long afterReconcile = index.findSolvedCount(1L).orElseThrow();
+
+            journalInTransaction(Map.of(1L, 1), true);
+            thisServer.flushJournal();
+            index.refresh();
+            thisServer.flushJournal(); // 반영할 저널이 없음
+
+            // then: 각 변경은 한 번씩만 반영된다
+            ProblemCatalogIndex rebuilt = new ProblemCatalogIndex(jdbcTemplate, new SimpleMeterRegistry(), true);
+            rebuilt.start();
+            assertAll(
+                    "인덱스 풀이 수 검증",
+                    () -> assertThat(afterThisFlush).isEqualTo(11),
+                    () -> assertThat(afterReconcile).isEqualTo(13),
+                    () -> assertThat(solvedCount(1L)).isEqualTo(14),
+                    () -> assertThat(index.findSolvedCount(1L)).hasValue(14),
+                    () -> assertThat(index.versionTag()).isEqualTo(rebuilt.versionTag())
+            );
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package site.haruhana.www.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import site.haruhana.www.cache.GradingContextCache;
+import site.haruhana.www.cache.GradingResultCache;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.impl.InMemorySubmissionMessageQueue;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.ratelimit.AICircuitBreaker;
+import site.haruhana.www.service.AIService.GradingResult;
+import site.haruhana.www.service.AsyncAIService;
+import site.haruhana.www.scheduler.SubmissionScheduler.WorkerPoolStatus;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 가짜 AI 서비스로 채점 작업자 풀의 크기 조정, 동시 채점 제한, 종료 과정을 검증한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class SubmissionSchedulerUnitTest {
+
+    private static final long AWAIT_MILLIS = 5000;
+
+    private static final GradingResult RESULT = new GradingResult(90.0, true, "피드백");
+
+    @Mock
+    private AsyncAIService aiService;
+
+    @Mock
+    private AICircuitBreaker circuitBreaker;
+
+    @Mock
+    private GradingRetryScheduler retryScheduler;
+
+    @Mock
+    private GradingContextCache gradingContextCache;
+
+    @Mock
+    private GradingResultWriter resultWriter;
+
+    private InMemorySubmissionMessageQueue messageQueue;
+
+    private SubmissionScheduler scheduler;
+
+    // 가짜 AI 서비스의 상태 (응답을 기다리는 요청 수, 동시에 기다린 최대 요청 수)
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+
+    // 완료되면 가짜 AI 서비스가 응답을 보냄
+    private final CompletableFuture<Void> release = new CompletableFuture<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        messageQueue = new InMemorySubmissionMessageQueue(new GradingMetrics(new SimpleMeterRegistry()));
+        scheduler = new SubmissionScheduler(
+                messageQueue,
+                aiService,
+                circuitBreaker,
+                retryScheduler,
+                new GradingResultCache(new SimpleMeterRegistry(), 1000, 60),
+                gradingContextCache,
+                resultWriter
+        );
+
+        setField("initialPoolSize", 2);
+        setField("maxInFlight", 2);
+        setField("maxBatchSize", 1); // 작업자마다 한 건씩 꺼내도록 함
+        setField("shutdownTimeoutMillis", AWAIT_MILLIS);
+
+        // 테스트마다 사용하지 않는 스텁이 있으므로 lenient로 설정
+        lenient().when(circuitBreaker.awaitCallPermitted(anyLong(), any())).thenReturn(true);
+        lenient().when(gradingContextCache.get(anyLong())).thenReturn(createContext());
+
+        // release가 완료될 때까지 응답하지 않는 AI 서비스 (호출한 스레드는 바로 반환됨)
+        lenient().when(aiService.gradeSubjectiveSubmissions(any(), anyList())).thenAnswer(invocation -> {
+            List<GradingData> dataList = invocation.getArgument(1);
+            maxObservedInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            CompletableFuture<Map<Long, GradingResult>> response = release.thenApplyAsync(ignored -> Map.of(dataList.get(0).getSubmissionId(), RESULT));
+            response.whenComplete((results, e) -> inFlight.decrementAndGet());
+            return response;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.complete(null);
+        scheduler.stop();
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = SubmissionScheduler.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(scheduler, value);
+    }
+
+    private GradingContext createContext() throws Exception {
+        Problem problem = Problem.subjectiveProblemBuilder()
+                .title("Kubernetes Pod")
+                .question("Pod와 컨테이너의 관계를 설명하세요.")
+                .category(ProblemCategory.KUBERNETES)
+                .difficulty(ProblemDifficulty.MEDIUM)
+                .provider(ProblemProvider.AI)
+                .sampleAnswer("Pod는 하나 이상의 컨테이너를 묶은 배포 단위입니다.")
+                .build();
+        problem.addGradingCriteria("Pod의 정의를 설명한다");
+
+        Field idField = Problem.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(problem, 1L);
+
+        return GradingContext.from(problem);
+    }
+
+    private GradingData createGradingData(Long submissionId) {
+        return GradingData.builder()
+                .submissionId(submissionId)
+                .problemId(1L)
+                .userId(1L)
+                .submittedAnswer("답안 " + submissionId) // 채점 결과 캐시에서 합쳐지지 않도록 답안을 다르게 함
+                .build();
+    }
+
+    /**
+     * 조건이 만족될 때까지 기다리는 메서드
+     */
+    private boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + AWAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    @Nested
+    @DisplayName("작업자 풀 크기 조정")
+    class Resize {
+
+        @Test
+        @DisplayName("늘린 만큼 작업자가 바로 추가되고, 줄인 만큼의 작업자는 대기를 마친 뒤 종료된다")
+        void growsAndShrinksPool() throws InterruptedException {
+            // given
+            scheduler.start();
+            int initialWorkers = scheduler.getStatus().liveWorkers();
+
+            // when: 작업자 수를 늘리면
+            scheduler.resize(4);
+            int grownWorkers = scheduler.getStatus().liveWorkers();
+
+            // and: 다시 줄이면
+            scheduler.resize(1);
+            boolean shrunk = await(() -> scheduler.getStatus().liveWorkers() == 1);
+
+            // then
+            WorkerPoolStatus status = scheduler.getStatus();
+            assertAll(
+                    "풀 크기 검증",
+                    () -> assertThat(initialWorkers).isEqualTo(2),
+                    () -> assertThat(grownWorkers).isEqualTo(4),
+                    () -> assertThat(shrunk).isTrue(),
+                    () -> assertThat(status.poolSize()).isEqualTo(1),
+                    () -> assertThat(status.liveWorkers()).isEqualTo(1)
+            );
+        }
+
+        @Test
+        @DisplayName("줄어든 풀의 남은 작업자도 계속 채점한다")
+        void shrunkPoolKeepsGrading() throws InterruptedException {
+            // given
+            scheduler.start();
+            scheduler.resize(1);
+            await(() -> scheduler.getStatus().liveWorkers() == 1);
+            release.complete(null);
+
+            // when
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.enqueue(createGradingData(2L));
+
+            // then
+            verify(resultWriter, timeout(AWAIT_MILLIS).times(2)).submit(any(), any());
+            assertThat(messageQueue.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("작업자 수가 1보다 작으면 거부하고 기존 풀 크기를 유지한다")
+        void rejectsNonPositiveSize() {
+            // given
+            scheduler.start();
+
+            // when & then
+            assertAll(
+                    "잘못된 크기 검증",
+                    () -> assertThatThrownBy(() -> scheduler.resize(0)).isInstanceOf(IllegalArgumentException.class),
+                    () -> assertThatThrownBy(() -> scheduler.resize(-1)).isInstanceOf(IllegalArgumentException.class),
+                    () -> assertThat(scheduler.getStatus().poolSize()).isEqualTo(2)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("동시 채점 제한")
+    class InFlight {
+
+        @Test
+        @DisplayName("작업자가 더 많아도 동시에 진행되는 AI 채점 요청은 최대 동시 채점 수를 넘지 않는다")
+        void respectsInFlightCap() throws InterruptedException {
+            // given: 작업자 4개, 최대 동시 채점 2건
+            scheduler.start();
+            scheduler.resize(4);
+
+            // when: 채점 요청이 작업자 수보다 많이 들어오면
+            for (long id = 1; id <= 6; id++) {
+                messageQueue.enqueue(createGradingData(id));
+            }
+            boolean saturated = await(() -> scheduler.getStatus().busyWorkers() == 4);
+            Thread.sleep(100); // 허가를 기다리는 작업자가 AI를 호출하지 않는지 확인
+            WorkerPoolStatus status = scheduler.getStatus();
+            int observedWhileBlocked = maxObservedInFlight.get();
+            release.complete(null);
+
+            // then: 모든 요청이 채점되지만, 동시에 진행된 요청은 2건을 넘지 않는다
+            verify(resultWriter, timeout(AWAIT_MILLIS).times(6)).submit(any(), any());
+            assertAll(
+                    "동시 채점 제한 검증",
+                    () -> assertThat(saturated).isTrue(),
+                    () -> assertThat(observedWhileBlocked).isEqualTo(2),
+                    () -> assertThat(status.availableInFlight()).isZero(),
+                    () -> assertThat(maxObservedInFlight.get()).isEqualTo(2)
+            );
+        }
+
+        @Test
+        @DisplayName("AI 응답을 기다리는 동안 작업자는 다음 요청을 꺼내고, 응답이 도착하면 동시 채점 허가를 반납한다")
+        void releasesPermitWhenResponseArrives() throws InterruptedException {
+            // given: 작업자 1개, 최대 동시 채점 2건
+            setField("initialPoolSize", 1);
+            scheduler.start();
+
+            // when: 응답을 기다리는 중에 요청이 더 들어오면
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.enqueue(createGradingData(2L));
+            boolean bothSent = await(() -> inFlight.get() == 2);
+            release.complete(null);
+
+            // then: 하나의 작업자가 두 요청을 모두 보냈고, 응답을 처리한 뒤 허가가 모두 반납된다
+            verify(resultWriter, timeout(AWAIT_MILLIS).times(2)).submit(any(), any());
+            boolean released = await(() -> scheduler.getStatus().availableInFlight() == 2);
+            assertAll(
+                    "허가 반납 검증",
+                    () -> assertThat(bothSent).isTrue(),
+                    () -> assertThat(released).isTrue(),
+                    () -> assertThat(scheduler.getStatus().busyWorkers()).isZero()
+            );
+        }
+
+        @Test
+        @DisplayName("AI 요청이 실패하면 재시도를 예약하고 동시 채점 허가를 반납한다")
+        void releasesPermitOnFailure() throws InterruptedException {
+            // given
+            when(aiService.gradeSubjectiveSubmissions(any(), anyList())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("AI 응답 없음")));
+            scheduler.start();
+
+            // when
+            messageQueue.enqueue(createGradingData(1L));
+
+            // then
+            verify(retryScheduler, timeout(AWAIT_MILLIS)).scheduleRetry(any(), eq("AI 응답 없음"));
+            boolean released = await(() -> scheduler.getStatus().availableInFlight() == 2);
+            assertThat(released).isTrue();
+            verify(resultWriter, never()).submit(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("종료")
+    class Stop {
+
+        @Test
+        @DisplayName("종료 시 진행 중인 채점을 마칠 때까지 기다린다")
+        void drainsInFlightOnStop() throws InterruptedException {
+            // given: 채점이 진행 중일 때
+            scheduler.start();
+            messageQueue.enqueue(createGradingData(1L));
+            await(() -> inFlight.get() == 1);
+
+            // when: 종료하는 도중에 채점이 끝나면
+            Thread releaser = new Thread(() -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.complete(null);
+            });
+            releaser.start();
+            scheduler.stop();
+
+            // then: 종료는 채점 결과가 전달된 뒤에 끝난다
+            verify(resultWriter).submit(any(), any());
+            assertAll(
+                    "종료 대기 검증",
+                    () -> assertThat(scheduler.isRunning()).isFalse(),
+                    () -> assertThat(scheduler.getStatus().liveWorkers()).isZero(),
+                    () -> assertThat(messageQueue.size()).isZero()
+            );
+            verify(retryScheduler, never()).scheduleRetry(any(), anyString());
+        }
+
+        @Test
+        @DisplayName("제한 시간이 지나면 작업자를 인터럽트하고 진행 중인 AI 요청을 취소하며, 채점하지 못한 요청은 재시도 없이 다시 대기열에 추가한다")
+        void requeuesUnfinishedRequestsOnTimeout() throws Exception {
+            // given: 한 요청은 AI 응답을 기다리고, 다른 요청은 작업자가 꺼낸 채 동시 채점 허가를 기다릴 때
+            setField("maxInFlight", 1);
+            setField("shutdownTimeoutMillis", 200L);
+            scheduler.start();
+            messageQueue.enqueue(createGradingData(1L));
+            messageQueue.enqueue(createGradingData(2L));
+            await(() -> scheduler.getStatus().busyWorkers() == 1 && inFlight.get() == 1);
+
+            // when: 제한 시간 안에 끝나지 않아 종료하면
+            scheduler.stop();
+            boolean requeued = await(() -> messageQueue.size() == 2);
+            boolean terminated = await(() -> scheduler.getStatus().liveWorkers() == 0);
+            release.complete(null);
+
+            // then: 두 요청 모두 결과 없이 다시 대기열에 들어간다
+            List<Long> requeuedIds = List.of(messageQueue.dequeue().getSubmissionId(), messageQueue.dequeue().getSubmissionId());
+            assertAll(
+                    "종료 제한 시간 검증",
+                    () -> assertThat(requeued).isTrue(),
+                    () -> assertThat(terminated).isTrue(),
+                    () -> assertThat(inFlight.get()).isZero(),
+                    () -> assertThat(requeuedIds).containsExactlyInAnyOrder(1L, 2L)
+            );
+            verify(resultWriter, never()).submit(any(), any());
+            verify(retryScheduler, never()).scheduleRetry(any(), anyString());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package site.haruhana.www.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.service.AIService.GradingResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(OutputCaptureExtension.class)
+class AIServiceUnitTest {
+
+    private GradingData createGradingData(Long submissionId) {
+        return GradingData.builder()
+                .submissionId(submissionId)
+                .problemId(1L)
+                .userId(1L)
+                .submittedAnswer("답안 " + submissionId)
+                .build();
+    }
+
+    @Test
+    @DisplayName("기본 일괄 채점은 답안을 하나씩 채점하며, 실패한 답안은 제출 번호와 함께 기록하고 결과에서 제외한다")
+    void excludesAndLogsFailedSubmissions(CapturedOutput output) {
+        // given: 두 번째 답안의 채점만 실패할 때
+        AIService aiService = mock(AIService.class, CALLS_REAL_METHODS);
+        GradingData first = createGradingData(10L);
+        GradingData failed = createGradingData(11L);
+        GradingData third = createGradingData(12L);
+        GradingResult result = new GradingResult(90.0, true, "피드백");
+        doReturn(result).when(aiService).gradeSubjectiveSubmission(any(), eq(first));
+        doThrow(new RuntimeException("AI 응답 없음")).when(aiService).gradeSubjectiveSubmission(any(), eq(failed));
+        doReturn(result).when(aiService).gradeSubjectiveSubmission(any(), eq(third));
+
+        // when
+        Map<Long, GradingResult> results = aiService.gradeSubjectiveSubmissions(mock(GradingContext.class), List.of(first, failed, third));
+
+        // then
+        assertAll(
+                "부분 실패 검증",
+                () -> assertThat(results).containsOnlyKeys(10L, 12L),
+                () -> assertThat(output).contains("제출 #11 채점 중 오류 발생: AI 응답 없음")
+        );
+    }
+}
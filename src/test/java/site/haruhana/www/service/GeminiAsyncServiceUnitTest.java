@@ -0,0 +1,356 @@
+package site.haruhana.www.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import site.haruhana.www.entity.problem.Problem;
+import site.haruhana.www.entity.problem.ProblemCategory;
+import site.haruhana.www.entity.problem.ProblemDifficulty;
+import site.haruhana.www.entity.problem.ProblemProvider;
+import site.haruhana.www.exception.InvalidJsonShapeException;
+import site.haruhana.www.metrics.GradingMetrics;
+import site.haruhana.www.queue.message.GradingContext;
+import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.ratelimit.AICircuitBreaker;
+import site.haruhana.www.ratelimit.AIRateLimiter;
+import site.haruhana.www.service.AIService.GradingResult;
+import site.haruhana.www.service.impl.GeminiAsyncService;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class GeminiAsyncServiceUnitTest {
+
+    private static final long TIMEOUT_MILLIS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private AIRateLimiter rateLimiter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GeminiAsyncService geminiAsyncService;
+
+    // 가짜 Gemini 서버의 응답 설정
+    private volatile int responseStatus = 200;
+
+    private volatile long responseDelayMillis = 0;
+
+    private volatile int responseScore = 90;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] body = (responseStatus == 200 ? gradingStreamResponse() : "{}").getBytes(StandardCharsets.UTF_8);
+            try {
+                exchange.sendResponseHeaders(responseStatus, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (IOException e) {
+                // 클라이언트가 요청을 취소한 경우
+            }
+            exchange.close();
+        });
+        server.start();
+
+        rateLimiter = new AIRateLimiter(600_000, 1000, 500, 1, 500, 60_000, 0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        geminiAsyncService = new GeminiAsyncService(
+                objectMapper,
+                rateLimiter,
+                new AICircuitBreaker(meterRegistry, 1000, 1000, 1.0, 60_000, 1.0, 1000, 1),
+                new GradingMetrics(meterRegistry),
+                "test-key",
+                "http://127.0.0.1:" + server.getAddress().getPort(),
+                TIMEOUT_MILLIS,
+                1000,
+                2,
+                2
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        geminiAsyncService.close();
+        rateLimiter.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    /**
+     * 채점 결과 JSON을 코드 블록으로 감싸 여러 SSE 이벤트로 나누어 보내는 응답
+     */
+    private String gradingStreamResponse() {
+        try {
+            String gradingJson = objectMapper.writeValueAsString(Map.of(
+                    "feedback", "좋은 답안입니다.",
+                    "criteriaEvaluation", List.of(
+                            Map.of("criteria", "Pod의 정의", "score", 80, "feedback", "정확합니다."),
+                            Map.of("criteria", "자원 공유", "score", responseScore, "feedback", "구체적입니다.")
+                    )
+            ));
+            String text = "```json\n" + gradingJson + "\n```";
+
+            StringBuilder body = new StringBuilder();
+            for (int start = 0; start < text.length(); start += 16) {
+                String chunk = text.substring(start, Math.min(text.length(), start + 16));
+                body.append("data: ").append(objectMapper.writeValueAsString(Map.of(
+                        "candidates", List.of(Map.of(
+                                "content", Map.of("parts", List.of(Map.of("text", chunk)))
+                        ))
+                ))).append("\r\n\r\n");
+            }
+            return body.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private GradingContext createContext() throws Exception {
+        Problem problem = Problem.subjectiveProblemBuilder()
+                .title("Kubernetes Pod")
+                .question("Pod와 컨테이너의 관계를 설명하세요.")
+                .category(ProblemCategory.KUBERNETES)
+                .difficulty(ProblemDifficulty.MEDIUM)
+                .provider(ProblemProvider.AI)
+                .sampleAnswer("Pod는 하나 이상의 컨테이너를 묶은 배포 단위입니다.")
+                .build();
+        problem.addGradingCriteria("Pod의 정의를 설명한다");
+        problem.addGradingCriteria("컨테이너 간 자원 공유를 설명한다");
+
+        Field idField = Problem.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(problem, 1L);
+
+        return GradingContext.from(problem);
+    }
+
+    private GradingData createGradingData(Long submissionId) {
+        return GradingData.builder()
+                .submissionId(submissionId)
+                .problemId(1L)
+                .userId(1L)
+                .submittedAnswer("Pod는 컨테이너를 묶은 단위입니다.")
+                .build();
+    }
+
+    /**
+     * 진행 중인 요청의 허가가 모두 반납될 때까지 기다리는 메서드
+     */
+    private void awaitNoInFlight() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (rateLimiter.getInFlight() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Nested
+    @DisplayName("비동기 채점")
+    class AsyncGrading {
+
+        @Test
+        @DisplayName("AI 응답을 채점 결과로 변환하여 Future로 전달한다")
+        void gradesSubmission() throws Exception {
+            // given: AI가 기준별 점수를 응답할 때
+            GradingContext context = createContext();
+
+            // when: 비동기로 채점하면
+            GradingResult result = geminiAsyncService.gradeSubjectiveSubmission(context, createGradingData(1L))
+                    .get(5, TimeUnit.SECONDS);
+
+            // then: 기준별 점수의 평균으로 채점되고 허가가 반납되며, 호출 시간과 변환 시간이 기록된다
+            assertAll(
+                    "채점 결과 검증",
+                    () -> assertThat(result.score()).isEqualTo(85.0),
+                    () -> assertThat(result.isCorrect()).isTrue(),
+                    () -> assertThat(result.feedback()).contains("좋은 답안입니다."),
+                    () -> assertThat(rateLimiter.getInFlight()).isZero(),
+                    () -> assertThat(meterRegistry.get("ai.call.latency").tag("lane", "grading").timer().count()).isEqualTo(1),
+                    () -> assertThat(meterRegistry.get("ai.response.parse").timer().count()).isEqualTo(1)
+            );
+        }
+
+        @Test
+        @DisplayName("많은 채점 요청이 동시에 진행되어도 응답 처리 스레드는 늘어나지 않는다")
+        void manyConcurrentCallsShareFewThreads() throws Exception {
+            // given: 응답이 오래 걸리는 상황에서
+            responseDelayMillis = 300;
+            GradingContext context = createContext();
+
+            // when: 200건의 채점을 동시에 요청하면
+            List<CompletableFuture<GradingResult>> futures = new ArrayList<>();
+            for (long id = 1; id <= 200; id++) {
+                futures.add(geminiAsyncService.gradeSubjectiveSubmission(context, createGradingData(id)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+            // then: 모든 채점이 완료되고, 응답 처리 스레드는 설정한 수(2개)를 넘지 않는다
+            long asyncThreads = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith("gemini-async-"))
+                    .count();
+
+            assertAll(
+                    "동시 처리 검증",
+                    () -> assertThat(futures).allMatch(future -> future.join().score() == 85.0),
+                    () -> assertThat(asyncThreads).isLessThanOrEqualTo(2),
+                    () -> assertThat(requestCount.get()).isEqualTo(200)
+            );
+        }
+
+        @Test
+        @DisplayName("다른 문제의 답안이 섞여 있으면 요청하지 않고 실패한다")
+        void rejectsMixedProblems() throws Exception {
+            // given: 다른 문제에 대한 답안이 섞여 있을 때
+            GradingData otherProblem = GradingData.builder()
+                    .submissionId(2L)
+                    .problemId(2L)
+                    .userId(1L)
+                    .submittedAnswer("답안")
+                    .build();
+
+            // when & then: 요청을 보내지 않고 실패한다
+            assertThatThrownBy(() -> geminiAsyncService.gradeSubjectiveSubmissions(createContext(), List.of(createGradingData(1L), otherProblem)).get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThat(requestCount.get()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("응답 형식 검증")
+    class ResponseShape {
+
+        @Test
+        @DisplayName("응답 형식이 잘못되면 설정한 횟수만큼 다시 요청한 뒤 실패하고 허가가 반납된다")
+        void retriesMalformedResponse() throws Exception {
+            // given: AI가 점수 범위(0~100)를 벗어난 점수를 응답할 때
+            responseScore = 150;
+
+            // when: 채점을 요청하면
+            CompletableFuture<GradingResult> future = geminiAsyncService.gradeSubjectiveSubmission(createContext(), createGradingData(1L));
+
+            // then: 최대 요청 횟수(2회)까지 요청한 뒤 실패한다
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseInstanceOf(InvalidJsonShapeException.class);
+
+            awaitNoInFlight();
+            assertAll(
+                    "재요청 검증",
+                    () -> assertThat(requestCount.get()).isEqualTo(2),
+                    () -> assertThat(rateLimiter.getInFlight()).isZero(),
+                    () -> assertThat(meterRegistry.get("ai.response.parse.failures").counter().count()).isEqualTo(2.0)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("제한 시간과 취소")
+    class TimeoutAndCancellation {
+
+        @Test
+        @DisplayName("제한 시간 안에 응답이 없으면 TimeoutException으로 완료되고 허가가 반납된다")
+        void timesOut() throws Exception {
+            // given: 응답이 제한 시간보다 오래 걸릴 때
+            responseDelayMillis = TIMEOUT_MILLIS * 3;
+
+            // when: 채점을 요청하면
+            CompletableFuture<GradingResult> future = geminiAsyncService.gradeSubjectiveSubmission(createContext(), createGradingData(1L));
+
+            // then: 제한 시간이 지나 실패하고 허가가 반납된다
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+
+            awaitNoInFlight();
+            assertThat(rateLimiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("반환된 Future를 취소하면 진행 중인 요청도 취소되고 허가가 반납된다")
+        void cancellationReleasesPermit() throws Exception {
+            // given: 응답이 오래 걸리는 채점 요청이 진행 중일 때
+            responseDelayMillis = TIMEOUT_MILLIS * 3;
+            CompletableFuture<Map<Long, GradingResult>> future =
+                    geminiAsyncService.gradeSubjectiveSubmissions(createContext(), List.of(createGradingData(1L)));
+            Thread.sleep(100);
+
+            // when: Future를 취소하면
+            boolean cancelled = future.cancel(true);
+
+            // then: 진행 중인 요청의 허가가 반납된다
+            awaitNoInFlight();
+            assertAll(
+                    "취소 검증",
+                    () -> assertThat(cancelled).isTrue(),
+                    () -> assertThat(rateLimiter.getInFlight()).isZero()
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("요청 한도 초과")
+    class RateLimited {
+
+        @Test
+        @DisplayName("429 응답을 받으면 실패로 완료되고 속도 제한기의 동시 요청 한도가 줄어든다")
+        void rateLimitedResponseShrinksLimit() throws Exception {
+            // given: AI 서버가 429로 응답할 때
+            responseStatus = 429;
+            double limitBefore = rateLimiter.getLimit();
+
+            // when: 채점을 요청하면
+            CompletableFuture<GradingResult> future = geminiAsyncService.gradeSubjectiveSubmission(createContext(), createGradingData(1L));
+
+            // then: 실패로 완료되고 동시 요청 한도가 줄어들며, 429 응답 수가 기록된다
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasMessageContaining("요청 한도");
+            assertAll(
+                    "요청 한도 초과 검증",
+                    () -> assertThat(rateLimiter.getLimit()).isLessThan(limitBefore),
+                    () -> assertThat(meterRegistry.get("ai.rate.limited").counter().count()).isEqualTo(1.0)
+            );
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package site.haruhana.www.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import site.haruhana.www.controller.SubmissionController;
+import site.haruhana.www.dto.grading.GradingEventDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class GradingEventServiceUnitTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+-\\d+)");
+
+    private JdbcTemplate jdbcTemplate;
+
+    private GradingEventService gradingEventService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE submissions (
+                    id BIGINT PRIMARY KEY,
+                    user_id BIGINT NOT NULL,
+                    problem_id BIGINT NOT NULL,
+                    score DOUBLE,
+                    is_correct BOOLEAN,
+                    feedback_provided_at DATETIME(6)
+                )
+                """);
+
+        gradingEventService = createService();
+        mockMvc = createMockMvc(gradingEventService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gradingEventService.close();
+    }
+
+    private GradingEventService createService() {
+        return new GradingEventService(jdbcTemplate, new SimpleMeterRegistry(), 2, 32, 60_000, 3000, 5000, 1);
+    }
+
+    private MockMvc createMockMvc(GradingEventService service) {
+        return MockMvcBuilders
+                .standaloneSetup(new SubmissionController(mock(SubmissionService.class), service))
+                .build();
+    }
+
+    private MvcResult subscribe(Long userId, String lastEventId) throws Exception {
+        return subscribe(mockMvc, userId, lastEventId);
+    }
+
+    private MvcResult subscribe(MockMvc mockMvc, Long userId, String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder requestBuilder = get("/api/users/{userId}/grading-events", userId);
+        if (lastEventId != null) {
+            requestBuilder.header("Last-Event-ID", lastEventId);
+        }
+
+        return mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    /**
+     * 채점 결과를 저장하고 채점 완료 이벤트를 만드는 메서드 (GradingResultWriter와 같이 DB에 먼저 저장됨)
+     */
+    private GradingEventDto grade(Long userId, Long submissionId) {
+        LocalDateTime gradedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        jdbcTemplate.update(
+                "INSERT INTO submissions (id, user_id, problem_id, score, is_correct, feedback_provided_at) VALUES (?, ?, 1, 80.0, TRUE, ?)",
+                submissionId, userId, Timestamp.valueOf(gradedAt)
+        );
+
+        return GradingEventDto.builder()
+                .submissionId(submissionId)
+                .problemId(1L)
+                .score(80.0)
+                .isCorrect(true)
+                .gradedAt(gradedAt)
+                .build();
+    }
+
+    /**
+     * 응답 본문이 조건을 만족할 때까지 기다리는 메서드 (이벤트는 별도의 전송 스레드가 보냄)
+     */
+    private String awaitContent(MvcResult result, Predicate<String> condition) throws Exception {
+        MockHttpServletResponse response = result.getResponse();
+        long deadline = System.currentTimeMillis() + 2000;
+
+        String content = response.getContentAsString();
+        while (!condition.test(content) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    private String firstEventId(String content) {
+        Matcher matcher = EVENT_ID.matcher(content);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    @Nested
+    @DisplayName("이벤트 전달")
+    class Publishing {
+
+        @Test
+        @DisplayName("구독 중인 사용자에게 채점 완료 이벤트가 전달된다")
+        void publishedEventIsSentToSubscriber() throws Exception {
+            // given: 사용자가 채점 완료 이벤트를 구독 중일 때
+            MvcResult result = subscribe(1L, null);
+
+            // when: 사용자의 채점 완료 이벤트가 발생하면
+            gradingEventService.publish(1L, grade(1L, 10L));
+
+            // then: 이벤트 ID와 함께 graded 이벤트가 전달된다
+            String content = awaitContent(result, c -> c.contains("\"submissionId\":10"));
+            assertAll(
+                    "이벤트 전달 검증",
+                    () -> assertThat(content).contains("event:graded"),
+                    () -> assertThat(content).contains("\"isCorrect\":true"),
+                    () -> assertThat(firstEventId(content)).isNotNull(),
+                    () -> assertThat(gradingEventService.getConnectionCount()).isEqualTo(1)
+            );
+        }
+
+        @Test
+        @DisplayName("다른 사용자의 채점 완료 이벤트는 전달되지 않는다")
+        void otherUsersEventsAreNotSent() throws Exception {
+            // given: 1번 사용자가 구독 중일 때
+            MvcResult result = subscribe(1L, null);
+
+            // when: 2번 사용자와 1번 사용자의 이벤트가 차례로 발생하면
+            gradingEventService.publish(2L, grade(2L, 20L));
+            gradingEventService.publish(1L, grade(1L, 10L));
+
+            // then: 1번 사용자의 이벤트만 전달된다
+            String content = awaitContent(result, c -> c.contains("\"submissionId\":10"));
+            assertAll(
+                    "사용자별 전달 검증",
+                    () -> assertThat(content).contains("\"submissionId\":10"),
+                    () -> assertThat(content).doesNotContain("\"submissionId\":20")
+            );
+        }
+
+        @Test
+        @DisplayName("다른 서버에서 채점된 결과는 조회하여 이 서버의 구독자에게 전달된다")
+        void eventsGradedOnOtherNodeAreSentAfterPolling() throws Exception {
+            // given: 사용자가 다른 서버에 연결되어 있을 때
+            GradingEventService otherNode = createService();
+            try {
+                MvcResult result = subscribe(createMockMvc(otherNode), 1L, null);
+
+                // when: 이 서버에서 채점 결과를 저장하고 다른 서버가 최근에 채점된 결과를 조회하면
+                gradingEventService.publish(1L, grade(1L, 10L));
+                otherNode.pollGradedSubmissions();
+
+                // then: 다른 서버의 구독자에게도 이벤트가 전달된다
+                String content = awaitContent(result, c -> c.contains("\"submissionId\":10"));
+                assertAll(
+                        "서버 간 전달 검증",
+                        () -> assertThat(content).contains("event:graded"),
+                        () -> assertThat(firstEventId(content)).isNotNull()
+                );
+            } finally {
+                otherNode.close();
+            }
+        }
+
+        @Test
+        @DisplayName("이미 전달한 이벤트는 조회 범위가 겹치더라도 다시 전달되지 않는다")
+        void polledEventsAreNotSentTwice() throws Exception {
+            // given: 이 서버에서 채점한 결과가 구독자에게 전달되었을 때
+            MvcResult result = subscribe(1L, null);
+            gradingEventService.publish(1L, grade(1L, 10L));
+            awaitContent(result, c -> c.contains("\"submissionId\":10"));
+
+            // when: 최근에 채점된 결과를 두 번 조회하면
+            gradingEventService.pollGradedSubmissions();
+            gradingEventService.pollGradedSubmissions();
+            gradingEventService.publish(1L, grade(1L, 11L));
+
+            // then: 이미 전달한 이벤트는 한 번만 전달된다
+            String content = awaitContent(result, c -> c.contains("\"submissionId\":11"));
+            assertThat(content.split("\"submissionId\":10", -1)).hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("재연결")
+    class Resumption {
+
+        @Test
+        @DisplayName("Last-Event-ID로 재연결하면 그 이후의 이벤트만 다시 전달된다")
+        void resumesAfterLastEventId() throws Exception {
+            // given: 첫 번째 이벤트를 받은 뒤 연결이 끊어졌고, 그 사이 두 번째 이벤트가 발생했을 때
+            MvcResult first = subscribe(1L, null);
+            gradingEventService.publish(1L, grade(1L, 10L));
+            String lastEventId = firstEventId(awaitContent(first, c -> c.contains("\"submissionId\":10")));
+            gradingEventService.publish(1L, grade(1L, 11L));
+
+            // when: 마지막으로 받은 이벤트 ID로 재연결하면
+            MvcResult resumed = subscribe(1L, lastEventId);
+
+            // then: 놓친 이벤트만 다시 전달되고 resync 이벤트는 전달되지 않는다
+            String content = awaitContent(resumed, c -> c.contains("\"submissionId\":11"));
+            assertAll(
+                    "이어받기 검증",
+                    () -> assertThat(content).contains("\"submissionId\":11"),
+                    () -> assertThat(content).doesNotContain("\"submissionId\":10"),
+                    () -> assertThat(content).doesNotContain("event:resync")
+            );
+        }
+
+        @Test
+        @DisplayName("이어받을 수 있는 수보다 많은 이벤트를 놓쳤으면 resync 이벤트만 전달된다")
+        void sendsResyncWhenTooManyEventsWereMissed() throws Exception {
+            // given: 이어받을 수 있는 수(2개)보다 많은 이벤트가 발생했을 때
+            gradingEventService.publish(1L, grade(1L, 10L));
+            gradingEventService.publish(1L, grade(1L, 11L));
+            gradingEventService.publish(1L, grade(1L, 12L));
+
+            // when: 모든 이벤트 이전의 ID로 재연결하면
+            MvcResult resumed = subscribe(1L, "0-0");
+
+            // then: 놓친 이벤트 대신 resync 이벤트가 전달된다
+            String content = awaitContent(resumed, c -> c.contains("event:resync"));
+            assertAll(
+                    "재동기화 검증",
+                    () -> assertThat(content).contains("event:resync"),
+                    () -> assertThat(content).doesNotContain("event:graded")
+            );
+        }
+
+        @Test
+        @DisplayName("다른 서버에서 받은 이벤트 ID로 재연결해도 그 이후의 이벤트가 전달된다")
+        void resumesOnOtherNode() throws Exception {
+            // given: 이 서버에서 첫 번째 이벤트를 받은 뒤 연결이 끊어졌고, 그 사이 두 번째 이벤트가 발생했을 때
+            MvcResult first = subscribe(1L, null);
+            gradingEventService.publish(1L, grade(1L, 10L));
+            String lastEventId = firstEventId(awaitContent(first, c -> c.contains("\"submissionId\":10")));
+            gradingEventService.publish(1L, grade(1L, 11L));
+
+            // when: 다른 서버로 재연결하면
+            GradingEventService otherNode = createService();
+            try {
+                MvcResult resumed = subscribe(createMockMvc(otherNode), 1L, lastEventId);
+
+                // then: 놓친 이벤트가 DB에서 다시 전달된다
+                String content = awaitContent(resumed, c -> c.contains("\"submissionId\":11"));
+                assertAll(
+                        "다른 서버에서 이어받기 검증",
+                        () -> assertThat(content).contains("\"submissionId\":11"),
+                        () -> assertThat(content).doesNotContain("\"submissionId\":10")
+                );
+            } finally {
+                otherNode.close();
+            }
+        }
+    }
+}
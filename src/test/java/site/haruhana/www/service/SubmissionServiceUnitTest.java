@@ -9,7 +9,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import site.haruhana.www.cache.SolvedProblemCache;
+import site.haruhana.www.dto.KeysetCursor;
+import site.haruhana.www.dto.submission.SubmissionPage;
 import site.haruhana.www.dto.submission.request.SubmissionRequestDto;
+import site.haruhana.www.dto.submission.response.SubmissionHistoryResponseDto;
 import site.haruhana.www.dto.submission.response.extend.MultipleChoiceSubmissionResponseDto;
 import site.haruhana.www.dto.submission.response.extend.SubjectiveSubmissionResponseDto;
 import site.haruhana.www.dto.submission.response.SubmissionResponseDto;
@@ -21,15 +26,19 @@ import site.haruhana.www.entity.problem.choice.ProblemOption;
 import site.haruhana.www.entity.submission.Submission;
 import site.haruhana.www.entity.user.Role;
 import site.haruhana.www.entity.user.User;
+import site.haruhana.www.exception.InvalidCursorException;
 import site.haruhana.www.exception.ProblemNotFoundException;
-import site.haruhana.www.queue.SubmissionMessageQueue;
-import site.haruhana.www.queue.message.GradingData;
+import site.haruhana.www.entity.grading.GradingOutbox;
+import site.haruhana.www.repository.GradingOutboxRepository;
 import site.haruhana.www.repository.ProblemRepository;
 import site.haruhana.www.repository.SubmissionRepository;
+import site.haruhana.www.scheduler.GradingOutboxRelay;
+import site.haruhana.www.scheduler.SolvedCountAccumulator;
 
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,7 +50,10 @@ import static org.mockito.Mockito.*;
 class SubmissionServiceUnitTest {
 
     @Mock
-    private SubmissionMessageQueue messageQueue;
+    private GradingOutboxRepository outboxRepository;
+
+    @Mock
+    private GradingOutboxRelay outboxRelay;
 
     @Mock
     private ProblemRepository problemRepository;
@@ -49,6 +61,12 @@ class SubmissionServiceUnitTest {
     @Mock
     private SubmissionRepository submissionRepository;
 
+    @Mock
+    private SolvedCountAccumulator solvedCountAccumulator;
+
+    @Mock
+    private SolvedProblemCache solvedProblemCache;
+
     @InjectMocks
     private SubmissionService submissionService;
 
@@ -104,7 +122,7 @@ class SubmissionServiceUnitTest {
                     "정답 제출 검증",
                     () -> assertThat(multipleChoiceResponse.getIsCorrect()).isTrue(),
                     () -> verify(submissionRepository, times(1)).save(any(Submission.class)),
-                    () -> verify(messageQueue, never()).enqueue(any(GradingData.class))
+                    () -> verify(outboxRepository, never()).save(any(GradingOutbox.class))
             );
         }
 
@@ -137,7 +155,7 @@ class SubmissionServiceUnitTest {
                     "부분 정답 제출 검증",
                     () -> assertThat(multipleChoiceResponse.getIsCorrect()).isFalse(),
                     () -> verify(submissionRepository, times(1)).save(any(Submission.class)),
-                    () -> verify(messageQueue, never()).enqueue(any(GradingData.class))
+                    () -> verify(outboxRepository, never()).save(any(GradingOutbox.class))
             );
         }
 
@@ -170,7 +188,7 @@ class SubmissionServiceUnitTest {
                     "정답+오답 혼합 제출 검증",
                     () -> assertThat(multipleChoiceResponse.getIsCorrect()).isFalse(),
                     () -> verify(submissionRepository, times(1)).save(any(Submission.class)),
-                    () -> verify(messageQueue, never()).enqueue(any(GradingData.class))
+                    () -> verify(outboxRepository, never()).save(any(GradingOutbox.class))
             );
         }
 
@@ -203,7 +221,7 @@ class SubmissionServiceUnitTest {
                     "오답 제출 검증",
                     () -> assertThat(multipleChoiceResponse.getIsCorrect()).isFalse(),
                     () -> verify(submissionRepository, times(1)).save(any(Submission.class)),
-                    () -> verify(messageQueue, never()).enqueue(any(GradingData.class))
+                    () -> verify(outboxRepository, never()).save(any(GradingOutbox.class))
             );
         }
 
@@ -237,7 +255,7 @@ class SubmissionServiceUnitTest {
                     () -> assertThat(multipleChoiceResponse.getIsCorrect()).isFalse(),
                     () -> assertThat(responseDto.getId()).isEqualTo(1L),
                     () -> verify(submissionRepository, times(1)).save(any(Submission.class)),
-                    () -> verify(messageQueue, never()).enqueue(any(GradingData.class))
+                    () -> verify(outboxRepository, never()).save(any(GradingOutbox.class))
             );
         }
     }
@@ -247,8 +265,8 @@ class SubmissionServiceUnitTest {
     class SubjectiveSubmissionTest {
 
         @Test
-        @DisplayName("주관식 문제 제출은 채점 큐에 추가된다")
-        void shouldAddToQueueWhenSubjectiveSubmitted() {
+        @DisplayName("주관식 문제 제출은 같은 트랜잭션에서 채점 아웃박스에 저장되고, 아웃박스 전달 작업을 깨운다")
+        void shouldSaveToOutboxWhenSubjectiveSubmitted() {
             // given: 주관식 문제와 답안이 주어졌을 때
             when(problemRepository.findById(2L)).thenReturn(Optional.of(subjectiveProblem));
 
@@ -268,8 +286,8 @@ class SubmissionServiceUnitTest {
             // when: 답안을 제출하면
             SubmissionResponseDto responseDto = submissionService.submitAnswer(testUser, 2L, requestDto);
 
-            // then: 채점 큐에 추가되고 pending 상태로 응답된다
-            ArgumentCaptor<GradingData> gradingDataCaptor = ArgumentCaptor.forClass(GradingData.class);
+            // then: 채점 아웃박스에 저장되고 pending 상태로 응답된다
+            ArgumentCaptor<GradingOutbox> outboxCaptor = ArgumentCaptor.forClass(GradingOutbox.class);
             var subjectiveResponse = assertInstanceOf(SubjectiveSubmissionResponseDto.class, responseDto);
 
             assertAll(
@@ -277,18 +295,93 @@ class SubmissionServiceUnitTest {
                     () -> assertThat(subjectiveResponse.getIsPending()).isTrue(),
                     () -> assertThat(subjectiveResponse.getFeedback()).isNull(),
                     () -> assertThat(subjectiveResponse.getScore()).isNull(),
-                    () -> verify(messageQueue, times(1)).enqueue(gradingDataCaptor.capture()),
-                    () -> {
-                        GradingData capturedData = gradingDataCaptor.getValue();
-                        assertThat(capturedData.getSubmissionId()).isEqualTo(1L);
-                        assertThat(capturedData.getProblemId()).isEqualTo(2L);
-                        assertThat(capturedData.getSubmittedAnswer()).isEqualTo("주관식 답안 내용입니다.");
-                    },
+                    () -> verify(outboxRepository, times(1)).save(outboxCaptor.capture()),
+                    () -> assertThat(outboxCaptor.getValue().getSubmissionId()).isEqualTo(1L),
+                    () -> verify(outboxRelay, times(1)).wakeUp(),
                     () -> verify(submissionRepository, times(1)).save(any(Submission.class))
             );
         }
     }
 
+    @Nested
+    @DisplayName("문제 풀이 기록 조회")
+    class SubmissionHistoryTest {
+
+        private final LocalDateTime submittedAt = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+
+        private SubmissionHistoryResponseDto history(long submissionId, LocalDateTime solvedAt) {
+            return SubmissionHistoryResponseDto.builder()
+                    .id(1L)
+                    .title("문제")
+                    .solvedAt(solvedAt)
+                    .isCorrect(true)
+                    .submissionId(submissionId)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("다음 페이지 커서로 조회하면 커서보다 오래된 기록을 전체 개수 없이 조회하고, 다음/이전 페이지 커서를 반환한다")
+        void seeksOlderSubmissionsFromCursor() {
+            // given: 제출 ID 10번 위치의 다음 페이지 커서와, 한 페이지(2개)보다 하나 많은 조회 결과
+            String cursor = KeysetCursor.next("SUBMISSION_HISTORY", KeysetCursor.toKey(submittedAt), 10L).encode();
+            when(submissionRepository.findSubmissionsWithFiltersBefore(1L, null, null, null, null, submittedAt, 10L, Limit.of(3)))
+                    .thenReturn(List.of(history(9L, submittedAt), history(7L, submittedAt.minusMinutes(1)), history(6L, submittedAt.minusMinutes(2))));
+
+            // when
+            SubmissionPage<SubmissionHistoryResponseDto> page = submissionService.getSubmissionHistoryByUser(1L, 0, 2, null, null, null, null, cursor);
+
+            // then
+            KeysetCursor next = KeysetCursor.decode(page.getNextCursor(), "SUBMISSION_HISTORY");
+            KeysetCursor prev = KeysetCursor.decode(page.getPrevCursor(), "SUBMISSION_HISTORY");
+            assertAll(
+                    "커서 조회 검증",
+                    () -> assertThat(page.getSubmissions()).extracting(SubmissionHistoryResponseDto::getSubmissionId).containsExactly(9L, 7L),
+                    () -> assertThat(page.getTotalElements()).isNull(),
+                    () -> assertThat(page.isHasNext()).isTrue(),
+                    () -> assertThat(page.isHasPrevious()).isTrue(),
+                    () -> assertThat(next).isEqualTo(KeysetCursor.next("SUBMISSION_HISTORY", KeysetCursor.toKey(submittedAt.minusMinutes(1)), 7L)),
+                    () -> assertThat(prev).isEqualTo(KeysetCursor.prev("SUBMISSION_HISTORY", KeysetCursor.toKey(submittedAt), 9L)),
+                    () -> verify(submissionRepository, never()).findSubmissionsWithFiltersDirect(any(), any(), any(), any(), any(), any())
+            );
+        }
+
+        @Test
+        @DisplayName("이전 페이지 커서로 조회하면 커서보다 최근 기록을 최신순으로 되돌려 반환한다")
+        void seeksNewerSubmissionsFromPrevCursor() {
+            // given: 최근 기록이 커서에 가까운 순서(오래된순)로 조회됨
+            String cursor = KeysetCursor.prev("SUBMISSION_HISTORY", KeysetCursor.toKey(submittedAt), 10L).encode();
+            when(submissionRepository.findSubmissionsWithFiltersAfter(1L, null, null, null, null, submittedAt, 10L, Limit.of(3)))
+                    .thenReturn(List.of(history(11L, submittedAt.plusMinutes(1)), history(12L, submittedAt.plusMinutes(2))));
+
+            // when
+            SubmissionPage<SubmissionHistoryResponseDto> page = submissionService.getSubmissionHistoryByUser(1L, 0, 2, null, null, null, null, cursor);
+
+            // then: 더 최근 기록이 없으므로 이전 페이지 커서는 없다
+            assertAll(
+                    "이전 페이지 검증",
+                    () -> assertThat(page.getSubmissions()).extracting(SubmissionHistoryResponseDto::getSubmissionId).containsExactly(12L, 11L),
+                    () -> assertThat(page.getPrevCursor()).isNull(),
+                    () -> assertThat(page.isHasPrevious()).isFalse(),
+                    () -> assertThat(page.getNextCursor()).isNotNull()
+            );
+        }
+
+        @Test
+        @DisplayName("다른 정렬 기준으로 받은 커서나 형식이 잘못된 커서는 예외가 발생한다")
+        void rejectsInvalidCursor() {
+            // given
+            String problemCursor = KeysetCursor.next("LATEST", 0, 1L).encode();
+
+            // when & then
+            assertAll(
+                    "커서 검증",
+                    () -> assertThrows(InvalidCursorException.class, () -> submissionService.getSubmissionHistoryByUser(1L, 0, 2, null, null, null, null, problemCursor)),
+                    () -> assertThrows(InvalidCursorException.class, () -> submissionService.getSubmissionHistoryByUser(1L, 0, 2, null, null, null, null, "%%%")),
+                    () -> verifyNoInteractions(submissionRepository)
+            );
+        }
+    }
+
     @Test
     @DisplayName("존재하지 않는 문제 ID로 제출하면 예외가 발생한다")
     void shouldThrowExceptionWhenProblemNotExists() {
@@ -322,14 +415,35 @@ class SubmissionServiceUnitTest {
                 .build();
 
         when(submissionRepository.save(any(Submission.class))).thenReturn(savedSubmission);
+        when(solvedCountAccumulator.recordSolved(1L, 1L)).thenReturn(true); // 처음 맞춘 문제
 
         SubmissionRequestDto requestDto = new SubmissionRequestDto("1,3", 120);
 
         // when: 답안을 제출하면
         submissionService.submitAnswer(testUser, 1L, requestDto);
 
-        // then: 문제 풀이 수가 증가한다
-        assertThat(multipleChoiceProblem.getSolvedCount()).isEqualTo(1);
+        // then: 문제 행을 갱신하지 않고 풀이 수 변경이 저널에 기록되며, 사용자가 해결한 문제 집합에도 반영된다
+        assertThat(multipleChoiceProblem.getSolvedCount()).isZero();
+        verify(solvedCountAccumulator).journal(Map.of(1L, 1));
+        verify(solvedProblemCache).markSolved(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("이미 해결한 문제를 다시 맞추면 문제 풀이 수가 증가하지 않는다")
+    void shouldNotIncrementSolvedCountWhenAlreadySolved() {
+        // given: 사용자가 이미 해결한 객관식 문제가 주어졌을 때
+        when(problemRepository.findById(1L)).thenReturn(Optional.of(multipleChoiceProblem));
+        when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(solvedCountAccumulator.recordSolved(1L, 1L)).thenReturn(false); // 이미 해결한 문제
+
+        SubmissionRequestDto requestDto = new SubmissionRequestDto("1,3", 120);
+
+        // when: 정답을 다시 제출하면
+        submissionService.submitAnswer(testUser, 1L, requestDto);
+
+        // then: 풀이 수 변경은 기록되지 않는다
+        verify(solvedCountAccumulator, never()).journal(any());
+        verify(solvedProblemCache).markSolved(1L, 1L);
     }
 
     /**
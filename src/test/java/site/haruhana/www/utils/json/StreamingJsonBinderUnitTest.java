@@ -0,0 +1,196 @@
+package site.haruhana.www.utils.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import site.haruhana.www.exception.InvalidJsonShapeException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static site.haruhana.www.utils.json.JsonShape.array;
+import static site.haruhana.www.utils.json.JsonShape.integer;
+import static site.haruhana.www.utils.json.JsonShape.lenientArray;
+import static site.haruhana.www.utils.json.JsonShape.object;
+import static site.haruhana.www.utils.json.JsonShape.string;
+
+class StreamingJsonBinderUnitTest {
+
+    private record Score(String criteria, int score) {
+    }
+
+    private record Grading(String feedback, List<Score> scores, String note) {
+    }
+
+    private static final JsonShape<Score> SCORE_SHAPE = object(fields -> new Score(
+            fields.get("criteria"),
+            fields.<Integer>get("score")
+    ))
+            .required("criteria", string())
+            .required("score", integer(0, 100));
+
+    private static final JsonShape<Grading> GRADING_SHAPE = object(fields -> new Grading(
+            fields.get("feedback"),
+            fields.get("scores"),
+            fields.get("note")
+    ))
+            .required("feedback", string())
+            .required("scores", array(SCORE_SHAPE, 1, 3))
+            .optional("note", string());
+
+    private StreamingJsonBinder<Grading> newBinder() {
+        return new StreamingJsonBinder<>(new JsonFactory(), GRADING_SHAPE);
+    }
+
+    @Nested
+    @DisplayName("조각 단위 변환")
+    class Binding {
+
+        @Test
+        @DisplayName("임의의 위치에서 나뉜 조각을 이어서 읽어 대상 타입으로 변환한다")
+        void bindsChunkedInput() {
+            // given: 한글을 포함한 JSON을 3자씩 나누어
+            String json = "{\"feedback\":\"좋은 답안입니다.\",\"scores\":[{\"criteria\":\"정의\",\"score\":80},{\"criteria\":\"예시\",\"score\":89.6}]}";
+            StreamingJsonBinder<Grading> binder = newBinder();
+
+            // when: 조각이 도착하는 대로 전달하면
+            for (int start = 0; start < json.length(); start += 3) {
+                binder.feed(json.substring(start, Math.min(json.length(), start + 3)));
+            }
+            Grading grading = binder.finish();
+
+            // then: 필드 값이 변환되고, 소수 점수는 반올림되며, 없는 선택 필드는 null이다
+            assertAll(
+                    "변환 결과 검증",
+                    () -> assertThat(grading.feedback()).isEqualTo("좋은 답안입니다."),
+                    () -> assertThat(grading.scores()).containsExactly(new Score("정의", 80), new Score("예시", 90)),
+                    () -> assertThat(grading.note()).isNull()
+            );
+        }
+
+        @Test
+        @DisplayName("정의되지 않은 필드는 중첩된 값까지 건너뛴다")
+        void skipsUnknownFields() {
+            // given: 정의되지 않은 필드가 있는 JSON을
+            StreamingJsonBinder<Grading> binder = newBinder();
+
+            // when: 읽으면
+            binder.feed("{\"extra\":{\"nested\":[1,{\"a\":null}]},\"feedback\":\"피드백\",");
+            binder.feed("\"scores\":[{\"criteria\":\"정의\",\"score\":70,\"comment\":\"무시\"}],\"note\":null}");
+            Grading grading = binder.finish();
+
+            // then: 정의된 필드만 변환된다
+            assertAll(
+                    "변환 결과 검증",
+                    () -> assertThat(grading.feedback()).isEqualTo("피드백"),
+                    () -> assertThat(grading.scores()).containsExactly(new Score("정의", 70)),
+                    () -> assertThat(grading.note()).isNull()
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("형태 검증")
+    class Validation {
+
+        @Test
+        @DisplayName("형태가 맞지 않는 값은 입력이 끝나기 전에 그 값을 읽는 시점에 실패한다")
+        void failsEarlyOnWrongType() {
+            // given: 앞부분은 올바르게 읽은 상태에서
+            StreamingJsonBinder<Grading> binder = newBinder();
+            binder.feed("{\"feedback\":\"피드백\",\"scores\":[");
+
+            // when & then: 점수가 범위를 벗어난 조각을 받는 즉시 실패한다
+            assertThatThrownBy(() -> binder.feed("{\"criteria\":\"정의\",\"score\":150}"))
+                    .isInstanceOf(InvalidJsonShapeException.class)
+                    .hasMessageContaining("$.scores[0].score");
+        }
+
+        @Test
+        @DisplayName("배열 원소가 최대 개수를 넘으면 배열이 끝나기 전에 실패한다")
+        void failsEarlyOnTooManyItems() {
+            // given: 원소 3개를 읽은 상태에서
+            StreamingJsonBinder<Grading> binder = newBinder();
+            binder.feed("{\"feedback\":\"피드백\",\"scores\":[");
+            binder.feed("{\"criteria\":\"a\",\"score\":1},{\"criteria\":\"b\",\"score\":2},{\"criteria\":\"c\",\"score\":3},");
+
+            // when & then: 네 번째 원소가 시작되면 실패한다
+            assertThatThrownBy(() -> binder.feed("{"))
+                    .isInstanceOf(InvalidJsonShapeException.class)
+                    .hasMessageContaining("3개를 넘습니다");
+        }
+
+        @Test
+        @DisplayName("필수 필드가 없으면 객체가 끝나는 시점에 실패한다")
+        void failsOnMissingRequiredField() {
+            // given
+            StreamingJsonBinder<Grading> binder = newBinder();
+
+            // when & then
+            assertThatThrownBy(() -> binder.feed("{\"feedback\":\"피드백\"}"))
+                    .isInstanceOf(InvalidJsonShapeException.class)
+                    .hasMessageContaining("$.scores 필드가 없습니다");
+        }
+
+        @Test
+        @DisplayName("값이 완성되지 않은 채 입력이 끝나면 실패한다")
+        void failsOnIncompleteInput() {
+            // given
+            StreamingJsonBinder<Grading> binder = newBinder();
+            binder.feed("{\"feedback\":\"피드백\",\"scores\":[{\"criteria\":\"정의\"");
+
+            // when & then
+            assertThat(binder.isComplete()).isFalse();
+            assertThatThrownBy(binder::finish)
+                    .isInstanceOf(InvalidJsonShapeException.class);
+        }
+
+        @Test
+        @DisplayName("JSON 값 뒤에 다른 내용이 있으면 실패한다")
+        void failsOnTrailingContent() {
+            // given
+            StreamingJsonBinder<Grading> binder = newBinder();
+
+            // when & then
+            assertThatThrownBy(() -> binder.feed("{\"feedback\":\"a\",\"scores\":[{\"criteria\":\"b\",\"score\":1}]} {}"))
+                    .isInstanceOf(InvalidJsonShapeException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("원소별 형태 검증")
+    class LenientArray {
+
+        @Test
+        @DisplayName("형태가 잘못된 원소는 중첩된 값까지 건너뛰고, 나머지 원소는 그대로 변환한다")
+        void skipsOnlyInvalidItems() {
+            // given: 두 번째 원소는 점수가 범위를 벗어나고, 세 번째 원소는 필수 필드가 없을 때
+            StreamingJsonBinder<List<Score>> binder = new StreamingJsonBinder<>(new JsonFactory(), lenientArray(SCORE_SHAPE, 5));
+
+            // when
+            binder.feed("[{\"criteria\":\"정의\",\"score\":80},");
+            binder.feed("{\"score\":150,\"criteria\":\"예시\",\"extra\":[{\"a\":[1]}]},");
+            binder.feed("{\"criteria\":\"비교\"},\"문자열\",{\"criteria\":\"결론\",\"score\":60}]");
+            List<Score> scores = binder.finish();
+
+            // then
+            assertThat(scores).containsExactly(new Score("정의", 80), new Score("결론", 60));
+        }
+
+        @Test
+        @DisplayName("건너뛴 원소도 최대 개수에 포함된다")
+        void countsSkippedItems() {
+            // given
+            StreamingJsonBinder<List<Score>> binder = new StreamingJsonBinder<>(new JsonFactory(), lenientArray(SCORE_SHAPE, 2));
+            binder.feed("[{\"score\":-1},{\"score\":-1},");
+
+            // when & then
+            assertThatThrownBy(() -> binder.feed("{"))
+                    .isInstanceOf(InvalidJsonShapeException.class)
+                    .hasMessageContaining("2개를 넘습니다");
+        }
+    }
+}